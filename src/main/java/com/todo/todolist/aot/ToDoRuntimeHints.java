@@ -0,0 +1,92 @@
+package com.todo.todolist.aot;
+
+import com.todo.todolist.controller.ToDoArchiveController;
+import com.todo.todolist.controller.ToDoBatchController;
+import com.todo.todolist.controller.ToDoCalendarController;
+import com.todo.todolist.controller.ToDoController;
+import com.todo.todolist.controller.ToDoImportController;
+import com.todo.todolist.controller.ToDoSchedulerController;
+import com.todo.todolist.controller.ToDoStatsController;
+import com.todo.todolist.datasource.ShardedSequence;
+import com.todo.todolist.datasource.ShardedSequenceGenerator;
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.dto.BatchOperation;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.CalendarDay;
+import com.todo.todolist.dto.CompletionStats;
+import com.todo.todolist.dto.DailyStats;
+import com.todo.todolist.dto.DueCalendar;
+import com.todo.todolist.dto.DurationSummary;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.dto.ImportJob;
+import com.todo.todolist.dto.ImportRejection;
+import com.todo.todolist.dto.OverdueSummary;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.DueDayCount;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for the native image, for what Spring's AOT processing cannot
+ * infer on its own.
+ *
+ * <ul>
+ *   <li>Bodies written through {@code ResponseEntity<?>}, such as the cached list response
+ *       and error responses, are not visible in controller signatures, so every API type is
+ *       registered for Jackson binding.</li>
+ *   <li>Hibernate reads and writes entity fields, calls lifecycle callbacks, builds the
+ *       {@link ShardedSequence} id generator through its annotation constructor and calls the
+ *       constructors of query result types such as {@link DueDayCount}.</li>
+ *   <li>springdoc reads the OpenAPI annotations of the controllers at runtime and serves
+ *       Swagger UI from the webjar, whose version it looks up in the webjar's Maven
+ *       metadata.</li>
+ * </ul>
+ */
+public class ToDoRuntimeHints implements RuntimeHintsRegistrar {
+
+  private static final Class<?>[] API_TYPES = {
+      ToDoItem.class, ArchivedToDoItem.class, Status.class, ToDoItemPatch.class,
+      ErrorResponse.class, ArchivePage.class, BatchRequest.class, BatchOperation.class,
+      BatchOperationResult.class, BatchResponse.class, ImportJob.class, ImportRejection.class,
+      CompletionStats.class, DurationSummary.class, OverdueSummary.class, DailyStats.class,
+      DueCalendar.class, CalendarDay.class
+  };
+
+  private static final Class<?>[] ENTITIES = {ToDoItem.class, ArchivedToDoItem.class};
+
+  private static final Class<?>[] CONTROLLERS = {
+      ToDoController.class, ToDoArchiveController.class, ToDoBatchController.class,
+      ToDoSchedulerController.class, ToDoImportController.class,
+      ToDoStatsController.class, ToDoCalendarController.class
+  };
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), API_TYPES);
+
+    for (Class<?> entity : ENTITIES) {
+      hints.reflection().registerType(entity,
+          MemberCategory.DECLARED_FIELDS,
+          MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+          MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+    hints.reflection().registerType(ShardedSequenceGenerator.class,
+        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    hints.reflection().registerType(ShardedSequence.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    hints.proxies().registerJdkProxy(ShardedSequence.class);
+    hints.reflection().registerType(DueDayCount.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+    for (Class<?> controller : CONTROLLERS) {
+      hints.reflection().registerType(controller, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+    hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*/*");
+    hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+  }
+}
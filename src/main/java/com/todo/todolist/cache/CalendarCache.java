@@ -0,0 +1,252 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.dto.CalendarDay;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.DueDayCount;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the number of items due per day and status.
+ *
+ * <p>A range missing from the cache is loaded with one grouped query and kept as day buckets.
+ * From then on each committed {@link ToDoItemChangedEvent} moves the item from the bucket of
+ * its old due day and status to the bucket of its new ones, if those days are cached, so
+ * creates, updates, status changes, deletes, imports and overdue sweeps are reflected without
+ * querying again.
+ *
+ * <p>A change committed while a range is loading may or may not be counted by the query, so a
+ * load is only kept if no transaction with changes was committing when it started and none
+ * began committing until it finished; otherwise its counts are returned as they are and the
+ * range is loaded again on the next read. Commits are counted from {@code beforeCommit}, ahead
+ * of the point where the query can see them, until {@code afterCompletion}, after the change
+ * has been moved between buckets. When more than {@code max-days} days are cached, the cache
+ * is cleared before the next load is kept.
+ */
+@Component
+public class CalendarCache {
+
+  private static final int STATUSES = Status.values().length;
+
+  private final boolean enabled;
+  private final int maxDays;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final NavigableMap<LocalDate, long[]> buckets = new TreeMap<>();
+  private final NavigableMap<LocalDate, LocalDate> loadedRanges = new TreeMap<>();
+  private long loadedDays;
+  private long commitsStarted;
+  private long commitsFinished;
+
+  /**
+   * Constructor for CalendarCache.
+   *
+   * @param enabled whether day buckets are cached at all
+   * @param maxDays the most days kept before the cache is cleared
+   */
+  public CalendarCache(@Value("${todo.cache.calendar.enabled:true}") boolean enabled,
+                       @Value("${todo.cache.calendar.max-days:1830}") int maxDays) {
+    this.enabled = enabled;
+    this.maxDays = Math.max(1, maxDays);
+  }
+
+  /**
+   * Get the days with items due in a range, loading the range if it is not all cached.
+   *
+   * @param from   the first day
+   * @param to     the last day, inclusive
+   * @param loader counts the items due per day and status from the first to the last day
+   * @return the days with items due, in date order
+   */
+  public List<CalendarDay> get(LocalDate from, LocalDate to,
+                               BiFunction<LocalDate, LocalDate, List<DueDayCount>> loader) {
+    long commitsBefore;
+    boolean settled;
+    lock.lock();
+    try {
+      if (enabled && isLoaded(from, to)) {
+        return days(buckets.subMap(from, true, to, true));
+      }
+      commitsBefore = commitsStarted;
+      settled = commitsStarted == commitsFinished;
+    } finally {
+      lock.unlock();
+    }
+
+    NavigableMap<LocalDate, long[]> loaded = new TreeMap<>();
+    for (DueDayCount row : loader.apply(from, to)) {
+      loaded.computeIfAbsent(row.day(), day -> new long[STATUSES])[row.status().ordinal()]
+          += row.count();
+    }
+
+    if (enabled) {
+      lock.lock();
+      try {
+        if (settled && commitsStarted == commitsBefore) {
+          install(from, to, loaded);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return days(loaded);
+  }
+
+  /**
+   * Track the commit of the transaction an item change was made in, once per transaction.
+   *
+   * @param event the change event, not yet committed
+   */
+  @EventListener
+  public void onItemChanging(ToDoItemChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new CommitTracker());
+  }
+
+  /**
+   * Move a committed item change between the cached day buckets.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    lock.lock();
+    try {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        // Written outside a transaction, so no commit was tracked for it.
+        commitsStarted++;
+        commitsFinished++;
+      }
+      count(event.getBefore(), -1);
+      count(event.getAfter(), 1);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Counts a transaction as committing from just before its commit until it has completed and
+   * its changes have been applied.
+   */
+  private final class CommitTracker implements TransactionSynchronization {
+    private boolean started;
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      lock.lock();
+      try {
+        commitsStarted++;
+        started = true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(CalendarCache.this);
+      if (!started) {
+        return;
+      }
+      lock.lock();
+      try {
+        commitsFinished++;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void count(ToDoItem item, int delta) {
+    if (item == null || item.getDueDatetime() == null || item.getStatus() == null) {
+      return;
+    }
+    LocalDate day = item.getDueDatetime().toLocalDate();
+    if (!isLoaded(day, day)) {
+      return;
+    }
+    long[] counts = buckets.computeIfAbsent(day, d -> new long[STATUSES]);
+    counts[item.getStatus().ordinal()] = Math.max(0, counts[item.getStatus().ordinal()] + delta);
+    if (isEmpty(counts)) {
+      buckets.remove(day);
+    }
+  }
+
+  private boolean isLoaded(LocalDate from, LocalDate to) {
+    Map.Entry<LocalDate, LocalDate> range = loadedRanges.floorEntry(from);
+    return range != null && !range.getValue().isBefore(to);
+  }
+
+  private void install(LocalDate from, LocalDate to, NavigableMap<LocalDate, long[]> loaded) {
+    long days = ChronoUnit.DAYS.between(from, to) + 1;
+    if (loadedDays + days > maxDays) {
+      buckets.clear();
+      loadedRanges.clear();
+      loadedDays = 0;
+    }
+    buckets.subMap(from, true, to, true).clear();
+    loaded.forEach((day, counts) -> buckets.put(day, counts.clone()));
+
+    // Merge the new range with the loaded ranges it overlaps or touches.
+    LocalDate start = from;
+    LocalDate end = to;
+    Map.Entry<LocalDate, LocalDate> before = loadedRanges.floorEntry(from);
+    if (before != null && !before.getValue().isBefore(from.minusDays(1))) {
+      start = before.getKey();
+      end = max(end, before.getValue());
+    }
+    Map.Entry<LocalDate, LocalDate> next = loadedRanges.ceilingEntry(start);
+    while (next != null && !next.getKey().isAfter(end.plusDays(1))) {
+      end = max(end, next.getValue());
+      loadedDays -= ChronoUnit.DAYS.between(next.getKey(), next.getValue()) + 1;
+      loadedRanges.remove(next.getKey());
+      next = loadedRanges.ceilingEntry(start);
+    }
+    loadedRanges.put(start, end);
+    loadedDays += ChronoUnit.DAYS.between(start, end) + 1;
+  }
+
+  private static LocalDate max(LocalDate first, LocalDate second) {
+    return first.isAfter(second) ? first : second;
+  }
+
+  private static boolean isEmpty(long[] counts) {
+    for (long count : counts) {
+      if (count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<CalendarDay> days(Map<LocalDate, long[]> buckets) {
+    List<CalendarDay> days = new ArrayList<>(buckets.size());
+    buckets.forEach((day, counts) -> {
+      Map<Status, Long> statuses = new EnumMap<>(Status.class);
+      for (Status status : Status.values()) {
+        statuses.put(status, counts[status.ordinal()]);
+      }
+      days.add(new CalendarDay(day, statuses));
+    });
+    return days;
+  }
+}
@@ -0,0 +1,205 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.ForbiddenException;
+import com.todo.todolist.exception.NotFoundException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-evicted store of responses for requests carrying an {@code Idempotency-Key}.
+ *
+ * <p>The first request for a key runs and its response, or the business exception it threw, is
+ * kept for {@code ttl} after it completes. Replays with the same key and request fingerprint
+ * get the stored outcome without touching the service; concurrent duplicates wait for the
+ * first execution instead of running their own, for at most {@code replay-timeout-ms}, after
+ * which they are told the request is still in progress. Unexpected failures are not kept, so
+ * the client can retry them. Reusing a key for a different request is rejected.
+ *
+ * <p>Completed entries are queued in the order they complete, which, with the same ttl for
+ * all, is the order they expire in. Expiry and the {@code max-entries} bound both evict from
+ * the head of that queue, so they take time proportional to the entries removed. In-flight
+ * entries are not in the queue: a slow request never holds back the expiry of others and is
+ * never evicted while duplicates may be waiting on it. While many requests are in flight the
+ * store can therefore briefly hold more than {@code max-entries} keys.
+ */
+@Component
+public class IdempotencyStore {
+
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final Map<String, Entry> entries = new HashMap<>();
+  private final Queue<Entry> completed = new ArrayDeque<>();
+  private final Duration ttl;
+  private final int maxEntries;
+  private final Duration replayTimeout;
+  private final Clock clock;
+
+  /**
+   * Constructor for IdempotencyStore.
+   *
+   * @param ttl                 how long a completed response is kept
+   * @param maxEntries          the maximum number of keys kept at once
+   * @param replayTimeoutMillis how long a duplicate waits for the request still running
+   */
+  @Autowired
+  public IdempotencyStore(@Value("${todo.idempotency.ttl:PT10M}") Duration ttl,
+                          @Value("${todo.idempotency.max-entries:10000}") int maxEntries,
+                          @Value("${todo.idempotency.replay-timeout-ms:"
+                              + "${todo.write.group-commit.await-timeout-ms:10000}}")
+                          long replayTimeoutMillis) {
+    this(ttl, maxEntries, Duration.ofMillis(replayTimeoutMillis), Clock.systemUTC());
+  }
+
+  IdempotencyStore(Duration ttl, int maxEntries, Duration replayTimeout, Clock clock) {
+    this.ttl = ttl;
+    this.maxEntries = maxEntries;
+    this.replayTimeout = replayTimeout;
+    this.clock = clock;
+  }
+
+  /**
+   * Run an action at most once per idempotency key.
+   *
+   * @param key         the client supplied idempotency key
+   * @param fingerprint identifies the request the key was first used with
+   * @param action      the action producing the response
+   * @param <T>         the response body type
+   * @return the response of the first execution for this key
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ResponseEntity<T> execute(String key, String fingerprint,
+                                       Supplier<ResponseEntity<T>> action) {
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new BadRequestException(
+          "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+    }
+
+    Entry entry;
+    boolean owner = false;
+    synchronized (entries) {
+      evictExpired();
+      entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry(key, fingerprint);
+        entries.put(key, entry);
+        owner = true;
+        evictOverflow();
+      } else if (!entry.fingerprint.equals(fingerprint)) {
+        throw new BadRequestException(
+            "Idempotency-Key has already been used for a different request.");
+      }
+    }
+
+    if (!owner) {
+      return (ResponseEntity<T>) replay(entry);
+    }
+
+    try {
+      ResponseEntity<T> response = action.get();
+      complete(entry, response);
+      return response;
+    } catch (BadRequestException | ConflictException | ForbiddenException
+             | NotFoundException ex) {
+      complete(entry, null);
+      entry.outcome.completeExceptionally(ex);
+      throw ex;
+    } catch (RuntimeException | Error ex) {
+      synchronized (entries) {
+        entries.remove(key, entry);
+      }
+      entry.outcome.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * Number of keys currently held, including in-flight ones.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private void complete(Entry entry, ResponseEntity<?> response) {
+    synchronized (entries) {
+      entry.expiresAt = clock.millis() + ttl.toMillis();
+      completed.add(entry);
+    }
+    if (response != null) {
+      entry.outcome.complete(response);
+    }
+  }
+
+  private ResponseEntity<?> replay(Entry entry) {
+    ResponseEntity<?> response;
+    try {
+      response = entry.outcome.get(replayTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new ConflictException("A request with this Idempotency-Key is still in progress.");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ConflictException("A request with this Idempotency-Key is still in progress.");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .header(REPLAYED_HEADER, "true")
+        .body(response.getBody());
+  }
+
+  private void evictExpired() {
+    long now = clock.millis();
+    while (!completed.isEmpty() && completed.peek().expiresAt <= now) {
+      evict(completed.poll());
+    }
+  }
+
+  private void evictOverflow() {
+    while (entries.size() > maxEntries && !completed.isEmpty()) {
+      evict(completed.poll());
+    }
+  }
+
+  private void evict(Entry entry) {
+    entries.remove(entry.key, entry);
+  }
+
+  private static final class Entry {
+    private final String key;
+    private final String fingerprint;
+    private final CompletableFuture<ResponseEntity<?>> outcome = new CompletableFuture<>();
+    private long expiresAt = Long.MAX_VALUE;
+
+    private Entry(String key, String fingerprint) {
+      this.key = key;
+      this.fingerprint = fingerprint;
+    }
+  }
+}
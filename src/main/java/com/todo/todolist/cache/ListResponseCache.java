@@ -0,0 +1,162 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.datasource.PrimaryReads;
+import com.todo.todolist.compression.ContentCoding;
+import com.todo.todolist.compression.ResponseCompressor;
+import com.todo.todolist.model.ToDoField;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of already-encoded list responses, keyed by filter.
+ *
+ * <p>Entries hold the JSON or {@value ToDoBinaryCodec#MEDIA_TYPE_VALUE} bytes of a list
+ * response, or the JSON of a list with only some fields of each item, and, once requested,
+ * their gzip- or deflate-compressed forms. Each entry is stamped with the
+ * {@link WriteSequence} value read before the list was loaded; any committed write moves the
+ * sequence on and makes every older entry a miss, so a hit is always as fresh as a direct read
+ * would have been. With read replicas, lists are loaded from the primary, as a replica behind
+ * the stamped sequence would otherwise have its older state cached until the next write.
+ */
+@Component
+public class ListResponseCache {
+
+  private final ToDoJsonCodec codec;
+  private final WriteSequence writeSequence;
+  private final ResponseCompressor compressor;
+  private final boolean enabled;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for ListResponseCache.
+   *
+   * @param codec         the codec used to encode responses on a miss
+   * @param writeSequence the committed write sequence used for invalidation
+   * @param compressor    the compressor applied to bodies large enough to be worth it
+   * @param enabled       whether responses are cached at all
+   */
+  public ListResponseCache(ToDoJsonCodec codec,
+                           WriteSequence writeSequence,
+                           ResponseCompressor compressor,
+                           @Value("${todo.cache.list.enabled:true}") boolean enabled) {
+    this.codec = codec;
+    this.writeSequence = writeSequence;
+    this.compressor = compressor;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Get the encoded JSON response for a filter, loading and encoding it on a miss.
+   *
+   * @param key    the filter key
+   * @param coding the coding negotiated with the client, or null for none
+   * @param loader loads the items when the cached response is missing or stale
+   * @return the encoded response
+   */
+  public EncodedResponse get(String key, ContentCoding coding, Supplier<List<ToDoItem>> loader) {
+    return get(key, MediaType.APPLICATION_JSON, coding, loader);
+  }
+
+  /**
+   * Get the encoded response for a filter in the given media type, loading and encoding it
+   * on a miss.
+   *
+   * <p>The body is compressed with the negotiated coding only once it reaches the
+   * compressor's minimum size; smaller bodies are returned as they are.
+   *
+   * @param key       the filter key
+   * @param mediaType {@code application/json} or {@value ToDoBinaryCodec#MEDIA_TYPE_VALUE}
+   * @param coding    the coding negotiated with the client, or null for none
+   * @param loader    loads the items when the cached response is missing or stale
+   * @return the encoded response
+   */
+  public EncodedResponse get(String key, MediaType mediaType, ContentCoding coding,
+                             Supplier<List<ToDoItem>> loader) {
+    boolean binary = ToDoBinaryCodec.MEDIA_TYPE.equalsTypeAndSubtype(mediaType);
+    if (!binary && !MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+      throw new IllegalArgumentException("Unsupported list media type: " + mediaType);
+    }
+    return lookup(binary ? "binary:" + key : key, coding, () -> {
+      List<ToDoItem> items = loader.get();
+      return binary ? ToDoBinaryCodec.encode(items) : codec.encode(items);
+    });
+  }
+
+  /**
+   * Get the encoded JSON response for a filter with only some fields of each item, loading
+   * and encoding it on a miss.
+   *
+   * @param key    the filter key
+   * @param fields the fields written for each item
+   * @param coding the coding negotiated with the client, or null for none
+   * @param loader loads the fields of the items when the cached response is missing or stale
+   * @return the encoded response
+   */
+  public EncodedResponse getFields(String key, Set<ToDoField> fields, ContentCoding coding,
+                                   Supplier<List<ToDoItemFields>> loader) {
+    String entryKey = "fields:" + fields.stream()
+        .map(ToDoField::getJsonName)
+        .collect(Collectors.joining(",")) + ":" + key;
+    return lookup(entryKey, coding, () -> codec.encodeFields(loader.get(), fields));
+  }
+
+  private EncodedResponse lookup(String entryKey, ContentCoding coding,
+                                 Supplier<byte[]> encoder) {
+    long sequence = writeSequence.current();
+    Entry entry = entries.get(entryKey);
+    if (entry == null || entry.sequence != sequence) {
+      entry = new Entry(sequence, enabled ? PrimaryReads.call(encoder) : encoder.get());
+      if (enabled) {
+        entries.merge(entryKey, entry, (current, loaded) ->
+            loaded.sequence >= current.sequence ? loaded : current);
+      }
+    }
+
+    if (coding != null && compressor.worthCompressing(entry.body.length)) {
+      return new EncodedResponse(entry.compressed(coding, compressor), coding);
+    }
+    return new EncodedResponse(entry.body, null);
+  }
+
+  /**
+   * Encoded response body ready to be written to the client.
+   *
+   * @param body   the encoded bytes
+   * @param coding the coding the bytes are compressed with, or null if they are not
+   */
+  public record EncodedResponse(byte[] body, ContentCoding coding) {
+  }
+
+  private static final class Entry {
+    private final long sequence;
+    private final byte[] body;
+    private final AtomicReferenceArray<byte[]> compressed =
+        new AtomicReferenceArray<>(ContentCoding.values().length);
+
+    private Entry(long sequence, byte[] body) {
+      this.sequence = sequence;
+      this.body = body;
+    }
+
+    private byte[] compressed(ContentCoding coding, ResponseCompressor compressor) {
+      byte[] bytes = compressed.get(coding.ordinal());
+      if (bytes == null) {
+        bytes = compressor.compress(body, coding);
+        compressed.set(coding.ordinal(), bytes);
+      }
+      return bytes;
+    }
+  }
+}
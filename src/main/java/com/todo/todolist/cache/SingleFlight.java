@@ -0,0 +1,86 @@
+package com.todo.todolist.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single in-flight call.
+ *
+ * <p>The first caller for a key runs the loader; callers arriving while it is still running
+ * wait for and share its result, or its exception. Nothing is kept once the load completes, so
+ * this only deduplicates work that overlaps in time and never serves stale results.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+
+  /**
+   * Load the value for a key, joining an identical load that is already in flight.
+   *
+   * @param key    the key identifying the load
+   * @param loader the loader to run if no identical load is in flight
+   * @return the loaded value
+   */
+  public V load(K key, Supplier<V> loader) {
+    requests.increment();
+    CompletableFuture<V> mine = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      return join(existing);
+    }
+
+    loads.increment();
+    try {
+      V value = loader.get();
+      mine.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      mine.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  public long requests() {
+    return requests.sum();
+  }
+
+  public long loads() {
+    return loads.sum();
+  }
+
+  /**
+   * Fraction of requests that were served by joining another caller's load.
+   *
+   * @return the coalescing ratio between 0 and 1
+   */
+  public double coalescingRatio() {
+    long total = requests();
+    return total == 0 ? 0.0 : (double) (total - loads()) / total;
+  }
+
+  private static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+}
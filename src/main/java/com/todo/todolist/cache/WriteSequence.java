@@ -0,0 +1,40 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Monotonic counter of committed item writes.
+ *
+ * <p>Every committed {@link ToDoItemChangedEvent}, whether it comes from the service or from a
+ * scheduler sweep, bumps the sequence. Read-side caches stamp their entries with the sequence
+ * observed before loading and treat them as stale as soon as it moves on.
+ *
+ * <p>The sequence is bumped after every other listener of the event, in particular after the
+ * {@code ToDoProjection} has counted the change: a read seeing the new sequence then also waits
+ * for the change in the projection, instead of caching the old snapshot under the new value.
+ */
+@Component
+public class WriteSequence {
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  public long current() {
+    return sequence.get();
+  }
+
+  /**
+   * Record a committed item change.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    sequence.incrementAndGet();
+  }
+}
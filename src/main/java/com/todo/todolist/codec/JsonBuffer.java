@@ -0,0 +1,263 @@
+package com.todo.todolist.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Growable byte buffer that JSON is written into and read from.
+ *
+ * <p>Buffers are reused through a {@link Pool}, so encoding a response allocates nothing but
+ * the bytes that finally leave the buffer. Strings and dates are written with the same
+ * escaping and formatting Jackson uses by default, so the output is byte-for-byte the same.
+ */
+final class JsonBuffer {
+
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+  private static final int[] FRACTION_DIVISORS = {
+      100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+  private byte[] bytes;
+  private int size;
+
+  JsonBuffer(int capacity) {
+    this.bytes = new byte[capacity];
+  }
+
+  byte[] array() {
+    return bytes;
+  }
+
+  int size() {
+    return size;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  void reset() {
+    size = 0;
+  }
+
+  void writeTo(OutputStream out) throws IOException {
+    out.write(bytes, 0, size);
+  }
+
+  /**
+   * Replace the content of this buffer with everything left in a stream.
+   *
+   * @param in the stream
+   * @throws IOException if the stream cannot be read
+   */
+  void readFrom(InputStream in) throws IOException {
+    size = 0;
+    int read;
+    while ((read = in.read(bytes, size, bytes.length - size)) != -1) {
+      size += read;
+      if (size == bytes.length) {
+        ensure(1);
+      }
+    }
+  }
+
+  void writeByte(int b) {
+    ensure(1);
+    bytes[size++] = (byte) b;
+  }
+
+  void writeBytes(byte[] value) {
+    ensure(value.length);
+    System.arraycopy(value, 0, bytes, size, value.length);
+    size += value.length;
+  }
+
+  void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(Long.toString(value));
+      return;
+    }
+    ensure(20);
+    if (value < 0) {
+      bytes[size++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long rest = value / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    int end = size + digits;
+    for (int at = end - 1; at >= size; at--) {
+      bytes[at] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    size = end;
+  }
+
+  /**
+   * Write a quoted string, escaping it as Jackson does: quotes, backslashes, control
+   * characters and the two halves of surrogate pairs are escaped, everything else is written
+   * as UTF-8.
+   *
+   * @param value the string
+   */
+  void writeString(String value) {
+    int length = value.length();
+    ensure(length + 2);
+    bytes[size++] = '"';
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+        ensure(1);
+        bytes[size++] = (byte) c;
+      } else if (c < 0x80 || Character.isSurrogate(c)) {
+        writeEscape(c);
+      } else if (c < 0x800) {
+        ensure(2);
+        bytes[size++] = (byte) (0xC0 | (c >> 6));
+        bytes[size++] = (byte) (0x80 | (c & 0x3F));
+      } else {
+        ensure(3);
+        bytes[size++] = (byte) (0xE0 | (c >> 12));
+        bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[size++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    ensure(1);
+    bytes[size++] = '"';
+  }
+
+  /**
+   * Write a quoted date in {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} form: seconds always,
+   * and the fraction of a second only as far as its last non-zero digit.
+   *
+   * @param value the date
+   */
+  void writeDateTime(LocalDateTime value) {
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      writeByte('"');
+      writeAscii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+      writeByte('"');
+      return;
+    }
+    ensure(31);
+    bytes[size++] = '"';
+    writeDigits(year, 4);
+    bytes[size++] = '-';
+    writeDigits(value.getMonthValue(), 2);
+    bytes[size++] = '-';
+    writeDigits(value.getDayOfMonth(), 2);
+    bytes[size++] = 'T';
+    writeDigits(value.getHour(), 2);
+    bytes[size++] = ':';
+    writeDigits(value.getMinute(), 2);
+    bytes[size++] = ':';
+    writeDigits(value.getSecond(), 2);
+    int nano = value.getNano();
+    if (nano != 0) {
+      bytes[size++] = '.';
+      for (int i = 0; nano != 0; i++) {
+        int digit = nano / FRACTION_DIVISORS[i];
+        bytes[size++] = (byte) ('0' + digit);
+        nano -= digit * FRACTION_DIVISORS[i];
+      }
+    }
+    bytes[size++] = '"';
+  }
+
+  private void writeDigits(int value, int width) {
+    for (int at = size + width - 1; at >= size; at--) {
+      bytes[at] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    size += width;
+  }
+
+  private void writeAscii(String value) {
+    ensure(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      bytes[size++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void writeEscape(char c) {
+    ensure(6);
+    bytes[size++] = '\\';
+    switch (c) {
+      case '"', '\\' -> bytes[size++] = (byte) c;
+      case '\b' -> bytes[size++] = 'b';
+      case '\t' -> bytes[size++] = 't';
+      case '\n' -> bytes[size++] = 'n';
+      case '\f' -> bytes[size++] = 'f';
+      case '\r' -> bytes[size++] = 'r';
+      default -> {
+        bytes[size++] = 'u';
+        bytes[size++] = HEX[c >> 12];
+        bytes[size++] = HEX[(c >> 8) & 0xF];
+        bytes[size++] = HEX[(c >> 4) & 0xF];
+        bytes[size++] = HEX[c & 0xF];
+      }
+    }
+  }
+
+  private void ensure(int extra) {
+    if (size + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+    }
+  }
+
+  /**
+   * Signals input the hand-written decoder does not handle exactly as Jackson does; the caller
+   * falls back to Jackson for the whole document.
+   */
+  static final class FallbackException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    FallbackException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Bounded pool of buffers shared by all threads.
+   *
+   * <p>A queue rather than a thread-local keeps the number of retained buffers bounded when
+   * requests run on virtual threads. Buffers that grew past the retained size are dropped
+   * instead of being returned, so one huge response does not pin its memory for good.
+   */
+  static final class Pool {
+
+    private final ArrayBlockingQueue<JsonBuffer> buffers;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+
+    Pool(int maxBuffers, int initialCapacity, int maxRetainedCapacity) {
+      this.buffers = new ArrayBlockingQueue<>(maxBuffers);
+      this.initialCapacity = initialCapacity;
+      this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    JsonBuffer acquire() {
+      JsonBuffer buffer = buffers.poll();
+      return buffer != null ? buffer : new JsonBuffer(initialCapacity);
+    }
+
+    void release(JsonBuffer buffer) {
+      if (buffer.bytes.length <= maxRetainedCapacity) {
+        buffer.reset();
+        buffers.offer(buffer);
+      }
+    }
+
+    int idle() {
+      return buffers.size();
+    }
+  }
+}
@@ -0,0 +1,430 @@
+package com.todo.todolist.codec;
+
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.http.MediaType;
+
+/**
+ * Encoder and decoder for {@value #MEDIA_TYPE_VALUE}, a compact binary form of the list,
+ * archive and batch responses meant for service-to-service calls.
+ *
+ * <p>A document starts with a version byte and a kind byte, followed by its content built
+ * from these fields:
+ * <ul>
+ *   <li>varint: an unsigned LEB128 number, 7 bits per byte, least significant group first</li>
+ *   <li>time: whole seconds since the epoch in UTC as a ZigZag varint plus one, or 0 for
+ *       null; fractions of a second are dropped</li>
+ *   <li>string: the UTF-8 length as a varint plus one, or 0 for null, then the bytes</li>
+ *   <li>status: one byte holding the {@link Status} ordinal, or 0xFF for null</li>
+ *   <li>item: id varint, status, creation time, due time, done time, description string,
+ *       tag count varint and tag strings</li>
+ * </ul>
+ *
+ * <p>An item list is a count varint followed by the items. An archive page holds the next
+ * cursor as a varint plus one, or 0 when it is the last page, then a count and archived
+ * items, each an item followed by its archived time. A batch response holds a committed
+ * byte, a count and the results: index varint, op string, status varint, error string,
+ * message string, time, and a byte telling whether an item follows. An error holds status
+ * varint, error string, message string and time.
+ */
+public final class ToDoBinaryCodec {
+
+  public static final String MEDIA_TYPE_VALUE = "application/vnd.todo.binary";
+  public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+  static final int VERSION = 1;
+  static final int ITEM = 1;
+  static final int ITEM_LIST = 2;
+  static final int ARCHIVE_PAGE = 3;
+  static final int BATCH_RESPONSE = 4;
+  static final int ERROR = 5;
+
+  private static final int NULL_STATUS = 0xFF;
+  private static final Status[] STATUSES = Status.values();
+
+  private ToDoBinaryCodec() {
+  }
+
+  /**
+   * Whether values of a type have a binary form.
+   *
+   * @param type the value type
+   * @return true for items, archive pages, batch responses and error responses
+   */
+  public static boolean supports(Class<?> type) {
+    return ToDoItem.class.isAssignableFrom(type) || type == ArchivePage.class
+        || type == BatchResponse.class || type == ErrorResponse.class;
+  }
+
+  /**
+   * Encode an item, a collection of items, an archive page, a batch response or an error.
+   *
+   * @param value the value
+   * @return the encoded document
+   * @throws IllegalArgumentException if the value has no binary form
+   */
+  public static byte[] encode(Object value) {
+    Output out = new Output();
+    out.writeByte(VERSION);
+    if (value instanceof ToDoItem item) {
+      out.writeByte(ITEM);
+      writeItem(out, item);
+    } else if (value instanceof Collection<?> items) {
+      out.writeByte(ITEM_LIST);
+      out.writeVarint(items.size());
+      for (Object item : items) {
+        if (!(item instanceof ToDoItem)) {
+          throw new IllegalArgumentException(
+              "Only lists of items have a binary form, not " + describe(item));
+        }
+        writeItem(out, (ToDoItem) item);
+      }
+    } else if (value instanceof ArchivePage page) {
+      out.writeByte(ARCHIVE_PAGE);
+      out.writeVarint(page.getNext() == null ? 0 : page.getNext() + 1);
+      out.writeVarint(page.getItems().size());
+      for (ArchivedToDoItem item : page.getItems()) {
+        writeArchivedItem(out, item);
+      }
+    } else if (value instanceof BatchResponse response) {
+      out.writeByte(BATCH_RESPONSE);
+      out.writeByte(response.isCommitted() ? 1 : 0);
+      out.writeVarint(response.getResults().size());
+      for (BatchOperationResult result : response.getResults()) {
+        writeResult(out, result);
+      }
+    } else if (value != null && value.getClass() == ErrorResponse.class) {
+      ErrorResponse error = (ErrorResponse) value;
+      out.writeByte(ERROR);
+      out.writeVarint(error.getStatus());
+      out.writeString(error.getError());
+      out.writeString(error.getMessage());
+      out.writeTime(error.getTimestamp());
+    } else {
+      throw new IllegalArgumentException(describe(value) + " has no binary form");
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decode a single item.
+   *
+   * @param document the encoded document
+   * @return the item
+   * @throws IllegalArgumentException if the document is not a valid item
+   */
+  public static ToDoItem decodeItem(byte[] document) {
+    Input in = new Input(document, ITEM);
+    ToDoItem item = readItem(in);
+    in.finish();
+    return item;
+  }
+
+  /**
+   * Decode a list of items.
+   *
+   * @param document the encoded document
+   * @return the items, in encoded order
+   * @throws IllegalArgumentException if the document is not a valid item list
+   */
+  public static List<ToDoItem> decodeItems(byte[] document) {
+    Input in = new Input(document, ITEM_LIST);
+    int count = in.readCount();
+    List<ToDoItem> items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      items.add(readItem(in));
+    }
+    in.finish();
+    return items;
+  }
+
+  /**
+   * Decode a page of archived items.
+   *
+   * @param document the encoded document
+   * @return the page
+   * @throws IllegalArgumentException if the document is not a valid archive page
+   */
+  public static ArchivePage decodeArchivePage(byte[] document) {
+    Input in = new Input(document, ARCHIVE_PAGE);
+    long next = in.readVarint();
+    int count = in.readCount();
+    List<ArchivedToDoItem> items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ToDoItem item = readItem(in);
+      items.add(ArchivedToDoItem.of(item, in.readTime()));
+    }
+    in.finish();
+    if (next != 0 && (items.isEmpty() || items.get(count - 1).getId() != next - 1)) {
+      throw new IllegalArgumentException("Archive page cursor does not match its last item");
+    }
+    return new ArchivePage(items, next == 0 ? count + 1 : count);
+  }
+
+  /**
+   * Decode the response to a batch request.
+   *
+   * @param document the encoded document
+   * @return the batch response
+   * @throws IllegalArgumentException if the document is not a valid batch response
+   */
+  public static BatchResponse decodeBatchResponse(byte[] document) {
+    Input in = new Input(document, BATCH_RESPONSE);
+    boolean committed = in.readByte() != 0;
+    int count = in.readCount();
+    List<BatchOperationResult> results = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int index = (int) in.readVarint();
+      String op = in.readString();
+      int status = (int) in.readVarint();
+      String error = in.readString();
+      String message = in.readString();
+      LocalDateTime timestamp = in.readTime();
+      ToDoItem item = in.readByte() != 0 ? readItem(in) : null;
+      results.add(new BatchOperationResult(index, op, error, message, timestamp, status, item));
+    }
+    in.finish();
+    return new BatchResponse(committed, results);
+  }
+
+  /**
+   * Decode an error response.
+   *
+   * @param document the encoded document
+   * @return the error response
+   * @throws IllegalArgumentException if the document is not a valid error response
+   */
+  public static ErrorResponse decodeError(byte[] document) {
+    Input in = new Input(document, ERROR);
+    int status = (int) in.readVarint();
+    String error = in.readString();
+    String message = in.readString();
+    LocalDateTime timestamp = in.readTime();
+    in.finish();
+    return new ErrorResponse(error, message, timestamp, status);
+  }
+
+  private static void writeItem(Output out, ToDoItem item) {
+    writeItem(out, item.getId(), item.getStatus(), item.getCreationDatetime(),
+        item.getDueDatetime(), item.getDoneDatetime(), item.getDescription(), item.getTags());
+  }
+
+  private static void writeItem(Output out, Long id, Status status, LocalDateTime created,
+                                LocalDateTime due, LocalDateTime done, String description,
+                                Collection<String> tags) {
+    if (id == null) {
+      throw new IllegalArgumentException("Only stored items, which have an id, can be encoded");
+    }
+    out.writeVarint(id);
+    out.writeByte(status == null ? NULL_STATUS : status.ordinal());
+    out.writeTime(created);
+    out.writeTime(due);
+    out.writeTime(done);
+    out.writeString(description);
+    out.writeVarint(tags.size());
+    for (String tag : tags) {
+      out.writeString(tag);
+    }
+  }
+
+  private static void writeArchivedItem(Output out, ArchivedToDoItem item) {
+    writeItem(out, item.getId(), item.getStatus(), item.getCreationDatetime(),
+        item.getDueDatetime(), item.getDoneDatetime(), item.getDescription(), item.getTags());
+    out.writeTime(item.getArchivedDatetime());
+  }
+
+  private static void writeResult(Output out, BatchOperationResult result) {
+    out.writeVarint(result.getIndex());
+    out.writeString(result.getOp());
+    out.writeVarint(result.getStatus());
+    out.writeString(result.getError());
+    out.writeString(result.getMessage());
+    out.writeTime(result.getTimestamp());
+    if (result.getItem() == null) {
+      out.writeByte(0);
+    } else {
+      out.writeByte(1);
+      writeItem(out, result.getItem());
+    }
+  }
+
+  private static ToDoItem readItem(Input in) {
+    ToDoItem item = new ToDoItem();
+    item.setId(in.readVarint());
+    int status = in.readByte();
+    if (status == NULL_STATUS) {
+      item.setStatus(null);
+    } else if (status < STATUSES.length) {
+      item.setStatus(STATUSES[status]);
+    } else {
+      throw new IllegalArgumentException("Unknown status " + status);
+    }
+    item.setCreationDatetime(in.readTime());
+    item.setDueDatetime(in.readTime());
+    item.setDoneDatetime(in.readTime());
+    item.setDescription(in.readString());
+    int tagCount = in.readCount();
+    List<String> tags = new ArrayList<>(tagCount);
+    for (int i = 0; i < tagCount; i++) {
+      tags.add(in.readString());
+    }
+    item.setTags(tags);
+    return item;
+  }
+
+  private static String describe(Object value) {
+    return value == null ? "null" : value.getClass().getName();
+  }
+
+  private static final class Output {
+
+    private byte[] bytes = new byte[256];
+    private int size;
+
+    private void writeByte(int b) {
+      ensure(1);
+      bytes[size++] = (byte) b;
+    }
+
+    private void writeVarint(long value) {
+      ensure(10);
+      while ((value & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    private void writeTime(LocalDateTime time) {
+      if (time == null) {
+        writeVarint(0);
+        return;
+      }
+      long seconds = time.toEpochSecond(ZoneOffset.UTC);
+      writeVarint(((seconds << 1) ^ (seconds >> 63)) + 1);
+    }
+
+    private void writeString(String value) {
+      if (value == null) {
+        writeVarint(0);
+        return;
+      }
+      byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(utf8.length + 1L);
+      ensure(utf8.length);
+      System.arraycopy(utf8, 0, bytes, size, utf8.length);
+      size += utf8.length;
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+  }
+
+  private static final class Input {
+
+    private final byte[] bytes;
+    private int pos;
+
+    private Input(byte[] bytes, int kind) {
+      this.bytes = bytes;
+      int version = readByte();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported document version " + version);
+      }
+      int actual = readByte();
+      if (actual != kind) {
+        throw new IllegalArgumentException(
+            "Expected a document of kind " + kind + " but found " + actual);
+      }
+    }
+
+    private int readByte() {
+      if (pos == bytes.length) {
+        throw truncated();
+      }
+      return bytes[pos++] & 0xFF;
+    }
+
+    private long readVarint() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Varint longer than 64 bits");
+    }
+
+    /**
+     * Read a count of following entries, each of which takes at least one byte.
+     */
+    private int readCount() {
+      long count = readVarint();
+      if (count > bytes.length - pos) {
+        throw truncated();
+      }
+      return (int) count;
+    }
+
+    private LocalDateTime readTime() {
+      long encoded = readVarint();
+      if (encoded == 0) {
+        return null;
+      }
+      long zigzag = encoded - 1;
+      long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+      try {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+      } catch (DateTimeException ex) {
+        throw new IllegalArgumentException("Time out of range: " + seconds, ex);
+      }
+    }
+
+    private String readString() {
+      long encoded = readVarint();
+      if (encoded == 0) {
+        return null;
+      }
+      long length = encoded - 1;
+      if (length > bytes.length - pos) {
+        throw truncated();
+      }
+      String value = new String(bytes, pos, (int) length, StandardCharsets.UTF_8);
+      pos += (int) length;
+      return value;
+    }
+
+    private void finish() {
+      if (pos != bytes.length) {
+        throw new IllegalArgumentException(
+            (bytes.length - pos) + " unexpected bytes after the end of the document");
+      }
+    }
+
+    private static IllegalArgumentException truncated() {
+      return new IllegalArgumentException("Document is truncated");
+    }
+  }
+}
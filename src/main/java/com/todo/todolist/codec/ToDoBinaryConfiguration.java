@@ -0,0 +1,24 @@
+package com.todo.todolist.codec;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Offers {@value ToDoBinaryCodec#MEDIA_TYPE_VALUE} to the MVC stack.
+ *
+ * <p>The binary converter is appended after every JSON converter rather than declared as a
+ * bean, which Spring Boot would put first: clients that accept anything keep getting JSON,
+ * and only those naming the binary type in {@code Accept} get it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ToDoBinaryConfiguration implements WebMvcConfigurer {
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new ToDoBinaryHttpMessageConverter());
+  }
+}
@@ -0,0 +1,86 @@
+package com.todo.todolist.codec;
+
+import com.todo.todolist.model.ToDoItem;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Writes item lists, archive pages, batch responses, items and error responses as
+ * {@value ToDoBinaryCodec#MEDIA_TYPE_VALUE} for clients that ask for it in {@code Accept}.
+ *
+ * <p>The converter only writes; request bodies stay JSON.
+ */
+public class ToDoBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  public ToDoBinaryHttpMessageConverter() {
+    super(ToDoBinaryCodec.MEDIA_TYPE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return ToDoBinaryCodec.supports(clazz) || Collection.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    if (!canWrite(mediaType)) {
+      return false;
+    }
+    ResolvableType resolved = type != null ? ResolvableType.forType(type)
+        : ResolvableType.forClass(clazz);
+    Class<?> raw = resolved.toClass();
+    if (raw == Object.class) {
+      raw = clazz;
+    }
+    if (ToDoBinaryCodec.supports(raw)) {
+      return true;
+    }
+    if (!Collection.class.isAssignableFrom(raw)) {
+      return false;
+    }
+    Class<?> element = resolved.asCollection().resolveGeneric(0);
+    return element == null || element == Object.class || ToDoItem.class.isAssignableFrom(element);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Request bodies cannot be " + ToDoBinaryCodec.MEDIA_TYPE_VALUE, inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+    return read(clazz, null, inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    byte[] document;
+    try {
+      document = ToDoBinaryCodec.encode(value);
+    } catch (IllegalArgumentException ex) {
+      throw new HttpMessageNotWritableException(ex.getMessage(), ex);
+    }
+    outputMessage.getHeaders().setContentLength(document.length);
+    outputMessage.getBody().write(document);
+  }
+}
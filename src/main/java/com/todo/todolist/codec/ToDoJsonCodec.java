@@ -0,0 +1,634 @@
+package com.todo.todolist.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written JSON encoder and decoder for {@link ToDoItem} and {@link ErrorResponse}.
+ *
+ * <p>Documents are written field by field into pooled {@link JsonBuffer}s, with the field
+ * names and {@link Status} values kept as ready-made bytes and dates formatted digit by digit,
+ * instead of going through Jackson's reflective serializers and {@code DateTimeFormatter}.
+ * The output is byte-for-byte what the application's {@link ObjectMapper} produces.
+ *
+ * <p>Decoding covers request bodies as clients normally send them. Anything the decoder does
+ * not reproduce exactly as Jackson would, such as unknown fields, escaped field names,
+ * non-ASCII text or dates in another form, is handed to the {@link ObjectMapper}, so the
+ * accepted input and the error messages stay the same.
+ */
+@Component
+public class ToDoJsonCodec {
+
+  private static final byte[] ID = ascii("{\"id\":");
+  private static final byte[] DESCRIPTION = ascii(",\"description\":");
+  private static final byte[] STATUS = ascii(",\"status\":");
+  private static final byte[] CREATION_DATETIME = ascii(",\"creationDatetime\":");
+  private static final byte[] DUE_DATETIME = ascii(",\"dueDatetime\":");
+  private static final byte[] DONE_DATETIME = ascii(",\"doneDatetime\":");
+  private static final byte[] TAGS = ascii(",\"tags\":");
+  private static final byte[] ERROR = ascii("{\"error\":");
+  private static final byte[] MESSAGE = ascii(",\"message\":");
+  private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+  private static final byte[] ERROR_STATUS = ascii(",\"status\":");
+  private static final byte[] NULL = ascii("null");
+  private static final byte[][] FIELD_NAMES = new byte[ToDoField.values().length][];
+
+  private static final Status[] STATUSES = Status.values();
+  private static final byte[][] STATUS_NAMES = new byte[STATUSES.length][];
+  private static final byte[][] QUOTED_STATUS_NAMES = new byte[STATUSES.length][];
+
+  static {
+    for (Status status : STATUSES) {
+      STATUS_NAMES[status.ordinal()] = ascii(status.name());
+      QUOTED_STATUS_NAMES[status.ordinal()] = ascii("\"" + status.name() + "\"");
+    }
+    for (ToDoField field : ToDoField.values()) {
+      FIELD_NAMES[field.ordinal()] = ascii("\"" + field.getJsonName() + "\":");
+    }
+  }
+
+  private final ObjectMapper objectMapper;
+  private final JsonBuffer.Pool pool;
+
+  /**
+   * Constructor for ToDoJsonCodec.
+   *
+   * @param objectMapper        the mapper for documents the codec does not handle itself
+   * @param maxPooledBuffers    the number of idle buffers kept for reuse
+   * @param maxPooledBufferSize the largest buffer, in bytes, returned to the pool
+   */
+  @Autowired
+  public ToDoJsonCodec(ObjectMapper objectMapper,
+                       @Value("${todo.codec.json.max-pooled-buffers:64}") int maxPooledBuffers,
+                       @Value("${todo.codec.json.max-pooled-buffer-size:1048576}")
+                       int maxPooledBufferSize) {
+    this.objectMapper = objectMapper;
+    this.pool = new JsonBuffer.Pool(maxPooledBuffers, 4096, maxPooledBufferSize);
+  }
+
+  /**
+   * Constructor for ToDoJsonCodec with the default pool settings.
+   *
+   * @param objectMapper the mapper for documents the codec does not handle itself
+   */
+  public ToDoJsonCodec(ObjectMapper objectMapper) {
+    this(objectMapper, 64, 1 << 20);
+  }
+
+  /**
+   * Whether the codec writes values of a type itself.
+   *
+   * @param type the value type
+   * @return true for items and error responses
+   */
+  public static boolean supports(Class<?> type) {
+    return ToDoItem.class.isAssignableFrom(type) || ErrorResponse.class == type;
+  }
+
+  /**
+   * Encode an item, an error response or a collection of items.
+   *
+   * @param value the value
+   * @return the JSON bytes
+   */
+  public byte[] encode(Object value) {
+    JsonBuffer buffer = pool.acquire();
+    try {
+      if (tryEncode(value, buffer)) {
+        return buffer.toByteArray();
+      }
+    } finally {
+      pool.release(buffer);
+    }
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Encode a list of items with only some of their fields, written in the usual order.
+   *
+   * @param rows   the items
+   * @param fields the fields to write
+   * @return the JSON bytes
+   */
+  public byte[] encodeFields(List<ToDoItemFields> rows, Set<ToDoField> fields) {
+    JsonBuffer buffer = pool.acquire();
+    try {
+      buffer.writeByte('[');
+      for (int i = 0; i < rows.size(); i++) {
+        if (i > 0) {
+          buffer.writeByte(',');
+        }
+        writeFields(rows.get(i), fields, buffer);
+      }
+      buffer.writeByte(']');
+      return buffer.toByteArray();
+    } finally {
+      pool.release(buffer);
+    }
+  }
+
+  /**
+   * Decode an item from a request body.
+   *
+   * @param in the body
+   * @return the item
+   * @throws IOException if the body cannot be read or is not a valid item
+   */
+  public ToDoItem decodeItem(InputStream in) throws IOException {
+    JsonBuffer buffer = pool.acquire();
+    try {
+      buffer.readFrom(in);
+      try {
+        return new Parser(buffer.array(), buffer.size()).readItem();
+      } catch (JsonBuffer.FallbackException ex) {
+        return objectMapper.readValue(buffer.array(), 0, buffer.size(), ToDoItem.class);
+      }
+    } finally {
+      pool.release(buffer);
+    }
+  }
+
+  ObjectMapper objectMapper() {
+    return objectMapper;
+  }
+
+  JsonBuffer acquire() {
+    return pool.acquire();
+  }
+
+  void release(JsonBuffer buffer) {
+    pool.release(buffer);
+  }
+
+  int idleBuffers() {
+    return pool.idle();
+  }
+
+  /**
+   * Write a value into a buffer.
+   *
+   * @param value  the value
+   * @param buffer the buffer
+   * @return false, with the buffer emptied, if the value has to be written by Jackson
+   */
+  boolean tryEncode(Object value, JsonBuffer buffer) {
+    if (value instanceof ToDoItem item) {
+      writeItem(item, buffer);
+      return true;
+    }
+    if (value instanceof ErrorResponse error) {
+      writeError(error, buffer);
+      return true;
+    }
+    if (!(value instanceof Collection<?> items)) {
+      return false;
+    }
+    buffer.writeByte('[');
+    boolean first = true;
+    for (Object item : items) {
+      if (!(item instanceof ToDoItem)) {
+        buffer.reset();
+        return false;
+      }
+      if (!first) {
+        buffer.writeByte(',');
+      }
+      writeItem((ToDoItem) item, buffer);
+      first = false;
+    }
+    buffer.writeByte(']');
+    return true;
+  }
+
+  private static void writeItem(ToDoItem item, JsonBuffer buffer) {
+    buffer.writeBytes(ID);
+    if (item.getId() == null) {
+      buffer.writeBytes(NULL);
+    } else {
+      buffer.writeLong(item.getId());
+    }
+    buffer.writeBytes(DESCRIPTION);
+    writeString(item.getDescription(), buffer);
+    buffer.writeBytes(STATUS);
+    Status status = item.getStatus();
+    buffer.writeBytes(status == null ? NULL : QUOTED_STATUS_NAMES[status.ordinal()]);
+    buffer.writeBytes(CREATION_DATETIME);
+    writeDateTime(item.getCreationDatetime(), buffer);
+    buffer.writeBytes(DUE_DATETIME);
+    writeDateTime(item.getDueDatetime(), buffer);
+    buffer.writeBytes(DONE_DATETIME);
+    writeDateTime(item.getDoneDatetime(), buffer);
+    buffer.writeBytes(TAGS);
+    writeTags(item.getTags(), buffer);
+    buffer.writeByte('}');
+  }
+
+  private static void writeFields(ToDoItemFields row, Set<ToDoField> fields,
+                                  JsonBuffer buffer) {
+    buffer.writeByte('{');
+    boolean first = true;
+    for (ToDoField field : fields) {
+      if (!first) {
+        buffer.writeByte(',');
+      }
+      buffer.writeBytes(FIELD_NAMES[field.ordinal()]);
+      switch (field) {
+        case ID -> buffer.writeLong(row.id());
+        case DESCRIPTION -> writeString(row.description(), buffer);
+        case STATUS -> buffer.writeBytes(row.status() == null
+            ? NULL : QUOTED_STATUS_NAMES[row.status().ordinal()]);
+        case CREATION_DATETIME -> writeDateTime(row.creationDatetime(), buffer);
+        case DUE_DATETIME -> writeDateTime(row.dueDatetime(), buffer);
+        case DONE_DATETIME -> writeDateTime(row.doneDatetime(), buffer);
+        case TAGS -> writeTags(row.tags(), buffer);
+        default -> throw new IllegalArgumentException("Unknown field " + field);
+      }
+      first = false;
+    }
+    buffer.writeByte('}');
+  }
+
+  private static void writeTags(Collection<String> tags, JsonBuffer buffer) {
+    buffer.writeByte('[');
+    boolean first = true;
+    for (String tag : tags) {
+      if (!first) {
+        buffer.writeByte(',');
+      }
+      writeString(tag, buffer);
+      first = false;
+    }
+    buffer.writeByte(']');
+  }
+
+  private static void writeError(ErrorResponse error, JsonBuffer buffer) {
+    buffer.writeBytes(ERROR);
+    writeString(error.getError(), buffer);
+    buffer.writeBytes(MESSAGE);
+    writeString(error.getMessage(), buffer);
+    buffer.writeBytes(TIMESTAMP);
+    writeDateTime(error.getTimestamp(), buffer);
+    buffer.writeBytes(ERROR_STATUS);
+    buffer.writeLong(error.getStatus());
+    buffer.writeByte('}');
+  }
+
+  private static void writeString(String value, JsonBuffer buffer) {
+    if (value == null) {
+      buffer.writeBytes(NULL);
+    } else {
+      buffer.writeString(value);
+    }
+  }
+
+  private static void writeDateTime(LocalDateTime value, JsonBuffer buffer) {
+    if (value == null) {
+      buffer.writeBytes(NULL);
+    } else {
+      buffer.writeDateTime(value);
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Reads one item object, throwing {@link JsonBuffer.FallbackException} at the first thing
+   * it does not handle.
+   */
+  private static final class Parser {
+
+    private static final byte[] ID_NAME = ascii("id");
+    private static final byte[] DESCRIPTION_NAME = ascii("description");
+    private static final byte[] STATUS_NAME = ascii("status");
+    private static final byte[] CREATION_DATETIME_NAME = ascii("creationDatetime");
+    private static final byte[] DUE_DATETIME_NAME = ascii("dueDatetime");
+    private static final byte[] DONE_DATETIME_NAME = ascii("doneDatetime");
+    private static final byte[] TAGS_NAME = ascii("tags");
+
+    private final byte[] bytes;
+    private final int end;
+    private int pos;
+
+    private Parser(byte[] bytes, int end) {
+      this.bytes = bytes;
+      this.end = end;
+    }
+
+    private ToDoItem readItem() {
+      ToDoItem item = new ToDoItem();
+      expect('{');
+      if (peek() == '}') {
+        pos++;
+      } else {
+        do {
+          readField(item);
+        } while (separator('}'));
+      }
+      skipWhitespace();
+      if (pos != end) {
+        throw fallback();
+      }
+      return item;
+    }
+
+    private void readField(ToDoItem item) {
+      expect('"');
+      final int start = pos;
+      while (pos < end && bytes[pos] != '"') {
+        if (bytes[pos] == '\\') {
+          throw fallback();
+        }
+        pos++;
+      }
+      final int nameEnd = pos;
+      expect('"');
+      expect(':');
+      skipWhitespace();
+      if (is(start, nameEnd, ID_NAME)) {
+        item.setId(isNull() ? null : readLong());
+      } else if (is(start, nameEnd, DESCRIPTION_NAME)) {
+        item.setDescription(isNull() ? null : readString());
+      } else if (is(start, nameEnd, STATUS_NAME)) {
+        item.setStatus(isNull() ? null : readStatus());
+      } else if (is(start, nameEnd, CREATION_DATETIME_NAME)) {
+        item.setCreationDatetime(isNull() ? null : readDateTime());
+      } else if (is(start, nameEnd, DUE_DATETIME_NAME)) {
+        item.setDueDatetime(isNull() ? null : readDateTime());
+      } else if (is(start, nameEnd, DONE_DATETIME_NAME)) {
+        item.setDoneDatetime(isNull() ? null : readDateTime());
+      } else if (is(start, nameEnd, TAGS_NAME)) {
+        item.setTags(isNull() ? null : readTags());
+      } else {
+        throw fallback();
+      }
+    }
+
+    private boolean is(int start, int nameEnd, byte[] name) {
+      return Arrays.equals(bytes, start, nameEnd, name, 0, name.length);
+    }
+
+    private boolean isNull() {
+      if (end - pos >= 4 && bytes[pos] == 'n' && bytes[pos + 1] == 'u'
+          && bytes[pos + 2] == 'l' && bytes[pos + 3] == 'l') {
+        pos += 4;
+        return true;
+      }
+      return false;
+    }
+
+    private long readLong() {
+      boolean negative = pos < end && bytes[pos] == '-';
+      if (negative) {
+        pos++;
+      }
+      int start = pos;
+      long value = 0;
+      while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') {
+        value = value * 10 + (bytes[pos++] - '0');
+      }
+      int digits = pos - start;
+      if (digits == 0 || digits > 18 || (digits > 1 && bytes[start] == '0')
+          || (pos < end && (bytes[pos] == '.' || bytes[pos] == 'e' || bytes[pos] == 'E'))) {
+        throw fallback();
+      }
+      return negative ? -value : value;
+    }
+
+    private String readString() {
+      expectRaw('"');
+      int start = pos;
+      while (pos < end) {
+        byte b = bytes[pos];
+        if (b == '"') {
+          String value = new String(bytes, start, pos - start, StandardCharsets.US_ASCII);
+          pos++;
+          return value;
+        }
+        if (b == '\\') {
+          return readEscapedString(start);
+        }
+        if (b < 0x20) {
+          throw fallback();
+        }
+        pos++;
+      }
+      throw fallback();
+    }
+
+    private String readEscapedString(int start) {
+      StringBuilder value = new StringBuilder(pos - start + 16);
+      for (int i = start; i < pos; i++) {
+        value.append((char) bytes[i]);
+      }
+      while (pos < end) {
+        byte b = bytes[pos++];
+        if (b == '"') {
+          return value.toString();
+        }
+        if (b < 0x20) {
+          throw fallback();
+        }
+        if (b != '\\') {
+          value.append((char) b);
+          continue;
+        }
+        if (pos == end) {
+          throw fallback();
+        }
+        byte escaped = bytes[pos++];
+        switch (escaped) {
+          case '"', '\\', '/' -> value.append((char) escaped);
+          case 'b' -> value.append('\b');
+          case 'f' -> value.append('\f');
+          case 'n' -> value.append('\n');
+          case 'r' -> value.append('\r');
+          case 't' -> value.append('\t');
+          case 'u' -> value.append(readHexChar());
+          default -> throw fallback();
+        }
+      }
+      throw fallback();
+    }
+
+    private char readHexChar() {
+      if (end - pos < 4) {
+        throw fallback();
+      }
+      int value = 0;
+      for (int i = 0; i < 4; i++) {
+        int digit = Character.digit(bytes[pos++], 16);
+        if (digit < 0) {
+          throw fallback();
+        }
+        value = value << 4 | digit;
+      }
+      return (char) value;
+    }
+
+    private Status readStatus() {
+      expectRaw('"');
+      int start = pos;
+      while (pos < end && bytes[pos] != '"') {
+        pos++;
+      }
+      int nameEnd = pos;
+      expectRaw('"');
+      for (Status status : STATUSES) {
+        if (is(start, nameEnd, STATUS_NAMES[status.ordinal()])) {
+          return status;
+        }
+      }
+      throw fallback();
+    }
+
+    /**
+     * Reads {@code yyyy-MM-ddTHH:mm}, optionally followed by seconds and up to nine digits of
+     * fraction, the forms {@code ISO_LOCAL_DATE_TIME} accepts for four-digit years.
+     */
+    private LocalDateTime readDateTime() {
+      expectRaw('"');
+      int year = digits(4);
+      literal('-');
+      int month = digits(2);
+      literal('-');
+      int day = digits(2);
+      literal('T');
+      int hour = digits(2);
+      literal(':');
+      int minute = digits(2);
+      int second = 0;
+      int nano = 0;
+      if (pos < end && bytes[pos] == ':') {
+        pos++;
+        second = digits(2);
+        if (pos < end && bytes[pos] == '.') {
+          pos++;
+          int start = pos;
+          while (pos < end && pos - start < 9 && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            nano = nano * 10 + (bytes[pos++] - '0');
+          }
+          if (pos == start) {
+            throw fallback();
+          }
+          for (int i = pos - start; i < 9; i++) {
+            nano *= 10;
+          }
+        }
+      }
+      expectRaw('"');
+      try {
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+      } catch (DateTimeException ex) {
+        throw fallback();
+      }
+    }
+
+    private int digits(int count) {
+      if (end - pos < count) {
+        throw fallback();
+      }
+      int value = 0;
+      for (int i = 0; i < count; i++) {
+        byte b = bytes[pos++];
+        if (b < '0' || b > '9') {
+          throw fallback();
+        }
+        value = value * 10 + (b - '0');
+      }
+      return value;
+    }
+
+    private void literal(char c) {
+      if (pos == end || bytes[pos] != c) {
+        throw fallback();
+      }
+      pos++;
+    }
+
+    private List<String> readTags() {
+      expectRaw('[');
+      List<String> tags = new ArrayList<>();
+      if (peek() == ']') {
+        pos++;
+        return tags;
+      }
+      do {
+        skipWhitespace();
+        if (pos == end || bytes[pos] != '"') {
+          throw fallback();
+        }
+        tags.add(readString());
+      } while (separator(']'));
+      return tags;
+    }
+
+    private void expect(char c) {
+      skipWhitespace();
+      expectRaw(c);
+    }
+
+    private void expectRaw(char c) {
+      if (pos == end || bytes[pos] != c) {
+        throw fallback();
+      }
+      pos++;
+    }
+
+    private int peek() {
+      skipWhitespace();
+      return pos < end ? bytes[pos] : -1;
+    }
+
+    /**
+     * Consume the byte after a value: true for a comma, false for the closing bracket of the
+     * current object or array.
+     */
+    private boolean separator(char close) {
+      skipWhitespace();
+      if (pos < end && bytes[pos] == ',') {
+        pos++;
+        return true;
+      }
+      expectRaw(close);
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while (pos < end) {
+        byte b = bytes[pos];
+        if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+          return;
+        }
+        pos++;
+      }
+    }
+
+    private static JsonBuffer.FallbackException fallback() {
+      return new JsonBuffer.FallbackException();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.todo.todolist.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.todo.todolist.model.ToDoItem;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads and writes the item and error bodies of the MVC API with {@link ToDoJsonCodec}.
+ *
+ * <p>Spring Boot places converter beans ahead of its Jackson converter, so this one answers
+ * for items, lists of items and error responses, while every other body, such as batch
+ * results or archive pages, is still written by Jackson. Lists returned without a declared
+ * element type are accepted too; if one holds anything but items it is written by the
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} instead.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ToDoJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  private final ToDoJsonCodec codec;
+
+  /**
+   * Constructor for ToDoJsonHttpMessageConverter.
+   *
+   * @param codec the codec writing and reading the bodies
+   */
+  public ToDoJsonHttpMessageConverter(ToDoJsonCodec codec) {
+    super(MediaType.APPLICATION_JSON);
+    this.codec = codec;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return ToDoJsonCodec.supports(clazz) || Collection.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return type == ToDoItem.class && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return clazz == ToDoItem.class && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    if (!canWrite(mediaType)) {
+      return false;
+    }
+    ResolvableType resolved = type != null ? ResolvableType.forType(type)
+        : ResolvableType.forClass(clazz);
+    Class<?> raw = resolved.toClass();
+    if (raw == Object.class) {
+      raw = clazz;
+    }
+    if (ToDoJsonCodec.supports(raw)) {
+      return true;
+    }
+    if (!Collection.class.isAssignableFrom(raw)) {
+      return false;
+    }
+    Class<?> element = resolved.asCollection().resolveGeneric(0);
+    return element == null || element == Object.class || ToDoItem.class.isAssignableFrom(element);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+      throws IOException {
+    return readInternal(ToDoItem.class, inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+      throws IOException {
+    try {
+      return codec.decodeItem(inputMessage.getBody());
+    } catch (JsonProcessingException ex) {
+      throw new HttpMessageNotReadableException(
+          "JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    JsonBuffer buffer = codec.acquire();
+    try {
+      if (codec.tryEncode(value, buffer)) {
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+        return;
+      }
+    } finally {
+      codec.release(buffer);
+    }
+    outputMessage.getBody().write(codec.objectMapper().writeValueAsBytes(value));
+  }
+}
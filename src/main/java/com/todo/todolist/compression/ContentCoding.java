@@ -0,0 +1,43 @@
+package com.todo.todolist.compression;
+
+import java.util.Locale;
+
+/**
+ * HTTP content codings the API can compress response bodies with.
+ */
+public enum ContentCoding {
+  GZIP("gzip"),
+  DEFLATE("deflate");
+
+  private final String token;
+
+  ContentCoding(String token) {
+    this.token = token;
+  }
+
+  /**
+   * The token used for this coding in {@code Accept-Encoding} and {@code Content-Encoding}.
+   *
+   * @return the coding token
+   */
+  public String token() {
+    return token;
+  }
+
+  /**
+   * Find the coding for a token, ignoring case and surrounding whitespace.
+   *
+   * @param token the coding token
+   * @return the coding
+   * @throws IllegalArgumentException if the token names no supported coding
+   */
+  public static ContentCoding fromToken(String token) {
+    String normalized = token.trim().toLowerCase(Locale.ROOT);
+    for (ContentCoding coding : values()) {
+      if (coding.token.equals(normalized)) {
+        return coding;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported content coding: " + token);
+  }
+}
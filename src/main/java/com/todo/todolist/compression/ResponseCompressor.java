@@ -0,0 +1,215 @@
+package com.todo.todolist.compression;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compresses response bodies with gzip or deflate using pooled {@link Deflater}s.
+ *
+ * <p>A {@code Deflater} holds a native zlib stream of a few hundred kilobytes that is only
+ * released by {@link Deflater#end()} or the cleaner, so creating one per response, as
+ * {@link java.util.zip.GZIPOutputStream} does, costs an allocation and native setup each time.
+ * Idle deflaters are kept per coding instead and reset between uses; those that do not fit
+ * back into the pool are ended at once. The gzip header and trailer are written here around
+ * a raw deflate stream, and {@code deflate} is the zlib format HTTP defines for it.
+ */
+@Component
+public class ResponseCompressor {
+
+  private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0};
+  private static final int GZIP_TRAILER_SIZE = 8;
+
+  private final boolean enabled;
+  private final List<ContentCoding> codings;
+  private final int level;
+  private final int minSize;
+  private final Map<ContentCoding, ArrayBlockingQueue<Deflater>> pools =
+      new EnumMap<>(ContentCoding.class);
+
+  /**
+   * Constructor for ResponseCompressor.
+   *
+   * @param enabled            whether responses are compressed at all
+   * @param codings            the codings offered, most preferred first
+   * @param level              the zlib compression level, 1 to 9
+   * @param minSize            the minimum body size, in bytes, worth compressing
+   * @param maxPooledDeflaters the maximum number of idle deflaters kept per coding
+   */
+  public ResponseCompressor(@Value("${todo.compression.enabled:true}") boolean enabled,
+                            @Value("${todo.compression.codings:gzip,deflate}") List<String> codings,
+                            @Value("${todo.compression.level:6}") int level,
+                            @Value("${todo.compression.min-size:1024}") int minSize,
+                            @Value("${todo.compression.max-pooled-deflaters:16}")
+                            int maxPooledDeflaters) {
+    if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+    }
+    Set<ContentCoding> offered = new LinkedHashSet<>();
+    for (String coding : codings) {
+      offered.add(ContentCoding.fromToken(coding));
+    }
+    this.enabled = enabled;
+    this.codings = List.copyOf(offered);
+    this.level = level;
+    this.minSize = minSize;
+    for (ContentCoding coding : ContentCoding.values()) {
+      pools.put(coding, new ArrayBlockingQueue<>(Math.max(1, maxPooledDeflaters)));
+    }
+  }
+
+  /**
+   * Pick the coding to compress a response with from the client's {@code Accept-Encoding}.
+   *
+   * <p>The offered coding with the highest quality value wins, ties going to the one offered
+   * first; {@code *} stands for every coding the header does not name, and a quality of 0
+   * refuses a coding.
+   *
+   * @param acceptEncoding the {@code Accept-Encoding} header, or null
+   * @return the coding, or null to send the body as it is
+   */
+  public ContentCoding negotiate(String acceptEncoding) {
+    if (!enabled || acceptEncoding == null) {
+      return null;
+    }
+    double[] quality = new double[ContentCoding.values().length];
+    Arrays.fill(quality, -1);
+    double wildcard = -1;
+    for (String part : acceptEncoding.split(",")) {
+      String[] fields = part.split(";");
+      String name = fields[0].trim().toLowerCase(Locale.ROOT);
+      double q = quality(fields);
+      if ("*".equals(name)) {
+        wildcard = q;
+        continue;
+      }
+      for (ContentCoding coding : ContentCoding.values()) {
+        if (coding.token().equals(name)) {
+          quality[coding.ordinal()] = q;
+        }
+      }
+    }
+
+    ContentCoding best = null;
+    double bestQuality = 0;
+    for (ContentCoding coding : codings) {
+      double q = quality[coding.ordinal()] >= 0 ? quality[coding.ordinal()] : wildcard;
+      if (q > bestQuality) {
+        best = coding;
+        bestQuality = q;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Whether a body of the given size is large enough to be worth compressing.
+   *
+   * @param size the uncompressed body size in bytes
+   * @return true when the body reaches the configured minimum size
+   */
+  public boolean worthCompressing(int size) {
+    return enabled && size >= minSize;
+  }
+
+  /**
+   * Compress a body.
+   *
+   * @param body   the uncompressed bytes
+   * @param coding the coding to apply
+   * @return the compressed bytes
+   */
+  public byte[] compress(byte[] body, ContentCoding coding) {
+    boolean gzip = coding == ContentCoding.GZIP;
+    int header = gzip ? GZIP_HEADER.length : 0;
+    int trailer = gzip ? GZIP_TRAILER_SIZE : 0;
+    byte[] out = new byte[header + Math.max(64, body.length / 4) + trailer];
+    int size = header;
+    if (gzip) {
+      System.arraycopy(GZIP_HEADER, 0, out, 0, header);
+    }
+
+    Deflater deflater = acquire(coding);
+    try {
+      deflater.setInput(body);
+      deflater.finish();
+      while (!deflater.finished()) {
+        if (size == out.length - trailer) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        size += deflater.deflate(out, size, out.length - trailer - size);
+      }
+    } finally {
+      release(coding, deflater);
+    }
+
+    if (gzip) {
+      CRC32 crc = new CRC32();
+      crc.update(body);
+      writeIntLittleEndian(out, size, (int) crc.getValue());
+      writeIntLittleEndian(out, size + 4, body.length);
+      size += trailer;
+    }
+    return size == out.length ? out : Arrays.copyOf(out, size);
+  }
+
+  /**
+   * Release the native memory of every idle deflater.
+   */
+  @PreDestroy
+  public void close() {
+    for (ArrayBlockingQueue<Deflater> pool : pools.values()) {
+      Deflater deflater;
+      while ((deflater = pool.poll()) != null) {
+        deflater.end();
+      }
+    }
+  }
+
+  int idleDeflaters(ContentCoding coding) {
+    return pools.get(coding).size();
+  }
+
+  private Deflater acquire(ContentCoding coding) {
+    Deflater deflater = pools.get(coding).poll();
+    return deflater != null ? deflater : new Deflater(level, coding == ContentCoding.GZIP);
+  }
+
+  private void release(ContentCoding coding, Deflater deflater) {
+    deflater.reset();
+    if (!pools.get(coding).offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  private static double quality(String[] fields) {
+    for (int i = 1; i < fields.length; i++) {
+      String parameter = fields[i].trim();
+      if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static void writeIntLittleEndian(byte[] out, int offset, int value) {
+    out[offset] = (byte) value;
+    out[offset + 1] = (byte) (value >>> 8);
+    out[offset + 2] = (byte) (value >>> 16);
+    out[offset + 3] = (byte) (value >>> 24);
+  }
+}
@@ -0,0 +1,110 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.service.ToDoArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for reading archived To-Do items.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Controller", description = "Todos list management")
+public class ToDoArchiveController {
+
+  private final ToDoArchiveService archiveService;
+
+  /**
+   * Constructor for ToDoArchiveController.
+   *
+   * @param archiveService the service managing archived items
+   */
+  public ToDoArchiveController(ToDoArchiveService archiveService) {
+    this.archiveService = archiveService;
+  }
+
+  /**
+   * Get a page of archived items.
+   *
+   * @param after cursor returned as {@code next} by the previous page
+   * @param limit the maximum number of items to return
+   * @return the page of archived items
+   */
+  @GetMapping("/archive")
+  @Operation(summary = "Archived todos")
+  @Parameter(
+      name = "after",
+      description = "Return items after this cursor, taken from the previous page",
+      example = "120"
+  )
+  @Parameter(
+      name = "limit",
+      description = "Maximum number of items to return",
+      example = "50"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "items": [
+                        {
+                          "id": 121,
+                          "description": "Buy groceries",
+                          "status": "DONE",
+                          "creationDatetime": "2025-06-01T20:11:30.134181",
+                          "dueDatetime": "2025-06-10T18:00:00",
+                          "doneDatetime": "2025-06-09T09:30:00",
+                          "archivedDatetime": "2025-07-10T03:00:00",
+                          "tags": ["home"]
+                        }
+                      ],
+                      "next": 121
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Bad Request",
+                      "message": "Limit must be between 1 and 500.",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 400
+                    }
+                  """
+              )
+          )
+      )
+  })
+  public ResponseEntity<ArchivePage> getArchivedItems(
+      @RequestParam Optional<Long> after,
+      @RequestParam(defaultValue = "50") int limit) {
+    return ResponseEntity.ok(
+        new ArchivePage(archiveService.getArchivedItems(after, limit), limit));
+  }
+}
@@ -0,0 +1,136 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.service.ToDoBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller running several To-Do operations in one request.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Controller", description = "Todos list management")
+public class ToDoBatchController {
+
+  private final ToDoBatchService batchService;
+
+  /**
+   * Constructor for ToDoBatchController.
+   *
+   * @param batchService the service running batches
+   */
+  public ToDoBatchController(ToDoBatchService batchService) {
+    this.batchService = batchService;
+  }
+
+  /**
+   * Run an ordered list of operations in one transaction.
+   *
+   * @param request the operations and the batch mode
+   * @return whether the batch was committed and the result of every operation
+   */
+  @PostMapping("/$batch")
+  @Operation(
+      summary = "Run several operations in one transaction",
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BatchRequest.class),
+              examples = @ExampleObject(
+                  name = "BatchExample",
+                  value = """
+                    {
+                      "mode": "atomic",
+                      "operations": [
+                        { "op": "create", "body": { "description": "Buy groceries",
+                          "dueDatetime": "2026-08-10T18:00:00" } },
+                        { "op": "done", "id": 2 },
+                        { "op": "delete", "id": 3 }
+                      ]
+                    }
+                  """
+              )
+          )
+      )
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "committed": false,
+                      "results": [
+                        {
+                          "index": 0,
+                          "op": "create",
+                          "error": "Rolled Back",
+                          "message": "Rolled back because operation 1 failed.",
+                          "timestamp": "2025-08-06T20:29:31.253979",
+                          "status": 424,
+                          "item": null
+                        },
+                        {
+                          "index": 1,
+                          "op": "done",
+                          "error": "Already Exists",
+                          "message": "Item marked already as done.",
+                          "timestamp": "2025-08-06T20:29:31.253979",
+                          "status": 409,
+                          "item": null
+                        },
+                        {
+                          "index": 2,
+                          "op": "delete",
+                          "error": "Not Executed",
+                          "message": "Not executed because operation 1 failed.",
+                          "timestamp": "2025-08-06T20:29:31.253979",
+                          "status": 424,
+                          "item": null
+                        }
+                      ]
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Bad Request",
+                      "message": "A batch must contain between 1 and 100 operations.",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 400
+                    }
+                  """
+              )
+          )
+      )
+  })
+  public ResponseEntity<BatchResponse> executeBatch(@RequestBody BatchRequest request) {
+    return ResponseEntity.ok(batchService.execute(request));
+  }
+}
@@ -0,0 +1,117 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.DueCalendar;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.service.ToDoCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the due date calendar.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Controller", description = "Todos list management")
+public class ToDoCalendarController {
+
+  private final ToDoCalendarService calendarService;
+
+  /**
+   * Constructor for ToDoCalendarController.
+   *
+   * @param calendarService the service counting items per due day
+   */
+  public ToDoCalendarController(ToDoCalendarService calendarService) {
+    this.calendarService = calendarService;
+  }
+
+  /**
+   * Get the number of items due per day and status over a range.
+   *
+   * @param from the first day, defaulting to the first day of the current month
+   * @param to   the last day, inclusive, defaulting to the last day of the month of from
+   * @return the days with items due
+   */
+  @GetMapping("/calendar")
+  @Operation(summary = "Items due per day and status")
+  @Parameter(
+      name = "from",
+      description = "First day of the range, defaults to the first day of this month",
+      example = "2025-06-01"
+  )
+  @Parameter(
+      name = "to",
+      description = "Last day of the range, inclusive, defaults to the end of the month of from",
+      example = "2025-06-30"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "from": "2025-06-01",
+                      "to": "2025-06-30",
+                      "days": [
+                        {
+                          "date": "2025-06-10",
+                          "total": 3,
+                          "statuses": { "NOT_DONE": 1, "DONE": 1, "OVERDUE": 1 }
+                        }
+                      ]
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Bad Request",
+                      "message": "Range must not be longer than 366 days.",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 400
+                    }
+                  """
+              )
+          )
+      )
+  })
+  public ResponseEntity<DueCalendar> getCalendar(@RequestParam Optional<String> from,
+                                                 @RequestParam Optional<String> to) {
+    LocalDate first;
+    LocalDate last;
+    try {
+      first = from.map(LocalDate::parse).orElseGet(() -> YearMonth.now().atDay(1));
+      last = to.map(LocalDate::parse).orElseGet(() -> YearMonth.from(first).atEndOfMonth());
+    } catch (DateTimeParseException ex) {
+      throw new BadRequestException("From and to must be ISO-8601 dates such as 2025-06-01.");
+    }
+
+    return ResponseEntity.ok(calendarService.getCalendar(first, last));
+  }
+}
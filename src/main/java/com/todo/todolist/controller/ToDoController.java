@@ -1,7 +1,18 @@
 package com.todo.todolist.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.todo.todolist.cache.IdempotencyStore;
+import com.todo.todolist.cache.ListResponseCache;
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.compression.ContentCoding;
+import com.todo.todolist.compression.ResponseCompressor;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.exception.BadRequestException;
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
 import com.todo.todolist.service.ToDoService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +23,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,6 +47,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -32,27 +57,50 @@ import org.springframework.web.bind.annotation.RestController;
  * REST Controller for managing To-Do items.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/todos")
 @Tag(name = "Todo Controller", description = "Todos list management")
 public class ToDoController {
 
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
   private final ToDoService toDoService;
+  private final ListResponseCache listResponseCache;
+  private final ResponseCompressor responseCompressor;
+  private final IdempotencyStore idempotencyStore;
+  private final ToDoJsonCodec jsonCodec;
 
   /**
    * Constructor for ToDoController.
    *
-   * @param toDoService the service to handle todo operations
+   * @param toDoService        the service to handle todo operations
+   * @param listResponseCache  the cache of encoded list responses
+   * @param responseCompressor negotiates the content coding of list responses
+   * @param idempotencyStore   the store of responses to idempotent requests
+   * @param jsonCodec          the codec writing items with only some of their fields
    */
   @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
                       justification = "ToDoService is an interface used for dependency injection")
-  public ToDoController(ToDoService toDoService) {
+  public ToDoController(ToDoService toDoService, ListResponseCache listResponseCache,
+                        ResponseCompressor responseCompressor,
+                        IdempotencyStore idempotencyStore, ToDoJsonCodec jsonCodec) {
     this.toDoService = toDoService;
+    this.listResponseCache = listResponseCache;
+    this.responseCompressor = responseCompressor;
+    this.idempotencyStore = idempotencyStore;
+    this.jsonCodec = jsonCodec;
   }
 
   /**
-   * Get all todo items, optionally filtered by status.
+   * Get all todo items, optionally filtered by status and tags.
    *
    * @param status optional status filter
+   * @param tags   optional comma separated tags filter
+   * @param match  whether items must carry all or any of the given tags
+   * @param fields optional comma separated fields to return
+   * @param accept         the media types accepted by the client
+   * @param acceptEncoding the content codings accepted by the client
    * @return list of todo items
    */
   @GetMapping
@@ -66,6 +114,25 @@ public class ToDoController {
           allowableValues = {"NOT_DONE", "DONE", "OVERDUE"}
       )
   )
+  @Parameter(
+      name = "tags",
+      description = "Filter items by comma separated tags",
+      example = "home,urgent"
+  )
+  @Parameter(
+      name = "match",
+      description = "Require all of the given tags or any of them",
+      example = "all",
+      schema = @Schema(
+          type = "string",
+          allowableValues = {"all", "any"}
+      )
+  )
+  @Parameter(
+      name = "fields",
+      description = "Return only these comma separated fields of each item, always as JSON",
+      example = "id,status,dueDatetime"
+  )
   @ApiResponses(value = {
       @ApiResponse(
           responseCode = "200",
@@ -81,7 +148,8 @@ public class ToDoController {
                         "status": "NOT_DONE",
                         "creationDatetime": "2025-08-06T20:17:20.04421",
                         "dueDatetime": "2026-08-10T18:00:00",
-                        "doneDatetime": null
+                        "doneDatetime": null,
+                        "tags": ["home"]
                       }
                     ]
                   """
@@ -89,10 +157,123 @@ public class ToDoController {
           )
       )
   })
-  public ResponseEntity<List<ToDoItem>> getAllItems(@RequestParam Optional<String> status) {
-    List<ToDoItem> items = toDoService.getAllItems(status);
+  public ResponseEntity<?> getAllItems(
+      @RequestParam Optional<String> status,
+      @RequestParam Optional<List<String>> tags,
+      @RequestParam(defaultValue = "all") String match,
+      @RequestParam Optional<String> fields,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding) {
+    if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+      throw new BadRequestException("Tag match must be either 'all' or 'any'.");
+    }
+
+    Optional<Status> filter = status.map(ToDoController::parseStatus);
+    Optional<Set<ToDoField>> fieldSet = fields.map(ToDoController::parseFields);
 
-    return ResponseEntity.ok(items);
+    if (tags.isPresent()) {
+      List<ToDoItem> items =
+          toDoService.getItemsByTags(status, tags.get(), "all".equalsIgnoreCase(match));
+      if (fieldSet.isPresent()) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(jsonCodec.encodeFields(
+                items.stream().map(ToDoItemFields::of).toList(), fieldSet.get()));
+      }
+      return ResponseEntity.ok(items);
+    }
+
+    // Only valid statuses reach the cache, so no filter can share the key of the full list.
+    String key = filter.map(Status::name).orElse("ALL");
+    ContentCoding coding = responseCompressor.negotiate(acceptEncoding);
+    MediaType mediaType = acceptsBinary(accept) && fieldSet.isEmpty()
+        ? ToDoBinaryCodec.MEDIA_TYPE : MediaType.APPLICATION_JSON;
+    ListResponseCache.EncodedResponse response = fieldSet.isPresent()
+        ? listResponseCache.getFields(key, fieldSet.get(), coding,
+            () -> toDoService.getItemFields(status, fieldSet.get()))
+        : listResponseCache.get(key, mediaType, coding, () -> toDoService.getAllItems(status));
+
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+        .contentType(mediaType)
+        .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    if (response.coding() != null) {
+      builder.header(HttpHeaders.CONTENT_ENCODING, response.coding().token());
+    }
+    return builder.body(response.body());
+  }
+
+  /**
+   * Get the next NOT_DONE items by due date.
+   *
+   * @param limit  the maximum number of items to return
+   * @param within optional ISO-8601 duration from now in which the items must be due
+   * @return list of upcoming todo items
+   */
+  @GetMapping("/upcoming")
+  @Operation(summary = "Upcoming todos by due date")
+  @Parameter(
+      name = "limit",
+      description = "Maximum number of items to return",
+      example = "20"
+  )
+  @Parameter(
+      name = "within",
+      description = "ISO-8601 duration from now in which items must be due",
+      example = "P7D"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    [
+                      {
+                        "id": 1,
+                        "description": "Buy groceries",
+                        "status": "NOT_DONE",
+                        "creationDatetime": "2025-08-06T20:17:20.04421",
+                        "dueDatetime": "2026-08-10T18:00:00",
+                        "doneDatetime": null,
+                        "tags": []
+                      }
+                    ]
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Bad Request",
+                      "message": "Limit must be between 1 and 1000.",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 400
+                    }
+                  """
+              )
+          )
+      )
+  })
+  public ResponseEntity<List<ToDoItem>> getUpcomingItems(
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam Optional<String> within) {
+    Optional<Duration> window;
+    try {
+      window = within.map(Duration::parse);
+    } catch (DateTimeParseException ex) {
+      throw new BadRequestException("Within must be an ISO-8601 duration such as P7D.");
+    }
+
+    return ResponseEntity.ok(toDoService.getUpcomingItems(limit, window));
   }
 
   /**
@@ -150,7 +331,8 @@ public class ToDoController {
   /**
    * Create a new todo item.
    *
-   * @param item the item to create
+   * @param item           the item to create
+   * @param idempotencyKey optional key making retries of this request safe
    * @return the created item
    */
   @PostMapping
@@ -164,7 +346,7 @@ public class ToDoController {
               examples = @ExampleObject(
                   name = "CreateItemExample",
                   value = "{ \"description\": \"Buy groceries\", \"dueDatetime\": "
-                      + "\"2026-08-10T18:00:00\" }"
+                      + "\"2026-08-10T18:00:00\", \"tags\": [\"home\"] }"
               )
           )
       )
@@ -224,11 +406,20 @@ public class ToDoController {
           )
       )
   })
-  public ResponseEntity<ToDoItem> createItem(@RequestBody ToDoItem item) {
+  @Parameter(
+      name = IDEMPOTENCY_KEY_HEADER,
+      description = "Client generated key; retries with the same key replay the first response",
+      example = "8e03978e-40d5-43e8-bc93-6894a57f9324"
+  )
+  public ResponseEntity<ToDoItem> createItem(
+      @RequestBody ToDoItem item,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
     item.setStatus(Status.NOT_DONE);
-    ToDoItem created = toDoService.createItem(item);
+    String fingerprint = "POST /api/todos " + item.getDescription() + "|"
+        + item.getDueDatetime() + "|" + new TreeSet<>(item.getTags());
 
-    return new ResponseEntity<>(created, HttpStatus.CREATED);
+    return idempotent(idempotencyKey, fingerprint,
+        () -> new ResponseEntity<>(toDoService.createItem(item), HttpStatus.CREATED));
   }
 
   /**
@@ -332,10 +523,121 @@ public class ToDoController {
     return ResponseEntity.ok(updated);
   }
 
+  /**
+   * Partially update a todo item with a JSON Merge Patch.
+   *
+   * @param id             the item ID
+   * @param patch          the merge patch document
+   * @param idempotencyKey optional key making retries of this request safe
+   * @return the updated item
+   */
+  @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+  @Operation(
+      summary = "Partially update todo item",
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+          required = true,
+          content = @Content(
+              mediaType = MERGE_PATCH_JSON_VALUE,
+              examples = @ExampleObject(
+                  name = "PatchItemExample",
+                  value = "{ \"dueDatetime\": \"2026-08-11T18:00:00\" }"
+              )
+          )
+      )
+  )
+  @Parameter(
+      name = IDEMPOTENCY_KEY_HEADER,
+      description = "Client generated key; retries with the same key replay the first response",
+      example = "8e03978e-40d5-43e8-bc93-6894a57f9324"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "id": 1,
+                      "description": "Buy groceries",
+                      "status": "NOT_DONE",
+                      "creationDatetime": "2025-08-06T20:11:30.134181",
+                      "dueDatetime": "2026-08-11T18:00:00",
+                      "doneDatetime": null,
+                      "tags": ["home"]
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Bad Request",
+                      "message": "Field 'status' cannot be patched.",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 400
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "Not Found",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Not Found",
+                      "message": "Item not found with id 1",
+                      "timestamp": "2025-08-06T20:29:31.253979",
+                      "status": 404
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(
+          responseCode = "409",
+          description = "Conflict",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "error": "Already Exists",
+                      "message": "Todo item with the same description and due date already exists.",
+                      "timestamp": "2025-08-06T20:30:18.041581",
+                      "status": 409
+                    }
+                  """
+              )
+          )
+      )
+  })
+  public ResponseEntity<ToDoItem> patchItem(
+      @PathVariable Long id,
+      @RequestBody JsonNode patch,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    ToDoItemPatch itemPatch = ToDoItemPatch.fromJson(patch);
+
+    return idempotent(idempotencyKey, "PATCH /api/todos/" + id + " " + patch,
+        () -> ResponseEntity.ok(toDoService.patchItem(id, itemPatch)));
+  }
+
   /**
    * Mark a todo item as done.
    *
-   * @param id the item ID
+   * @param id             the item ID
+   * @param idempotencyKey optional key making retries of this request safe
    * @return the updated item
    */
   @PatchMapping("/{id}/done")
@@ -395,15 +697,23 @@ public class ToDoController {
           )
       )
   })
-  public ResponseEntity<ToDoItem> markAsDone(@PathVariable Long id) {
-    ToDoItem updated = toDoService.markAsDone(id);
-    return ResponseEntity.ok(updated);
+  @Parameter(
+      name = IDEMPOTENCY_KEY_HEADER,
+      description = "Client generated key; retries with the same key replay the first response",
+      example = "8e03978e-40d5-43e8-bc93-6894a57f9324"
+  )
+  public ResponseEntity<ToDoItem> markAsDone(
+      @PathVariable Long id,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    return idempotent(idempotencyKey, "PATCH /api/todos/" + id + "/done",
+        () -> ResponseEntity.ok(toDoService.markAsDone(id)));
   }
 
   /**
    * Mark a todo item as not done.
    *
-   * @param id the item ID
+   * @param id             the item ID
+   * @param idempotencyKey optional key making retries of this request safe
    * @return the updated item
    */
   @PatchMapping("/{id}/not-done")
@@ -463,9 +773,16 @@ public class ToDoController {
           )
       )
   })
-  public ResponseEntity<ToDoItem> markAsNotDone(@PathVariable Long id) {
-    ToDoItem updated = toDoService.markAsNotDone(id);
-    return ResponseEntity.ok(updated);
+  @Parameter(
+      name = IDEMPOTENCY_KEY_HEADER,
+      description = "Client generated key; retries with the same key replay the first response",
+      example = "8e03978e-40d5-43e8-bc93-6894a57f9324"
+  )
+  public ResponseEntity<ToDoItem> markAsNotDone(
+      @PathVariable Long id,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    return idempotent(idempotencyKey, "PATCH /api/todos/" + id + "/not-done",
+        () -> ResponseEntity.ok(toDoService.markAsNotDone(id)));
   }
 
   /**
@@ -501,4 +818,69 @@ public class ToDoController {
 
     return ResponseEntity.noContent().build();
   }
+
+  private <T> ResponseEntity<T> idempotent(String idempotencyKey, String fingerprint,
+                                           Supplier<ResponseEntity<T>> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    return idempotencyStore.execute(idempotencyKey, fingerprint, action);
+  }
+
+  private static Status parseStatus(String status) {
+    try {
+      return Status.valueOf(status.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Unknown status '" + status.trim()
+          + "'. Status must be among " + Arrays.stream(Status.values())
+              .map(Status::name)
+              .collect(Collectors.joining(", ")) + ".");
+    }
+  }
+
+  private static Set<ToDoField> parseFields(String fields) {
+    Set<ToDoField> parsed = EnumSet.noneOf(ToDoField.class);
+    for (String name : fields.split(",")) {
+      if (!name.isBlank()) {
+        parsed.add(ToDoField.fromJsonName(name.trim()).orElseThrow(() -> new BadRequestException(
+            "Unknown field '" + name.trim() + "'. Fields must be among "
+                + Arrays.stream(ToDoField.values())
+                    .map(ToDoField::getJsonName)
+                    .collect(Collectors.joining(", ")) + ".")));
+      }
+    }
+    if (parsed.isEmpty()) {
+      throw new BadRequestException("Fields must name at least one field.");
+    }
+    return parsed;
+  }
+
+  private static boolean acceptsBinary(String accept) {
+    if (accept == null) {
+      return false;
+    }
+    List<MediaType> types;
+    try {
+      types = MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException ex) {
+      return false;
+    }
+    double binary = 0;
+    MediaType json = null;
+    for (MediaType type : types) {
+      if (ToDoBinaryCodec.MEDIA_TYPE.equalsTypeAndSubtype(type)) {
+        binary = Math.max(binary, type.getQualityValue());
+      } else if (type.includes(MediaType.APPLICATION_JSON)
+          && (json == null || specificity(type) > specificity(json))) {
+        json = type;
+      }
+    }
+    // Binary must be named and rank at least as high as JSON, whose quality comes from the
+    // most specific range including it, so wildcards alone never select binary.
+    return binary > 0 && binary >= (json == null ? 0 : json.getQualityValue());
+  }
+
+  private static int specificity(MediaType type) {
+    return type.isWildcardType() ? 0 : type.isWildcardSubtype() ? 1 : 2;
+  }
 }
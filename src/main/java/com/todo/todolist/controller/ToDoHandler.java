@@ -0,0 +1,159 @@
+package com.todo.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.service.ReactiveToDoService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers of the reactive API, mirroring {@link ToDoController} request for request.
+ *
+ * <p>List endpoints stream their {@link Flux} into the response: as a JSON array by default,
+ * or one item per line for clients accepting {@code application/x-ndjson}. Either way items
+ * are read from the database only as fast as the client consumes them.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ToDoHandler {
+
+  private final ReactiveToDoService toDoService;
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
+                      justification = "ReactiveToDoService is an interface used for dependency "
+                          + "injection")
+  public ToDoHandler(ReactiveToDoService toDoService) {
+    this.toDoService = toDoService;
+  }
+
+  /**
+   * List items, optionally filtered by status and tags.
+   *
+   * @param request the request
+   * @return the streamed items
+   */
+  public Mono<ServerResponse> getAllItems(ServerRequest request) {
+    String match = request.queryParam("match").orElse("all");
+    if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+      return Mono.error(new BadRequestException("Tag match must be either 'all' or 'any'."));
+    }
+
+    Optional<String> status = request.queryParam("status");
+    List<String> tags = request.queryParams().get("tags");
+    if (tags != null) {
+      List<String> split = tags.stream()
+          .flatMap(value -> Arrays.stream(value.split(",")))
+          .toList();
+      return list(request,
+          toDoService.getItemsByTags(status, split, "all".equalsIgnoreCase(match)));
+    }
+    return list(request, toDoService.getAllItems(status));
+  }
+
+  /**
+   * List the next NOT_DONE items by due date.
+   *
+   * @param request the request
+   * @return the streamed items
+   */
+  public Mono<ServerResponse> getUpcomingItems(ServerRequest request) {
+    int limit = request.queryParam("limit").map(Integer::parseInt).orElse(20);
+    Optional<Duration> window;
+    try {
+      window = request.queryParam("within").map(Duration::parse);
+    } catch (DateTimeParseException ex) {
+      return Mono.error(
+          new BadRequestException("Within must be an ISO-8601 duration such as P7D."));
+    }
+    return list(request, toDoService.getUpcomingItems(limit, window));
+  }
+
+  public Mono<ServerResponse> getItemById(ServerRequest request) {
+    return toDoService.getItemById(id(request)).flatMap(this::ok);
+  }
+
+  /**
+   * Create an item.
+   *
+   * @param request the request holding the item
+   * @return the created item
+   */
+  public Mono<ServerResponse> createItem(ServerRequest request) {
+    return request.bodyToMono(ToDoItem.class)
+        .flatMap(item -> {
+          item.setStatus(Status.NOT_DONE);
+          return toDoService.createItem(item);
+        })
+        .flatMap(created -> ServerResponse.status(HttpStatus.CREATED)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(created));
+  }
+
+  /**
+   * Replace the description, due date and tags of an item.
+   *
+   * @param request the request holding the item
+   * @return the updated item
+   */
+  public Mono<ServerResponse> updateItem(ServerRequest request) {
+    Long id = id(request);
+    return request.bodyToMono(ToDoItem.class)
+        .flatMap(item -> toDoService.updateItem(id, item))
+        .flatMap(this::ok);
+  }
+
+  /**
+   * Apply a JSON Merge Patch to an item.
+   *
+   * @param request the request holding the patch
+   * @return the patched item
+   */
+  public Mono<ServerResponse> patchItem(ServerRequest request) {
+    Long id = id(request);
+    return request.bodyToMono(JsonNode.class)
+        .flatMap(patch -> toDoService.patchItem(id, ToDoItemPatch.fromJson(patch)))
+        .flatMap(this::ok);
+  }
+
+  public Mono<ServerResponse> markAsDone(ServerRequest request) {
+    return toDoService.markAsDone(id(request)).flatMap(this::ok);
+  }
+
+  public Mono<ServerResponse> markAsNotDone(ServerRequest request) {
+    return toDoService.markAsNotDone(id(request)).flatMap(this::ok);
+  }
+
+  public Mono<ServerResponse> deleteItem(ServerRequest request) {
+    return toDoService.deleteItem(id(request)).then(ServerResponse.noContent().build());
+  }
+
+  private Mono<ServerResponse> ok(ToDoItem item) {
+    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(item);
+  }
+
+  private static Mono<ServerResponse> list(ServerRequest request, Flux<ToDoItem> items) {
+    MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+        ? MediaType.APPLICATION_NDJSON
+        : MediaType.APPLICATION_JSON;
+    return ServerResponse.ok().contentType(mediaType).body(items, ToDoItem.class);
+  }
+
+  private static Long id(ServerRequest request) {
+    return Long.valueOf(request.pathVariable("id"));
+  }
+}
@@ -0,0 +1,190 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.ImportJob;
+import com.todo.todolist.importer.ImportFormat;
+import com.todo.todolist.service.ToDoImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for importing To-Do items from files.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Controller", description = "Todos list management")
+public class ToDoImportController {
+
+  private static final String JOB_EXAMPLE = """
+      {
+        "id": "3f1c2a9e-5b7d-4c1e-9a55-0d6e2f8b7c41",
+        "format": "ndjson",
+        "state": "COMPLETED",
+        "startedAt": "2025-06-10T18:00:04.918",
+        "finishedAt": "2025-06-10T18:00:06.102",
+        "bytesRead": 482113,
+        "totalBytes": 482113,
+        "rows": 10000,
+        "imported": 9996,
+        "duplicates": 3,
+        "rejected": 4,
+        "rejections": [
+          {"line": 118, "reason": "Due date must be provided and must be in the future."},
+          {"line": 2051, "reason": "Row is not valid JSON."}
+        ],
+        "rejectionsTruncated": false,
+        "error": null
+      }
+      """;
+
+  private final ToDoImportService importService;
+
+  /**
+   * Constructor for ToDoImportController.
+   *
+   * @param importService the service importing items
+   */
+  public ToDoImportController(ToDoImportService importService) {
+    this.importService = importService;
+  }
+
+  /**
+   * Import the items of an NDJSON or CSV file sent as the request body.
+   *
+   * <p>Once the file is found readable, the status and a {@code Location} naming the job are
+   * flushed, so clients can poll the job's progress while the body is still being read. The
+   * report follows as the body when the import ends. As the status is sent by then, an import
+   * failing part way is reported by its job, with state {@code FAILED} and the error, rather
+   * than by an error status.
+   *
+   * @param request  the request, whose body is read as the import runs
+   * @param response the response, committed when the import starts
+   * @return the finished or failed import job
+   * @throws IOException if the request body cannot be opened
+   */
+  @PostMapping("/import")
+  @Operation(
+      summary = "Import todos from an NDJSON or CSV file",
+      description = "The body is application/x-ndjson with one item per line, or text/csv with "
+          + "a header naming the description, dueDatetime and optional tags columns, tags "
+          + "separated by semicolons. Rows are validated like single creates; invalid rows and "
+          + "duplicates are skipped and reported."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "202",
+          description = "Accepted, sent with the Location of the job as soon as the import "
+              + "starts; the body is the job report, with state FAILED and the error if the "
+              + "import failed part way",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(example = JOB_EXAMPLE)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Bad Request, unsupported content type or unreadable CSV header"
+      ),
+      @ApiResponse(
+          responseCode = "503",
+          description = "Service Unavailable, too many imports are running"
+      )
+  })
+  public ResponseEntity<ImportJob> importItems(HttpServletRequest request,
+                                               HttpServletResponse response) throws IOException {
+    ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+    long contentLength = request.getContentLengthLong();
+    AtomicReference<ImportJob> started = new AtomicReference<>();
+    ImportJob job;
+    try {
+      job = importService.importItems(request.getInputStream(), format,
+          contentLength < 0 ? null : contentLength, running -> {
+            started.set(running);
+            sendAccepted(running, response);
+          });
+    } catch (RuntimeException ex) {
+      if (started.get() == null) {
+        throw ex;
+      }
+      job = started.get();
+    }
+    return ResponseEntity.accepted().location(location(job)).body(job);
+  }
+
+  private static void sendAccepted(ImportJob job, HttpServletResponse response) {
+    response.setStatus(HttpStatus.ACCEPTED.value());
+    response.setHeader(HttpHeaders.LOCATION, location(job).toString());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    try {
+      response.flushBuffer();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static URI location(ImportJob job) {
+    return URI.create("/api/todos/import/" + job.getId());
+  }
+
+  /**
+   * Get the recent import jobs, including running ones.
+   *
+   * @return the jobs, newest first
+   */
+  @GetMapping("/import")
+  @Operation(summary = "Recent import jobs")
+  @ApiResponse(responseCode = "200", description = "OK")
+  public ResponseEntity<List<ImportJob>> getJobs() {
+    return ResponseEntity.ok(importService.getJobs());
+  }
+
+  /**
+   * Get the progress or report of an import job.
+   *
+   * @param jobId the job id
+   * @return the job
+   */
+  @GetMapping("/import/{jobId}")
+  @Operation(summary = "Import job progress and rejected rows")
+  @Parameter(
+      name = "jobId",
+      description = "Id returned when the import was started",
+      example = "3f1c2a9e-5b7d-4c1e-9a55-0d6e2f8b7c41"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(example = JOB_EXAMPLE)
+          )
+      ),
+      @ApiResponse(responseCode = "404", description = "Not Found, the job is unknown or expired")
+  })
+  public ResponseEntity<ImportJob> getJob(@PathVariable String jobId) {
+    return ResponseEntity.ok(importService.getJob(jobId));
+  }
+}
@@ -0,0 +1,43 @@
+package com.todo.todolist.controller;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the reactive API, the same as those of {@link ToDoController}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ToDoRouter {
+
+  /**
+   * The item routes.
+   *
+   * @param handler the handlers
+   * @return the router function
+   */
+  @Bean
+  public RouterFunction<ServerResponse> toDoRoutes(ToDoHandler handler) {
+    return RouterFunctions.route()
+        .path("/api/todos", routes -> routes
+            .GET("/upcoming", handler::getUpcomingItems)
+            .GET("/{id}", handler::getItemById)
+            .GET(handler::getAllItems)
+            .POST(handler::createItem)
+            .PUT("/{id}", handler::updateItem)
+            .PATCH("/{id}/done", handler::markAsDone)
+            .PATCH("/{id}/not-done", handler::markAsNotDone)
+            .PATCH("/{id}", contentType(
+                MediaType.parseMediaType(ToDoController.MERGE_PATCH_JSON_VALUE)),
+                handler::patchItem)
+            .DELETE("/{id}", handler::deleteItem))
+        .build();
+  }
+}
@@ -0,0 +1,188 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.OverdueSchedulerSettings;
+import com.todo.todolist.dto.OverdueSchedulerStatus;
+import com.todo.todolist.dto.OverdueSweepResult;
+import com.todo.todolist.service.ToDoStatusScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for operating the overdue scheduler.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/scheduler/overdue")
+@Tag(name = "Scheduler Admin", description = "Overdue sweep control")
+public class ToDoSchedulerController {
+
+  private static final String STATUS_EXAMPLE = """
+      {
+        "paused": false,
+        "running": false,
+        "intervalMs": 60000,
+        "maxIntervalMs": 600000,
+        "backoffMultiplier": 2.0,
+        "jitter": 0.1,
+        "nextDelayMs": 120000,
+        "nextRunAt": "2025-06-10T18:02:07.412",
+        "results": [
+          {
+            "trigger": "scheduled",
+            "startedAt": "2025-06-10T18:00:04.918",
+            "durationMs": 12,
+            "rows": 0,
+            "lagMs": 0,
+            "error": null
+          }
+        ]
+      }
+      """;
+
+  private final ToDoStatusScheduler scheduler;
+
+  /**
+   * Constructor for ToDoSchedulerController.
+   *
+   * @param scheduler the overdue scheduler
+   */
+  public ToDoSchedulerController(ToDoStatusScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Get the scheduler state and its most recent sweeps.
+   *
+   * @param limit the maximum number of sweep results to return
+   * @return the scheduler state
+   */
+  @GetMapping
+  @Operation(summary = "Overdue scheduler state and recent sweeps")
+  @Parameter(
+      name = "limit",
+      description = "Maximum number of sweep results to return, newest first",
+      example = "10"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(example = STATUS_EXAMPLE)
+          )
+      ),
+      @ApiResponse(responseCode = "400", description = "Bad Request, limit is below 1")
+  })
+  public ResponseEntity<OverdueSchedulerStatus> getStatus(
+      @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(scheduler.getStatus(limit));
+  }
+
+  /**
+   * Run a sweep now.
+   *
+   * @return the result of the sweep
+   */
+  @PostMapping("/run")
+  @Operation(summary = "Run an overdue sweep now")
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "trigger": "manual",
+                      "startedAt": "2025-06-10T18:01:30.220",
+                      "durationMs": 18,
+                      "rows": 3,
+                      "lagMs": 41250,
+                      "error": null
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(responseCode = "409", description = "Conflict, a sweep is already running")
+  })
+  public ResponseEntity<OverdueSweepResult> runNow() {
+    return ResponseEntity.ok(scheduler.markOverdueItems());
+  }
+
+  /**
+   * Pause scheduled sweeps.
+   *
+   * @return the scheduler state
+   */
+  @PostMapping("/pause")
+  @Operation(summary = "Pause scheduled overdue sweeps")
+  @ApiResponse(responseCode = "200", description = "OK")
+  public ResponseEntity<OverdueSchedulerStatus> pause() {
+    return ResponseEntity.ok(scheduler.pause());
+  }
+
+  /**
+   * Resume scheduled sweeps.
+   *
+   * @return the scheduler state
+   */
+  @PostMapping("/resume")
+  @Operation(summary = "Resume scheduled overdue sweeps")
+  @ApiResponse(responseCode = "200", description = "OK")
+  public ResponseEntity<OverdueSchedulerStatus> resume() {
+    return ResponseEntity.ok(scheduler.resume());
+  }
+
+  /**
+   * Change the interval, back-off or jitter of scheduled sweeps.
+   *
+   * @param settings the values to change
+   * @return the scheduler state
+   */
+  @PatchMapping
+  @Operation(
+      summary = "Change the overdue sweep timing",
+      description = "Members left out are kept. The back-off is reset and the next sweep is "
+          + "rescheduled after the new interval."
+  )
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      content = @Content(
+          mediaType = "application/json",
+          schema = @Schema(
+              example = """
+                {
+                  "intervalMs": 30000,
+                  "maxIntervalMs": 300000,
+                  "backoffMultiplier": 1.5,
+                  "jitter": 0.2
+                }
+              """
+          )
+      )
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "OK"),
+      @ApiResponse(responseCode = "400", description = "Bad Request, invalid timing")
+  })
+  public ResponseEntity<OverdueSchedulerStatus> updateSettings(
+      @RequestBody OverdueSchedulerSettings settings) {
+    return ResponseEntity.ok(scheduler.updateSettings(settings));
+  }
+}
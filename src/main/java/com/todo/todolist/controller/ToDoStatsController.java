@@ -0,0 +1,103 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.dto.CompletionStats;
+import com.todo.todolist.stats.CompletionStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for completion analytics.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Controller", description = "Todos list management")
+public class ToDoStatsController {
+
+  private final CompletionStatistics completionStatistics;
+
+  /**
+   * Constructor for ToDoStatsController.
+   *
+   * @param completionStatistics the in-memory completion statistics
+   */
+  public ToDoStatsController(CompletionStatistics completionStatistics) {
+    this.completionStatistics = completionStatistics;
+  }
+
+  /**
+   * Get completion times, late completions and overdue ages.
+   *
+   * @param days the days of the rolling window, or empty for the configured window
+   * @return the statistics
+   */
+  @GetMapping("/stats")
+  @Operation(
+      summary = "Completion analytics",
+      description = "Served from in-memory histograms kept up to date as items change; "
+          + "percentiles are within 1% of the exact values."
+  )
+  @Parameter(
+      name = "days",
+      description = "Days of the rolling window for the recent and daily figures",
+      example = "7"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "OK",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(
+                  example = """
+                    {
+                      "windowDays": 2,
+                      "since": "2025-06-09",
+                      "items": { "NOT_DONE": 12, "DONE": 30, "OVERDUE": 4 },
+                      "completion": {
+                        "count": 30, "meanSeconds": 93211, "p50Seconds": 40447,
+                        "p90Seconds": 260095, "p99Seconds": 602111, "maxSeconds": 602111
+                      },
+                      "recentCompletion": {
+                        "count": 5, "meanSeconds": 7410, "p50Seconds": 3647,
+                        "p90Seconds": 20479, "p99Seconds": 20479, "maxSeconds": 20479
+                      },
+                      "lateCompletion": {
+                        "count": 1, "meanSeconds": 35, "p50Seconds": 35,
+                        "p90Seconds": 35, "p99Seconds": 35, "maxSeconds": 35
+                      },
+                      "overdue": { "count": 4, "p50Days": 3, "p90Days": 12, "maxDays": 12 },
+                      "days": [
+                        {
+                          "date": "2025-06-09", "completed": 3,
+                          "completionP50Seconds": 3647, "overdue": 1
+                        },
+                        {
+                          "date": "2025-06-10", "completed": 2,
+                          "completionP50Seconds": 1803, "overdue": 0
+                        }
+                      ]
+                    }
+                  """
+              )
+          )
+      ),
+      @ApiResponse(responseCode = "400", description = "Bad Request, days is out of range")
+  })
+  public ResponseEntity<CompletionStats> getStats(@RequestParam Optional<Integer> days) {
+    return ResponseEntity.ok(days.map(completionStatistics::getStats)
+        .orElseGet(completionStatistics::getStats));
+  }
+}
@@ -0,0 +1,163 @@
+package com.todo.todolist.datasource;
+
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps local H2 replicas in sync with the primary, standing in for real database
+ * replication.
+ *
+ * <p>On startup each replica receives a full copy of the primary. After that, every committed
+ * item change is queued and, once {@code delay-ms} has passed, the current row of the item is
+ * copied from the primary to every replica. Copying the current state rather than the change
+ * itself lets replicas converge whatever order changes are applied in. The age of the oldest
+ * pending change is reported as the replication lag. Caches are filled from the primary (see
+ * {@link PrimaryReads}), so replicas catching up never leave them stale, as with real
+ * replication.
+ */
+public class H2ReplicationStandIn implements ReplicaLagProbe {
+
+  private static final Logger logger = LoggerFactory.getLogger(H2ReplicationStandIn.class);
+
+  private static final long APPLY_INTERVAL_MILLIS = 10;
+
+  private final JdbcTemplate primary;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final long delayMillis;
+  private final ConcurrentLinkedQueue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+  private final ScheduledExecutorService applier = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "todo-replication");
+        thread.setDaemon(true);
+        return thread;
+      });
+  private volatile boolean synced;
+
+  /**
+   * Constructor for H2ReplicationStandIn.
+   *
+   * @param routing              the routing DataSource holding the primary and the replicas
+   * @param entityManagerFactory ensures the primary schema exists before the initial copy
+   * @param delayMillis          how long changes wait before being replicated
+   */
+  public H2ReplicationStandIn(ReplicaRoutingDataSource routing,
+                              EntityManagerFactory entityManagerFactory,
+                              long delayMillis) {
+    this.primary = new JdbcTemplate(routing.getPrimary());
+    for (DataSource replica : routing.getReplicas()) {
+      replicas.add(new Replica(new JdbcTemplate(replica),
+          new TransactionTemplate(new DataSourceTransactionManager(replica))));
+    }
+    this.delayMillis = delayMillis;
+  }
+
+  /**
+   * Copy the primary to every replica and start replicating changes.
+   */
+  @PostConstruct
+  public void start() {
+    List<String> script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS DROP", String.class);
+    for (Replica replica : replicas) {
+      replica.transactions.executeWithoutResult(status -> script.stream()
+          .filter(statement -> !statement.startsWith("CREATE USER"))
+          .forEach(replica.jdbc::execute));
+    }
+    synced = true;
+    applier.scheduleWithFixedDelay(this::applyDue, APPLY_INTERVAL_MILLIS, APPLY_INTERVAL_MILLIS,
+                                   TimeUnit.MILLISECONDS);
+    logger.info("Replication stand-in copied {} statements to {} replicas",
+                script.size(), replicas.size());
+  }
+
+  /**
+   * Stop replicating changes.
+   */
+  @PreDestroy
+  public void stop() {
+    applier.shutdownNow();
+  }
+
+  /**
+   * Queue a committed item change for replication.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    pending.add(new PendingChange(event.getItemId(), System.currentTimeMillis()));
+  }
+
+  @Override
+  public long lagMillis(int replica) {
+    if (!synced) {
+      return Long.MAX_VALUE;
+    }
+    PendingChange oldest = pending.peek();
+    return oldest == null ? 0 : System.currentTimeMillis() - oldest.committedAt();
+  }
+
+  private void applyDue() {
+    try {
+      long dueBefore = System.currentTimeMillis() - delayMillis;
+      List<Long> ids = new ArrayList<>();
+      for (PendingChange change = pending.peek();
+           change != null && change.committedAt() <= dueBefore;
+           change = pending.peek()) {
+        ids.add(change.itemId());
+        pending.poll();
+      }
+      if (ids.isEmpty()) {
+        return;
+      }
+      for (Replica replica : replicas) {
+        replica.transactions.executeWithoutResult(status -> ids.forEach(id -> copy(id, replica)));
+      }
+    } catch (RuntimeException ex) {
+      logger.error("Replication stand-in failed to apply changes", ex);
+    }
+  }
+
+  private void copy(Long id, Replica replica) {
+    List<Map<String, Object>> rows = primary.queryForList(
+        "SELECT id, description, status, creation_datetime, due_datetime, done_datetime,"
+            + " version FROM todo_items WHERE id = ?", id);
+    replica.jdbc.update("DELETE FROM todo_item_tags WHERE item_id = ?", id);
+    replica.jdbc.update("DELETE FROM todo_items WHERE id = ?", id);
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    Map<String, Object> row = rows.get(0);
+    replica.jdbc.update(
+        "INSERT INTO todo_items (id, description, status, creation_datetime, due_datetime,"
+            + " done_datetime, version) VALUES (?, ?, ?, ?, ?, ?, ?)",
+        row.get("ID"), row.get("DESCRIPTION"), row.get("STATUS"), row.get("CREATION_DATETIME"),
+        row.get("DUE_DATETIME"), row.get("DONE_DATETIME"), row.get("VERSION"));
+    for (String tag : primary.queryForList(
+        "SELECT tag FROM todo_item_tags WHERE item_id = ?", String.class, id)) {
+      replica.jdbc.update("INSERT INTO todo_item_tags (item_id, tag) VALUES (?, ?)", id, tag);
+    }
+  }
+
+  private record PendingChange(Long itemId, long committedAt) {
+  }
+
+  private record Replica(JdbcTemplate jdbc, TransactionTemplate transactions) {
+  }
+}
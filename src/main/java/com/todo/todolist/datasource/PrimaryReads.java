@@ -0,0 +1,47 @@
+package com.todo.todolist.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread scope sending reads to the primary.
+ *
+ * <p>Caches stamp what they load with the {@code WriteSequence} observed before loading, which
+ * only holds if the load sees every write counted by then. A replica may still be behind those
+ * writes, so loads that fill a cache run in this scope and {@link ReplicaRoutingDataSource}
+ * sends them to the primary. Reads that are not kept can use replicas as before.
+ */
+public final class PrimaryReads {
+
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private PrimaryReads() {
+  }
+
+  /**
+   * Run reads on the primary.
+   *
+   * @param reads the reads, which must open their transactions on the calling thread
+   * @param <T>   the result type
+   * @return the result of the reads
+   */
+  public static <T> T call(Supplier<T> reads) {
+    if (isActive()) {
+      return reads.get();
+    }
+    ACTIVE.set(Boolean.TRUE);
+    try {
+      return reads.get();
+    } finally {
+      ACTIVE.remove();
+    }
+  }
+
+  /**
+   * Whether the current thread is running reads that must go to the primary.
+   *
+   * @return true if reads must go to the primary
+   */
+  public static boolean isActive() {
+    return ACTIVE.get() != null;
+  }
+}
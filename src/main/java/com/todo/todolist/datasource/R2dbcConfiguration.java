@@ -0,0 +1,106 @@
+package com.todo.todolist.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Reactive data access for the WebFlux stack, active in a reactive web application.
+ *
+ * <p>Connections come from an R2DBC pool configured by the {@code spring.r2dbc.*} properties,
+ * which should point at the same database as {@code spring.datasource.url}: JPA keeps owning
+ * the schema and the background jobs, the reactive API reads and writes through R2DBC.
+ *
+ * <p>Spring Boot stops configuring a JDBC DataSource once an R2DBC connection factory exists,
+ * so the pool JPA keeps using is declared here from the {@code spring.datasource.*} properties.
+ * The R2DBC transaction manager is kept out of the context on purpose, so the JPA
+ * transaction manager stays the only one {@code @Transactional} can resolve; reactive writes
+ * run through the {@link TransactionalOperator} instead.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties({R2dbcProperties.class, DataSourceProperties.class})
+public class R2dbcConfiguration {
+
+  /**
+   * Constructor for R2dbcConfiguration.
+   *
+   * @param environment the environment holding the other data access settings
+   */
+  public R2dbcConfiguration(Environment environment) {
+    if (environment.getProperty("todo.shards.enabled", Boolean.class, false)) {
+      throw new IllegalStateException(
+          "The reactive stack cannot be combined with todo.shards.enabled.");
+    }
+    if (environment.getProperty("todo.datasource.replicas.enabled", Boolean.class, false)) {
+      throw new IllegalStateException(
+          "The reactive stack cannot be combined with todo.datasource.replicas.enabled.");
+    }
+  }
+
+  /**
+   * The JDBC pool used by JPA and the background jobs.
+   *
+   * @param properties the DataSource properties
+   * @return the JDBC DataSource
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource dataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  /**
+   * The pool of R2DBC connections.
+   *
+   * @param properties the R2DBC properties
+   * @return the connection pool
+   */
+  @Bean(destroyMethod = "dispose")
+  public ConnectionPool connectionFactory(R2dbcProperties properties) {
+    R2dbcProperties.Pool pool = properties.getPool();
+    return new ConnectionPool(ConnectionPoolConfiguration.builder(
+            ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build())
+        .initialSize(pool.getInitialSize())
+        .maxSize(pool.getMaxSize())
+        .maxIdleTime(pool.getMaxIdleTime())
+        .build());
+  }
+
+  @Bean
+  public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+    return DatabaseClient.create(connectionFactory);
+  }
+
+  @Bean
+  public TransactionalOperator transactionalOperator(ConnectionPool connectionFactory) {
+    return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+  }
+
+  /**
+   * Serve the reactive stack from Netty rather than the servlet container that is also on
+   * the classpath for the MVC stack.
+   *
+   * @return the Netty server factory
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+}
@@ -0,0 +1,39 @@
+package com.todo.todolist.datasource;
+
+/**
+ * Per-thread read-your-writes marker.
+ *
+ * <p>Once a thread has issued a write, {@link ReplicaRoutingDataSource} sends its reads to the
+ * primary until the marker is cleared, so a request never reads an older state than the one
+ * it wrote. {@link ReadYourWritesFilter} clears the marker at the end of every HTTP request.
+ */
+public final class ReadYourWrites {
+
+  private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+  private ReadYourWrites() {
+  }
+
+  /**
+   * Record that the current thread is about to write.
+   */
+  public static void markWritten() {
+    WRITTEN.set(Boolean.TRUE);
+  }
+
+  /**
+   * Whether the current thread has written since the marker was last cleared.
+   *
+   * @return true if reads must go to the primary
+   */
+  public static boolean hasWritten() {
+    return WRITTEN.get() != null;
+  }
+
+  /**
+   * Clear the marker of the current thread.
+   */
+  public static void clear() {
+    WRITTEN.remove();
+  }
+}
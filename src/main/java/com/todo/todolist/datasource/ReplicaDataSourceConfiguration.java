@@ -0,0 +1,108 @@
+package com.todo.todolist.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read-replica routing, enabled with {@code todo.datasource.replicas.enabled=true}.
+ *
+ * <p>The primary is configured through the usual {@code spring.datasource.*} properties and
+ * each entry of {@code todo.datasource.replicas.urls} becomes a replica pool with the same
+ * credentials. With {@code todo.datasource.replication.stand-in.enabled=true} the replicas
+ * are local H2 databases kept in sync by {@link H2ReplicationStandIn}; otherwise replication
+ * is left to the database and replicas are assumed to be current unless another
+ * {@link ReplicaLagProbe} bean says so.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfiguration {
+
+  /**
+   * The DataSource routing between the primary and the replicas.
+   *
+   * @param properties    the primary DataSource properties
+   * @param replicaUrls   the JDBC URLs of the replicas
+   * @param maxLagMillis  the maximum lag at which a replica still serves reads
+   * @param lagProbes     the replica lag probe, if any
+   * @param meterRegistry registry for the routing metrics
+   * @return the routing DataSource
+   */
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      DataSourceProperties properties,
+      @Value("${todo.datasource.replicas.urls}") List<String> replicaUrls,
+      @Value("${todo.datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+      ObjectProvider<ReplicaLagProbe> lagProbes,
+      MeterRegistry meterRegistry) {
+    HikariDataSource primary = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    primary.setPoolName("todo-primary");
+
+    List<DataSource> replicas = new ArrayList<>();
+    for (String url : replicaUrls) {
+      HikariDataSource replica = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .driverClassName(properties.determineDriverClassName())
+          .url(url)
+          .username(properties.determineUsername())
+          .password(properties.determinePassword())
+          .build();
+      replica.setPoolName("todo-replica-" + replicas.size());
+      replica.setReadOnly(true);
+      replicas.add(replica);
+    }
+
+    ReplicaLagProbe lagProbe = replica -> {
+      ReplicaLagProbe probe = lagProbes.getIfAvailable();
+      return probe == null ? 0 : probe.lagMillis(replica);
+    };
+    return new ReplicaRoutingDataSource(primary, replicas, lagProbe, maxLagMillis,
+                                        meterRegistry);
+  }
+
+  /**
+   * The application DataSource, deferring the routing decision until a connection is used.
+   *
+   * @param routing the routing DataSource
+   * @return the lazily connecting DataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource routing) {
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  /**
+   * Replication stand-in keeping local H2 replicas in sync with the primary.
+   *
+   * @param routing              the routing DataSource
+   * @param entityManagerFactory the entity manager factory creating the schema
+   * @param delayMillis          how long changes wait before being replicated
+   * @return the replication stand-in
+   */
+  @Bean
+  @ConditionalOnProperty(name = "todo.datasource.replication.stand-in.enabled",
+                         havingValue = "true")
+  public H2ReplicationStandIn h2ReplicationStandIn(
+      ReplicaRoutingDataSource routing,
+      EntityManagerFactory entityManagerFactory,
+      @Value("${todo.datasource.replication.delay-ms:50}") long delayMillis) {
+    return new H2ReplicationStandIn(routing, entityManagerFactory, delayMillis);
+  }
+}
@@ -0,0 +1,15 @@
+package com.todo.todolist.datasource;
+
+/**
+ * Reports how far each read replica is behind the primary.
+ */
+public interface ReplicaLagProbe {
+
+  /**
+   * Current replication lag of a replica.
+   *
+   * @param replica the replica index
+   * @return the lag in milliseconds, or {@link Long#MAX_VALUE} when unknown
+   */
+  long lagMillis(int replica);
+}
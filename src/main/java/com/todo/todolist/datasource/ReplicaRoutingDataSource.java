@@ -0,0 +1,126 @@
+package com.todo.todolist.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource sending read-only transactions to read replicas and everything else to the
+ * primary.
+ *
+ * <p>Replicas are used round-robin. A replica whose lag, as reported by the
+ * {@link ReplicaLagProbe}, exceeds {@code maxLagMillis} is skipped; if every replica is too far
+ * behind, reads fall back to the primary. Threads that have written since their
+ * {@link ReadYourWrites} marker was cleared, and loads filling a cache within
+ * {@link PrimaryReads}, always read from the primary.
+ *
+ * <p>The routing decision is taken when a connection is first used, so this DataSource must
+ * be wrapped in a {@code LazyConnectionDataSourceProxy} for the read-only flag of the
+ * transaction to be known by then.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+  static final String PRIMARY = "primary";
+
+  private final DataSource primary;
+  private final List<DataSource> replicas;
+  private final ReplicaLagProbe lagProbe;
+  private final long maxLagMillis;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Counter primaryReads;
+  private final Counter replicaReads;
+  private final Counter fallbacks;
+
+  /**
+   * Constructor for ReplicaRoutingDataSource.
+   *
+   * @param primary       the primary DataSource receiving writes
+   * @param replicas      the replica DataSources serving reads
+   * @param lagProbe      reports the lag of each replica
+   * @param maxLagMillis  the maximum lag at which a replica still serves reads
+   * @param meterRegistry registry for the routing metrics
+   */
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                  ReplicaLagProbe lagProbe, long maxLagMillis,
+                                  MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.lagProbe = lagProbe;
+    this.maxLagMillis = maxLagMillis;
+    this.primaryReads = Counter.builder("todo.datasource.reads")
+        .description("Read-only transactions by routing target")
+        .tag("target", "primary")
+        .register(meterRegistry);
+    this.replicaReads = Counter.builder("todo.datasource.reads")
+        .description("Read-only transactions by routing target")
+        .tag("target", "replica")
+        .register(meterRegistry);
+    this.fallbacks = Counter.builder("todo.datasource.replica.fallbacks")
+        .description("Reads sent to the primary because every replica was lagging")
+        .register(meterRegistry);
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < this.replicas.size(); i++) {
+      targets.put(i, this.replicas.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+  }
+
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  public List<DataSource> getReplicas() {
+    return replicas;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+    if (ReadYourWrites.hasWritten() || PrimaryReads.isActive()) {
+      primaryReads.increment();
+      return PRIMARY;
+    }
+
+    List<Integer> candidates = new ArrayList<>(replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      if (lagProbe.lagMillis(i) <= maxLagMillis) {
+        candidates.add(i);
+      }
+    }
+    if (candidates.isEmpty()) {
+      fallbacks.increment();
+      primaryReads.increment();
+      return PRIMARY;
+    }
+    replicaReads.increment();
+    return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeIfPossible(primary);
+    for (DataSource replica : replicas) {
+      closeIfPossible(replica);
+    }
+  }
+
+  private static void closeIfPossible(DataSource dataSource) throws IOException {
+    if (dataSource instanceof Closeable closeable) {
+      closeable.close();
+    }
+  }
+}
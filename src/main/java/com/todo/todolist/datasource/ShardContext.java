@@ -0,0 +1,115 @@
+package com.todo.todolist.datasource;
+
+import java.util.function.Supplier;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tracks which shard the current thread and transaction work on.
+ *
+ * <p>A thread can be pinned to a shard for the duration of a call, which is how per-shard
+ * sweeps and fan-out queries target one database. A transaction is bound to the first shard
+ * it touches and stays there until it completes; touching another shard from the same
+ * transaction is rejected, since shards cannot share a transaction.
+ */
+public final class ShardContext {
+
+  private static final ThreadLocal<Integer> PINNED = new ThreadLocal<>();
+  private static final Object TRANSACTION_KEY = new Object();
+
+  private ShardContext() {
+  }
+
+  /**
+   * Run work with the current thread pinned to a shard.
+   *
+   * @param shard the shard to pin
+   * @param work  the work to run
+   * @param <T>   the result type
+   * @return the result of the work
+   */
+  public static <T> T callOn(int shard, Supplier<T> work) {
+    Integer previous = PINNED.get();
+    PINNED.set(shard);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        PINNED.remove();
+      } else {
+        PINNED.set(previous);
+      }
+    }
+  }
+
+  /**
+   * The shard the current thread is pinned to.
+   *
+   * @return the pinned shard, or null
+   */
+  public static Integer pinnedShard() {
+    return PINNED.get();
+  }
+
+  /**
+   * The shard the current transaction is bound to.
+   *
+   * @return the bound shard, or null outside a transaction or before it touched a shard
+   */
+  public static Integer boundShard() {
+    return (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+  }
+
+  /**
+   * The shard connections are currently taken from: the pinned shard, else the shard of the
+   * current transaction, else shard 0.
+   *
+   * @return the current shard
+   */
+  public static int currentShard() {
+    Integer pinned = PINNED.get();
+    if (pinned != null) {
+      return pinned;
+    }
+    Integer bound = boundShard();
+    return bound == null ? 0 : bound;
+  }
+
+  /**
+   * Bind the current transaction to a shard, if a transaction is active.
+   *
+   * @param shard the shard the transaction is about to touch
+   * @throws InvalidDataAccessApiUsageException if the transaction is bound to another shard
+   */
+  public static void bindTransaction(int shard) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    Integer bound = boundShard();
+    if (bound != null) {
+      if (bound != shard) {
+        throw new InvalidDataAccessApiUsageException("Transaction is bound to shard " + bound
+            + " and cannot also touch shard " + shard + ".");
+      }
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, shard);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void suspend() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+      }
+
+      @Override
+      public void resume() {
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, shard);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+      }
+    });
+  }
+}
@@ -0,0 +1,163 @@
+package com.todo.todolist.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Hash-sharded item storage, enabled with {@code todo.shards.enabled=true}.
+ *
+ * <p>Each entry of {@code todo.shards.urls} becomes a shard pool, using the credentials and
+ * driver of the {@code spring.datasource.*} properties. Shard 0 gets its schema from the usual
+ * Hibernate schema generation; with {@code todo.shards.create-schema=true} the mapped tables
+ * and sequences are exported to the other shards on startup as well.
+ *
+ * <p>Sharding cannot be combined with group commit, which shares one transaction between
+ * writes to any item, or with read replicas, which route the same connections differently.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.shards.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardDataSourceConfiguration {
+
+  /**
+   * Constructor for ShardDataSourceConfiguration.
+   *
+   * @param environment the environment holding the other data access settings
+   */
+  public ShardDataSourceConfiguration(Environment environment) {
+    if (environment.getProperty("todo.write.group-commit.enabled", Boolean.class, false)) {
+      throw new IllegalStateException(
+          "todo.shards.enabled cannot be combined with todo.write.group-commit.enabled.");
+    }
+    if (environment.getProperty("todo.datasource.replicas.enabled", Boolean.class, false)) {
+      throw new IllegalStateException(
+          "todo.shards.enabled cannot be combined with todo.datasource.replicas.enabled.");
+    }
+  }
+
+  /**
+   * The DataSource routing to the shard of the current thread or transaction.
+   *
+   * @param properties the DataSource properties supplying driver and credentials
+   * @param shardUrls  the JDBC URLs of the shards
+   * @return the routing DataSource
+   */
+  @Bean
+  public ShardRoutingDataSource shardRoutingDataSource(
+      DataSourceProperties properties,
+      @Value("${todo.shards.urls}") List<String> shardUrls) {
+    List<DataSource> shards = new ArrayList<>();
+    for (String url : shardUrls) {
+      HikariDataSource shard = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .driverClassName(properties.determineDriverClassName())
+          .url(url)
+          .username(properties.determineUsername())
+          .password(properties.determinePassword())
+          .build();
+      shard.setPoolName("todo-shard-" + shards.size());
+      shards.add(shard);
+    }
+    return new ShardRoutingDataSource(shards);
+  }
+
+  /**
+   * The application DataSource, deferring the routing decision until a connection is used.
+   *
+   * @param routing the routing DataSource
+   * @return the lazily connecting DataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ShardRoutingDataSource routing) {
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  /**
+   * Allocator of shard-encoded item ids.
+   *
+   * @param routing the routing DataSource holding the shards
+   * @return the id allocator
+   */
+  @Bean
+  public ShardIdAllocator shardIdAllocator(ShardRoutingDataSource routing) {
+    return new ShardIdAllocator(routing.getShards());
+  }
+
+  /**
+   * Hands the id allocator to {@link ShardedSequenceGenerator}.
+   *
+   * @param allocator the id allocator
+   * @return the Hibernate properties customizer
+   */
+  @Bean
+  public HibernatePropertiesCustomizer shardIdAllocatorCustomizer(ShardIdAllocator allocator) {
+    return properties -> properties.put(ShardedSequenceGenerator.ALLOCATOR_SETTING, allocator);
+  }
+
+  /**
+   * Executor for work spanning shards, created once every shard has its schema. Shard work
+   * runs on virtual threads when they are enabled, and on a fixed pool otherwise.
+   *
+   * @param routing              the routing DataSource holding the shards
+   * @param entityManagerFactory the entity manager factory exporting the schema
+   * @param createSchema         whether to export the schema to shards other than shard 0
+   * @param threads              the number of pool threads running shard work
+   * @param environment          the environment telling whether virtual threads are enabled
+   * @return the shard executor
+   */
+  @Bean
+  public ShardExecutor shardExecutor(ShardRoutingDataSource routing,
+                                     EntityManagerFactory entityManagerFactory,
+                                     @Value("${todo.shards.create-schema:true}")
+                                     boolean createSchema,
+                                     @Value("${todo.shards.fan-out-threads:16}") int threads,
+                                     Environment environment) {
+    int count = routing.getShards().size();
+    if (createSchema) {
+      SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+      for (int shard = 1; shard < count; shard++) {
+        ShardContext.callOn(shard, () -> {
+          sessionFactory.getSchemaManager().exportMappedObjects(true);
+          return null;
+        });
+      }
+    }
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return new ShardExecutor(count, new VirtualThreadTaskExecutor("todo-shard-"));
+    }
+    return new ShardExecutor(count, threads);
+  }
+
+  /**
+   * Wraps repositories so their calls are routed to the right shards.
+   *
+   * @param shards               the shard executor
+   * @param entityManagerFactory the entity manager factory resolving entity ids
+   * @return the repository post-processor
+   */
+  @Bean
+  public static ShardedRepositoryPostProcessor shardedRepositoryPostProcessor(
+      ObjectProvider<ShardExecutor> shards,
+      ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+    return new ShardedRepositoryPostProcessor(shards, entityManagerFactory);
+  }
+}
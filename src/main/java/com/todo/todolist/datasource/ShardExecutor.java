@@ -0,0 +1,116 @@
+package com.todo.todolist.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Runs work on several shards in parallel.
+ *
+ * <p>Each shard runs on a pool thread pinned to it, in its own transaction if the work needs
+ * one. The shard the caller's transaction is bound to, if any, runs inline on the caller so
+ * it sees the caller's uncommitted changes.
+ *
+ * <p>Shard work runs either on a fixed pool owned by the executor, or on an executor supplied
+ * by the caller, such as one starting a virtual thread per task.
+ */
+public class ShardExecutor implements Shards, DisposableBean {
+
+  private final int count;
+  private final Executor executor;
+
+  /**
+   * Constructor for ShardExecutor.
+   *
+   * @param count   the number of shards
+   * @param threads the number of pool threads running shard work
+   */
+  public ShardExecutor(int count, int threads) {
+    this(count, newPool(threads));
+  }
+
+  /**
+   * Constructor for ShardExecutor.
+   *
+   * @param count    the number of shards
+   * @param executor the executor running shard work
+   */
+  public ShardExecutor(int count, Executor executor) {
+    this.count = count;
+    this.executor = executor;
+  }
+
+  @Override
+  public int count() {
+    return count;
+  }
+
+  @Override
+  public <T> List<T> onEachShard(IntFunction<T> work) {
+    return run(IntStream.range(0, count).boxed().toList(), work);
+  }
+
+  /**
+   * Run work on the given shards in parallel.
+   *
+   * @param shards the shards to run on
+   * @param work   the work, given the shard index
+   * @param <T>    the result type
+   * @return the results, in the order of {@code shards}
+   */
+  public <T> List<T> run(List<Integer> shards, IntFunction<T> work) {
+    Integer bound = ShardContext.boundShard();
+    List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+    for (int shard : shards) {
+      futures.add(bound != null && bound == shard ? null : CompletableFuture.supplyAsync(
+          () -> ShardContext.callOn(shard, () -> work.apply(shard)), executor));
+    }
+
+    List<T> results = new ArrayList<>(shards.size());
+    for (int i = 0; i < shards.size(); i++) {
+      CompletableFuture<T> future = futures.get(i);
+      int shard = shards.get(i);
+      results.add(future == null ? ShardContext.callOn(shard, () -> work.apply(shard))
+          : join(future));
+    }
+    return results;
+  }
+
+  @Override
+  public void destroy() {
+    if (executor instanceof ExecutorService pool) {
+      pool.shutdownNow();
+    }
+  }
+
+  private static ExecutorService newPool(int threads) {
+    AtomicInteger created = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "todo-shard-" + created.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+}
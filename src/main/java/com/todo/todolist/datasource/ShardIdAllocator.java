@@ -0,0 +1,65 @@
+package com.todo.todolist.datasource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Allocates shard-encoded ids from the sequence of each shard.
+ *
+ * <p>Each call to a shard sequence reserves a block of {@code allocationSize} values, which
+ * is handed out from memory before the sequence is called again, the same pooled-lo scheme
+ * Hibernate uses for a single database. Values are encoded with {@link ShardIds}, so ids drawn
+ * on different shards never collide.
+ *
+ * <p>Blocks are guarded by locks rather than monitors, so a virtual thread waiting for the
+ * sequence query does not pin its carrier thread.
+ */
+public class ShardIdAllocator {
+
+  private final List<JdbcTemplate> shards;
+  private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for ShardIdAllocator.
+   *
+   * @param shards the shard DataSources, indexed by shard
+   */
+  public ShardIdAllocator(List<DataSource> shards) {
+    this.shards = shards.stream().map(JdbcTemplate::new).toList();
+  }
+
+  /**
+   * Allocate the next id on a shard.
+   *
+   * @param nextValueSql   the query returning the next value of the sequence
+   * @param allocationSize the increment of the sequence
+   * @param shard          the shard the id is allocated on
+   * @return the encoded id
+   */
+  public long next(String nextValueSql, int allocationSize, int shard) {
+    Block block = blocks.computeIfAbsent(nextValueSql + "@" + shard, key -> new Block());
+    block.lock.lock();
+    try {
+      if (block.next >= block.limit) {
+        long start = Objects.requireNonNull(
+            shards.get(shard).queryForObject(nextValueSql, Long.class));
+        block.next = start;
+        block.limit = start + allocationSize;
+      }
+      return ShardIds.encode(block.next++, shard);
+    } finally {
+      block.lock.unlock();
+    }
+  }
+
+  private static final class Block {
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+  }
+}
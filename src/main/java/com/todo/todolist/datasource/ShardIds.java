@@ -0,0 +1,41 @@
+package com.todo.todolist.datasource;
+
+/**
+ * Item id scheme encoding the shard that holds the item.
+ *
+ * <p>An id is {@code local * SLOTS + shard}, where {@code local} comes from the sequence of
+ * the shard itself. The shard of any id can therefore be computed without a lookup, and ids
+ * stay unique across shards. With sharding disabled every id maps to shard 0 of a single
+ * shard, whatever its value.
+ */
+public final class ShardIds {
+
+  /**
+   * The maximum number of shards the id scheme can address.
+   */
+  public static final int SLOTS = 16;
+
+  private ShardIds() {
+  }
+
+  /**
+   * Build the id of an item.
+   *
+   * @param local the value drawn from the shard sequence
+   * @param shard the shard holding the item
+   * @return the encoded id
+   */
+  public static long encode(long local, int shard) {
+    return local * SLOTS + shard;
+  }
+
+  /**
+   * The shard an id was allocated on.
+   *
+   * @param id the item id
+   * @return the shard index
+   */
+  public static int shardOf(long id) {
+    return Math.floorMod(id, SLOTS);
+  }
+}
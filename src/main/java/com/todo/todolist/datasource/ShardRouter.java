@@ -0,0 +1,222 @@
+package com.todo.todolist.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the calls of a Spring Data repository to the shard, or shards, holding the data.
+ *
+ * <ul>
+ *   <li>Calls by id, and saves and deletes of an entity with an id, go to the shard encoded in
+ *       the id.</li>
+ *   <li>New entities go to the shard the current transaction is bound to, or else to the next
+ *       shard in round-robin order.</li>
+ *   <li>Calls taking a collection of ids or entities are split by shard.</li>
+ *   <li>Everything else, such as derived queries and counts, fans out to every shard in
+ *       parallel. Lists are merged in id order and cut to the {@link Limit} argument, counts
+ *       are added up and boolean results are combined with OR.</li>
+ * </ul>
+ *
+ * <p>A thread pinned to a shard through {@link ShardContext} sends every call to that shard.
+ * A transaction spans one shard: writes that would touch several shards from inside a
+ * transaction are rejected rather than committed separately.
+ */
+public class ShardRouter implements InvocationHandler {
+
+  private static final Set<String> BY_ID = Set.of(
+      "findById", "existsById", "deleteById", "getReferenceById", "getById", "getOne");
+  private static final Set<String> BY_ENTITY = Set.of("save", "saveAndFlush", "delete");
+  private static final Set<String> BY_COLLECTION = Set.of(
+      "findAllById", "saveAll", "saveAllAndFlush", "deleteAll", "deleteAllById",
+      "deleteAllInBatch", "deleteAllByIdInBatch");
+
+  private final Object target;
+  private final Supplier<ShardExecutor> shards;
+  private final Function<Object, Object> identifiers;
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * Constructor for ShardRouter.
+   *
+   * @param target      the repository running calls against the current shard
+   * @param shards      supplies the executor running calls on several shards in parallel
+   * @param identifiers returns the id of an entity, or null if it has none yet
+   */
+  public ShardRouter(Object target, Supplier<ShardExecutor> shards,
+                     Function<Object, Object> identifiers) {
+    this.target = target;
+    this.shards = shards;
+    this.identifiers = identifiers;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return invokeTarget(method, args);
+    }
+    Integer pinned = ShardContext.pinnedShard();
+    if (pinned != null) {
+      return on(pinned, method, args);
+    }
+
+    String name = method.getName();
+    int arity = args == null ? 0 : args.length;
+    if (BY_ID.contains(name) && arity == 1 && args[0] instanceof Long id) {
+      return on(ShardIds.shardOf(id), method, args);
+    }
+    if (BY_ENTITY.contains(name) && arity == 1) {
+      Object id = idOf(args[0]);
+      return on(id == null ? newEntityShard() : shardOf(id), method, args);
+    }
+    if (BY_COLLECTION.contains(name) && arity == 1 && args[0] instanceof Iterable<?> all) {
+      return split(method, all);
+    }
+    if ("flush".equals(name)) {
+      Integer bound = ShardContext.boundShard();
+      return bound == null ? null : on(bound, method, args);
+    }
+    return fanOut(IntStream.range(0, shards.get().count()).boxed().toList(), method,
+                  shard -> args);
+  }
+
+  private Object split(Method method, Iterable<?> all) throws Throwable {
+    Integer newEntities = null;
+    Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+    for (Object element : all) {
+      Object id = element instanceof Long ? element : idOf(element);
+      if (id == null && newEntities == null) {
+        newEntities = newEntityShard();
+      }
+      byShard.computeIfAbsent(id == null ? newEntities : shardOf(id), shard -> new ArrayList<>())
+          .add(element);
+    }
+    if (byShard.isEmpty()) {
+      return invokeTarget(method, new Object[] {List.of()});
+    }
+    if (byShard.size() == 1) {
+      Map.Entry<Integer, List<Object>> only = byShard.entrySet().iterator().next();
+      return on(only.getKey(), method, new Object[] {only.getValue()});
+    }
+    return fanOut(new ArrayList<>(byShard.keySet()), method,
+                  shard -> new Object[] {byShard.get(shard)});
+  }
+
+  private Object fanOut(List<Integer> targets, Method method, Function<Integer, Object[]> args) {
+    if (isWrite(method) && TransactionSynchronizationManager.isActualTransactionActive()
+        && targets.size() > 1) {
+      throw new InvalidDataAccessApiUsageException(
+          method.getName() + " cannot run across shards inside a transaction.");
+    }
+    List<Object> results = shards.get().run(
+        targets, shard -> invokeUnchecked(method, args.apply(shard)));
+    return merge(method, results, args.apply(targets.get(0)));
+  }
+
+  private Object merge(Method method, List<Object> results, Object[] args) {
+    Class<?> type = method.getReturnType();
+    if (type == void.class) {
+      return null;
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return results.stream().anyMatch(Boolean.TRUE::equals);
+    }
+    if (type == long.class || type == Long.class) {
+      return results.stream().mapToLong(result -> (Long) result).sum();
+    }
+    if (type == Optional.class) {
+      return results.stream()
+          .map(result -> (Optional<?>) result)
+          .filter(Optional::isPresent)
+          .findFirst()
+          .orElse(Optional.empty());
+    }
+    if (type.isAssignableFrom(List.class)) {
+      List<Object> merged = new ArrayList<>();
+      results.forEach(result -> ((Iterable<?>) result).forEach(merged::add));
+      merged.sort(Comparator.comparing(this::idOf,
+          Comparator.nullsLast(Comparator.comparingLong(id -> ((Number) id).longValue()))));
+      Limit limit = limitOf(args);
+      return limit.isLimited() && merged.size() > limit.max()
+          ? new ArrayList<>(merged.subList(0, limit.max())) : merged;
+    }
+    throw new InvalidDataAccessApiUsageException(
+        method.getName() + " returning " + type.getSimpleName()
+            + " is not supported across shards.");
+  }
+
+  private Object on(int shard, Method method, Object[] args) throws Throwable {
+    ShardContext.bindTransaction(shard);
+    try {
+      return ShardContext.callOn(shard, () -> invokeUnchecked(method, args));
+    } catch (TargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private static int shardOf(Object id) {
+    return ShardIds.shardOf(((Number) id).longValue());
+  }
+
+  private Object idOf(Object entity) {
+    return entity == null ? null : identifiers.apply(entity);
+  }
+
+  private int newEntityShard() {
+    Integer bound = ShardContext.boundShard();
+    return bound != null ? bound : Math.floorMod(next.getAndIncrement(), shards.get().count());
+  }
+
+  private static boolean isWrite(Method method) {
+    return method.getName().startsWith("save") || method.getName().startsWith("delete");
+  }
+
+  private static Limit limitOf(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof Limit limit) {
+          return limit;
+        }
+      }
+    }
+    return Limit.unlimited();
+  }
+
+  private Object invokeUnchecked(Method method, Object[] args) {
+    try {
+      return invokeTarget(method, args);
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new TargetException(ex);
+    }
+  }
+
+  private Object invokeTarget(Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private static final class TargetException extends RuntimeException {
+    private TargetException(Throwable cause) {
+      super(cause);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.todo.todolist.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource handing out connections to the shard given by {@link ShardContext}.
+ *
+ * <p>Like {@link ReplicaRoutingDataSource}, the decision is taken when a connection is first
+ * used, so this DataSource must be wrapped in a {@code LazyConnectionDataSourceProxy}; that
+ * lets a transaction be bound to its shard by the first repository call it makes.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+  private final List<DataSource> shards;
+
+  /**
+   * Constructor for ShardRoutingDataSource.
+   *
+   * @param shards the shard DataSources, indexed by shard
+   */
+  public ShardRoutingDataSource(List<DataSource> shards) {
+    if (shards.isEmpty() || shards.size() > ShardIds.SLOTS) {
+      throw new IllegalArgumentException(
+          "Between 1 and " + ShardIds.SLOTS + " shards are supported.");
+    }
+    this.shards = List.copyOf(shards);
+    Map<Object, Object> targets = new HashMap<>();
+    for (int i = 0; i < this.shards.size(); i++) {
+      targets.put(i, this.shards.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(this.shards.get(0));
+  }
+
+  public List<DataSource> getShards() {
+    return shards;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return ShardContext.currentShard();
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (DataSource shard : shards) {
+      if (shard instanceof Closeable closeable) {
+        closeable.close();
+      }
+    }
+  }
+}
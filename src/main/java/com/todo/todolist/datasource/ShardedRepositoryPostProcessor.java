@@ -0,0 +1,64 @@
+package com.todo.todolist.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps every Spring Data repository in a {@link ShardRouter}.
+ *
+ * <p>The wrapper implements only the repository interfaces of the bean, so it is injected
+ * wherever the repository is. The shard executor and the entity manager factory are looked
+ * up on first use, keeping this post-processor free of early dependencies.
+ */
+public class ShardedRepositoryPostProcessor implements BeanPostProcessor {
+
+  private final ObjectProvider<ShardExecutor> shards;
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+  private volatile Set<Class<?>> entityTypes;
+
+  /**
+   * Constructor for ShardedRepositoryPostProcessor.
+   *
+   * @param shards               the shard executor
+   * @param entityManagerFactory the entity manager factory resolving entity ids
+   */
+  public ShardedRepositoryPostProcessor(ObjectProvider<ShardExecutor> shards,
+                                        ObjectProvider<EntityManagerFactory>
+                                            entityManagerFactory) {
+    this.shards = shards;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof Repository<?, ?>)) {
+      return bean;
+    }
+    Class<?>[] interfaces = Arrays.stream(ClassUtils.getAllInterfaces(bean))
+        .filter(Repository.class::isAssignableFrom)
+        .toArray(Class<?>[]::new);
+    ShardRouter router = new ShardRouter(bean, shards::getObject, this::identifierOf);
+    return Proxy.newProxyInstance(interfaces[0].getClassLoader(), interfaces, router);
+  }
+
+  private Object identifierOf(Object entity) {
+    EntityManagerFactory factory = entityManagerFactory.getObject();
+    Set<Class<?>> types = entityTypes;
+    if (types == null) {
+      types = factory.getMetamodel().getEntities().stream()
+          .map(EntityType::getJavaType)
+          .collect(Collectors.toSet());
+      entityTypes = types;
+    }
+    return types.contains(entity.getClass())
+        ? factory.getPersistenceUnitUtil().getIdentifier(entity) : null;
+  }
+}
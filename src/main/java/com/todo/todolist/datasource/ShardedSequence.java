@@ -0,0 +1,34 @@
+package com.todo.todolist.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates an id from a database sequence, encoding the shard when sharding is enabled.
+ *
+ * <p>Without sharding this behaves like {@code @SequenceGenerator} with the same name and
+ * allocation size; with sharding, ids come from the sequence of the shard the item is written
+ * to, through {@link ShardIdAllocator}.
+ */
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedSequence {
+
+  /**
+   * The database sequence name.
+   *
+   * @return the sequence name
+   */
+  String name();
+
+  /**
+   * The sequence increment, and the number of ids reserved per sequence call.
+   *
+   * @return the allocation size
+   */
+  int allocationSize() default 50;
+}
@@ -0,0 +1,63 @@
+package com.todo.todolist.datasource;
+
+import java.util.Properties;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Id generator behind {@link ShardedSequence}.
+ *
+ * <p>It is a regular pooled sequence generator, so the sequence is still created by schema
+ * generation. When a {@link ShardIdAllocator} is registered under {@link #ALLOCATOR_SETTING}
+ * in the JPA properties, ids are taken from the allocator for the current shard instead.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+  /**
+   * JPA property holding the {@link ShardIdAllocator} of a sharded setup.
+   */
+  public static final String ALLOCATOR_SETTING = "todo.shards.id-allocator";
+
+  private final ShardedSequence config;
+  private ShardIdAllocator allocator;
+  private String nextValueSql;
+
+  /**
+   * Constructor for ShardedSequenceGenerator.
+   *
+   * @param config the annotation on the id
+   */
+  public ShardedSequenceGenerator(ShardedSequence config) {
+    this.config = config;
+  }
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+    parameters.put(SEQUENCE_PARAM, config.name());
+    parameters.put(INCREMENT_PARAM, String.valueOf(config.allocationSize()));
+    super.configure(type, parameters, serviceRegistry);
+
+    Object setting = serviceRegistry.requireService(ConfigurationService.class)
+        .getSettings()
+        .get(ALLOCATOR_SETTING);
+    if (setting instanceof ShardIdAllocator shardIdAllocator) {
+      allocator = shardIdAllocator;
+      nextValueSql = serviceRegistry.requireService(JdbcEnvironment.class)
+          .getDialect()
+          .getSequenceSupport()
+          .getSequenceNextValString(config.name());
+    }
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    if (allocator == null) {
+      return super.generate(session, object);
+    }
+    return allocator.next(nextValueSql, config.allocationSize(), ShardContext.currentShard());
+  }
+}
@@ -0,0 +1,30 @@
+package com.todo.todolist.datasource;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The shards item data is spread over.
+ *
+ * <p>Background work that scans the item table, such as the overdue sweep and the archiver,
+ * runs once per shard through {@link #onEachShard} so each run stays on one database and
+ * shards are processed concurrently. Without sharding there is a single shard.
+ */
+public interface Shards {
+
+  /**
+   * The number of shards.
+   *
+   * @return the shard count
+   */
+  int count();
+
+  /**
+   * Run work once per shard, with the running thread pinned to that shard.
+   *
+   * @param work the work, given the shard index
+   * @param <T>  the result type
+   * @return the results, in shard order
+   */
+  <T> List<T> onEachShard(IntFunction<T> work);
+}
@@ -0,0 +1,26 @@
+package com.todo.todolist.datasource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link Shards}: all items live in the one configured database, and per-shard work
+ * runs once on the calling thread.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.shards.enabled", havingValue = "false", matchIfMissing = true)
+public class SingleShard implements Shards {
+
+  @Override
+  public int count() {
+    return 1;
+  }
+
+  @Override
+  public <T> List<T> onEachShard(IntFunction<T> work) {
+    return Collections.singletonList(work.apply(0));
+  }
+}
@@ -0,0 +1,35 @@
+package com.todo.todolist.dto;
+
+import com.todo.todolist.model.ArchivedToDoItem;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A keyset page of archived items.
+ *
+ * <p>{@code next} is the cursor to pass as {@code after} for the following page, or null
+ * when this is the last page.
+ */
+public class ArchivePage {
+  private final List<ArchivedToDoItem> items;
+  private final Long next;
+
+  /**
+   * Constructor for ArchivePage.
+   *
+   * @param items the items of this page, ordered by id
+   * @param limit the requested page size
+   */
+  public ArchivePage(List<ArchivedToDoItem> items, int limit) {
+    this.items = List.copyOf(items);
+    this.next = items.size() < limit ? null : items.get(items.size() - 1).getId();
+  }
+
+  public List<ArchivedToDoItem> getItems() {
+    return Collections.unmodifiableList(items);
+  }
+
+  public Long getNext() {
+    return next;
+  }
+}
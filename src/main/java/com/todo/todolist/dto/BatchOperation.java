@@ -0,0 +1,46 @@
+package com.todo.todolist.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * A single operation of a batch request.
+ *
+ * <p>{@code op} names the operation: {@code create}, {@code update}, {@code patch},
+ * {@code done}, {@code not-done} or {@code delete}. Every operation except {@code create}
+ * targets the item given by {@code id}; {@code create}, {@code update} and {@code patch}
+ * carry their request body in {@code body}.
+ */
+public class BatchOperation {
+  private String op;
+  private Long id;
+  private JsonNode body;
+
+  public String getOp() {
+    return op;
+  }
+
+  public void setOp(String op) {
+    this.op = op;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+                      justification = "The body is only read when the operation runs")
+  public JsonNode getBody() {
+    return body;
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
+                      justification = "The body is only read when the operation runs")
+  public void setBody(JsonNode body) {
+    this.body = body;
+  }
+}
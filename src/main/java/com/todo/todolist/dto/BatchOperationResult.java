@@ -0,0 +1,53 @@
+package com.todo.todolist.dto;
+
+import com.todo.todolist.model.ToDoItem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of a single batch operation.
+ *
+ * <p>Shaped like {@link ErrorResponse} so clients can handle batch results and ordinary error
+ * responses alike. {@code error} is null for successful operations, which carry the resulting
+ * item when there is one.
+ */
+public class BatchOperationResult extends ErrorResponse {
+  private final int index;
+  private final String op;
+  private final ToDoItem item;
+
+  /**
+   * Constructor for BatchOperationResult.
+   *
+   * @param index     the position of the operation in the batch
+   * @param op        the operation name
+   * @param error     the error type, or null on success
+   * @param message   the outcome message
+   * @param timestamp the timestamp of the outcome
+   * @param status    the HTTP status code of the outcome
+   * @param item      the resulting item, if any
+   */
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP2",
+                      justification = "The item is a response snapshot that is not modified")
+  public BatchOperationResult(int index, String op, String error, String message,
+                              LocalDateTime timestamp, int status, ToDoItem item) {
+    super(error, message, timestamp, status);
+    this.index = index;
+    this.op = op;
+    this.item = item;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public String getOp() {
+    return op;
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+                      justification = "The item is a response snapshot that is not modified")
+  public ToDoItem getItem() {
+    return item;
+  }
+}
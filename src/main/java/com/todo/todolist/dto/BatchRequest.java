@@ -0,0 +1,41 @@
+package com.todo.todolist.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An ordered list of operations to run in one transaction.
+ *
+ * <p>In {@code atomic} mode, the default, the first failing operation rolls back the whole
+ * batch. In {@code continue-on-error} mode failed operations are reported and the others are
+ * still committed.
+ */
+public class BatchRequest {
+  public static final String ATOMIC = "atomic";
+  public static final String CONTINUE_ON_ERROR = "continue-on-error";
+
+  private String mode = ATOMIC;
+  private List<BatchOperation> operations = new ArrayList<>();
+
+  public String getMode() {
+    return mode;
+  }
+
+  public void setMode(String mode) {
+    this.mode = mode;
+  }
+
+  public List<BatchOperation> getOperations() {
+    return Collections.unmodifiableList(operations);
+  }
+
+  /**
+   * Replace the operations of this batch.
+   *
+   * @param operations the operations, or null for none
+   */
+  public void setOperations(List<BatchOperation> operations) {
+    this.operations = operations == null ? new ArrayList<>() : new ArrayList<>(operations);
+  }
+}
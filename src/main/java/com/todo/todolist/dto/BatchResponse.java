@@ -0,0 +1,32 @@
+package com.todo.todolist.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a batch request: whether its transaction was committed and the result of
+ * every operation, in request order.
+ */
+public class BatchResponse {
+  private final boolean committed;
+  private final List<BatchOperationResult> results;
+
+  /**
+   * Constructor for BatchResponse.
+   *
+   * @param committed whether the batch transaction was committed
+   * @param results   the result of every operation, in request order
+   */
+  public BatchResponse(boolean committed, List<BatchOperationResult> results) {
+    this.committed = committed;
+    this.results = List.copyOf(results);
+  }
+
+  public boolean isCommitted() {
+    return committed;
+  }
+
+  public List<BatchOperationResult> getResults() {
+    return Collections.unmodifiableList(results);
+  }
+}
@@ -0,0 +1,40 @@
+package com.todo.todolist.dto;
+
+import com.todo.todolist.model.Status;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The number of items due on a day, in total and per status.
+ */
+public class CalendarDay {
+  private final LocalDate date;
+  private final long total;
+  private final Map<Status, Long> statuses;
+
+  /**
+   * Constructor for CalendarDay.
+   *
+   * @param date     the due day
+   * @param statuses the number of items per status, with every status present
+   */
+  public CalendarDay(LocalDate date, Map<Status, Long> statuses) {
+    this.date = date;
+    this.statuses = Collections.unmodifiableMap(new EnumMap<>(statuses));
+    this.total = statuses.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public Map<Status, Long> getStatuses() {
+    return statuses;
+  }
+}
@@ -0,0 +1,85 @@
+package com.todo.todolist.dto;
+
+import com.todo.todolist.model.Status;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion analytics over the items in the list.
+ *
+ * <p>{@code completion} is the time from creation to done of all DONE items and
+ * {@code recentCompletion} the same for items done in the last {@code windowDays} days, from
+ * {@code since} on. {@code lateCompletion} is how long after their due date items were done,
+ * for those done late. {@code days} holds one entry per day of the window, oldest first.
+ */
+public class CompletionStats {
+  private final int windowDays;
+  private final LocalDate since;
+  private final Map<Status, Long> items;
+  private final DurationSummary completion;
+  private final DurationSummary recentCompletion;
+  private final DurationSummary lateCompletion;
+  private final OverdueSummary overdue;
+  private final List<DailyStats> days;
+
+  /**
+   * Constructor for CompletionStats.
+   *
+   * @param windowDays       the days covered by the recent figures
+   * @param since            the first day of the window
+   * @param items            the number of items per status
+   * @param completion       creation to done of all DONE items
+   * @param recentCompletion creation to done of items done in the window
+   * @param lateCompletion   due to done of items done after their due date
+   * @param overdue          days past due of OVERDUE items
+   * @param days             the figures of each day of the window
+   */
+  public CompletionStats(int windowDays, LocalDate since, Map<Status, Long> items,
+                         DurationSummary completion, DurationSummary recentCompletion,
+                         DurationSummary lateCompletion, OverdueSummary overdue,
+                         List<DailyStats> days) {
+    this.windowDays = windowDays;
+    this.since = since;
+    this.items = Collections.unmodifiableMap(new EnumMap<>(items));
+    this.completion = completion;
+    this.recentCompletion = recentCompletion;
+    this.lateCompletion = lateCompletion;
+    this.overdue = overdue;
+    this.days = List.copyOf(days);
+  }
+
+  public int getWindowDays() {
+    return windowDays;
+  }
+
+  public LocalDate getSince() {
+    return since;
+  }
+
+  public Map<Status, Long> getItems() {
+    return items;
+  }
+
+  public DurationSummary getCompletion() {
+    return completion;
+  }
+
+  public DurationSummary getRecentCompletion() {
+    return recentCompletion;
+  }
+
+  public DurationSummary getLateCompletion() {
+    return lateCompletion;
+  }
+
+  public OverdueSummary getOverdue() {
+    return overdue;
+  }
+
+  public List<DailyStats> getDays() {
+    return days;
+  }
+}
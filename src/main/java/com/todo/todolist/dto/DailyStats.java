@@ -0,0 +1,48 @@
+package com.todo.todolist.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Completions and overdue items of one day.
+ *
+ * <p>{@code completed} counts items done that day and {@code completionP50Seconds} is their
+ * median time from creation to done. {@code overdue} counts the items due that day that are
+ * now OVERDUE.
+ */
+public class DailyStats {
+  private final LocalDate date;
+  private final long completed;
+  private final long completionP50Seconds;
+  private final long overdue;
+
+  /**
+   * Constructor for DailyStats.
+   *
+   * @param date                 the day
+   * @param completed            the items done that day
+   * @param completionP50Seconds the median completion time of those items
+   * @param overdue              the OVERDUE items due that day
+   */
+  public DailyStats(LocalDate date, long completed, long completionP50Seconds, long overdue) {
+    this.date = date;
+    this.completed = completed;
+    this.completionP50Seconds = completionP50Seconds;
+    this.overdue = overdue;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public long getCompleted() {
+    return completed;
+  }
+
+  public long getCompletionP50Seconds() {
+    return completionP50Seconds;
+  }
+
+  public long getOverdue() {
+    return overdue;
+  }
+}
@@ -0,0 +1,38 @@
+package com.todo.todolist.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Items due per day over a date range. Only days with items due are listed, in date order.
+ */
+public class DueCalendar {
+  private final LocalDate from;
+  private final LocalDate to;
+  private final List<CalendarDay> days;
+
+  /**
+   * Constructor for DueCalendar.
+   *
+   * @param from the first day of the range
+   * @param to   the last day of the range, inclusive
+   * @param days the days with items due
+   */
+  public DueCalendar(LocalDate from, LocalDate to, List<CalendarDay> days) {
+    this.from = from;
+    this.to = to;
+    this.days = List.copyOf(days);
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public List<CalendarDay> getDays() {
+    return days;
+  }
+}
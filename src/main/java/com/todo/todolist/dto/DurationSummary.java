@@ -0,0 +1,60 @@
+package com.todo.todolist.dto;
+
+/**
+ * Percentiles of a set of durations, in seconds.
+ *
+ * <p>The percentiles and maximum come from a histogram and are within 1% of the exact values;
+ * the count and mean are exact. All values are 0 when {@code count} is 0.
+ */
+public class DurationSummary {
+  private final long count;
+  private final long meanSeconds;
+  private final long p50Seconds;
+  private final long p90Seconds;
+  private final long p99Seconds;
+  private final long maxSeconds;
+
+  /**
+   * Constructor for DurationSummary.
+   *
+   * @param count       the number of durations
+   * @param meanSeconds the mean duration
+   * @param p50Seconds  the median duration
+   * @param p90Seconds  the 90th percentile
+   * @param p99Seconds  the 99th percentile
+   * @param maxSeconds  the longest duration
+   */
+  public DurationSummary(long count, long meanSeconds, long p50Seconds, long p90Seconds,
+                         long p99Seconds, long maxSeconds) {
+    this.count = count;
+    this.meanSeconds = meanSeconds;
+    this.p50Seconds = p50Seconds;
+    this.p90Seconds = p90Seconds;
+    this.p99Seconds = p99Seconds;
+    this.maxSeconds = maxSeconds;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMeanSeconds() {
+    return meanSeconds;
+  }
+
+  public long getP50Seconds() {
+    return p50Seconds;
+  }
+
+  public long getP90Seconds() {
+    return p90Seconds;
+  }
+
+  public long getP99Seconds() {
+    return p99Seconds;
+  }
+
+  public long getMaxSeconds() {
+    return maxSeconds;
+  }
+}
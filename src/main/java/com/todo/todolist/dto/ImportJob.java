@@ -0,0 +1,182 @@
+package com.todo.todolist.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bulk import and its progress.
+ *
+ * <p>The import updates the job as it reads the file, so the counters can be polled while it
+ * runs. {@code totalBytes} is null when the client did not send a Content-Length. Rejected
+ * rows, including duplicates, are all counted, but only the first
+ * {@code todo.import.max-reported-rejections} are listed; {@code rejectionsTruncated} tells
+ * whether more were left out.
+ */
+public class ImportJob {
+
+  /**
+   * The state of an import.
+   */
+  public enum State {
+    RUNNING, COMPLETED, FAILED
+  }
+
+  private final String id;
+  private final String format;
+  private final LocalDateTime startedAt;
+  private final Long totalBytes;
+  private final int maxReportedRejections;
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong rows = new AtomicLong();
+  private final AtomicLong imported = new AtomicLong();
+  private final AtomicLong duplicates = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final List<ImportRejection> rejections = new ArrayList<>();
+  private volatile State state = State.RUNNING;
+  private volatile LocalDateTime finishedAt;
+  private volatile String error;
+
+  /**
+   * Constructor for ImportJob.
+   *
+   * @param id                    the job id
+   * @param format                the file format
+   * @param totalBytes            the size of the file, or null if unknown
+   * @param maxReportedRejections the most rejected rows listed
+   */
+  public ImportJob(String id, String format, Long totalBytes, int maxReportedRejections) {
+    this.id = id;
+    this.format = format;
+    this.startedAt = LocalDateTime.now();
+    this.totalBytes = totalBytes;
+    this.maxReportedRejections = maxReportedRejections;
+  }
+
+  /**
+   * Count bytes read from the file.
+   *
+   * @param count the bytes read
+   */
+  public void addBytesRead(long count) {
+    bytesRead.addAndGet(count);
+  }
+
+  /**
+   * Count a row read from the file.
+   */
+  public void rowRead() {
+    rows.incrementAndGet();
+  }
+
+  /**
+   * Count rows written to the database.
+   *
+   * @param count the rows written
+   */
+  public void addImported(int count) {
+    imported.addAndGet(count);
+  }
+
+  /**
+   * Record a rejected row.
+   *
+   * @param line      the line the row starts on
+   * @param reason    why it was rejected
+   * @param duplicate whether it duplicates an existing item or an earlier row
+   */
+  public void reject(long line, String reason, boolean duplicate) {
+    rejected.incrementAndGet();
+    if (duplicate) {
+      duplicates.incrementAndGet();
+    }
+    synchronized (rejections) {
+      if (rejections.size() < maxReportedRejections) {
+        rejections.add(new ImportRejection(line, reason));
+      }
+    }
+  }
+
+  /**
+   * Mark the import as finished.
+   */
+  public void complete() {
+    finishedAt = LocalDateTime.now();
+    state = State.COMPLETED;
+  }
+
+  /**
+   * Mark the import as stopped by an error. Rows imported before stay imported.
+   *
+   * @param message the error message
+   */
+  public void fail(String message) {
+    error = message;
+    finishedAt = LocalDateTime.now();
+    state = State.FAILED;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getFormat() {
+    return format;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public long getBytesRead() {
+    return bytesRead.get();
+  }
+
+  public Long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getRows() {
+    return rows.get();
+  }
+
+  public long getImported() {
+    return imported.get();
+  }
+
+  public long getDuplicates() {
+    return duplicates.get();
+  }
+
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * The first rejected rows.
+   *
+   * @return the rejections in the order they were found
+   */
+  public List<ImportRejection> getRejections() {
+    synchronized (rejections) {
+      return List.copyOf(rejections);
+    }
+  }
+
+  public boolean isRejectionsTruncated() {
+    return rejected.get() > getRejections().size();
+  }
+
+  public String getError() {
+    return error;
+  }
+}
@@ -0,0 +1,28 @@
+package com.todo.todolist.dto;
+
+/**
+ * A row of an import file that was not imported, and why.
+ */
+public class ImportRejection {
+  private final long line;
+  private final String reason;
+
+  /**
+   * Constructor for ImportRejection.
+   *
+   * @param line   the line the row starts on, counting from 1
+   * @param reason why the row was rejected
+   */
+  public ImportRejection(long line, String reason) {
+    this.line = line;
+    this.reason = reason;
+  }
+
+  public long getLine() {
+    return line;
+  }
+
+  public String getReason() {
+    return reason;
+  }
+}
@@ -0,0 +1,43 @@
+package com.todo.todolist.dto;
+
+/**
+ * Changes to the overdue scheduler's timing. Members left out, or null, are kept as they are.
+ */
+public class OverdueSchedulerSettings {
+  private Long intervalMs;
+  private Long maxIntervalMs;
+  private Double backoffMultiplier;
+  private Double jitter;
+
+  public Long getIntervalMs() {
+    return intervalMs;
+  }
+
+  public void setIntervalMs(Long intervalMs) {
+    this.intervalMs = intervalMs;
+  }
+
+  public Long getMaxIntervalMs() {
+    return maxIntervalMs;
+  }
+
+  public void setMaxIntervalMs(Long maxIntervalMs) {
+    this.maxIntervalMs = maxIntervalMs;
+  }
+
+  public Double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public void setBackoffMultiplier(Double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  public Double getJitter() {
+    return jitter;
+  }
+
+  public void setJitter(Double jitter) {
+    this.jitter = jitter;
+  }
+}
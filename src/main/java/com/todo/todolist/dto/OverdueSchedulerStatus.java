@@ -0,0 +1,87 @@
+package com.todo.todolist.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The state of the overdue scheduler and its most recent sweeps.
+ *
+ * <p>{@code nextDelayMs} is the delay before the next scheduled sweep, before jitter. It grows
+ * from {@code intervalMs} towards {@code maxIntervalMs} while sweeps find nothing to mark.
+ * {@code nextRunAt} is null while the scheduler is paused.
+ */
+public class OverdueSchedulerStatus {
+  private final boolean paused;
+  private final boolean running;
+  private final long intervalMs;
+  private final long maxIntervalMs;
+  private final double backoffMultiplier;
+  private final double jitter;
+  private final long nextDelayMs;
+  private final LocalDateTime nextRunAt;
+  private final List<OverdueSweepResult> results;
+
+  /**
+   * Constructor for OverdueSchedulerStatus.
+   *
+   * @param paused            whether scheduled sweeps are paused
+   * @param running           whether a sweep is running
+   * @param intervalMs        the delay between sweeps that find work
+   * @param maxIntervalMs     the longest delay back-off grows to
+   * @param backoffMultiplier the factor the delay grows by after an idle sweep
+   * @param jitter            the fraction by which each delay is randomly varied
+   * @param nextDelayMs       the current delay before jitter
+   * @param nextRunAt         when the next scheduled sweep runs, or null
+   * @param results           the most recent sweeps, newest first
+   */
+  public OverdueSchedulerStatus(boolean paused, boolean running, long intervalMs,
+                                long maxIntervalMs, double backoffMultiplier, double jitter,
+                                long nextDelayMs, LocalDateTime nextRunAt,
+                                List<OverdueSweepResult> results) {
+    this.paused = paused;
+    this.running = running;
+    this.intervalMs = intervalMs;
+    this.maxIntervalMs = maxIntervalMs;
+    this.backoffMultiplier = backoffMultiplier;
+    this.jitter = jitter;
+    this.nextDelayMs = nextDelayMs;
+    this.nextRunAt = nextRunAt;
+    this.results = List.copyOf(results);
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public long getIntervalMs() {
+    return intervalMs;
+  }
+
+  public long getMaxIntervalMs() {
+    return maxIntervalMs;
+  }
+
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
+  public long getNextDelayMs() {
+    return nextDelayMs;
+  }
+
+  public LocalDateTime getNextRunAt() {
+    return nextRunAt;
+  }
+
+  public List<OverdueSweepResult> getResults() {
+    return results;
+  }
+}
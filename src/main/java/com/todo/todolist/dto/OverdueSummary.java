@@ -0,0 +1,45 @@
+package com.todo.todolist.dto;
+
+/**
+ * How long the items currently OVERDUE have been past due, in whole days.
+ *
+ * <p>Items are counted by the day they were due, so an item due yesterday is one day overdue
+ * however late in the day it was due.
+ */
+public class OverdueSummary {
+  private final long count;
+  private final long p50Days;
+  private final long p90Days;
+  private final long maxDays;
+
+  /**
+   * Constructor for OverdueSummary.
+   *
+   * @param count   the number of OVERDUE items
+   * @param p50Days the median days past due
+   * @param p90Days the 90th percentile of days past due
+   * @param maxDays the most days past due
+   */
+  public OverdueSummary(long count, long p50Days, long p90Days, long maxDays) {
+    this.count = count;
+    this.p50Days = p50Days;
+    this.p90Days = p90Days;
+    this.maxDays = maxDays;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getP50Days() {
+    return p50Days;
+  }
+
+  public long getP90Days() {
+    return p90Days;
+  }
+
+  public long getMaxDays() {
+    return maxDays;
+  }
+}
@@ -0,0 +1,62 @@
+package com.todo.todolist.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of one overdue sweep.
+ *
+ * <p>{@code lagMs} is how long the oldest item the sweep marked had already been past due,
+ * which is how late the sweep caught it. {@code error} is null unless the sweep failed.
+ */
+public class OverdueSweepResult {
+  private final String trigger;
+  private final LocalDateTime startedAt;
+  private final long durationMs;
+  private final int rows;
+  private final long lagMs;
+  private final String error;
+
+  /**
+   * Constructor for OverdueSweepResult.
+   *
+   * @param trigger    what started the sweep, {@code scheduled} or {@code manual}
+   * @param startedAt  when the sweep started
+   * @param durationMs how long the sweep took
+   * @param rows       the items marked OVERDUE
+   * @param lagMs      how long the oldest marked item had been past due
+   * @param error      the failure message, or null
+   */
+  public OverdueSweepResult(String trigger, LocalDateTime startedAt, long durationMs, int rows,
+                            long lagMs, String error) {
+    this.trigger = trigger;
+    this.startedAt = startedAt;
+    this.durationMs = durationMs;
+    this.rows = rows;
+    this.lagMs = lagMs;
+    this.error = error;
+  }
+
+  public String getTrigger() {
+    return trigger;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public long getDurationMs() {
+    return durationMs;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public long getLagMs() {
+    return lagMs;
+  }
+
+  public String getError() {
+    return error;
+  }
+}
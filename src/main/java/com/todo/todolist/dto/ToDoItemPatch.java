@@ -0,0 +1,131 @@
+package com.todo.todolist.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.todo.todolist.exception.BadRequestException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7396) for a to-do item.
+ *
+ * <p>Only the members present in the patch are changed. Description and due date may be
+ * replaced but not removed; a {@code null} tags member clears all tags. Status and timestamps
+ * are managed by the application and cannot be patched.
+ */
+public final class ToDoItemPatch {
+
+  private final String description;
+  private final LocalDateTime dueDatetime;
+  private final Set<String> tags;
+  private final boolean tagsPresent;
+
+  private ToDoItemPatch(String description, LocalDateTime dueDatetime, Set<String> tags,
+                        boolean tagsPresent) {
+    this.description = description;
+    this.dueDatetime = dueDatetime;
+    this.tags = tags;
+    this.tagsPresent = tagsPresent;
+  }
+
+  /**
+   * Parse a merge patch document.
+   *
+   * @param document the merge patch document
+   * @return the parsed patch
+   * @throws BadRequestException if the document is not a valid patch for a to-do item
+   */
+  public static ToDoItemPatch fromJson(JsonNode document) {
+    if (document == null || !document.isObject()) {
+      throw new BadRequestException("Merge patch must be a JSON object.");
+    }
+
+    String description = null;
+    LocalDateTime dueDatetime = null;
+    Set<String> tags = null;
+    boolean tagsPresent = false;
+
+    Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      JsonNode value = field.getValue();
+      switch (field.getKey()) {
+        case "description" -> description = requireText(value, "Description");
+        case "dueDatetime" -> dueDatetime = parseDatetime(requireText(value, "Due date"));
+        case "tags" -> {
+          tags = parseTags(value);
+          tagsPresent = true;
+        }
+        default -> throw new BadRequestException(
+            "Field '" + field.getKey() + "' cannot be patched.");
+      }
+    }
+    return new ToDoItemPatch(description, dueDatetime, tags, tagsPresent);
+  }
+
+  public Optional<String> getDescription() {
+    return Optional.ofNullable(description);
+  }
+
+  public Optional<LocalDateTime> getDueDatetime() {
+    return Optional.ofNullable(dueDatetime);
+  }
+
+  /**
+   * The replacement tags, if the patch contains a tags member.
+   *
+   * @return the new tags, empty when the tags are left unchanged
+   */
+  public Optional<Set<String>> getTags() {
+    return tagsPresent ? Optional.of(Collections.unmodifiableSet(tags)) : Optional.empty();
+  }
+
+  /**
+   * Whether the patch changes nothing.
+   *
+   * @return true for an empty patch
+   */
+  public boolean isEmpty() {
+    return description == null && dueDatetime == null && !tagsPresent;
+  }
+
+  private static String requireText(JsonNode value, String name) {
+    if (value.isNull()) {
+      throw new BadRequestException(name + " cannot be removed.");
+    }
+    if (!value.isTextual()) {
+      throw new BadRequestException(name + " must be a string.");
+    }
+    return value.asText();
+  }
+
+  private static LocalDateTime parseDatetime(String value) {
+    try {
+      return LocalDateTime.parse(value);
+    } catch (DateTimeParseException ex) {
+      throw new BadRequestException("Due date must be an ISO-8601 date-time.");
+    }
+  }
+
+  private static Set<String> parseTags(JsonNode value) {
+    Set<String> tags = new LinkedHashSet<>();
+    if (value.isNull()) {
+      return tags;
+    }
+    if (!value.isArray()) {
+      throw new BadRequestException("Tags must be an array of strings.");
+    }
+    for (JsonNode tag : value) {
+      if (!tag.isTextual()) {
+        throw new BadRequestException("Tags must be an array of strings.");
+      }
+      tags.add(tag.asText());
+    }
+    return tags;
+  }
+}
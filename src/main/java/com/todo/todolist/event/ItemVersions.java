@@ -0,0 +1,68 @@
+package com.todo.todolist.event;
+
+import com.todo.todolist.model.ToDoItem;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The item versions applied to some derived state, used to drop change events that arrive out
+ * of order.
+ *
+ * <p>A change is applied only if its item version is not older than the highest one applied so
+ * far. Deleted ids are remembered, up to {@value #MAX_TOMBSTONES} of them, so a late update
+ * cannot bring a deleted item back. This is the rule of the {@code ToDoProjection}. Instances
+ * are not thread-safe; they are guarded by the lock of the state they track.
+ */
+public class ItemVersions {
+
+  static final int MAX_TOMBSTONES = 10_000;
+
+  private final Map<Long, Long> versions = new HashMap<>();
+  private final Set<Long> deleted = Collections.newSetFromMap(new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+      return size() > MAX_TOMBSTONES;
+    }
+  });
+
+  /**
+   * Forget every version and deleted id, before the state is loaded again.
+   */
+  public void clear() {
+    versions.clear();
+    deleted.clear();
+  }
+
+  /**
+   * Record the version of an item loaded into the state.
+   *
+   * @param item the loaded item
+   */
+  public void loaded(ToDoItem item) {
+    versions.put(item.getId(), item.getVersion());
+  }
+
+  /**
+   * Record a change if it is not older than what was applied for its item.
+   *
+   * @param event the change event
+   * @return true if the change must be applied, false if it is out of date
+   */
+  public boolean accept(ToDoItemChangedEvent event) {
+    Long id = event.getItemId();
+    Long held = versions.get(id);
+    if (deleted.contains(id) || held != null && held > event.getVersion()) {
+      return false;
+    }
+    if (event.isDeleted()) {
+      versions.remove(id);
+      deleted.add(id);
+    } else {
+      versions.put(id, event.getVersion());
+    }
+    return true;
+  }
+}
@@ -0,0 +1,101 @@
+package com.todo.todolist.event;
+
+import com.todo.todolist.model.ToDoItem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Application event published whenever a to-do item is created, changed or removed.
+ *
+ * <p>The event carries detached snapshots of the item before and after the change, so
+ * listeners can update derived state (indexes, caches) without touching the database.
+ * A created item has no {@code before} snapshot and a deleted item has no {@code after}
+ * snapshot. Snapshots are read-only copies shared by all listeners.
+ *
+ * <p>Listeners may see events in a different order than the transactions committed. The
+ * {@linkplain #getVersion() version} tells which of two changes to the same item is newer.
+ *
+ * <p>An item {@linkplain #updated(ToDoItem, ToDoItem) updated} in a transaction is given its new
+ * version only when the transaction flushes. Its state is copied when the event is created, and
+ * its version is read from the saved item the first time a listener asks for it, which
+ * after-commit listeners do once the commit has flushed the update.
+ */
+public class ToDoItemChangedEvent {
+  private final ToDoItem before;
+  private ToDoItem after;
+  private ToDoItem saved;
+
+  /**
+   * Constructor for ToDoItemChangedEvent.
+   *
+   * @param before the item state before the change, or null if it was created
+   * @param after  the item state after the change, or null if it was deleted
+   */
+  public ToDoItemChangedEvent(ToDoItem before, ToDoItem after) {
+    this(before, after == null ? null : after.readOnlyCopy(), null);
+  }
+
+  private ToDoItemChangedEvent(ToDoItem before, ToDoItem after, ToDoItem saved) {
+    this.before = before == null ? null : before.readOnlyCopy();
+    this.after = after;
+    this.saved = saved;
+  }
+
+  /**
+   * Event for an item saved in a transaction that has not been flushed yet.
+   *
+   * @param before the item state before the change
+   * @param saved  the saved item, whose version is assigned when the transaction flushes
+   * @return the change event
+   */
+  public static ToDoItemChangedEvent updated(ToDoItem before, ToDoItem saved) {
+    return new ToDoItemChangedEvent(before, saved.copy(), saved);
+  }
+
+  public static ToDoItemChangedEvent created(ToDoItem item) {
+    return new ToDoItemChangedEvent(null, item);
+  }
+
+  public static ToDoItemChangedEvent deleted(ToDoItem item) {
+    return new ToDoItemChangedEvent(item, null);
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+                      justification = "Snapshots are detached copies shared read-only")
+  public ToDoItem getBefore() {
+    return before;
+  }
+
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+                      justification = "Snapshots are detached copies shared read-only")
+  public ToDoItem getAfter() {
+    return flushed();
+  }
+
+  public boolean isDeleted() {
+    return flushed() == null;
+  }
+
+  public Long getItemId() {
+    ToDoItem item = flushed();
+    return item != null ? item.getId() : before.getId();
+  }
+
+  /**
+   * The version of the item after the change, or for a deletion the version deleted.
+   *
+   * @return the item version
+   */
+  public long getVersion() {
+    ToDoItem item = flushed();
+    return item != null ? item.getVersion() : before.getVersion();
+  }
+
+  private synchronized ToDoItem flushed() {
+    if (saved != null) {
+      after.setVersion(saved.getVersion());
+      after = after.readOnlyCopy();
+      saved = null;
+    }
+    return after;
+  }
+}
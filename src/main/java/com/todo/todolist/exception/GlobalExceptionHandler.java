@@ -4,6 +4,7 @@ import com.todo.todolist.dto.ErrorResponse;
 import java.time.LocalDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -18,6 +19,37 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 public class GlobalExceptionHandler {
   private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+  /**
+   * Build the error response for any exception, as the matching handler would.
+   *
+   * <p>Used where errors are reported inside a response body rather than as the response
+   * itself, such as the results of batch operations.
+   *
+   * @param ex the exception
+   * @return error response
+   */
+  public ResponseEntity<ErrorResponse> toErrorResponse(Exception ex) {
+    if (ex instanceof BadRequestException badRequest) {
+      return handleBadRequest(badRequest);
+    }
+    if (ex instanceof ConflictException conflict) {
+      return handleConflict(conflict);
+    }
+    if (ex instanceof OptimisticLockingFailureException optimisticLock) {
+      return handleOptimisticLock(optimisticLock);
+    }
+    if (ex instanceof ForbiddenException forbidden) {
+      return handleForbidden(forbidden);
+    }
+    if (ex instanceof NotFoundException notFound) {
+      return handleNotFound(notFound);
+    }
+    if (ex instanceof ServiceUnavailableException serviceUnavailable) {
+      return handleServiceUnavailable(serviceUnavailable);
+    }
+    return handleGeneralException(ex);
+  }
+
   /**
    * Handle BadRequestException.
    *
@@ -52,6 +84,23 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
   }
 
+  /**
+   * Handle an update that lost the race against a concurrent change of the same item.
+   *
+   * @param ex the exception
+   * @return error response
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Conflict",
+        "The item was changed by another request, please retry.",
+        LocalDateTime.now(),
+        HttpStatus.CONFLICT.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
   /**
    * Handle ForbiddenException.
    *
@@ -86,6 +135,23 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  /**
+   * Handle ServiceUnavailableException.
+   *
+   * @param ex the exception
+   * @return error response
+   */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Service Unavailable",
+        ex.getMessage(),
+        LocalDateTime.now(),
+        HttpStatus.SERVICE_UNAVAILABLE.value()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   /**
    * Handle general exceptions.
    *
@@ -0,0 +1,63 @@
+package com.todo.todolist.exception;
+
+import com.todo.todolist.dto.ErrorResponse;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns errors of the reactive API into the same {@link ErrorResponse} bodies that
+ * {@link GlobalExceptionHandler} writes for the MVC stack.
+ *
+ * <p>It runs before Spring Boot's error handler, so it also sees errors raised while a
+ * streamed list is subscribed, as long as no item has been written yet. Framework errors
+ * that already carry a status, such as unknown routes, are left to Spring Boot.
+ */
+@Component
+@Order(-2)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler implements WebExceptionHandler {
+
+  private final GlobalExceptionHandler globalExceptionHandler;
+  private final List<HttpMessageWriter<?>> messageWriters;
+
+  public ReactiveExceptionHandler(GlobalExceptionHandler globalExceptionHandler,
+                                  ServerCodecConfigurer codecConfigurer) {
+    this.globalExceptionHandler = globalExceptionHandler;
+    this.messageWriters = codecConfigurer.getWriters();
+  }
+
+  @Override
+  public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+    if (ex instanceof ResponseStatusException || !(ex instanceof Exception exception)
+        || exchange.getResponse().isCommitted()) {
+      return Mono.error(ex);
+    }
+    ResponseEntity<ErrorResponse> error = globalExceptionHandler.toErrorResponse(exception);
+    return ServerResponse.status(error.getStatusCode())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(error.getBody())
+        .flatMap(response -> response.writeTo(exchange, new ServerResponse.Context() {
+          @Override
+          public List<HttpMessageWriter<?>> messageWriters() {
+            return messageWriters;
+          }
+
+          @Override
+          public List<ViewResolver> viewResolvers() {
+            return List.of();
+          }
+        }));
+  }
+}
@@ -0,0 +1,42 @@
+package com.todo.todolist.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Unsynchronized buffered character input for the import readers, which read one character
+ * at a time. A leading byte order mark is skipped.
+ */
+final class CharSource {
+
+  static final int END = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int position;
+  private int limit;
+  private boolean started;
+
+  CharSource(Reader reader) {
+    this.reader = reader;
+  }
+
+  int read() throws IOException {
+    if (position == limit) {
+      limit = reader.read(buffer);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return END;
+      }
+      if (!started) {
+        started = true;
+        if (buffer[0] == '\uFEFF') {
+          position = 1;
+          return read();
+        }
+      }
+    }
+    return buffer[position++];
+  }
+}
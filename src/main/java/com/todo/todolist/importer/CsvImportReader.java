@@ -0,0 +1,182 @@
+package com.todo.todolist.importer;
+
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.ToDoItem;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads comma-separated values as in RFC 4180.
+ *
+ * <p>The first record is a header naming the {@code description} and {@code dueDatetime}
+ * columns, and optionally {@code tags}; other columns are ignored. Fields may be quoted, with
+ * doubled quotes inside, and quoted fields may span lines. Tags are separated by semicolons
+ * and due dates are ISO-8601 date-times. Records longer than the row limit are rejected and
+ * skipped up to the end of their line.
+ */
+public final class CsvImportReader implements ImportReader {
+
+  static final char TAG_SEPARATOR = ';';
+
+  private final CharSource input;
+  private final int maxRowLength;
+  private final List<String> fields = new ArrayList<>();
+  private final StringBuilder field = new StringBuilder();
+  private int descriptionColumn = -1;
+  private int dueDatetimeColumn = -1;
+  private int tagsColumn = -1;
+  private int columns;
+  private long lineNumber = 1;
+  private long recordLine;
+  private boolean end;
+
+  /**
+   * Constructor for CsvImportReader.
+   *
+   * @param reader       the input
+   * @param maxRowLength the longest record accepted, in characters
+   */
+  public CsvImportReader(Reader reader, int maxRowLength) {
+    this.input = new CharSource(reader);
+    this.maxRowLength = maxRowLength;
+  }
+
+  @Override
+  public void start() throws IOException {
+    if (columns == 0) {
+      readHeader();
+    }
+  }
+
+  @Override
+  public ImportRow next() throws IOException {
+    start();
+    while (!end) {
+      boolean complete = readRecord();
+      if (!complete) {
+        return ImportRow.rejected(recordLine,
+            "Row is longer than " + maxRowLength + " characters.");
+      }
+      if (fields.size() == 1 && fields.get(0).isEmpty()) {
+        continue;
+      }
+      if (fields.size() != columns) {
+        return ImportRow.rejected(recordLine,
+            "Row has " + fields.size() + " columns, the header has " + columns + ".");
+      }
+      return toRow();
+    }
+    return null;
+  }
+
+  private void readHeader() throws IOException {
+    if (!readRecord()) {
+      throw new BadRequestException("CSV header is longer than " + maxRowLength + " characters.");
+    }
+    for (int i = 0; i < fields.size(); i++) {
+      switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+        case "description" -> descriptionColumn = i;
+        case "duedatetime", "due_datetime" -> dueDatetimeColumn = i;
+        case "tags" -> tagsColumn = i;
+        default -> {
+          // Other columns are ignored.
+        }
+      }
+    }
+    if (descriptionColumn < 0 || dueDatetimeColumn < 0) {
+      throw new BadRequestException(
+          "CSV header must name the description and dueDatetime columns.");
+    }
+    columns = fields.size();
+  }
+
+  private ImportRow toRow() {
+    ToDoItem item = new ToDoItem();
+    item.setDescription(fields.get(descriptionColumn));
+    String due = fields.get(dueDatetimeColumn).trim();
+    if (!due.isEmpty()) {
+      try {
+        item.setDueDatetime(LocalDateTime.parse(due));
+      } catch (DateTimeParseException ex) {
+        return ImportRow.rejected(recordLine, "Invalid value for 'dueDatetime'.");
+      }
+    }
+    if (tagsColumn >= 0 && !fields.get(tagsColumn).isBlank()) {
+      item.setTags(Arrays.asList(fields.get(tagsColumn).split(String.valueOf(TAG_SEPARATOR))));
+    }
+    return ImportRow.of(recordLine, item);
+  }
+
+  /**
+   * Read the next record into {@link #fields}.
+   *
+   * @return false if the record was too long and has been skipped
+   */
+  private boolean readRecord() throws IOException {
+    fields.clear();
+    field.setLength(0);
+    recordLine = lineNumber;
+    int recordLength = 0;
+    boolean quoted = false;
+    boolean afterQuote = false;
+    for (int c = input.read(); c != CharSource.END; c = input.read()) {
+      if (c == '\n') {
+        lineNumber++;
+      }
+      if (++recordLength > maxRowLength) {
+        skipLine(c);
+        return false;
+      }
+      if (quoted) {
+        if (c == '"') {
+          quoted = false;
+          afterQuote = true;
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"') {
+        if (afterQuote) {
+          field.append('"');
+        }
+        quoted = true;
+        afterQuote = false;
+      } else if (c == ',') {
+        endField();
+        afterQuote = false;
+      } else if (c == '\n') {
+        endField();
+        return true;
+      } else if (c != '\r') {
+        field.append((char) c);
+        afterQuote = false;
+      }
+    }
+    end = true;
+    endField();
+    return true;
+  }
+
+  private void endField() {
+    fields.add(field.toString());
+    field.setLength(0);
+  }
+
+  private void skipLine(int current) throws IOException {
+    if (current == '\n') {
+      return;
+    }
+    for (int c = input.read(); c != CharSource.END; c = input.read()) {
+      if (c == '\n') {
+        lineNumber++;
+        return;
+      }
+    }
+    end = true;
+  }
+}
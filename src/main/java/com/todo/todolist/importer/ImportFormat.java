@@ -0,0 +1,63 @@
+package com.todo.todolist.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.exception.BadRequestException;
+import java.io.Reader;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * The file formats accepted by the bulk import, by media type.
+ */
+public enum ImportFormat {
+  NDJSON("application/x-ndjson"),
+  CSV("text/csv");
+
+  private final MediaType mediaType;
+
+  ImportFormat(String mediaType) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Open a reader for input in this format.
+   *
+   * @param reader       the input
+   * @param objectMapper mapper reading JSON rows
+   * @param maxRowLength the longest row accepted, in characters
+   * @return the row reader
+   */
+  public ImportReader open(Reader reader, ObjectMapper objectMapper, int maxRowLength) {
+    return switch (this) {
+      case NDJSON -> new NdjsonImportReader(reader, objectMapper, maxRowLength);
+      case CSV -> new CsvImportReader(reader, maxRowLength);
+    };
+  }
+
+  /**
+   * The format of a request body.
+   *
+   * @param contentType the Content-Type header, or null
+   * @return the format
+   * @throws BadRequestException if the content type is not an import format
+   */
+  public static ImportFormat fromContentType(String contentType) {
+    if (contentType != null) {
+      try {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (ImportFormat format : values()) {
+          if (format.mediaType.equalsTypeAndSubtype(type)) {
+            return format;
+          }
+        }
+      } catch (InvalidMediaTypeException ex) {
+        // Reported below.
+      }
+    }
+    throw new BadRequestException("Content type must be application/x-ndjson or text/csv.");
+  }
+}
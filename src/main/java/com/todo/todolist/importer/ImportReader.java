@@ -0,0 +1,26 @@
+package com.todo.todolist.importer;
+
+import java.io.IOException;
+
+/**
+ * Reads the rows of an import file one at a time, so only the current row is held in memory.
+ */
+public interface ImportReader {
+
+  /**
+   * Read what comes before the rows, such as a header, so a file that cannot be imported is
+   * found before any row is read. Formats without a header have nothing to read.
+   *
+   * @throws IOException if the input cannot be read
+   */
+  default void start() throws IOException {
+  }
+
+  /**
+   * Read the next row.
+   *
+   * @return the row, or null at the end of the input
+   * @throws IOException if the input cannot be read
+   */
+  ImportRow next() throws IOException;
+}
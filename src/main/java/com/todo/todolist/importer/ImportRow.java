@@ -0,0 +1,26 @@
+package com.todo.todolist.importer;
+
+import com.todo.todolist.model.ToDoItem;
+
+/**
+ * One row read from an import file: either an item still to be validated, or the reason the
+ * row could not be read.
+ *
+ * @param line  the line the row starts on, counting from 1
+ * @param item  the item, or null if the row was rejected
+ * @param error why the row was rejected, or null
+ */
+public record ImportRow(long line, ToDoItem item, String error) {
+
+  static ImportRow of(long line, ToDoItem item) {
+    return new ImportRow(line, item, null);
+  }
+
+  static ImportRow rejected(long line, String error) {
+    return new ImportRow(line, null, error);
+  }
+
+  public boolean isRejected() {
+    return error != null;
+  }
+}
@@ -0,0 +1,89 @@
+package com.todo.todolist.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.todo.todolist.model.ToDoItem;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Reads newline-delimited JSON: one todo item object per line. Blank lines are skipped, and
+ * lines longer than the row limit are rejected without being held in memory.
+ */
+public final class NdjsonImportReader implements ImportReader {
+
+  private final CharSource input;
+  private final ObjectReader itemReader;
+  private final int maxRowLength;
+  private final StringBuilder line = new StringBuilder();
+  private long lineNumber;
+  private boolean end;
+
+  /**
+   * Constructor for NdjsonImportReader.
+   *
+   * @param reader       the input
+   * @param objectMapper mapper reading the items
+   * @param maxRowLength the longest line accepted, in characters
+   */
+  public NdjsonImportReader(Reader reader, ObjectMapper objectMapper, int maxRowLength) {
+    this.input = new CharSource(reader);
+    this.itemReader = objectMapper.readerFor(ToDoItem.class);
+    this.maxRowLength = maxRowLength;
+  }
+
+  @Override
+  public ImportRow next() throws IOException {
+    while (!end) {
+      boolean tooLong = readLine();
+      lineNumber++;
+      if (tooLong) {
+        return ImportRow.rejected(lineNumber,
+            "Row is longer than " + maxRowLength + " characters.");
+      }
+      if (!line.toString().isBlank()) {
+        return parse(line.toString());
+      }
+    }
+    return null;
+  }
+
+  private ImportRow parse(String json) {
+    try {
+      ToDoItem item = itemReader.readValue(json);
+      if (item == null) {
+        return ImportRow.rejected(lineNumber, "Row must be a todo item object.");
+      }
+      return ImportRow.of(lineNumber, item);
+    } catch (JsonMappingException ex) {
+      List<JsonMappingException.Reference> path = ex.getPath();
+      if (!path.isEmpty() && path.get(path.size() - 1).getFieldName() != null) {
+        return ImportRow.rejected(lineNumber,
+            "Invalid value for '" + path.get(path.size() - 1).getFieldName() + "'.");
+      }
+      return ImportRow.rejected(lineNumber, "Row must be a todo item object.");
+    } catch (JsonProcessingException ex) {
+      return ImportRow.rejected(lineNumber, "Row is not valid JSON.");
+    }
+  }
+
+  private boolean readLine() throws IOException {
+    line.setLength(0);
+    boolean tooLong = false;
+    for (int c = input.read(); c != CharSource.END; c = input.read()) {
+      if (c == '\n') {
+        return tooLong;
+      }
+      if (line.length() < maxRowLength) {
+        line.append((char) c);
+      } else {
+        tooLong = true;
+      }
+    }
+    end = true;
+    return tooLong;
+  }
+}
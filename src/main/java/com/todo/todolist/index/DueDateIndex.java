@@ -0,0 +1,149 @@
+package com.todo.todolist.index;
+
+import com.todo.todolist.event.ItemVersions;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory index of NOT_DONE items ordered by due date.
+ *
+ * <p>Entries live in a concurrent skip list keyed by due date and id, so the next K items due
+ * are read in O(log n + K) without locking readers. Items leave the index as soon as a committed
+ * change moves them out of NOT_DONE, whether it comes from the service or from the overdue
+ * scheduler. Changes older than the item version already applied, and changes to deleted
+ * items, are dropped, see {@link ItemVersions}.
+ *
+ * <p>Writers are serialized by a lock rather than a monitor, so a rebuild blocked on the
+ * database does not pin the carrier threads of virtual threads waiting to apply changes.
+ */
+@Component
+public class DueDateIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(DueDateIndex.class);
+
+  private static final Comparator<Entry> ORDER = Comparator
+      .comparing(Entry::dueDatetime)
+      .thenComparingLong(Entry::id);
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+  private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ItemVersions versions = new ItemVersions();
+
+  public DueDateIndex(ToDoItemRepository toDoItemRepository) {
+    this.toDoItemRepository = toDoItemRepository;
+  }
+
+  /**
+   * Rebuild the index from the NOT_DONE items in the repository.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    writeLock.lock();
+    try {
+      entries.clear();
+      entriesById.clear();
+      versions.clear();
+
+      List<ToDoItem> items = toDoItemRepository.findByStatus(Status.NOT_DONE);
+      for (ToDoItem item : items) {
+        add(item);
+        versions.loaded(item);
+      }
+      logger.info("Due date index rebuilt with {} items", items.size());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Apply a committed item change to the index.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    writeLock.lock();
+    try {
+      if (!versions.accept(event)) {
+        return;
+      }
+      Entry previous = entriesById.remove(event.getItemId());
+      if (previous != null) {
+        entries.remove(previous);
+      }
+      if (!event.isDeleted() && event.getAfter().getStatus() == Status.NOT_DONE) {
+        add(event.getAfter());
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Find the ids of the first NOT_DONE items due within a time window.
+   *
+   * @param from  the inclusive start of the window
+   * @param until the inclusive end of the window, or null for no upper bound
+   * @param limit the maximum number of ids to return
+   * @return ids ordered by due date, then id
+   */
+  public List<Long> findNextDue(LocalDateTime from, LocalDateTime until, int limit) {
+    List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+    for (Entry entry : entries.tailSet(new Entry(from, Long.MIN_VALUE))) {
+      if (ids.size() >= limit || (until != null && entry.dueDatetime().isAfter(until))) {
+        break;
+      }
+      ids.add(entry.id());
+    }
+    return ids;
+  }
+
+  /**
+   * The earliest due date of the NOT_DONE items.
+   *
+   * @return the earliest due date, or empty if no NOT_DONE item has one
+   */
+  public Optional<LocalDateTime> findEarliestDue() {
+    try {
+      return Optional.of(entries.first().dueDatetime());
+    } catch (NoSuchElementException ex) {
+      return Optional.empty();
+    }
+  }
+
+  public int size() {
+    return entriesById.size();
+  }
+
+  private void add(ToDoItem item) {
+    if (item.getId() == null || item.getDueDatetime() == null) {
+      return;
+    }
+    Entry entry = new Entry(item.getDueDatetime(), item.getId());
+    entriesById.put(entry.id(), entry);
+    entries.add(entry);
+  }
+
+  private record Entry(LocalDateTime dueDatetime, long id) {
+  }
+}
@@ -0,0 +1,189 @@
+package com.todo.todolist.index;
+
+import com.todo.todolist.event.ItemVersions;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory bitmap index of item ids per tag and per status.
+ *
+ * <p>Each tag and each {@link Status} owns a compressed bitmap of the ids carrying it, so tag
+ * filters are answered with bitmap AND/OR operations instead of join scans. The index is
+ * rebuilt from the repository at startup and kept in sync through {@link ToDoItemChangedEvent}s,
+ * which are applied only once the originating transaction has committed. Changes older than the
+ * item version already indexed, and changes to deleted items, are dropped, see
+ * {@link ItemVersions}.
+ */
+@Component
+public class TagIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(TagIndex.class);
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Roaring64NavigableMap> idsByTag = new HashMap<>();
+  private final Map<Status, Roaring64NavigableMap> idsByStatus = new EnumMap<>(Status.class);
+  private final Map<Long, Set<String>> tagsById = new HashMap<>();
+  private final ItemVersions versions = new ItemVersions();
+
+  /**
+   * Constructor for TagIndex.
+   *
+   * @param toDoItemRepository the repository used to rebuild the index
+   */
+  public TagIndex(ToDoItemRepository toDoItemRepository) {
+    this.toDoItemRepository = toDoItemRepository;
+    for (Status status : Status.values()) {
+      idsByStatus.put(status, new Roaring64NavigableMap());
+    }
+  }
+
+  /**
+   * Normalize a tag so lookups are case and whitespace insensitive.
+   *
+   * @param tag the raw tag
+   * @return the normalized tag, or an empty string for blank input
+   */
+  public static String normalize(String tag) {
+    return tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Rebuild the whole index from the repository.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      idsByTag.clear();
+      tagsById.clear();
+      idsByStatus.values().forEach(Roaring64NavigableMap::clear);
+      versions.clear();
+
+      List<ToDoItem> items = toDoItemRepository.findAll();
+      for (ToDoItem item : items) {
+        add(item);
+        versions.loaded(item);
+      }
+      idsByTag.values().forEach(Roaring64NavigableMap::runOptimize);
+      logger.info("Tag index rebuilt with {} items and {} tags", items.size(), idsByTag.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Apply a committed item change to the index.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (!versions.accept(event)) {
+        return;
+      }
+      remove(event.getItemId());
+      if (!event.isDeleted()) {
+        add(event.getAfter());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Find the ids of items carrying the given tags.
+   *
+   * @param tags     the tags to look up
+   * @param matchAll true to require every tag (AND), false to accept any of them (OR)
+   * @param status   optional status the items must also have, or null for any status
+   * @return the matching ids in ascending order
+   */
+  public long[] findIds(Collection<String> tags, boolean matchAll, Status status) {
+    lock.readLock().lock();
+    try {
+      Roaring64NavigableMap result = null;
+      for (String tag : tags) {
+        Roaring64NavigableMap ids = idsByTag.get(normalize(tag));
+        if (ids == null) {
+          if (matchAll) {
+            return new long[0];
+          }
+          continue;
+        }
+        if (result == null) {
+          result = copyOf(ids);
+        } else if (matchAll) {
+          result.and(ids);
+        } else {
+          result.or(ids);
+        }
+      }
+      if (result == null) {
+        return new long[0];
+      }
+      if (status != null) {
+        result.and(idsByStatus.get(status));
+      }
+      return result.toArray();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void add(ToDoItem item) {
+    long id = item.getId();
+    for (String tag : item.getTags()) {
+      idsByTag.computeIfAbsent(tag, t -> new Roaring64NavigableMap()).addLong(id);
+    }
+    if (item.getStatus() != null) {
+      idsByStatus.get(item.getStatus()).addLong(id);
+    }
+    tagsById.put(id, Set.copyOf(item.getTags()));
+  }
+
+  private void remove(Long id) {
+    if (id == null) {
+      return;
+    }
+    Set<String> previousTags = tagsById.remove(id);
+    if (previousTags != null) {
+      for (String tag : previousTags) {
+        Roaring64NavigableMap ids = idsByTag.get(tag);
+        if (ids != null) {
+          ids.removeLong(id);
+          if (ids.isEmpty()) {
+            idsByTag.remove(tag);
+          }
+        }
+      }
+    }
+    idsByStatus.values().forEach(ids -> ids.removeLong(id));
+  }
+
+  private static Roaring64NavigableMap copyOf(Roaring64NavigableMap source) {
+    Roaring64NavigableMap copy = new Roaring64NavigableMap();
+    copy.or(source);
+    return copy;
+  }
+}
@@ -0,0 +1,138 @@
+package com.todo.todolist.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A to-do item moved out of the hot {@code todo_items} table.
+ *
+ * <p>Archived items keep the id they had while active and are read-only.
+ */
+@Entity
+@Table(name = "todo_items_archive")
+public class ArchivedToDoItem implements Persistable<Long> {
+
+  @Id
+  private Long id;
+
+  @Column(nullable = false)
+  private String description;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Status status;
+
+  @Column(name = "creation_datetime", nullable = false)
+  private LocalDateTime creationDatetime;
+
+  @Column(name = "due_datetime", nullable = false)
+  private LocalDateTime dueDatetime;
+
+  @Column(name = "done_datetime")
+  private LocalDateTime doneDatetime;
+
+  @Column(name = "archived_datetime", nullable = false)
+  private LocalDateTime archivedDatetime;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @Fetch(FetchMode.SUBSELECT)
+  @CollectionTable(name = "todo_item_archive_tags", joinColumns = @JoinColumn(name = "item_id"))
+  @Column(name = "tag", nullable = false)
+  private Set<String> tags = new HashSet<>();
+
+  @Transient
+  private boolean newItem = true;
+
+  protected ArchivedToDoItem() {
+  }
+
+  /**
+   * Create the archived form of an item.
+   *
+   * @param item       the item being archived
+   * @param archivedAt when the item is archived
+   * @return the archived item
+   */
+  public static ArchivedToDoItem of(ToDoItem item, LocalDateTime archivedAt) {
+    ArchivedToDoItem archived = new ArchivedToDoItem();
+    archived.id = item.getId();
+    archived.description = item.getDescription();
+    archived.status = item.getStatus();
+    archived.creationDatetime = item.getCreationDatetime();
+    archived.dueDatetime = item.getDueDatetime();
+    archived.doneDatetime = item.getDoneDatetime();
+    archived.archivedDatetime = archivedAt;
+    archived.tags = new HashSet<>(item.getTags());
+    return archived;
+  }
+
+  @Override
+  public Long getId() {
+    return id;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public LocalDateTime getCreationDatetime() {
+    return creationDatetime;
+  }
+
+  public LocalDateTime getDueDatetime() {
+    return dueDatetime;
+  }
+
+  public LocalDateTime getDoneDatetime() {
+    return doneDatetime;
+  }
+
+  public LocalDateTime getArchivedDatetime() {
+    return archivedDatetime;
+  }
+
+  public Set<String> getTags() {
+    return Collections.unmodifiableSet(tags);
+  }
+
+  /**
+   * Archived items are always inserted with their original id, so Spring Data must not try
+   * to merge them.
+   *
+   * @return true until the item has been persisted or loaded
+   */
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return newItem;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    newItem = false;
+  }
+}
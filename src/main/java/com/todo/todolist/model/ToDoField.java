@@ -0,0 +1,46 @@
+package com.todo.todolist.model;
+
+import java.util.Optional;
+
+/**
+ * The fields of a to-do item as named in JSON, in the order they are written.
+ */
+public enum ToDoField {
+  ID("id"),
+  DESCRIPTION("description"),
+  STATUS("status"),
+  CREATION_DATETIME("creationDatetime"),
+  DUE_DATETIME("dueDatetime"),
+  DONE_DATETIME("doneDatetime"),
+  TAGS("tags");
+
+  private final String jsonName;
+
+  ToDoField(String jsonName) {
+    this.jsonName = jsonName;
+  }
+
+  /**
+   * The JSON name of the field, which is also the name of the entity attribute.
+   *
+   * @return the name
+   */
+  public String getJsonName() {
+    return jsonName;
+  }
+
+  /**
+   * Find a field by its JSON name.
+   *
+   * @param jsonName the name, case-sensitive
+   * @return the field, or empty if no field has that name
+   */
+  public static Optional<ToDoField> fromJsonName(String jsonName) {
+    for (ToDoField field : values()) {
+      if (field.jsonName.equals(jsonName)) {
+        return Optional.of(field);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -1,27 +1,43 @@
 package com.todo.todolist.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.todo.todolist.datasource.ShardedSequence;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 /**
  * Represents a to-do item in the application.
  *
- * <p>Each item contains a description, status, creation date, due date, and
- * optionally a completion date.
+ * <p>Each item contains a description, status, creation date, due date,
+ * optionally a completion date, and any number of tags. Updates only write the columns
+ * that actually changed, and bump a version number used to order changes and to detect
+ * concurrent updates.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "todo_items")
 public class ToDoItem {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @ShardedSequence(name = "todo_items_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -40,11 +56,25 @@ public class ToDoItem {
   @Column(name = "done_datetime")
   private LocalDateTime doneDatetime;
 
+  @ElementCollection(fetch = FetchType.EAGER)
+  @Fetch(FetchMode.SUBSELECT)
+  @CollectionTable(name = "todo_item_tags", joinColumns = @JoinColumn(name = "item_id"))
+  @Column(name = "tag", nullable = false)
+  private Set<String> tags = new HashSet<>();
+
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  @Transient
+  private boolean readOnly;
+
   public Long getId() {
     return id;
   }
 
   public void setId(Long id) {
+    checkWritable();
     this.id = id;
   }
 
@@ -53,6 +83,7 @@ public class ToDoItem {
   }
 
   public void setDescription(String description) {
+    checkWritable();
     this.description = description;
   }
 
@@ -61,6 +92,7 @@ public class ToDoItem {
   }
 
   public void setStatus(Status status) {
+    checkWritable();
     this.status = status;
   }
 
@@ -69,6 +101,7 @@ public class ToDoItem {
   }
 
   public void setCreationDatetime(LocalDateTime creationDatetime) {
+    checkWritable();
     this.creationDatetime = creationDatetime;
   }
 
@@ -77,6 +110,7 @@ public class ToDoItem {
   }
 
   public void setDueDatetime(LocalDateTime dueDatetime) {
+    checkWritable();
     this.dueDatetime = dueDatetime;
   }
 
@@ -85,6 +119,71 @@ public class ToDoItem {
   }
 
   public void setDoneDatetime(LocalDateTime doneDatetime) {
+    checkWritable();
     this.doneDatetime = doneDatetime;
   }
+
+  public Set<String> getTags() {
+    return Collections.unmodifiableSet(tags);
+  }
+
+  /**
+   * Replace the tags of this item.
+   *
+   * @param tags the new tags, or null to clear them
+   */
+  public void setTags(Collection<String> tags) {
+    checkWritable();
+    this.tags.clear();
+    if (tags != null) {
+      this.tags.addAll(tags);
+    }
+  }
+
+  @JsonIgnore
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    checkWritable();
+    this.version = version;
+  }
+
+  /**
+   * Create a detached copy of this item, including its tags.
+   *
+   * @return a new item with the same field values
+   */
+  public ToDoItem copy() {
+    ToDoItem copy = new ToDoItem();
+    copy.id = id;
+    copy.description = description;
+    copy.status = status;
+    copy.creationDatetime = creationDatetime;
+    copy.dueDatetime = dueDatetime;
+    copy.doneDatetime = doneDatetime;
+    copy.tags = new HashSet<>(tags);
+    copy.version = version;
+    return copy;
+  }
+
+  /**
+   * Create a detached copy of this item that cannot be changed, for sharing between threads.
+   * Its setters throw {@link UnsupportedOperationException}; {@link #copy()} returns a
+   * writable copy again.
+   *
+   * @return a new read-only item with the same field values
+   */
+  public ToDoItem readOnlyCopy() {
+    ToDoItem copy = copy();
+    copy.readOnly = true;
+    return copy;
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("Item " + id + " is a read-only copy.");
+    }
+  }
 }
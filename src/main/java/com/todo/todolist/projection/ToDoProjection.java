@@ -0,0 +1,311 @@
+package com.todo.todolist.projection;
+
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory read model of all items, built from committed {@link ToDoItemChangedEvent}s.
+ *
+ * <p>Readers get an immutable {@link Snapshot} indexed by id and by status. Changes are applied
+ * copy-on-write by a single applier thread: events queued while it works are folded into one
+ * new snapshot, which then replaces the old one atomically. Readers never lock and never see a
+ * half-applied batch.
+ *
+ * <p>Before handing out a snapshot, {@link #current()} waits up to {@code max-staleness-ms}
+ * for every change committed so far to be applied, so a client always reads its own writes.
+ * If the applier is further behind than that, the caller is told to read from the database
+ * instead. The projection is loaded from the repository at startup, and reloaded whenever
+ * applying a change fails.
+ *
+ * <p>Events can arrive in a different order than their transactions committed, so each change
+ * is applied only if its item version is not older than the one already held. Deleted ids are
+ * remembered, up to {@value #MAX_TOMBSTONES} of them, so a late update cannot bring a deleted
+ * item back. Items handed out are read-only copies.
+ */
+@Component
+public class ToDoProjection {
+
+  private static final Logger logger = LoggerFactory.getLogger(ToDoProjection.class);
+
+  static final int MAX_TOMBSTONES = 10_000;
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final boolean enabled;
+  private final long maxStalenessNanos;
+  private final ConcurrentLinkedQueue<ToDoItemChangedEvent> pending =
+      new ConcurrentLinkedQueue<>();
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final ReentrantLock progressLock = new ReentrantLock();
+  private final Condition progress = progressLock.newCondition();
+  private final ExecutorService applier = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "todo-projection");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Counter fallbacks;
+  private volatile Snapshot snapshot;
+  private volatile long applied;
+
+  /**
+   * Constructor for ToDoProjection.
+   *
+   * @param toDoItemRepository the repository the projection is loaded from
+   * @param meterRegistry      registry for the projection metrics
+   * @param enabled            whether reads are served from the projection
+   * @param maxStalenessMillis how long a read waits for pending changes to be applied
+   */
+  public ToDoProjection(ToDoItemRepository toDoItemRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${todo.projection.enabled:true}") boolean enabled,
+                        @Value("${todo.projection.max-staleness-ms:50}") long maxStalenessMillis) {
+    this.toDoItemRepository = toDoItemRepository;
+    this.enabled = enabled;
+    this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    this.fallbacks = Counter.builder("todo.projection.fallbacks")
+        .description("Reads sent to the database because the projection was behind")
+        .register(meterRegistry);
+    Gauge.builder("todo.projection.lag", this, projection -> projection.lag())
+        .description("Committed changes not yet applied to the projection")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reload the projection from the repository and wait until it is in place.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      applier.submit(this::load).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      logger.error("Failed to rebuild the read projection", ex.getCause());
+    }
+  }
+
+  /**
+   * Queue a committed item change for the projection. This runs before any other listener of
+   * the event, so the change is counted before the {@code WriteSequence} moves on and reads
+   * stamped with the new sequence wait for it.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    if (!enabled) {
+      return;
+    }
+    pending.add(event);
+    received.incrementAndGet();
+    if (drainScheduled.compareAndSet(false, true)) {
+      applier.execute(this::drain);
+    }
+  }
+
+  /**
+   * The current snapshot, once every change committed so far has been applied.
+   *
+   * @return the snapshot, or empty if reads should go to the database
+   */
+  public Optional<Snapshot> current() {
+    if (!enabled || snapshot == null) {
+      return Optional.empty();
+    }
+    long target = received.get();
+    if (applied < target) {
+      progressLock.lock();
+      try {
+        long remaining = maxStalenessNanos;
+        while (applied < target && remaining > 0) {
+          remaining = progress.awaitNanos(remaining);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      } finally {
+        progressLock.unlock();
+      }
+      if (applied < target) {
+        fallbacks.increment();
+        return Optional.empty();
+      }
+    }
+    return Optional.ofNullable(snapshot);
+  }
+
+  /**
+   * Stop applying changes.
+   */
+  @PreDestroy
+  public void stop() {
+    applier.shutdownNow();
+  }
+
+  private long lag() {
+    return Math.max(0, received.get() - applied);
+  }
+
+  private void load() {
+    List<ToDoItem> items = toDoItemRepository.findAll();
+    snapshot = Snapshot.of(items);
+    logger.info("Read projection loaded with {} items", items.size());
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    List<ToDoItemChangedEvent> batch = new ArrayList<>();
+    for (ToDoItemChangedEvent event = pending.poll(); event != null; event = pending.poll()) {
+      batch.add(event);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      Snapshot current = snapshot;
+      if (current != null) {
+        snapshot = current.apply(batch);
+      }
+    } catch (RuntimeException ex) {
+      logger.error("Failed to apply changes to the read projection, reloading it", ex);
+      load();
+    } finally {
+      progressLock.lock();
+      try {
+        applied += batch.size();
+        progress.signalAll();
+      } finally {
+        progressLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Immutable view of all items at one point in time. Items are read-only copies shared by all
+   * readers.
+   */
+  @SuppressFBWarnings(value = "EI_EXPOSE_REP",
+                      justification = "Snapshot items are read-only copies")
+  public static final class Snapshot {
+
+    private final NavigableMap<Long, ToDoItem> items;
+    private final Set<Long> tombstones;
+    private final List<ToDoItem> all;
+    private final Map<Status, List<ToDoItem>> byStatus = new EnumMap<>(Status.class);
+
+    private Snapshot(NavigableMap<Long, ToDoItem> items, Set<Long> tombstones) {
+      this.items = Collections.unmodifiableNavigableMap(items);
+      this.tombstones = tombstones;
+      this.all = List.copyOf(items.values());
+      Map<Status, List<ToDoItem>> grouped = new EnumMap<>(Status.class);
+      for (Status status : Status.values()) {
+        grouped.put(status, new ArrayList<>());
+      }
+      for (ToDoItem item : all) {
+        grouped.get(item.getStatus()).add(item);
+      }
+      grouped.forEach((status, list) -> byStatus.put(status, List.copyOf(list)));
+    }
+
+    static Snapshot of(Collection<ToDoItem> items) {
+      NavigableMap<Long, ToDoItem> byId = new TreeMap<>();
+      items.forEach(item -> byId.put(item.getId(), item.readOnlyCopy()));
+      return new Snapshot(byId, Set.of());
+    }
+
+    Snapshot apply(List<ToDoItemChangedEvent> events) {
+      NavigableMap<Long, ToDoItem> byId = new TreeMap<>(items);
+      Set<Long> deleted = newTombstones();
+      deleted.addAll(tombstones);
+      for (ToDoItemChangedEvent event : events) {
+        Long id = event.getItemId();
+        ToDoItem held = byId.get(id);
+        if (deleted.contains(id) || held != null && held.getVersion() > event.getVersion()) {
+          continue;
+        }
+        if (event.isDeleted()) {
+          byId.remove(id);
+          deleted.add(id);
+        } else {
+          byId.put(id, event.getAfter());
+        }
+      }
+      return new Snapshot(byId, Collections.unmodifiableSet(deleted));
+    }
+
+    private static Set<Long> newTombstones() {
+      return Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+          return size() > MAX_TOMBSTONES;
+        }
+      });
+    }
+
+    public Optional<ToDoItem> get(Long id) {
+      return Optional.ofNullable(items.get(id));
+    }
+
+    /**
+     * All items.
+     *
+     * @return the items ordered by id
+     */
+    public List<ToDoItem> all() {
+      return all;
+    }
+
+    /**
+     * The items with a status.
+     *
+     * @param status the status
+     * @return the matching items ordered by id
+     */
+    public List<ToDoItem> withStatus(Status status) {
+      return byStatus.get(status);
+    }
+
+    public int size() {
+      return items.size();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.ArchivedToDoItem;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for ArchivedToDoItem entity.
+ */
+@Repository
+public interface ArchivedToDoItemRepository extends JpaRepository<ArchivedToDoItem, Long> {
+
+  /**
+   * Keyset page of archived items.
+   *
+   * @param afterId only items with a greater id are returned
+   * @param limit   the maximum number of items
+   * @return items ordered by id
+   */
+  List<ArchivedToDoItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
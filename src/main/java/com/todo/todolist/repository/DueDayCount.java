@@ -0,0 +1,15 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.Status;
+import java.time.LocalDate;
+
+/**
+ * The number of items with a status due on a day, as grouped by
+ * {@link ToDoItemRepository#countByDueDay}.
+ *
+ * @param day    the due day
+ * @param status the item status
+ * @param count  the number of items
+ */
+public record DueDayCount(LocalDate day, Status status, long count) {
+}
@@ -0,0 +1,271 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to the item tables for the reactive stack.
+ *
+ * <p>Items are read together with their tags in one query ordered by item, and assembled as
+ * the rows stream in, so list results are emitted item by item at the pace the subscriber
+ * requests them. New ids are drawn from the same {@code todo_items_seq} sequence JPA uses:
+ * each insert takes one value, which is the start of a block JPA would reserve for itself,
+ * so ids from both stacks never collide.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveToDoItemRepository {
+
+  private static final String SELECT_ITEMS = "SELECT i.id, i.description, i.status,"
+      + " i.creation_datetime, i.due_datetime, i.done_datetime, i.version, t.tag FROM ";
+  private static final String JOIN_TAGS = " LEFT JOIN todo_item_tags t ON t.item_id = i.id";
+
+  private final DatabaseClient databaseClient;
+
+  public ReactiveToDoItemRepository(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  /**
+   * Stream all items, optionally with one status.
+   *
+   * @param status the status, or null for every status
+   * @return the items ordered by id
+   */
+  public Flux<ToDoItem> findAll(Status status) {
+    String where = status == null ? "" : " WHERE i.status = " + literal(status);
+    return query(SELECT_ITEMS + "todo_items i" + JOIN_TAGS + where + " ORDER BY i.id", Map.of());
+  }
+
+  /**
+   * Stream the items carrying normalized tags, optionally with one status.
+   *
+   * @param status   the status, or null for every status
+   * @param tags     the normalized tags to look up
+   * @param matchAll true to require every tag, false to accept any of them
+   * @return the items ordered by id
+   */
+  public Flux<ToDoItem> findByTags(Status status, Collection<String> tags, boolean matchAll) {
+    Set<String> distinct = new TreeSet<>(tags);
+    if (distinct.isEmpty()) {
+      return Flux.empty();
+    }
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("tags", distinct);
+    String tagged = "SELECT item_id FROM todo_item_tags WHERE tag IN (:tags)";
+    if (matchAll) {
+      tagged += " GROUP BY item_id HAVING COUNT(DISTINCT tag) = :tagCount";
+      parameters.put("tagCount", distinct.size());
+    }
+    String where = " WHERE i.id IN (" + tagged + ")";
+    if (status != null) {
+      where += " AND i.status = " + literal(status);
+    }
+    return query(SELECT_ITEMS + "todo_items i" + JOIN_TAGS + where + " ORDER BY i.id",
+        parameters);
+  }
+
+  /**
+   * Stream the first NOT_DONE items due within a time window.
+   *
+   * @param from  the inclusive start of the window
+   * @param until the inclusive end of the window, or null for no upper bound
+   * @param limit the maximum number of items
+   * @return the items ordered by due date, then id
+   */
+  public Flux<ToDoItem> findNextDue(LocalDateTime from, LocalDateTime until, int limit) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("from", from);
+    parameters.put("limit", limit);
+    String window = "due_datetime >= :from";
+    if (until != null) {
+      window += " AND due_datetime <= :until";
+      parameters.put("until", until);
+    }
+    return query(SELECT_ITEMS + "(SELECT * FROM todo_items WHERE status = "
+        + literal(Status.NOT_DONE) + " AND " + window
+        + " ORDER BY due_datetime, id LIMIT :limit) i" + JOIN_TAGS
+        + " ORDER BY i.due_datetime, i.id", parameters);
+  }
+
+  public Mono<ToDoItem> findById(long id) {
+    return query(SELECT_ITEMS + "todo_items i" + JOIN_TAGS + " WHERE i.id = :id",
+        Map.of("id", id)).next();
+  }
+
+  /**
+   * Check for another item with the same description, due date and status.
+   *
+   * @param description the description
+   * @param dueDatetime the due date
+   * @param status      the status
+   * @param excludedId  the id of an item to ignore, or null
+   * @return whether such an item exists
+   */
+  public Mono<Boolean> existsDuplicate(String description, LocalDateTime dueDatetime,
+                                       Status status, Long excludedId) {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("description", description);
+    parameters.put("dueDatetime", dueDatetime);
+    String sql = "SELECT COUNT(*) FROM todo_items WHERE description = :description"
+        + " AND due_datetime = :dueDatetime AND status = " + literal(status);
+    if (excludedId != null) {
+      sql += " AND id <> :id";
+      parameters.put("id", excludedId);
+    }
+    return bind(sql, parameters)
+        .map(row -> row.get(0, Long.class))
+        .one()
+        .map(count -> count > 0);
+  }
+
+  /**
+   * Insert a new item and its tags.
+   *
+   * @param item the item, whose id is assigned
+   * @return the inserted item
+   */
+  public Mono<ToDoItem> insert(ToDoItem item) {
+    return databaseClient.sql("SELECT NEXT VALUE FOR todo_items_seq")
+        .map(row -> row.get(0, Long.class))
+        .one()
+        .flatMap(id -> {
+          item.setId(id);
+          item.setVersion(0);
+          return bind("INSERT INTO todo_items (id, description, status, creation_datetime,"
+              + " due_datetime, done_datetime, version) VALUES (:id, :description, "
+              + literal(item.getStatus()) + ", :creationDatetime, :dueDatetime, :doneDatetime,"
+              + " 0)", columns(item))
+              .then();
+        })
+        .then(Mono.defer(() -> insertTags(item)))
+        .thenReturn(item);
+  }
+
+  /**
+   * Write the columns and tags of an existing item and bump its version. The update only
+   * applies if the version still matches the one read, as JPA's optimistic locking does.
+   *
+   * @param item the item
+   * @return the updated item, or an {@link OptimisticLockingFailureException} if it was changed
+   *     in the meantime
+   */
+  public Mono<ToDoItem> update(ToDoItem item) {
+    Map<String, Object> parameters = columns(item);
+    parameters.put("version", item.getVersion());
+    return bind("UPDATE todo_items SET description = :description, status = "
+        + literal(item.getStatus()) + ", creation_datetime = :creationDatetime,"
+        + " due_datetime = :dueDatetime, done_datetime = :doneDatetime,"
+        + " version = version + 1 WHERE id = :id AND version = :version", parameters)
+        .fetch()
+        .rowsUpdated()
+        .flatMap(rows -> rows == 0
+            ? Mono.<Void>error(new OptimisticLockingFailureException(
+                "Item " + item.getId() + " was changed by another request."))
+            : Mono.<Void>fromRunnable(() -> item.setVersion(item.getVersion() + 1)))
+        .then(deleteTags(item.getId()))
+        .then(Mono.defer(() -> insertTags(item)))
+        .thenReturn(item);
+  }
+
+  /**
+   * Delete an item and its tags.
+   *
+   * @param id the item id
+   * @return completion once the rows are deleted
+   */
+  public Mono<Void> delete(long id) {
+    return deleteTags(id)
+        .then(bind("DELETE FROM todo_items WHERE id = :id", Map.of("id", id)).then());
+  }
+
+  private Mono<Void> deleteTags(long id) {
+    return bind("DELETE FROM todo_item_tags WHERE item_id = :id", Map.of("id", id)).then();
+  }
+
+  private Mono<Void> insertTags(ToDoItem item) {
+    return Flux.fromIterable(item.getTags())
+        .concatMap(tag -> bind("INSERT INTO todo_item_tags (item_id, tag) VALUES (:id, :tag)",
+            Map.of("id", item.getId(), "tag", tag)).then())
+        .then();
+  }
+
+  private Flux<ToDoItem> query(String sql, Map<String, Object> parameters) {
+    return bind(sql, parameters)
+        .map(ReactiveToDoItemRepository::toRow)
+        .all()
+        .bufferUntilChanged(row -> row.item().getId())
+        .map(ReactiveToDoItemRepository::assemble);
+  }
+
+  private DatabaseClient.GenericExecuteSpec bind(String sql, Map<String, Object> parameters) {
+    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+    for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+      spec = parameter.getValue() == null
+          ? spec.bindNull(parameter.getKey(), LocalDateTime.class)
+          : spec.bind(parameter.getKey(), parameter.getValue());
+    }
+    return spec;
+  }
+
+  private static Map<String, Object> columns(ToDoItem item) {
+    Map<String, Object> columns = new LinkedHashMap<>();
+    columns.put("id", item.getId());
+    columns.put("description", item.getDescription());
+    columns.put("creationDatetime", item.getCreationDatetime());
+    columns.put("dueDatetime", item.getDueDatetime());
+    columns.put("doneDatetime", item.getDoneDatetime());
+    return columns;
+  }
+
+  /**
+   * Statuses are written into the SQL rather than bound: H2 cannot convert a string bound
+   * through R2DBC to its ENUM column type. The values come from {@link Status}, never from
+   * the client.
+   */
+  private static String literal(Status status) {
+    return "'" + status.name() + "'";
+  }
+
+  private static Row toRow(Readable readable) {
+    ToDoItem item = new ToDoItem();
+    item.setId(readable.get("id", Long.class));
+    item.setDescription(readable.get("description", String.class));
+    item.setStatus(Status.valueOf(readable.get("status", String.class)));
+    item.setCreationDatetime(readable.get("creation_datetime", LocalDateTime.class));
+    item.setDueDatetime(readable.get("due_datetime", LocalDateTime.class));
+    item.setDoneDatetime(readable.get("done_datetime", LocalDateTime.class));
+    item.setVersion(readable.get("version", Long.class));
+    return new Row(item, readable.get("tag", String.class));
+  }
+
+  private static ToDoItem assemble(List<Row> rows) {
+    ToDoItem item = rows.get(0).item();
+    List<String> tags = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      if (row.tag() != null) {
+        tags.add(row.tag());
+      }
+    }
+    item.setTags(tags);
+    return item;
+  }
+
+  private record Row(ToDoItem item, String tag) {
+  }
+}
@@ -0,0 +1,36 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Some of the fields of an item, as selected by
+ * {@link ToDoItemFieldsRepository#findFields}. Fields that were not selected are null; the id
+ * is always selected.
+ *
+ * @param id               the item id
+ * @param description      the description, if selected
+ * @param status           the status, if selected
+ * @param creationDatetime the creation date, if selected
+ * @param dueDatetime      the due date, if selected
+ * @param doneDatetime     the completion date, if selected
+ * @param tags             the tags, if selected
+ */
+public record ToDoItemFields(Long id, String description, Status status,
+                             LocalDateTime creationDatetime, LocalDateTime dueDatetime,
+                             LocalDateTime doneDatetime, Set<String> tags) {
+
+  /**
+   * The fields of an item already in memory. Every field is taken, as that costs nothing.
+   *
+   * @param item the item
+   * @return its fields
+   */
+  public static ToDoItemFields of(ToDoItem item) {
+    return new ToDoItemFields(item.getId(), item.getDescription(), item.getStatus(),
+        item.getCreationDatetime(), item.getDueDatetime(), item.getDoneDatetime(),
+        item.getTags());
+  }
+}
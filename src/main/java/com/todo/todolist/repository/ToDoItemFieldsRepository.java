@@ -0,0 +1,27 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries selecting only some columns of the items, for responses that only need a few
+ * fields.
+ */
+public interface ToDoItemFieldsRepository {
+
+  /**
+   * Select the given fields of all items, optionally filtered by status.
+   *
+   * <p>Only the requested columns, and the id, are read. Rows come back as
+   * {@link ToDoItemFields} values rather than entities, so nothing is added to the persistence
+   * context and no state is kept for dirty checking. Tags take a second query, run only when
+   * they are requested.
+   *
+   * @param status the status to filter by, or null for all items
+   * @param fields the fields to select
+   * @return the rows ordered by id within each shard
+   */
+  List<ToDoItemFields> findFields(Status status, Set<ToDoField> fields);
+}
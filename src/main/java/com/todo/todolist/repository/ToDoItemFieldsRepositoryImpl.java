@@ -0,0 +1,86 @@
+package com.todo.todolist.repository;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPQL implementation of {@link ToDoItemFieldsRepository}, building the select list from the
+ * requested fields.
+ */
+public class ToDoItemFieldsRepositoryImpl implements ToDoItemFieldsRepository {
+
+  private final EntityManager entityManager;
+
+  /**
+   * Constructor for ToDoItemFieldsRepositoryImpl.
+   *
+   * @param entityManager the shared entity manager
+   */
+  public ToDoItemFieldsRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<ToDoItemFields> findFields(Status status, Set<ToDoField> fields) {
+    StringBuilder jpql = new StringBuilder("select i.id as id");
+    for (ToDoField field : fields) {
+      if (field != ToDoField.ID && field != ToDoField.TAGS) {
+        jpql.append(", i.").append(field.getJsonName()).append(" as ")
+            .append(field.getJsonName());
+      }
+    }
+    jpql.append(" from ToDoItem i");
+    if (status != null) {
+      jpql.append(" where i.status = :status");
+    }
+    jpql.append(" order by i.id");
+    List<Tuple> rows = query(jpql.toString(), status).getResultList();
+
+    Map<Long, Set<String>> tags = fields.contains(ToDoField.TAGS) ? findTags(status) : null;
+    List<ToDoItemFields> result = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      Long id = row.get("id", Long.class);
+      result.add(new ToDoItemFields(id,
+          fields.contains(ToDoField.DESCRIPTION) ? row.get("description", String.class) : null,
+          fields.contains(ToDoField.STATUS) ? row.get("status", Status.class) : null,
+          dateTime(row, fields, ToDoField.CREATION_DATETIME),
+          dateTime(row, fields, ToDoField.DUE_DATETIME),
+          dateTime(row, fields, ToDoField.DONE_DATETIME),
+          tags == null ? null : tags.getOrDefault(id, Set.of())));
+    }
+    return result;
+  }
+
+  private Map<Long, Set<String>> findTags(Status status) {
+    String jpql = "select i.id as id, t as tag from ToDoItem i join i.tags t"
+        + (status == null ? "" : " where i.status = :status");
+    Map<Long, Set<String>> tags = new HashMap<>();
+    for (Tuple row : query(jpql, status).getResultList()) {
+      tags.computeIfAbsent(row.get("id", Long.class), id -> new HashSet<>())
+          .add(row.get("tag", String.class));
+    }
+    return tags;
+  }
+
+  private TypedQuery<Tuple> query(String jpql, Status status) {
+    TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+    if (status != null) {
+      query.setParameter("status", status);
+    }
+    return query;
+  }
+
+  private static LocalDateTime dateTime(Tuple row, Set<ToDoField> fields, ToDoField field) {
+    return fields.contains(field) ? row.get(field.getJsonName(), LocalDateTime.class) : null;
+  }
+}
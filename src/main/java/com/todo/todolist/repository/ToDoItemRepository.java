@@ -3,16 +3,22 @@ package com.todo.todolist.repository;
 import com.todo.todolist.model.Status;
 import com.todo.todolist.model.ToDoItem;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository interface for ToDoItem entity.
- * Extends JpaRepository to provide basic CRUD operations.
+ * Extends JpaRepository to provide basic CRUD operations, and ToDoItemFieldsRepository to
+ * select only some columns.
  */
 @Repository
-public interface ToDoItemRepository extends JpaRepository<ToDoItem, Long> {
+public interface ToDoItemRepository extends JpaRepository<ToDoItem, Long>,
+    ToDoItemFieldsRepository {
 
   /**
    * Find all items by status.
@@ -32,4 +38,47 @@ public interface ToDoItemRepository extends JpaRepository<ToDoItem, Long> {
                                                               Long id);
 
   List<ToDoItem> findByStatusAndDueDatetimeBefore(Status status, LocalDateTime dateTime);
+
+  /**
+   * Find the items with a status among the given descriptions and due dates. The result may
+   * pair a description with a due date of another item; callers match the pairs themselves.
+   *
+   * @param status       the status to filter by
+   * @param descriptions the descriptions to look for
+   * @param dueDatetimes the due dates to look for
+   * @return the candidate items
+   */
+  List<ToDoItem> findByStatusAndDescriptionInAndDueDatetimeIn(Status status,
+                                                              Collection<String> descriptions,
+                                                              Collection<LocalDateTime>
+                                                                  dueDatetimes);
+
+  /**
+   * Find items old enough to be archived: DONE items completed before the cutoff and OVERDUE
+   * items due before it.
+   *
+   * @param cutoff the archival cutoff
+   * @param limit  the maximum number of items
+   * @return archivable items ordered by id
+   */
+  @Query("select i from ToDoItem i"
+      + " where (i.status = com.todo.todolist.model.Status.DONE and i.doneDatetime < :cutoff)"
+      + " or (i.status = com.todo.todolist.model.Status.OVERDUE and i.dueDatetime < :cutoff)"
+      + " order by i.id")
+  List<ToDoItem> findArchivable(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+  /**
+   * Count the items due in a time window per due day and status, in one GROUP BY.
+   *
+   * @param from  the inclusive start of the window
+   * @param until the exclusive end of the window
+   * @return one row per day and status with items
+   */
+  @Query("select new com.todo.todolist.repository.DueDayCount("
+      + "extract(date from i.dueDatetime), i.status, count(i))"
+      + " from ToDoItem i"
+      + " where i.dueDatetime >= :from and i.dueDatetime < :until"
+      + " group by extract(date from i.dueDatetime), i.status")
+  List<DueDayCount> countByDueDay(@Param("from") LocalDateTime from,
+                                  @Param("until") LocalDateTime until);
 }
@@ -0,0 +1,157 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.cache.SingleFlight;
+import com.todo.todolist.cache.WriteSequence;
+import com.todo.todolist.datasource.PrimaryReads;
+import com.todo.todolist.datasource.ReadYourWrites;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * ToDoService that coalesces identical concurrent reads.
+ *
+ * <p>Concurrent {@code getAllItems} calls with the same filter, and concurrent
+ * {@code getItemById} calls for the same id, share one in-flight load from
+ * {@link ToDoServiceImpl}. Loads are keyed by the {@link WriteSequence} observed on arrival, so
+ * a request that starts after a write has committed never joins a load that began before it.
+ * Loads that must read the primary, to fill a cache or to see the caller's own writes, are
+ * coalesced only with each other, so they never get a result read from a lagging replica.
+ * Every other operation is passed straight through.
+ */
+@Service
+@Primary
+public class CoalescingToDoService implements ToDoService {
+
+  private final ToDoService delegate;
+  private final WriteSequence writeSequence;
+  private final SingleFlight<ReadKey, List<ToDoItem>> listReads = new SingleFlight<>();
+  private final SingleFlight<ReadKey, ToDoItem> itemReads = new SingleFlight<>();
+
+  /**
+   * Constructor for CoalescingToDoService.
+   *
+   * @param delegate      the service performing the actual reads and writes
+   * @param writeSequence the committed write sequence
+   * @param meterRegistry registry for the coalescing metrics
+   */
+  public CoalescingToDoService(ToDoServiceImpl delegate,
+                               WriteSequence writeSequence,
+                               MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.writeSequence = writeSequence;
+    registerMetrics(meterRegistry, "getAllItems", listReads);
+    registerMetrics(meterRegistry, "getItemById", itemReads);
+  }
+
+  @Override
+  public List<ToDoItem> getAllItems(Optional<String> status) {
+    ReadKey key = new ReadKey(status.map(s -> s.toUpperCase(Locale.ROOT)).orElse(null),
+                              writeSequence.current(), readsPrimary());
+    return listReads.load(key, () -> delegate.getAllItems(status));
+  }
+
+  @Override
+  public List<ToDoItemFields> getItemFields(Optional<String> status, Set<ToDoField> fields) {
+    return delegate.getItemFields(status, fields);
+  }
+
+  @Override
+  public List<ToDoItem> getItemsByTags(Optional<String> status, List<String> tags,
+                                       boolean matchAll) {
+    return delegate.getItemsByTags(status, tags, matchAll);
+  }
+
+  @Override
+  public ToDoItem getItemById(Long id) {
+    ReadKey key = new ReadKey(id, writeSequence.current(), readsPrimary());
+    return itemReads.load(key, () -> delegate.getItemById(id));
+  }
+
+  @Override
+  public List<ToDoItem> getUpcomingItems(int limit, Optional<Duration> within) {
+    return delegate.getUpcomingItems(limit, within);
+  }
+
+  @Override
+  public ToDoItem createItem(ToDoItem item) {
+    return delegate.createItem(item);
+  }
+
+  @Override
+  public ToDoItem updateItem(Long id, ToDoItem updatedItem) {
+    return delegate.updateItem(id, updatedItem);
+  }
+
+  @Override
+  public ToDoItem patchItem(Long id, ToDoItemPatch patch) {
+    return delegate.patchItem(id, patch);
+  }
+
+  @Override
+  public ToDoItem markAsDone(Long id) {
+    return delegate.markAsDone(id);
+  }
+
+  @Override
+  public ToDoItem markAsNotDone(Long id) {
+    return delegate.markAsNotDone(id);
+  }
+
+  @Override
+  public void deleteItem(Long id) {
+    delegate.deleteItem(id);
+  }
+
+  @Override
+  public boolean existsByDescriptionAndDueDatetimeAndStatus(String description,
+                                                             LocalDateTime dueDatetime,
+                                                             Status status) {
+    return delegate.existsByDescriptionAndDueDatetimeAndStatus(description, dueDatetime, status);
+  }
+
+  @Override
+  public boolean existsByDescriptionAndDueDatetimeAndStatusAndIdNot(String description,
+                                                                     LocalDateTime dueDatetime,
+                                                                     Status status,
+                                                                     Long id) {
+    return delegate.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(description, dueDatetime,
+                                                                        status, id);
+  }
+
+  private static void registerMetrics(MeterRegistry registry, String operation,
+                                      SingleFlight<?, ?> flight) {
+    FunctionCounter.builder("todo.reads.requests", flight, SingleFlight::requests)
+        .description("Coalescable read requests")
+        .tag("operation", operation)
+        .register(registry);
+    FunctionCounter.builder("todo.reads.loads", flight, SingleFlight::loads)
+        .description("Read requests that performed their own load")
+        .tag("operation", operation)
+        .register(registry);
+    Gauge.builder("todo.reads.coalescing.ratio", flight, SingleFlight::coalescingRatio)
+        .description("Fraction of read requests served by joining an in-flight load")
+        .tag("operation", operation)
+        .register(registry);
+  }
+
+  private static boolean readsPrimary() {
+    return ReadYourWrites.hasWritten() || PrimaryReads.isActive();
+  }
+
+  private record ReadKey(Object argument, long sequence, boolean primary) {
+  }
+}
@@ -0,0 +1,42 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.datasource.ReadYourWrites;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Default WriteExecutor that runs every write on the calling thread.
+ *
+ * <p>Each write runs in its own read-write transaction, so its duplicate checks and
+ * statements all go to the primary database. Writes issued from inside an existing
+ * transaction run inline so they stay part of it.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.write.group-commit.enabled", havingValue = "false",
+                       matchIfMissing = true)
+public class DirectWriteExecutor implements WriteExecutor {
+
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Constructor for DirectWriteExecutor.
+   *
+   * @param transactionManager the transaction manager used for write transactions
+   */
+  public DirectWriteExecutor(PlatformTransactionManager transactionManager) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public <T> T execute(Supplier<T> operation) {
+    ReadYourWrites.markWritten();
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return operation.get();
+    }
+    return transactionTemplate.execute(status -> operation.get());
+  }
+}
@@ -0,0 +1,309 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.datasource.ReadYourWrites;
+import com.todo.todolist.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * WriteExecutor that groups concurrent writes into shared transactions.
+ *
+ * <p>Callers enqueue their operation into a bounded ring and wait for its outcome. A single
+ * writer thread drains the ring into batches, closing a batch once it reaches
+ * {@code max-batch-size} or once {@code window-ms} has passed since its first write, and runs
+ * the whole batch in one transaction. Business exceptions thrown by an operation complete only
+ * that caller's future; if the batch itself fails to commit, its writes are retried one by one
+ * so each caller still gets its own outcome. When the ring stays full for
+ * {@code enqueue-timeout-ms} the write is rejected with a {@link ServiceUnavailableException}.
+ *
+ * <p>A caller waits at most {@code await-timeout-ms} for its outcome and then gets a
+ * {@link ServiceUnavailableException}. If its write had not started yet, it is withdrawn from
+ * the ring; otherwise the caller is told the outcome is unknown. On shutdown, writes still in
+ * the ring once the writer thread has stopped are failed the same way, so no caller is left
+ * waiting.
+ *
+ * <p>Writes issued from inside an existing transaction run inline so they stay part of it.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.write.group-commit.enabled", havingValue = "true")
+public class GroupCommitWriteExecutor implements WriteExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroupCommitWriteExecutor.class);
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingWrite<?>> ring;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final long enqueueTimeoutMillis;
+  private final long awaitTimeoutMillis;
+  private final Counter commits;
+  private final DistributionSummary batchSizes;
+  private volatile boolean running;
+  private Thread writer;
+
+  /**
+   * Constructor for GroupCommitWriteExecutor.
+   *
+   * @param transactionManager   the transaction manager used for batch transactions
+   * @param meterRegistry        registry for the commit metrics
+   * @param capacity             the number of writes the ring can hold
+   * @param maxBatchSize         the maximum number of writes per transaction
+   * @param windowMillis         how long a batch waits for more writes
+   * @param enqueueTimeoutMillis how long a caller waits for room in a full ring
+   * @param awaitTimeoutMillis   how long a caller waits for the outcome of its write
+   */
+  public GroupCommitWriteExecutor(
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${todo.write.group-commit.capacity:1024}") int capacity,
+      @Value("${todo.write.group-commit.max-batch-size:64}") int maxBatchSize,
+      @Value("${todo.write.group-commit.window-ms:5}") long windowMillis,
+      @Value("${todo.write.group-commit.enqueue-timeout-ms:100}") long enqueueTimeoutMillis,
+      @Value("${todo.write.group-commit.await-timeout-ms:10000}") long awaitTimeoutMillis) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ring = new ArrayBlockingQueue<>(capacity);
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+    this.awaitTimeoutMillis = awaitTimeoutMillis;
+    this.commits = Counter.builder("todo.write.commits")
+        .description("Transactions committed by the group-commit writer")
+        .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("todo.write.batch.size")
+        .description("Writes per group-commit transaction")
+        .register(meterRegistry);
+    Gauge.builder("todo.write.queue.size", ring, BlockingQueue::size)
+        .description("Writes waiting for the group-commit writer")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Start the writer thread.
+   */
+  @PostConstruct
+  public void start() {
+    running = true;
+    writer = new Thread(this::drainLoop, "todo-group-commit");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Stop accepting writes and let the writer thread finish what is queued. Writes it did not
+   * get to are failed.
+   *
+   * @throws InterruptedException if interrupted while waiting for the writer
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(10));
+    failQueued();
+  }
+
+  @Override
+  public <T> T execute(Supplier<T> operation) {
+    ReadYourWrites.markWritten();
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        || Thread.currentThread() == writer) {
+      return operation.get();
+    }
+    if (!running) {
+      throw new ServiceUnavailableException("Write pipeline is shutting down.");
+    }
+
+    PendingWrite<T> pending = new PendingWrite<>(operation);
+    try {
+      if (!ring.offer(pending, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new ServiceUnavailableException("Too many pending writes, please retry later.");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while waiting to enqueue the write.");
+    }
+    if (!running && ring.remove(pending)) {
+      // Enqueued after the writer may have seen the ring empty for the last time.
+      throw new ServiceUnavailableException("Write pipeline is shutting down.");
+    }
+    return await(pending);
+  }
+
+  private <T> T await(PendingWrite<T> pending) {
+    try {
+      return pending.await(awaitTimeoutMillis);
+    } catch (TimeoutException ex) {
+      if (ring.remove(pending)) {
+        throw new ServiceUnavailableException(
+            "Write was not started in time and has been withdrawn, please retry.");
+      }
+      throw new ServiceUnavailableException(
+          "Write did not complete in time and may still be applied; check before retrying.");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(
+          "Interrupted while waiting for the write; it may still be applied.");
+    }
+  }
+
+  private void drainLoop() {
+    List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+    while (running || !ring.isEmpty()) {
+      try {
+        collect(batch);
+        if (!batch.isEmpty()) {
+          commit(batch);
+        }
+      } catch (InterruptedException ex) {
+        logger.warn("Group-commit writer interrupted, {} writes still queued", ring.size());
+      } catch (RuntimeException | Error ex) {
+        logger.error("Group-commit writer failed a batch of {} writes", batch.size(), ex);
+        batch.forEach(write -> write.fail(ex));
+      } finally {
+        batch.clear();
+      }
+    }
+    failQueued();
+  }
+
+  private void failQueued() {
+    List<PendingWrite<?>> left = new ArrayList<>();
+    ring.drainTo(left);
+    if (!left.isEmpty()) {
+      logger.warn("Group-commit writer stopped, failing {} queued writes", left.size());
+      ServiceUnavailableException stopped =
+          new ServiceUnavailableException("Write pipeline is shutting down.");
+      left.forEach(write -> write.fail(stopped));
+    }
+  }
+
+  private void collect(List<PendingWrite<?>> batch) throws InterruptedException {
+    PendingWrite<?> first = ring.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatchSize) {
+      ring.drainTo(batch, maxBatchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remaining <= 0) {
+        return;
+      }
+      PendingWrite<?> next = ring.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void commit(List<PendingWrite<?>> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> batch.forEach(PendingWrite::run));
+      recordCommit(batch.size());
+      batch.forEach(PendingWrite::complete);
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        batch.get(0).fail(ex);
+        return;
+      }
+      logger.warn("Group commit of {} writes failed, retrying them one by one", batch.size(), ex);
+      for (PendingWrite<?> write : batch) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> write.run());
+          recordCommit(1);
+          write.complete();
+        } catch (RuntimeException writeEx) {
+          write.fail(writeEx);
+        }
+      }
+    }
+  }
+
+  private void recordCommit(int size) {
+    commits.increment();
+    batchSizes.record(size);
+  }
+
+  /**
+   * A write waiting in the ring, together with the future its caller is blocked on.
+   */
+  private static final class PendingWrite<T> {
+    private final Supplier<T> operation;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private T result;
+    private RuntimeException error;
+
+    private PendingWrite(Supplier<T> operation) {
+      this.operation = operation;
+    }
+
+    /**
+     * Run the operation inside the current batch transaction. Business exceptions are kept
+     * for the caller; persistence failures abort the whole batch.
+     */
+    private void run() {
+      result = null;
+      error = null;
+      try {
+        result = operation.get();
+      } catch (DataAccessException | PersistenceException ex) {
+        throw ex;
+      } catch (RuntimeException ex) {
+        error = ex;
+      }
+    }
+
+    private void complete() {
+      if (error != null) {
+        future.completeExceptionally(error);
+      } else {
+        future.complete(result);
+      }
+    }
+
+    private void fail(Throwable ex) {
+      future.completeExceptionally(ex);
+    }
+
+    private T await(long timeoutMillis) throws TimeoutException, InterruptedException {
+      try {
+        return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (ex.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw new IllegalStateException(ex.getCause());
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.model.ToDoItem;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ToDoService}, with the same rules and errors.
+ *
+ * <p>Lists are returned as {@link Flux}es emitting one item at a time, as the subscriber
+ * requests them.
+ */
+public interface ReactiveToDoService {
+
+  Flux<ToDoItem> getAllItems(Optional<String> status);
+
+  /**
+   * Get the items carrying the given tags, optionally filtered by status.
+   *
+   * @param status   optional status filter
+   * @param tags     the tags to filter by
+   * @param matchAll true to require every tag, false to accept any of them
+   * @return matching items ordered by id
+   */
+  Flux<ToDoItem> getItemsByTags(Optional<String> status, List<String> tags, boolean matchAll);
+
+  Mono<ToDoItem> getItemById(Long id);
+
+  /**
+   * Get the next NOT_DONE items by due date.
+   *
+   * @param limit  the maximum number of items to return
+   * @param within optional window from now in which the items must be due
+   * @return items ordered by due date
+   */
+  Flux<ToDoItem> getUpcomingItems(int limit, Optional<Duration> within);
+
+  Mono<ToDoItem> createItem(ToDoItem item);
+
+  Mono<ToDoItem> updateItem(Long id, ToDoItem updatedItem);
+
+  /**
+   * Apply a JSON Merge Patch to an item, changing only the fields it contains.
+   *
+   * @param id    the item ID
+   * @param patch the fields to change
+   * @return the patched item
+   */
+  Mono<ToDoItem> patchItem(Long id, ToDoItemPatch patch);
+
+  Mono<ToDoItem> markAsDone(Long id);
+
+  Mono<ToDoItem> markAsNotDone(Long id);
+
+  Mono<Void> deleteItem(Long id);
+}
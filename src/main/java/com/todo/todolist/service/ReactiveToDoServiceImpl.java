@@ -0,0 +1,228 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.index.TagIndex;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ReactiveToDoItemRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveToDoService} over R2DBC.
+ *
+ * <p>Reads stream straight from the database. Each write runs its checks and statements in
+ * one R2DBC transaction and publishes a {@link ToDoItemChangedEvent} once it has committed, so
+ * the in-memory indexes and caches shared with the blocking stack keep following the data.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveToDoServiceImpl implements ReactiveToDoService {
+
+  private final ReactiveToDoItemRepository repository;
+  private final TransactionalOperator transactionalOperator;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Constructor for ReactiveToDoServiceImpl.
+   *
+   * @param repository            the reactive item repository
+   * @param transactionalOperator the operator running writes in R2DBC transactions
+   * @param eventPublisher        publisher for item change events
+   */
+  public ReactiveToDoServiceImpl(ReactiveToDoItemRepository repository,
+                                 TransactionalOperator transactionalOperator,
+                                 ApplicationEventPublisher eventPublisher) {
+    this.repository = repository;
+    this.transactionalOperator = transactionalOperator;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public Flux<ToDoItem> getAllItems(Optional<String> status) {
+    return Flux.defer(() -> repository.findAll(parseStatus(status)));
+  }
+
+  @Override
+  public Flux<ToDoItem> getItemsByTags(Optional<String> status, List<String> tags,
+                                       boolean matchAll) {
+    return Flux.defer(() -> repository.findByTags(parseStatus(status),
+        tags.stream().map(TagIndex::normalize).toList(), matchAll));
+  }
+
+  @Override
+  public Mono<ToDoItem> getItemById(Long id) {
+    return loadItem(id);
+  }
+
+  @Override
+  public Flux<ToDoItem> getUpcomingItems(int limit, Optional<Duration> within) {
+    return Flux.defer(() -> {
+      ToDoItemRules.validateUpcoming(limit, within);
+      LocalDateTime now = LocalDateTime.now();
+      return repository.findNextDue(now, within.map(now::plus).orElse(null), limit);
+    });
+  }
+
+  @Override
+  public Mono<ToDoItem> createItem(ToDoItem item) {
+    return write(() -> {
+      ToDoItemRules.validateToDoItem(item);
+      item.setTags(ToDoItemRules.normalizeTags(item.getTags()));
+      item.setId(null);
+
+      return rejectDuplicate(item.getDescription(), item.getDueDatetime(), null)
+          .then(Mono.defer(() -> repository.insert(item)))
+          .map(created -> new Written(created, ToDoItemChangedEvent.created(created)));
+    });
+  }
+
+  @Override
+  public Mono<ToDoItem> updateItem(Long id, ToDoItem updatedItem) {
+    return write(() -> {
+      ToDoItemRules.validateToDoItem(updatedItem);
+      Set<String> tags = ToDoItemRules.normalizeTags(updatedItem.getTags());
+
+      return loadItem(id).flatMap(existingItem -> {
+        ToDoItemRules.validateOverdue(existingItem);
+        return rejectDuplicate(updatedItem.getDescription(), updatedItem.getDueDatetime(), id)
+            .then(Mono.defer(() -> saveChanged(existingItem, item -> {
+              item.setDescription(updatedItem.getDescription());
+              item.setDueDatetime(updatedItem.getDueDatetime());
+              item.setTags(tags);
+              return item;
+            })));
+      });
+    });
+  }
+
+  @Override
+  public Mono<ToDoItem> patchItem(Long id, ToDoItemPatch patch) {
+    return write(() -> {
+      patch.getDescription().ifPresent(ToDoItemRules::validateDescription);
+      patch.getDueDatetime().ifPresent(ToDoItemRules::validateDueDatetime);
+      Optional<Set<String>> tags = patch.getTags().map(ToDoItemRules::normalizeTags);
+
+      return loadItem(id).flatMap(existingItem -> {
+        ToDoItemRules.validateOverdue(existingItem);
+
+        String description = patch.getDescription().orElse(existingItem.getDescription());
+        LocalDateTime dueDatetime = patch.getDueDatetime().orElse(existingItem.getDueDatetime());
+        boolean identityChanged = !description.equals(existingItem.getDescription())
+            || !dueDatetime.equals(existingItem.getDueDatetime());
+        boolean tagsChanged = tags.isPresent() && !tags.get().equals(existingItem.getTags());
+        if (!identityChanged && !tagsChanged) {
+          return Mono.just(new Written(existingItem, null));
+        }
+
+        Mono<Void> check = identityChanged
+            ? rejectDuplicate(description, dueDatetime, id)
+            : Mono.empty();
+        return check.then(Mono.defer(() -> saveChanged(existingItem, item -> {
+          item.setDescription(description);
+          item.setDueDatetime(dueDatetime);
+          tags.ifPresent(item::setTags);
+          return item;
+        })));
+      });
+    });
+  }
+
+  @Override
+  public Mono<ToDoItem> markAsDone(Long id) {
+    return write(() -> loadItem(id).flatMap(item -> {
+      if (item.getStatus() == Status.DONE) {
+        return Mono.error(new ConflictException("Item marked already as done."));
+      }
+      if (item.getStatus() == Status.OVERDUE) {
+        return Mono.error(new ConflictException("Cannot mark an overdue item as done."));
+      }
+      return saveChanged(item, changed -> {
+        changed.setStatus(Status.DONE);
+        changed.setDoneDatetime(LocalDateTime.now());
+        return changed;
+      });
+    }));
+  }
+
+  @Override
+  public Mono<ToDoItem> markAsNotDone(Long id) {
+    return write(() -> loadItem(id).flatMap(item -> {
+      if (item.getStatus() == Status.NOT_DONE) {
+        return Mono.error(new ConflictException("Item marked already as not done."));
+      }
+      if (item.getStatus() == Status.OVERDUE) {
+        return Mono.error(new ConflictException("Cannot mark an overdue item as done."));
+      }
+      return saveChanged(item, changed -> {
+        changed.setStatus(Status.NOT_DONE);
+        changed.setDoneDatetime(null);
+        return changed;
+      });
+    }));
+  }
+
+  @Override
+  public Mono<Void> deleteItem(Long id) {
+    return write(() -> loadItem(id).flatMap(item -> {
+      ToDoItemRules.validateOverdue(item);
+      return repository.delete(id)
+          .thenReturn(new Written(item, ToDoItemChangedEvent.deleted(item)));
+    })).then();
+  }
+
+  private Mono<ToDoItem> write(Supplier<Mono<Written>> work) {
+    return Mono.defer(work)
+        .as(transactionalOperator::transactional)
+        .doOnNext(written -> {
+          if (written.event() != null) {
+            eventPublisher.publishEvent(written.event());
+          }
+        })
+        .map(Written::item);
+  }
+
+  private Mono<ToDoItem> loadItem(Long id) {
+    return repository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new NotFoundException("Item not found with id " + id)));
+  }
+
+  private Mono<Void> rejectDuplicate(String description, LocalDateTime dueDatetime,
+                                     Long excludedId) {
+    return repository.existsDuplicate(description, dueDatetime, Status.NOT_DONE, excludedId)
+        .flatMap(exists -> exists
+            ? Mono.error(new ConflictException(ToDoItemRules.DUPLICATE_MESSAGE))
+            : Mono.empty());
+  }
+
+  private Mono<Written> saveChanged(ToDoItem item, Function<ToDoItem, ToDoItem> change) {
+    ToDoItem before = item.copy();
+    return repository.update(change.apply(item))
+        .map(saved -> new Written(saved, new ToDoItemChangedEvent(before, saved)));
+  }
+
+  private static Status parseStatus(Optional<String> status) {
+    return status.map(s -> Status.valueOf(s.toUpperCase())).orElse(null);
+  }
+
+  /**
+   * The outcome of a write: the resulting item, and the change to publish once it has
+   * committed, or null if nothing changed.
+   */
+  private record Written(ToDoItem item, ToDoItemChangedEvent event) {
+  }
+}
@@ -0,0 +1,194 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.datasource.Shards;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ArchivedToDoItemRepository;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves old DONE and OVERDUE items from the hot table into the archive table.
+ *
+ * <p>Items are moved in batches of {@code batch-size}, each in its own short transaction, and
+ * the archiver sleeps between batches so it never moves more than {@code rows-per-second}
+ * items per second. A run stops after {@code max-batches-per-run} batches; the rest is picked
+ * up by the next run. Each shard is archived concurrently, sharing the rate limit. Archived
+ * items are published as deletions so in-memory indexes and caches drop them.
+ *
+ * <p>Items are deleted by id and version, so an item changed after the batch read it, for
+ * example marked as not done again, fails the batch instead of being archived with its old
+ * status. The batch is rolled back and read again, which leaves that item out. The rolled
+ * back batch is paced like a full one before it is read again, so items that keep changing
+ * cannot push the archiver past its rate.
+ */
+@Service
+public class ToDoArchiveService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ToDoArchiveService.class);
+
+  static final int MAX_PAGE_SIZE = 500;
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final ArchivedToDoItemRepository archiveRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Shards shards;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+  private final Duration age;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final int rowsPerSecond;
+
+  /**
+   * Constructor for ToDoArchiveService.
+   *
+   * @param toDoItemRepository the hot item repository
+   * @param archiveRepository  the archive repository
+   * @param eventPublisher     publisher for item change events
+   * @param shards             the shards to archive
+   * @param transactionManager the transaction manager for batches and page reads
+   * @param enabled            whether the scheduled archiver runs
+   * @param age                how long after completion or due date an item is archived
+   * @param batchSize          the number of items moved per transaction
+   * @param maxBatchesPerRun   the maximum number of batches per scheduled run
+   * @param rowsPerSecond      the maximum archival rate
+   */
+  public ToDoArchiveService(ToDoItemRepository toDoItemRepository,
+                            ArchivedToDoItemRepository archiveRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            Shards shards,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${todo.archive.enabled:true}") boolean enabled,
+                            @Value("${todo.archive.age:P30D}") Duration age,
+                            @Value("${todo.archive.batch-size:100}") int batchSize,
+                            @Value("${todo.archive.max-batches-per-run:10}") int maxBatchesPerRun,
+                            @Value("${todo.archive.rows-per-second:500}") int rowsPerSecond) {
+    this.toDoItemRepository = toDoItemRepository;
+    this.archiveRepository = archiveRepository;
+    this.eventPublisher = eventPublisher;
+    this.shards = shards;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = enabled;
+    this.age = age;
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.rowsPerSecond = rowsPerSecond;
+  }
+
+  /**
+   * Scheduled method to archive old items.
+   */
+  @Scheduled(fixedDelayString = "${todo.archive.interval-ms:300000}",
+             initialDelayString = "${todo.archive.interval-ms:300000}")
+  public void archiveOldItems() {
+    if (!enabled) {
+      return;
+    }
+    LocalDateTime cutoff = LocalDateTime.now().minus(age);
+    int shardRowsPerSecond = Math.max(1, rowsPerSecond / shards.count());
+    int total = shards.onEachShard(shard -> archiveShard(cutoff, shardRowsPerSecond)).stream()
+        .mapToInt(Integer::intValue)
+        .sum();
+    if (total > 0) {
+      logger.info("Archived {} items older than {}", total, cutoff);
+    }
+  }
+
+  private int archiveShard(LocalDateTime cutoff, int shardRowsPerSecond) {
+    int total = 0;
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      long started = System.nanoTime();
+      int moved;
+      try {
+        moved = archiveBatch(cutoff);
+      } catch (OptimisticLockingFailureException ex) {
+        logger.info("Archive batch raced a concurrent change, reading it again: {}",
+            ex.getMessage());
+        if (!throttle(batchSize, started, shardRowsPerSecond)) {
+          break;
+        }
+        continue;
+      }
+      total += moved;
+      if (moved < batchSize || !throttle(moved, started, shardRowsPerSecond)) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Move one batch of items that became archivable before the cutoff.
+   *
+   * @param cutoff the archival cutoff
+   * @return the number of items moved
+   * @throws OptimisticLockingFailureException if an item changed after it was read, in which
+   *     case nothing is moved
+   */
+  public int archiveBatch(LocalDateTime cutoff) {
+    Integer moved = transactionTemplate.execute(status -> {
+      List<ToDoItem> items = toDoItemRepository.findArchivable(cutoff, Limit.of(batchSize));
+      if (items.isEmpty()) {
+        return 0;
+      }
+      LocalDateTime now = LocalDateTime.now();
+      archiveRepository.saveAll(
+          items.stream().map(item -> ArchivedToDoItem.of(item, now)).toList());
+      toDoItemRepository.deleteAll(items);
+      toDoItemRepository.flush();
+      items.forEach(item -> eventPublisher.publishEvent(ToDoItemChangedEvent.deleted(item)));
+      return items.size();
+    });
+    return moved == null ? 0 : moved;
+  }
+
+  /**
+   * Get a keyset page of archived items.
+   *
+   * @param after only items with a greater id are returned
+   * @param limit the maximum number of items
+   * @return archived items ordered by id
+   */
+  public List<ArchivedToDoItem> getArchivedItems(Optional<Long> after, int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+    }
+    return readOnlyTransaction.execute(status -> archiveRepository
+        .findByIdGreaterThanOrderByIdAsc(after.orElse(0L), Limit.of(limit)));
+  }
+
+  private static boolean throttle(int moved, long startedNanos, int rowsPerSecond) {
+    long budgetNanos = TimeUnit.SECONDS.toNanos(moved) / rowsPerSecond;
+    long remaining = budgetNanos - (System.nanoTime() - startedNanos);
+    if (remaining <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(remaining);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
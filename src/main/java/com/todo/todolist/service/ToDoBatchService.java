@@ -0,0 +1,251 @@
+package com.todo.todolist.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.dto.BatchOperation;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.GlobalExceptionHandler;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs an ordered list of to-do operations in a single transaction.
+ *
+ * <p>Each operation maps onto a {@link ToDoService} method. In atomic mode the first failing
+ * operation rolls the whole batch back. In continue-on-error mode business errors are
+ * reported for their operation only and the rest of the batch is still committed; database
+ * failures leave the transaction unusable, so they abort the batch in either mode.
+ *
+ * <p>Changes are flushed once per group of consecutive operations of the same kind, so the
+ * inserts and deletes of a group reach the database as one JDBC batch, see
+ * {@code spring.jpa.properties.hibernate.jdbc.batch_size}. Updates write only the columns that
+ * changed and are sent one row at a time. Creates, status changes and deletes are grouped;
+ * duplicates among the creates of a group are found here, since the database does not see them
+ * before the flush. Updates and patches check for duplicates against other items, so each of
+ * them is flushed on its own. A database error raised by a flush is reported on the last
+ * operation of its group.
+ */
+@Service
+public class ToDoBatchService {
+
+  static final int MAX_OPERATIONS = 100;
+
+  private static final Set<String> GROUPED = Set.of("create", "done", "not-done", "delete");
+
+  private final ToDoService toDoService;
+  private final ObjectMapper objectMapper;
+  private final GlobalExceptionHandler exceptionHandler;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+
+  /**
+   * Constructor for ToDoBatchService.
+   *
+   * @param toDoService        the service running the individual operations
+   * @param objectMapper       mapper reading operation bodies
+   * @param exceptionHandler   handler describing failed operations
+   * @param transactionManager the transaction manager for the batch transaction
+   * @param entityManager      the entity manager of the batch transaction, flushed per group
+   */
+  public ToDoBatchService(ToDoService toDoService,
+                          ObjectMapper objectMapper,
+                          GlobalExceptionHandler exceptionHandler,
+                          PlatformTransactionManager transactionManager,
+                          EntityManager entityManager) {
+    this.toDoService = toDoService;
+    this.objectMapper = objectMapper;
+    this.exceptionHandler = exceptionHandler;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Run a batch of operations.
+   *
+   * @param request the batch request
+   * @return the outcome of the batch and of each operation
+   */
+  public BatchResponse execute(BatchRequest request) {
+    boolean atomic = isAtomic(request.getMode());
+    List<BatchOperation> operations = request.getOperations();
+    if (operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+      throw new BadRequestException(
+          "A batch must contain between 1 and " + MAX_OPERATIONS + " operations.");
+    }
+
+    List<BatchOperationResult> results = new ArrayList<>(operations.size());
+    Integer abortedAt = transactionTemplate.execute(status -> {
+      entityManager.setFlushMode(FlushModeType.COMMIT);
+      Set<List<Object>> created = new HashSet<>();
+      for (int i = 0; i < operations.size(); i++) {
+        BatchOperation operation = operations.get(i);
+        if (i > 0 && !sameGroup(operations.get(i - 1), operation)) {
+          created.clear();
+          if (!flush(i - 1, operations.get(i - 1), results, status)) {
+            return i - 1;
+          }
+        }
+        try {
+          results.add(run(i, operation, created));
+        } catch (RuntimeException ex) {
+          results.add(failure(i, operation, ex));
+          if (atomic || isDatabaseError(ex)) {
+            status.setRollbackOnly();
+            return i;
+          }
+        }
+      }
+      int last = operations.size() - 1;
+      return flush(last, operations.get(last), results, status) ? null : last;
+    });
+
+    if (abortedAt == null) {
+      return new BatchResponse(true, results);
+    }
+    return new BatchResponse(false, rolledBack(operations, results, abortedAt));
+  }
+
+  private BatchOperationResult run(int index, BatchOperation operation,
+                                   Set<List<Object>> created) {
+    String op = Objects.requireNonNullElse(operation.getOp(), "");
+    return switch (op) {
+      case "create" -> {
+        ToDoItem item = readItem(operation);
+        item.setStatus(Status.NOT_DONE);
+        ToDoItemRules.validateToDoItem(item);
+        List<Object> key = Arrays.asList(item.getDescription(), item.getDueDatetime());
+        if (created.contains(key)) {
+          throw new ConflictException(ToDoItemRules.DUPLICATE_MESSAGE);
+        }
+        ToDoItem saved = toDoService.createItem(item);
+        created.add(key);
+        yield success(index, op, HttpStatus.CREATED, saved);
+      }
+      case "update" -> success(index, op, HttpStatus.OK,
+          toDoService.updateItem(requireId(operation), readItem(operation)));
+      case "patch" -> success(index, op, HttpStatus.OK, toDoService.patchItem(
+          requireId(operation), ToDoItemPatch.fromJson(operation.getBody())));
+      case "done" -> success(index, op, HttpStatus.OK,
+          toDoService.markAsDone(requireId(operation)));
+      case "not-done" -> success(index, op, HttpStatus.OK,
+          toDoService.markAsNotDone(requireId(operation)));
+      case "delete" -> {
+        toDoService.deleteItem(requireId(operation));
+        yield success(index, op, HttpStatus.NO_CONTENT, null);
+      }
+      default -> throw new BadRequestException("Unknown batch operation '" + op + "'.");
+    };
+  }
+
+  private static boolean sameGroup(BatchOperation previous, BatchOperation operation) {
+    String op = Objects.requireNonNullElse(operation.getOp(), "");
+    return GROUPED.contains(op) && op.equals(previous.getOp());
+  }
+
+  private boolean flush(int index, BatchOperation operation, List<BatchOperationResult> results,
+                        TransactionStatus status) {
+    try {
+      entityManager.flush();
+      return true;
+    } catch (RuntimeException ex) {
+      if (!isDatabaseError(ex)) {
+        throw ex;
+      }
+      results.set(index, failure(index, operation, ex));
+      status.setRollbackOnly();
+      return false;
+    }
+  }
+
+  private static boolean isDatabaseError(RuntimeException ex) {
+    return ex instanceof DataAccessException || ex instanceof PersistenceException;
+  }
+
+  private ToDoItem readItem(BatchOperation operation) {
+    if (operation.getBody() == null || !operation.getBody().isObject()) {
+      throw new BadRequestException("Operation body must be a todo item.");
+    }
+    try {
+      return objectMapper.treeToValue(operation.getBody(), ToDoItem.class);
+    } catch (JsonProcessingException | IllegalArgumentException ex) {
+      throw new BadRequestException("Operation body must be a todo item.");
+    }
+  }
+
+  private static Long requireId(BatchOperation operation) {
+    if (operation.getId() == null) {
+      throw new BadRequestException("Operation '" + operation.getOp() + "' requires an id.");
+    }
+    return operation.getId();
+  }
+
+  private static boolean isAtomic(String mode) {
+    if (mode == null || BatchRequest.ATOMIC.equalsIgnoreCase(mode)) {
+      return true;
+    }
+    if (BatchRequest.CONTINUE_ON_ERROR.equalsIgnoreCase(mode)) {
+      return false;
+    }
+    throw new BadRequestException("Batch mode must be either '" + BatchRequest.ATOMIC
+        + "' or '" + BatchRequest.CONTINUE_ON_ERROR + "'.");
+  }
+
+  private static BatchOperationResult success(int index, String op, HttpStatus status,
+                                              ToDoItem item) {
+    return new BatchOperationResult(index, op, null, status.getReasonPhrase(),
+                                    LocalDateTime.now(), status.value(),
+                                    item == null ? null : item.copy());
+  }
+
+  private BatchOperationResult failure(int index, BatchOperation operation,
+                                       RuntimeException ex) {
+    ErrorResponse error = exceptionHandler.toErrorResponse(ex).getBody();
+    return new BatchOperationResult(index, operation.getOp(), error.getError(),
+                                    error.getMessage(), error.getTimestamp(),
+                                    error.getStatus(), null);
+  }
+
+  private static List<BatchOperationResult> rolledBack(List<BatchOperation> operations,
+                                                       List<BatchOperationResult> results,
+                                                       int abortedAt) {
+    LocalDateTime now = LocalDateTime.now();
+    int dependency = HttpStatus.FAILED_DEPENDENCY.value();
+    List<BatchOperationResult> rolledBack = new ArrayList<>(operations.size());
+    for (int i = 0; i < operations.size(); i++) {
+      if (i == abortedAt || (i < abortedAt && results.get(i).getError() != null)) {
+        rolledBack.add(results.get(i));
+      } else if (i < abortedAt) {
+        rolledBack.add(new BatchOperationResult(
+            i, operations.get(i).getOp(), "Rolled Back",
+            "Rolled back because operation " + abortedAt + " failed.", now, dependency, null));
+      } else {
+        rolledBack.add(new BatchOperationResult(
+            i, operations.get(i).getOp(), "Not Executed",
+            "Not executed because operation " + abortedAt + " failed.", now, dependency, null));
+      }
+    }
+    return rolledBack;
+  }
+}
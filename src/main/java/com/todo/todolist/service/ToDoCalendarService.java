@@ -0,0 +1,66 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.cache.CalendarCache;
+import com.todo.todolist.dto.DueCalendar;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts the items due per day for calendar views.
+ *
+ * <p>Ranges are served from the {@link CalendarCache} and loaded with one GROUP BY over the
+ * due date when not cached. Loads run in a read-write transaction so they go to the primary,
+ * whose counts match the changes the cache has already applied.
+ */
+@Service
+public class ToDoCalendarService {
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final CalendarCache calendarCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxDays;
+
+  /**
+   * Constructor for ToDoCalendarService.
+   *
+   * @param toDoItemRepository the item repository
+   * @param calendarCache      the cache of day buckets
+   * @param transactionManager the transaction manager for loads
+   * @param maxDays            the longest range accepted, in days
+   */
+  public ToDoCalendarService(ToDoItemRepository toDoItemRepository,
+                             CalendarCache calendarCache,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${todo.calendar.max-days:366}") int maxDays) {
+    this.toDoItemRepository = toDoItemRepository;
+    this.calendarCache = calendarCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxDays = Math.max(1, maxDays);
+  }
+
+  /**
+   * Get the number of items due per day and status in a range.
+   *
+   * @param from the first day
+   * @param to   the last day, inclusive
+   * @return the days with items due
+   * @throws BadRequestException if the range is reversed or longer than the maximum
+   */
+  public DueCalendar getCalendar(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new BadRequestException("From must not be after to.");
+    }
+    if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+      throw new BadRequestException("Range must not be longer than " + maxDays + " days.");
+    }
+    return new DueCalendar(from, to, calendarCache.get(from, to,
+        (first, last) -> transactionTemplate.execute(status -> toDoItemRepository
+            .countByDueDay(first.atStartOfDay(), last.plusDays(1).atStartOfDay()))));
+  }
+}
@@ -0,0 +1,324 @@
+package com.todo.todolist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.dto.ImportJob;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.exception.ServiceUnavailableException;
+import com.todo.todolist.importer.ImportFormat;
+import com.todo.todolist.importer.ImportReader;
+import com.todo.todolist.importer.ImportRow;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports todo items from NDJSON or CSV files of any size.
+ *
+ * <p>The file is read row by row while it is uploaded. Rows are validated with the same rules
+ * as {@link ToDoServiceImpl#createItem}, and collected in chunks of {@code chunk-size}. Each
+ * chunk is checked for duplicates within itself, then, in its own transaction, checked in one
+ * query against the NOT_DONE items in the database and written. The next rows are read only
+ * once the chunk is committed, so memory stays bounded by the chunk size and a client sending
+ * faster than the database can write is slowed down by TCP flow control.
+ *
+ * <p>Earlier chunks are committed by the time later ones are checked, so rows repeating an
+ * earlier part of the file are found too, and importing the same file twice imports it once.
+ * An import that fails part way keeps the chunks written so far.
+ *
+ * <p>The last {@code history} jobs are kept in memory, so progress can be polled while an
+ * import runs and the report read afterwards.
+ */
+@Service
+public class ToDoImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ToDoImportService.class);
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int maxRowLength;
+  private final int maxReportedRejections;
+  private final int historySize;
+  private final Semaphore running;
+  private final ReentrantLock jobsLock = new ReentrantLock();
+  private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+  /**
+   * Constructor for ToDoImportService.
+   *
+   * @param toDoItemRepository    the item repository
+   * @param eventPublisher        publisher for item change events
+   * @param objectMapper          mapper reading NDJSON rows
+   * @param transactionManager    the transaction manager for the chunk transactions
+   * @param chunkSize             the rows checked and written together
+   * @param maxRowLength          the longest row accepted, in characters
+   * @param maxReportedRejections the most rejected rows listed per job
+   * @param historySize           the number of jobs kept
+   * @param maxConcurrent         the imports allowed to run at the same time
+   */
+  public ToDoImportService(ToDoItemRepository toDoItemRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${todo.import.chunk-size:500}") int chunkSize,
+                           @Value("${todo.import.max-row-length:65536}") int maxRowLength,
+                           @Value("${todo.import.max-reported-rejections:1000}")
+                           int maxReportedRejections,
+                           @Value("${todo.import.history:50}") int historySize,
+                           @Value("${todo.import.max-concurrent:2}") int maxConcurrent) {
+    this.toDoItemRepository = toDoItemRepository;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = Math.max(1, chunkSize);
+    this.maxRowLength = Math.max(1, maxRowLength);
+    this.maxReportedRejections = Math.max(0, maxReportedRejections);
+    this.historySize = Math.max(1, historySize);
+    this.running = new Semaphore(Math.max(1, maxConcurrent));
+  }
+
+  /**
+   * Import the items of a file, reading it as it arrives.
+   *
+   * <p>{@code onStarted} is called with the running job once the file is known to be readable
+   * in the format, which for CSV means its header was read, and before any row is written, so
+   * the caller can hand out the job id while the import runs. Failures from then on are
+   * recorded on the job and still thrown.
+   *
+   * @param body          the file
+   * @param format        the file format
+   * @param contentLength the size of the file, or null if unknown
+   * @param onStarted     called with the job before the first row is read
+   * @return the finished job
+   * @throws ServiceUnavailableException if the maximum number of imports are running
+   * @throws BadRequestException         if the file cannot be read in the format
+   */
+  public ImportJob importItems(InputStream body, ImportFormat format, Long contentLength,
+                               Consumer<ImportJob> onStarted) {
+    if (!running.tryAcquire()) {
+      throw new ServiceUnavailableException(
+          "Too many imports are running, please retry later.");
+    }
+    try {
+      ImportJob job = new ImportJob(UUID.randomUUID().toString(),
+          format.name().toLowerCase(Locale.ROOT), contentLength, maxReportedRejections);
+      register(job);
+      logger.info("Import {} of {} started", job.getId(), job.getFormat());
+      run(new CountingInputStream(body, job), format, job, onStarted);
+      logger.info("Import {} {}: {} rows, {} imported, {} rejected of which {} duplicates",
+          job.getId(), job.getState().name().toLowerCase(Locale.ROOT), job.getRows(),
+          job.getImported(), job.getRejected(), job.getDuplicates());
+      return job;
+    } finally {
+      running.release();
+    }
+  }
+
+  /**
+   * Get an import job.
+   *
+   * @param id the job id
+   * @return the job
+   * @throws NotFoundException if no job with the id is kept
+   */
+  public ImportJob getJob(String id) {
+    jobsLock.lock();
+    try {
+      ImportJob job = jobs.get(id);
+      if (job == null) {
+        throw new NotFoundException("Import job not found with id " + id);
+      }
+      return job;
+    } finally {
+      jobsLock.unlock();
+    }
+  }
+
+  /**
+   * The jobs kept, running ones included.
+   *
+   * @return the jobs, newest first
+   */
+  public List<ImportJob> getJobs() {
+    jobsLock.lock();
+    try {
+      List<ImportJob> newestFirst = new ArrayList<>(jobs.values());
+      Collections.reverse(newestFirst);
+      return newestFirst;
+    } finally {
+      jobsLock.unlock();
+    }
+  }
+
+  private void run(InputStream body, ImportFormat format, ImportJob job,
+                   Consumer<ImportJob> onStarted) {
+    try {
+      ImportReader reader = format.open(
+          new InputStreamReader(body, StandardCharsets.UTF_8), objectMapper, maxRowLength);
+      reader.start();
+      onStarted.accept(job);
+      List<ImportRow> chunk = new ArrayList<>(chunkSize);
+      for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+        job.rowRead();
+        if (row.isRejected()) {
+          job.reject(row.line(), row.error(), false);
+        } else if (validate(row, job)) {
+          chunk.add(row);
+          if (chunk.size() == chunkSize) {
+            write(chunk, job);
+            chunk.clear();
+          }
+        }
+      }
+      write(chunk, job);
+      job.complete();
+    } catch (IOException ex) {
+      job.fail("The import could not be read: " + ex.getMessage());
+      throw new BadRequestException("The import could not be read.");
+    } catch (RuntimeException ex) {
+      job.fail(String.valueOf(ex.getMessage()));
+      throw ex;
+    }
+  }
+
+  private static boolean validate(ImportRow row, ImportJob job) {
+    ToDoItem item = row.item();
+    try {
+      ToDoItemRules.validateToDoItem(item);
+      item.setTags(ToDoItemRules.normalizeTags(item.getTags()));
+    } catch (BadRequestException ex) {
+      job.reject(row.line(), ex.getMessage(), false);
+      return false;
+    }
+    item.setId(null);
+    item.setStatus(Status.NOT_DONE);
+    item.setDoneDatetime(null);
+    return true;
+  }
+
+  private void write(List<ImportRow> chunk, ImportJob job) {
+    Map<Key, ImportRow> unique = new LinkedHashMap<>();
+    for (ImportRow row : chunk) {
+      if (unique.putIfAbsent(Key.of(row.item()), row) != null) {
+        job.reject(row.line(), ToDoItemRules.DUPLICATE_MESSAGE, true);
+      }
+    }
+    if (unique.isEmpty()) {
+      return;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Set<Key> existing = existingKeys(unique.keySet());
+      for (Iterator<Map.Entry<Key, ImportRow>> it = unique.entrySet().iterator(); it.hasNext(); ) {
+        Map.Entry<Key, ImportRow> entry = it.next();
+        if (existing.contains(entry.getKey())) {
+          job.reject(entry.getValue().line(), ToDoItemRules.DUPLICATE_MESSAGE, true);
+          it.remove();
+        }
+      }
+      if (unique.isEmpty()) {
+        return;
+      }
+      List<ToDoItem> items = unique.values().stream().map(ImportRow::item).toList();
+      for (ToDoItem created : toDoItemRepository.saveAll(items)) {
+        eventPublisher.publishEvent(ToDoItemChangedEvent.created(created));
+      }
+    });
+    job.addImported(unique.size());
+  }
+
+  private Set<Key> existingKeys(Set<Key> keys) {
+    Set<String> descriptions = keys.stream().map(Key::description).collect(Collectors.toSet());
+    Set<LocalDateTime> dueDatetimes =
+        keys.stream().map(Key::dueDatetime).collect(Collectors.toSet());
+    Set<Key> existing = new HashSet<>();
+    toDoItemRepository
+        .findByStatusAndDescriptionInAndDueDatetimeIn(Status.NOT_DONE, descriptions, dueDatetimes)
+        .forEach(item -> existing.add(Key.of(item)));
+    return existing;
+  }
+
+  private void register(ImportJob job) {
+    jobsLock.lock();
+    try {
+      jobs.put(job.getId(), job);
+      Iterator<ImportJob> oldest = jobs.values().iterator();
+      while (jobs.size() > historySize && oldest.hasNext()) {
+        if (oldest.next().getState() != ImportJob.State.RUNNING) {
+          oldest.remove();
+        }
+      }
+    } finally {
+      jobsLock.unlock();
+    }
+  }
+
+  private record Key(String description, LocalDateTime dueDatetime) {
+
+    static Key of(ToDoItem item) {
+      return new Key(item.getDescription(), item.getDueDatetime());
+    }
+  }
+
+  /**
+   * Counts the bytes of the file as they are read, for the job's progress.
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final ImportJob job;
+
+    private CountingInputStream(InputStream in, ImportJob job) {
+      super(in);
+      this.job = job;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        job.addBytesRead(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int count = super.read(buffer, offset, length);
+      if (count > 0) {
+        job.addBytesRead(count);
+      }
+      return count;
+    }
+  }
+}
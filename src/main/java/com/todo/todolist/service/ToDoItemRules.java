@@ -0,0 +1,69 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ForbiddenException;
+import com.todo.todolist.index.TagIndex;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Validation rules shared by the blocking and the reactive service.
+ */
+final class ToDoItemRules {
+
+  static final String DUPLICATE_MESSAGE =
+      "Todo item with the same description and due date already exists.";
+
+  private ToDoItemRules() {
+  }
+
+  static Set<String> normalizeTags(Set<String> tags) {
+    Set<String> normalized = new LinkedHashSet<>();
+    for (String tag : tags) {
+      String value = TagIndex.normalize(tag);
+      if (value.isEmpty()) {
+        throw new BadRequestException("Tags must not be null or empty.");
+      }
+      normalized.add(value);
+    }
+    return normalized;
+  }
+
+  static void validateToDoItem(ToDoItem item) {
+    validateDescription(item.getDescription());
+    validateDueDatetime(item.getDueDatetime());
+  }
+
+  static void validateDescription(String description) {
+    if (description == null || description.trim().isEmpty()) {
+      throw new BadRequestException("Description must not be null or empty.");
+    }
+  }
+
+  static void validateDueDatetime(LocalDateTime dueDatetime) {
+    if (dueDatetime == null || dueDatetime.isBefore(LocalDateTime.now())) {
+      throw new BadRequestException("Due date must be provided and must be in the future.");
+    }
+  }
+
+  static void validateUpcoming(int limit, Optional<Duration> within) {
+    if (limit < 1 || limit > ToDoServiceImpl.MAX_UPCOMING_LIMIT) {
+      throw new BadRequestException(
+          "Limit must be between 1 and " + ToDoServiceImpl.MAX_UPCOMING_LIMIT + ".");
+    }
+    if (within.isPresent() && within.get().isNegative()) {
+      throw new BadRequestException("Within must not be negative.");
+    }
+  }
+
+  static void validateOverdue(ToDoItem item) {
+    if (item.getStatus() == Status.OVERDUE) {
+      throw new ForbiddenException("Cannot update or delete a past due item.");
+    }
+  }
+}
@@ -1,10 +1,15 @@
 package com.todo.todolist.service;
 
+import com.todo.todolist.dto.ToDoItemPatch;
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service interface for managing Todo items.
@@ -15,12 +20,50 @@ public interface ToDoService {
 
   List<ToDoItem> getAllItems(Optional<String> status);
 
+  /**
+   * Get some fields of all items, optionally filtered by status.
+   *
+   * @param status optional status filter
+   * @param fields the fields to return
+   * @return the fields of the matching items ordered by id
+   */
+  List<ToDoItemFields> getItemFields(Optional<String> status, Set<ToDoField> fields);
+
+  /**
+   * Get the items carrying the given tags, optionally filtered by status.
+   *
+   * @param status   optional status filter
+   * @param tags     the tags to filter by
+   * @param matchAll true to require every tag, false to accept any of them
+   * @return matching items ordered by id
+   */
+  List<ToDoItem> getItemsByTags(Optional<String> status, List<String> tags, boolean matchAll);
+
   ToDoItem getItemById(Long id);
 
+  /**
+   * Get the next NOT_DONE items by due date.
+   *
+   * @param limit  the maximum number of items to return
+   * @param within optional window from now in which the items must be due
+   * @return items ordered by due date
+   */
+  List<ToDoItem> getUpcomingItems(int limit, Optional<Duration> within);
+
   ToDoItem createItem(ToDoItem item);
 
   ToDoItem updateItem(Long id, ToDoItem updatedItem);
 
+  /**
+   * Apply a JSON Merge Patch to an item, changing only the fields it contains. An empty patch
+   * only reads the item.
+   *
+   * @param id    the item ID
+   * @param patch the fields to change
+   * @return the patched item
+   */
+  ToDoItem patchItem(Long id, ToDoItemPatch patch);
+
   ToDoItem markAsDone(Long id);
 
   ToDoItem markAsNotDone(Long id);
@@ -1,133 +1,319 @@
 package com.todo.todolist.service;
 
-import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.event.ToDoItemChangedEvent;
 import com.todo.todolist.exception.ConflictException;
-import com.todo.todolist.exception.ForbiddenException;
 import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.index.DueDateIndex;
+import com.todo.todolist.index.TagIndex;
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.projection.ToDoProjection;
+import com.todo.todolist.repository.ToDoItemFields;
 import com.todo.todolist.repository.ToDoItemRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of the ToDoService interface.
  *
  * <p>Handles business logic for managing Todo items, such as filtering by status,
- * handling errors, and updating item states.
+ * handling errors, and updating item states. Every successful write publishes a
+ * {@link ToDoItemChangedEvent} so in-memory indexes can follow the repository.
+ *
+ * <p>Request validation runs on the calling thread; the database part of each write runs
+ * through the configured {@link WriteExecutor}, which may batch it with other writes. The
+ * load, duplicate check and save of a write share one read-write transaction, and so one
+ * connection, which is returned to the pool when it commits.
+ *
+ * <p>Reads are served from the {@link ToDoProjection} without touching JPA. Only when the
+ * projection is disabled or lagging do they fall back to the repository, in read-only
+ * transactions that read replicas can serve when configured. Reads of some fields only then
+ * select just those columns.
  */
 @Service
 public class ToDoServiceImpl implements ToDoService {
 
-  private final ToDoItemRepository toDoItemRepository;
+  static final int MAX_UPCOMING_LIMIT = 1000;
 
-  public ToDoServiceImpl(ToDoItemRepository toDoItemRepository) {
+  private final ToDoItemRepository toDoItemRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TagIndex tagIndex;
+  private final DueDateIndex dueDateIndex;
+  private final WriteExecutor writeExecutor;
+  private final ToDoProjection projection;
+  private final TransactionTemplate readOnlyTransaction;
+
+  /**
+   * Constructor for ToDoServiceImpl.
+   *
+   * @param toDoItemRepository the item repository
+   * @param eventPublisher     publisher for item change events
+   * @param tagIndex           the in-memory tag index
+   * @param dueDateIndex       the in-memory index of NOT_DONE items by due date
+   * @param writeExecutor      the executor running write operations
+   * @param projection         the in-memory read projection
+   * @param transactionManager the transaction manager for reads falling back to the database
+   */
+  public ToDoServiceImpl(ToDoItemRepository toDoItemRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         TagIndex tagIndex,
+                         DueDateIndex dueDateIndex,
+                         WriteExecutor writeExecutor,
+                         ToDoProjection projection,
+                         PlatformTransactionManager transactionManager) {
     this.toDoItemRepository = toDoItemRepository;
+    this.eventPublisher = eventPublisher;
+    this.tagIndex = tagIndex;
+    this.dueDateIndex = dueDateIndex;
+    this.writeExecutor = writeExecutor;
+    this.projection = projection;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
   @Override
   public List<ToDoItem> getAllItems(Optional<String> status) {
-    if (status.isPresent()) {
-      return toDoItemRepository.findByStatus(Status.valueOf(status.get().toUpperCase()));
+    Optional<Status> filter = status.map(s -> Status.valueOf(s.toUpperCase()));
+    Optional<ToDoProjection.Snapshot> snapshot = projection.current();
+    if (snapshot.isPresent()) {
+      return filter.map(snapshot.get()::withStatus).orElseGet(snapshot.get()::all);
     }
-    return toDoItemRepository.findAll();
+    return readOnly(() -> filter.map(toDoItemRepository::findByStatus)
+        .orElseGet(toDoItemRepository::findAll));
+  }
+
+  @Override
+  public List<ToDoItemFields> getItemFields(Optional<String> status, Set<ToDoField> fields) {
+    Optional<Status> filter = status.map(s -> Status.valueOf(s.toUpperCase()));
+    Optional<ToDoProjection.Snapshot> snapshot = projection.current();
+    if (snapshot.isPresent()) {
+      return filter.map(snapshot.get()::withStatus).orElseGet(snapshot.get()::all).stream()
+          .map(ToDoItemFields::of)
+          .toList();
+    }
+    List<ToDoItemFields> rows = readOnly(
+        () -> toDoItemRepository.findFields(filter.orElse(null), fields));
+    return rows.stream()
+        .sorted(Comparator.comparing(ToDoItemFields::id))
+        .toList();
+  }
+
+  @Override
+  public List<ToDoItem> getItemsByTags(Optional<String> status, List<String> tags,
+                                       boolean matchAll) {
+    Status statusFilter = status.map(s -> Status.valueOf(s.toUpperCase())).orElse(null);
+    long[] ids = tagIndex.findIds(tags, matchAll, statusFilter);
+    if (ids.length == 0) {
+      return List.of();
+    }
+
+    Optional<ToDoProjection.Snapshot> snapshot = projection.current();
+    if (snapshot.isPresent()) {
+      return LongStream.of(ids)
+          .mapToObj(id -> snapshot.get().get(id))
+          .flatMap(Optional::stream)
+          .toList();
+    }
+    List<ToDoItem> items = readOnly(
+        () -> toDoItemRepository.findAllById(LongStream.of(ids).boxed().toList()));
+    return items.stream()
+        .sorted(Comparator.comparing(ToDoItem::getId))
+        .toList();
   }
 
   @Override
   public ToDoItem getItemById(Long id) {
-    return toDoItemRepository.findById(id)
-        .orElseThrow(() -> new NotFoundException("Item not found with id " + id));
+    Optional<ToDoProjection.Snapshot> snapshot = projection.current();
+    Optional<ToDoItem> item = snapshot.isPresent()
+        ? snapshot.get().get(id)
+        : readOnly(() -> toDoItemRepository.findById(id));
+    return item.orElseThrow(() -> new NotFoundException("Item not found with id " + id));
+  }
+
+  @Override
+  public List<ToDoItem> getUpcomingItems(int limit, Optional<Duration> within) {
+    ToDoItemRules.validateUpcoming(limit, within);
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> ids = dueDateIndex.findNextDue(now, within.map(now::plus).orElse(null), limit);
+    if (ids.isEmpty()) {
+      return List.of();
+    }
 
+    Optional<ToDoProjection.Snapshot> snapshot = projection.current();
+    if (snapshot.isPresent()) {
+      return ids.stream()
+          .map(id -> snapshot.get().get(id))
+          .flatMap(Optional::stream)
+          .toList();
+    }
+    Map<Long, ToDoItem> itemsById = readOnly(() -> toDoItemRepository.findAllById(ids)).stream()
+        .collect(Collectors.toMap(ToDoItem::getId, Function.identity()));
+    return ids.stream()
+        .map(itemsById::get)
+        .filter(Objects::nonNull)
+        .toList();
   }
 
   @Override
   public ToDoItem createItem(ToDoItem item) {
-    validateToDoItem(item);
+    ToDoItemRules.validateToDoItem(item);
+    item.setTags(ToDoItemRules.normalizeTags(item.getTags()));
 
-    if (existsByDescriptionAndDueDatetimeAndStatus(item.getDescription(),
-                                                    item.getDueDatetime(),
-                                                    Status.NOT_DONE)) {
-      throw new ConflictException(
-          "Todo item with the same description and due date already exists.");
-    }
+    return writeExecutor.execute(() -> {
+      if (toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatus(item.getDescription(),
+          item.getDueDatetime(), Status.NOT_DONE)) {
+        throw new ConflictException(ToDoItemRules.DUPLICATE_MESSAGE);
+      }
+
+      item.setId(null);
+      ToDoItem created = toDoItemRepository.save(item);
+      eventPublisher.publishEvent(ToDoItemChangedEvent.created(created));
 
-    return toDoItemRepository.save(item);
+      return created;
+    });
   }
 
   @Override
   public ToDoItem updateItem(Long id, ToDoItem updatedItem) {
-    validateToDoItem(updatedItem);
+    ToDoItemRules.validateToDoItem(updatedItem);
+    Set<String> tags = ToDoItemRules.normalizeTags(updatedItem.getTags());
 
-    ToDoItem existingItem = getItemById(id);
-    validateOverdue(existingItem);
+    return writeExecutor.execute(() -> {
+      ToDoItem existingItem = loadItem(id);
+      ToDoItemRules.validateOverdue(existingItem);
 
-    boolean duplicateExists = existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
-        updatedItem.getDescription(), updatedItem.getDueDatetime(), Status.NOT_DONE, id);
+      boolean duplicateExists =
+          toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+              updatedItem.getDescription(), updatedItem.getDueDatetime(), Status.NOT_DONE, id);
 
-    if (duplicateExists) {
-      throw new ConflictException(
-          "Todo item with the same description and due date already exists.");
-    }
+      if (duplicateExists) {
+        throw new ConflictException(ToDoItemRules.DUPLICATE_MESSAGE);
+      }
+
+      final ToDoItem before = existingItem.copy();
+      existingItem.setDescription(updatedItem.getDescription());
+      existingItem.setDueDatetime(updatedItem.getDueDatetime());
+      existingItem.setTags(tags);
 
-    existingItem.setDescription(updatedItem.getDescription());
-    existingItem.setDueDatetime(updatedItem.getDueDatetime());
+      return saveChanged(before, existingItem);
+    });
+  }
 
-    return toDoItemRepository.save(existingItem);
+  @Override
+  public ToDoItem patchItem(Long id, ToDoItemPatch patch) {
+    if (patch.isEmpty()) {
+      ToDoItem item = getItemById(id);
+      ToDoItemRules.validateOverdue(item);
+      return item;
+    }
+    patch.getDescription().ifPresent(ToDoItemRules::validateDescription);
+    patch.getDueDatetime().ifPresent(ToDoItemRules::validateDueDatetime);
+    Optional<Set<String>> tags = patch.getTags().map(ToDoItemRules::normalizeTags);
+
+    return writeExecutor.execute(() -> {
+      ToDoItem existingItem = loadItem(id);
+      ToDoItemRules.validateOverdue(existingItem);
+
+      String description = patch.getDescription().orElse(existingItem.getDescription());
+      LocalDateTime dueDatetime = patch.getDueDatetime().orElse(existingItem.getDueDatetime());
+      boolean identityChanged = !description.equals(existingItem.getDescription())
+          || !dueDatetime.equals(existingItem.getDueDatetime());
+      boolean tagsChanged = tags.isPresent() && !tags.get().equals(existingItem.getTags());
+      if (!identityChanged && !tagsChanged) {
+        return existingItem;
+      }
+
+      if (identityChanged && toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+          description, dueDatetime, Status.NOT_DONE, id)) {
+        throw new ConflictException(ToDoItemRules.DUPLICATE_MESSAGE);
+      }
+
+      final ToDoItem before = existingItem.copy();
+      existingItem.setDescription(description);
+      existingItem.setDueDatetime(dueDatetime);
+      tags.ifPresent(existingItem::setTags);
+
+      return saveChanged(before, existingItem);
+    });
   }
 
   @Override
   public ToDoItem markAsDone(Long id) {
-    ToDoItem item = getItemById(id);
+    return writeExecutor.execute(() -> {
+      ToDoItem item = loadItem(id);
 
-    if (item.getStatus() == Status.DONE) {
-      throw new ConflictException("Item marked already as done.");
-    }
+      if (item.getStatus() == Status.DONE) {
+        throw new ConflictException("Item marked already as done.");
+      }
 
-    if (item.getStatus() == Status.OVERDUE) {
-      throw new ConflictException("Cannot mark an overdue item as done.");
-    }
+      if (item.getStatus() == Status.OVERDUE) {
+        throw new ConflictException("Cannot mark an overdue item as done.");
+      }
 
-    item.setStatus(Status.DONE);
-    item.setDoneDatetime(LocalDateTime.now());
+      final ToDoItem before = item.copy();
+      item.setStatus(Status.DONE);
+      item.setDoneDatetime(LocalDateTime.now());
 
-    return toDoItemRepository.save(item);
+      return saveChanged(before, item);
+    });
   }
 
   @Override
   public ToDoItem markAsNotDone(Long id) {
-    ToDoItem item = getItemById(id);
+    return writeExecutor.execute(() -> {
+      ToDoItem item = loadItem(id);
 
-    if (item.getStatus() == Status.NOT_DONE) {
-      throw new ConflictException("Item marked already as not done.");
-    }
+      if (item.getStatus() == Status.NOT_DONE) {
+        throw new ConflictException("Item marked already as not done.");
+      }
 
-    if (item.getStatus() == Status.OVERDUE) {
-      throw new ConflictException("Cannot mark an overdue item as done.");
-    }
+      if (item.getStatus() == Status.OVERDUE) {
+        throw new ConflictException("Cannot mark an overdue item as done.");
+      }
 
-    item.setStatus(Status.NOT_DONE);
-    item.setDoneDatetime(null);
+      final ToDoItem before = item.copy();
+      item.setStatus(Status.NOT_DONE);
+      item.setDoneDatetime(null);
 
-    return toDoItemRepository.save(item);
+      return saveChanged(before, item);
+    });
   }
 
   @Override
   public void deleteItem(Long id) {
-    ToDoItem item = getItemById(id);
-    validateOverdue(item);
-
-    toDoItemRepository.delete(item);
+    writeExecutor.execute(() -> {
+      ToDoItem item = loadItem(id);
+      ToDoItemRules.validateOverdue(item);
+
+      toDoItemRepository.delete(item);
+      eventPublisher.publishEvent(ToDoItemChangedEvent.deleted(item));
+      return null;
+    });
   }
 
   @Override
   public boolean existsByDescriptionAndDueDatetimeAndStatus(String description,
                                                              LocalDateTime dueDatetime,
                                                              Status status) {
-    return toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatus(description,
-                                                                          dueDatetime,
-                                                                          status);
+    return readOnly(() -> toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatus(
+        description, dueDatetime, status));
   }
 
   @Override
@@ -135,24 +321,27 @@ public class ToDoServiceImpl implements ToDoService {
                                                                      LocalDateTime dueDatetime,
                                                                      Status status,
                                                                      Long id) {
-    return toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(description,
-                                                                                  dueDatetime,
-                                                                                  status,
-                                                                                  id);
+    return readOnly(() -> toDoItemRepository.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+        description, dueDatetime, status, id));
   }
 
-  private void validateToDoItem(ToDoItem item) {
-    if (item.getDescription() == null || item.getDescription().trim().isEmpty()) {
-      throw new BadRequestException("Description must not be null or empty.");
-    }
-    if (item.getDueDatetime() == null || item.getDueDatetime().isBefore(LocalDateTime.now())) {
-      throw new BadRequestException("Due date must be provided and must be in the future.");
-    }
+  private ToDoItem loadItem(Long id) {
+    return toDoItemRepository.findById(id)
+        .orElseThrow(() -> new NotFoundException("Item not found with id " + id));
   }
 
-  private void validateOverdue(ToDoItem item) {
-    if (item.getStatus() == Status.OVERDUE) {
-      throw new ForbiddenException("Cannot update or delete a past due item.");
-    }
+  private <T> T readOnly(Supplier<T> read) {
+    return readOnlyTransaction.execute(status -> read.get());
+  }
+
+  /**
+   * Save a changed item and publish the change. The update is left to the transaction's own
+   * flush, so writes grouped into one transaction are still batched; the event reads the new
+   * version once that flush has assigned it.
+   */
+  private ToDoItem saveChanged(ToDoItem before, ToDoItem item) {
+    ToDoItem saved = toDoItemRepository.save(item);
+    eventPublisher.publishEvent(ToDoItemChangedEvent.updated(before, saved));
+    return saved;
   }
 }
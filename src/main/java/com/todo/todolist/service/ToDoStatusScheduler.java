@@ -1,54 +1,491 @@
 package com.todo.todolist.service;
 
+import com.todo.todolist.datasource.Shards;
+import com.todo.todolist.dto.OverdueSchedulerSettings;
+import com.todo.todolist.dto.OverdueSchedulerStatus;
+import com.todo.todolist.dto.OverdueSweepResult;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.index.DueDateIndex;
 import com.todo.todolist.model.Status;
 import com.todo.todolist.model.ToDoItem;
 import com.todo.todolist.repository.ToDoItemRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Scheduled service to update status of overdue tasks.
+ *
+ * <p>The sweep runs once per shard, concurrently, each in its own transaction.
+ *
+ * <p>Sweeps are scheduled one at a time on the task scheduler, each after the previous one has
+ * finished, so the timing can be changed while the application runs:
+ *
+ * <ul>
+ *   <li>only one sweep runs at a time; a scheduled sweep that finds another one running is
+ *       skipped, and a manual one is refused;</li>
+ *   <li>after a sweep that marked nothing, the delay grows by {@code backoff-multiplier} up to
+ *       {@code max-interval-ms}, and it drops back to {@code interval-ms} as soon as a sweep
+ *       finds work;</li>
+ *   <li>a backed-off delay never runs past the earliest NOT_DONE due date in the
+ *       {@link DueDateIndex}, and a committed NOT_DONE item due before the next sweep brings
+ *       that sweep forward, so back-off never leaves an item due for longer than
+ *       {@code interval-ms};</li>
+ *   <li>each delay is varied randomly by up to {@code jitter} of itself, so instances started
+ *       together do not sweep in lockstep;</li>
+ *   <li>scheduled sweeps can be paused and resumed; manual sweeps still run while paused.</li>
+ * </ul>
+ *
+ * <p>The last {@code history} results are kept for the admin API.
  */
 @Service
 public class ToDoStatusScheduler {
 
+  static final String SCHEDULED = "scheduled";
+  static final String MANUAL = "manual";
+
   private static final Logger logger = LoggerFactory.getLogger(ToDoStatusScheduler.class);
 
   private final ToDoItemRepository toDoItemRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Shards shards;
+  private final DueDateIndex dueDateIndex;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final TaskScheduler taskScheduler;
+  private final int historySize;
+  private final ReentrantLock sweepLock = new ReentrantLock();
+  private final ReentrantLock stateLock = new ReentrantLock();
+
+  // Guarded by stateLock.
+  private final Deque<OverdueSweepResult> history = new ArrayDeque<>();
+  private Duration interval;
+  private Duration maxInterval;
+  private double backoffMultiplier;
+  private double jitter;
+  private Duration nextDelay;
+  private boolean paused;
+  private boolean started;
+  private long generation;
+  private ScheduledFuture<?> next;
+  private Instant nextRunAt;
 
-  public ToDoStatusScheduler(ToDoItemRepository toDoItemRepository) {
+  /**
+   * Constructor for ToDoStatusScheduler.
+   *
+   * @param toDoItemRepository the item repository
+   * @param eventPublisher     publisher for item change events
+   * @param shards             the shards to sweep
+   * @param dueDateIndex       the index giving the next due date, which caps the back-off
+   * @param transactionManager the transaction manager for the per-shard sweeps
+   * @param taskScheduler      the scheduler sweeps run on
+   * @param intervalMillis     the delay between sweeps that find work
+   * @param maxIntervalMillis  the longest delay back-off grows to
+   * @param backoffMultiplier  the factor the delay grows by after a sweep that found nothing
+   * @param jitter             the fraction by which each delay is randomly varied
+   * @param historySize        the number of sweep results kept
+   * @param paused             whether scheduled sweeps start paused
+   */
+  public ToDoStatusScheduler(ToDoItemRepository toDoItemRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             Shards shards,
+                             DueDateIndex dueDateIndex,
+                             PlatformTransactionManager transactionManager,
+                             TaskScheduler taskScheduler,
+                             @Value("${todo.overdue.interval-ms:60000}") long intervalMillis,
+                             @Value("${todo.overdue.max-interval-ms:600000}")
+                             long maxIntervalMillis,
+                             @Value("${todo.overdue.backoff-multiplier:2}")
+                             double backoffMultiplier,
+                             @Value("${todo.overdue.jitter:0.1}") double jitter,
+                             @Value("${todo.overdue.history:20}") int historySize,
+                             @Value("${todo.overdue.paused:false}") boolean paused) {
     this.toDoItemRepository = toDoItemRepository;
+    this.eventPublisher = eventPublisher;
+    this.shards = shards;
+    this.dueDateIndex = dueDateIndex;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.taskScheduler = taskScheduler;
+    this.historySize = Math.max(1, historySize);
+    this.paused = paused;
+    OverdueSchedulerSettings settings = new OverdueSchedulerSettings();
+    settings.setIntervalMs(intervalMillis);
+    settings.setMaxIntervalMs(maxIntervalMillis);
+    settings.setBackoffMultiplier(backoffMultiplier);
+    settings.setJitter(jitter);
+    apply(settings);
+  }
+
+  /**
+   * Schedule the first sweep, which runs right away unless sweeps are paused.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    stateLock.lock();
+    try {
+      if (started) {
+        return;
+      }
+      started = true;
+      if (!paused) {
+        scheduleLocked(Duration.ZERO);
+      }
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /**
+   * Stop scheduling sweeps. A sweep already running is allowed to finish.
+   */
+  @PreDestroy
+  public void stop() {
+    stateLock.lock();
+    try {
+      started = false;
+      cancelLocked();
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /**
+   * Bring the next scheduled sweep forward when a committed change leaves an item NOT_DONE
+   * with a due date before it, so a backed-off schedule does not leave the item due for long.
+   * The sweep is moved to the due date, but no closer than {@code interval-ms}.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    if (event.isDeleted() || event.getAfter().getStatus() != Status.NOT_DONE
+        || event.getAfter().getDueDatetime() == null) {
+      return;
+    }
+    stateLock.lock();
+    try {
+      if (!started || paused || nextRunAt == null) {
+        return;
+      }
+      Duration delay = untilDueLocked(event.getAfter().getDueDatetime());
+      if (Instant.now().plus(delay).isBefore(nextRunAt)) {
+        scheduleLocked(delay);
+      }
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /**
+   * Mark overdue items now, outside the schedule.
+   *
+   * @return the result of the sweep
+   * @throws ConflictException if a sweep is already running
+   */
+  public OverdueSweepResult markOverdueItems() {
+    if (!sweepLock.tryLock()) {
+      throw new ConflictException("An overdue sweep is already running.");
+    }
+    try {
+      return sweep(MANUAL);
+    } finally {
+      sweepLock.unlock();
+    }
   }
 
   /**
-   * Scheduled method to mark overdue items.
-   * Runs every 60 seconds to check for items past their due date.
+   * Run the overdue sweep without changing anything. Each shard runs the same query as
+   * {@link #markOverdueItems()} in a read-only transaction, and no item is saved or published.
+   *
+   * @return the number of items a sweep would mark OVERDUE now
    */
-  @Scheduled(fixedRate = 60000) // Runs every 60 seconds
-  @Transactional
-  public void markOverdueItems() {
-    logger.info("Scheduled task started: checking for overdue items...");
+  public int dryRun() {
+    return shards.onEachShard(shard -> readOnlyTransactionTemplate.execute(
+            status -> findOverdueItems().size()))
+        .stream()
+        .mapToInt(Integer::intValue)
+        .sum();
+  }
 
-    List<ToDoItem> overdueItems = toDoItemRepository
+  /**
+   * Stop running scheduled sweeps until {@link #resume()} is called.
+   *
+   * @return the new state
+   */
+  public OverdueSchedulerStatus pause() {
+    stateLock.lock();
+    try {
+      paused = true;
+      cancelLocked();
+      logger.info("Scheduled overdue sweeps paused");
+    } finally {
+      stateLock.unlock();
+    }
+    return getStatus(historySize);
+  }
+
+  /**
+   * Resume scheduled sweeps, the next one after the regular interval.
+   *
+   * @return the new state
+   */
+  public OverdueSchedulerStatus resume() {
+    stateLock.lock();
+    try {
+      if (paused) {
+        paused = false;
+        nextDelay = interval;
+        if (started) {
+          scheduleLocked(jittered(nextDelay));
+        }
+        logger.info("Scheduled overdue sweeps resumed");
+      }
+    } finally {
+      stateLock.unlock();
+    }
+    return getStatus(historySize);
+  }
+
+  /**
+   * Change the timing of scheduled sweeps. The back-off is reset, and the next sweep is
+   * rescheduled after the new interval.
+   *
+   * @param settings the values to change
+   * @return the new state
+   * @throws BadRequestException if the resulting timing is invalid
+   */
+  public OverdueSchedulerStatus updateSettings(OverdueSchedulerSettings settings) {
+    stateLock.lock();
+    try {
+      apply(settings);
+      if (started && !paused) {
+        scheduleLocked(jittered(nextDelay));
+      }
+      logger.info("Overdue sweep interval set to {} ms, backing off by {} up to {} ms, "
+              + "jitter {}", interval.toMillis(), backoffMultiplier, maxInterval.toMillis(),
+          jitter);
+    } finally {
+      stateLock.unlock();
+    }
+    return getStatus(historySize);
+  }
+
+  /**
+   * The scheduler state with the most recent sweep results.
+   *
+   * @param limit the maximum number of results to return; at most {@code history} are kept
+   * @return the state, with results newest first
+   */
+  public OverdueSchedulerStatus getStatus(int limit) {
+    if (limit < 1) {
+      throw new BadRequestException("Limit must be at least 1.");
+    }
+    stateLock.lock();
+    try {
+      return new OverdueSchedulerStatus(paused, sweepLock.isLocked(), interval.toMillis(),
+          maxInterval.toMillis(), backoffMultiplier, jitter, nextDelay.toMillis(),
+          nextRunAt == null ? null : LocalDateTime.ofInstant(nextRunAt, ZoneId.systemDefault()),
+          history.stream().limit(limit).toList());
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  private void apply(OverdueSchedulerSettings settings) {
+    final Duration newInterval = settings.getIntervalMs() == null
+        ? interval : Duration.ofMillis(settings.getIntervalMs());
+    final Duration newMaxInterval = settings.getMaxIntervalMs() == null
+        ? maxInterval : Duration.ofMillis(settings.getMaxIntervalMs());
+    final double newMultiplier = settings.getBackoffMultiplier() == null
+        ? backoffMultiplier : settings.getBackoffMultiplier();
+    final double newJitter = settings.getJitter() == null ? jitter : settings.getJitter();
+
+    if (newInterval.toMillis() < 1) {
+      throw new BadRequestException("Interval must be at least 1 ms.");
+    }
+    if (newMaxInterval.compareTo(newInterval) < 0) {
+      throw new BadRequestException("Maximum interval must not be shorter than the interval.");
+    }
+    if (!(newMultiplier >= 1)) {
+      throw new BadRequestException("Back-off multiplier must be at least 1.");
+    }
+    if (!(newJitter >= 0 && newJitter < 1)) {
+      throw new BadRequestException("Jitter must be at least 0 and less than 1.");
+    }
+    interval = newInterval;
+    maxInterval = newMaxInterval;
+    backoffMultiplier = newMultiplier;
+    jitter = newJitter;
+    nextDelay = interval;
+  }
+
+  private void runScheduled(long scheduledGeneration) {
+    try {
+      if (sweepLock.tryLock()) {
+        try {
+          sweep(SCHEDULED);
+        } finally {
+          sweepLock.unlock();
+        }
+      } else {
+        logger.info("Skipping scheduled overdue sweep: another sweep is still running");
+      }
+    } catch (RuntimeException ex) {
+      logger.error("Scheduled overdue sweep failed", ex);
+    } finally {
+      stateLock.lock();
+      try {
+        if (started && !paused && generation == scheduledGeneration) {
+          next = null;
+          nextRunAt = null;
+          scheduleLocked(jittered(nextDelay));
+        }
+      } finally {
+        stateLock.unlock();
+      }
+    }
+  }
+
+  private OverdueSweepResult sweep(String trigger) {
+    logger.info("Overdue sweep ({}) started: checking for overdue items...", trigger);
+    LocalDateTime startedAt = LocalDateTime.now();
+    long start = System.nanoTime();
+    OverdueSweepResult result;
+    try {
+      List<ShardSweep> sweeps = shards.onEachShard(
+          shard -> transactionTemplate.execute(status -> markOverdueItemsOnShard()));
+      result = new OverdueSweepResult(trigger, startedAt, elapsedMillis(start),
+          sweeps.stream().mapToInt(ShardSweep::rows).sum(),
+          sweeps.stream().mapToLong(ShardSweep::lagMillis).max().orElse(0), null);
+    } catch (RuntimeException ex) {
+      record(new OverdueSweepResult(trigger, startedAt, elapsedMillis(start), 0, 0,
+          String.valueOf(ex.getMessage())));
+      throw ex;
+    }
+    record(result);
+    logger.info("Overdue sweep ({}) completed: {} items marked in {} ms", trigger,
+        result.getRows(), result.getDurationMs());
+    return result;
+  }
+
+  private void record(OverdueSweepResult result) {
+    stateLock.lock();
+    try {
+      history.addFirst(result);
+      while (history.size() > historySize) {
+        history.removeLast();
+      }
+      if (result.getError() != null) {
+        return;
+      }
+      if (result.getRows() > 0) {
+        nextDelay = interval;
+      } else {
+        long grown = (long) Math.min(nextDelay.toMillis() * backoffMultiplier,
+            maxInterval.toMillis());
+        nextDelay = Duration.ofMillis(grown);
+        Optional<LocalDateTime> earliestDue = dueDateIndex.findEarliestDue();
+        if (earliestDue.isPresent()) {
+          Duration untilDue = untilDueLocked(earliestDue.get());
+          if (untilDue.compareTo(nextDelay) < 0) {
+            nextDelay = untilDue;
+          }
+        }
+      }
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  private Duration untilDueLocked(LocalDateTime due) {
+    Duration untilDue = Duration.between(LocalDateTime.now(), due);
+    return untilDue.compareTo(interval) < 0 ? interval : untilDue;
+  }
+
+  private void scheduleLocked(Duration delay) {
+    cancelLocked();
+    long scheduledGeneration = ++generation;
+    nextRunAt = Instant.now().plus(delay);
+    next = taskScheduler.schedule(() -> runScheduled(scheduledGeneration), nextRunAt);
+  }
+
+  private void cancelLocked() {
+    generation++;
+    if (next != null) {
+      next.cancel(false);
+    }
+    next = null;
+    nextRunAt = null;
+  }
+
+  private Duration jittered(Duration delay) {
+    if (jitter == 0) {
+      return delay;
+    }
+    double factor = 1 + jitter * ThreadLocalRandom.current().nextDouble(-1, 1);
+    return Duration.ofMillis(Math.max(1, Math.round(delay.toMillis() * factor)));
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private List<ToDoItem> findOverdueItems() {
+    return toDoItemRepository
         .findByStatusAndDueDatetimeBefore(Status.NOT_DONE, LocalDateTime.now());
+  }
+
+  private ShardSweep markOverdueItemsOnShard() {
+    List<ToDoItem> overdueItems = findOverdueItems();
+    long lagMillis = 0;
 
     if (overdueItems.isEmpty()) {
       logger.info("No overdue items found.");
     } else {
+      LocalDateTime now = LocalDateTime.now();
+      List<ToDoItem> before = overdueItems.stream().map(ToDoItem::copy).toList();
       for (ToDoItem item : overdueItems) {
         logger.info("Marking item {} as OVERDUE", item.getId());
         item.setStatus(Status.OVERDUE);
+        lagMillis = Math.max(lagMillis,
+            Duration.between(item.getDueDatetime(), now).toMillis());
       }
 
       toDoItemRepository.saveAll(overdueItems);
+      for (int i = 0; i < overdueItems.size(); i++) {
+        eventPublisher.publishEvent(
+            ToDoItemChangedEvent.updated(before.get(i), overdueItems.get(i)));
+      }
       logger.info("Updated {} items to OVERDUE", overdueItems.size());
     }
+    return new ShardSweep(overdueItems.size(), lagMillis);
+  }
 
-    logger.info("Scheduled task completed: overdue items processed.");
+  private record ShardSweep(int rows, long lagMillis) {
   }
 }
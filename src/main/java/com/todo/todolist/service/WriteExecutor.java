@@ -0,0 +1,21 @@
+package com.todo.todolist.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Strategy for running the database part of a write operation.
+ *
+ * <p>Implementations decide how writes are grouped into transactions. Whatever the strategy,
+ * the caller receives the result of its own operation, or the exception it threw.
+ */
+public interface WriteExecutor {
+
+  /**
+   * Run a write operation and wait for its outcome.
+   *
+   * @param operation the operation to run
+   * @param <T>       the result type
+   * @return the result of the operation
+   */
+  <T> T execute(Supplier<T> operation);
+}
@@ -0,0 +1,416 @@
+package com.todo.todolist.stats;
+
+import com.todo.todolist.dto.CompletionStats;
+import com.todo.todolist.dto.DailyStats;
+import com.todo.todolist.dto.DurationSummary;
+import com.todo.todolist.dto.OverdueSummary;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory completion analytics: how long items take from creation to done, how late items
+ * are done, and how long OVERDUE items have been past due.
+ *
+ * <p>Completion times are kept in {@link LogLinearHistogram}s, one over all DONE items and one
+ * per day they were done for the last {@code todo.stats.max-window-days} days, so a rolling
+ * window is the sum of a few day histograms. OVERDUE items are counted per day they were due.
+ * Like the indexes, the statistics are rebuilt from the repository at startup and kept in sync
+ * through committed {@link ToDoItemChangedEvent}s, so marking items done or not done and
+ * overdue sweeps update them as they happen and a request never reads the table.
+ *
+ * <p>The rebuild aggregates the items in parallel on the common fork-join pool. What each item
+ * contributed is remembered by id, so an event for an item the rebuild already saw replaces
+ * its contribution instead of counting it twice.
+ *
+ * <p>Events can arrive out of order, and after a rebuild that already read a newer row. Each
+ * contribution keeps the item version it was taken from, and an event older than it is
+ * ignored. Deleted ids are remembered, up to {@value #MAX_TOMBSTONES} of them, so a late update
+ * cannot count a deleted item again.
+ */
+@Component
+public class CompletionStatistics {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompletionStatistics.class);
+
+  private static final int REBUILD_SLICE = 4096;
+
+  static final int MAX_TOMBSTONES = 10_000;
+
+  private final ToDoItemRepository toDoItemRepository;
+  private final int windowDays;
+  private final int maxWindowDays;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Sample> samples = new HashMap<>();
+  private final Set<Long> deleted = Collections.newSetFromMap(new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+      return size() > MAX_TOMBSTONES;
+    }
+  });
+  private Aggregate aggregate;
+
+  /**
+   * Constructor for CompletionStatistics.
+   *
+   * @param toDoItemRepository the repository used to rebuild the statistics
+   * @param windowDays         the default days of the rolling window
+   * @param maxWindowDays      the most days a window may cover, and the days of completions
+   *                           kept per day
+   */
+  public CompletionStatistics(ToDoItemRepository toDoItemRepository,
+                              @Value("${todo.stats.window-days:30}") int windowDays,
+                              @Value("${todo.stats.max-window-days:90}") int maxWindowDays) {
+    this.toDoItemRepository = toDoItemRepository;
+    this.maxWindowDays = Math.max(1, maxWindowDays);
+    this.windowDays = Math.min(Math.max(1, windowDays), this.maxWindowDays);
+    this.aggregate = new Aggregate(firstKeptDay());
+  }
+
+  /**
+   * Rebuild the statistics from the repository.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      final long started = System.nanoTime();
+      List<ToDoItem> items = toDoItemRepository.findAll();
+      Sample[] rebuilt = new Sample[items.size()];
+      samples.clear();
+      deleted.clear();
+      for (int i = 0; i < rebuilt.length; i++) {
+        rebuilt[i] = Sample.of(items.get(i));
+        samples.put(items.get(i).getId(), rebuilt[i]);
+      }
+      aggregate = ForkJoinPool.commonPool()
+          .invoke(new RebuildTask(rebuilt, 0, rebuilt.length, firstKeptDay()));
+      logger.info("Completion statistics rebuilt from {} items in {} ms", rebuilt.length,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Apply a committed item change to the statistics.
+   *
+   * @param event the change event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ToDoItemChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Long id = event.getItemId();
+      Sample previous = samples.get(id);
+      if (deleted.contains(id) || previous != null && previous.version() > event.getVersion()) {
+        return;
+      }
+      aggregate.forget(firstKeptDay());
+      if (previous != null) {
+        samples.remove(id);
+        aggregate.apply(previous, -1);
+      }
+      if (event.isDeleted()) {
+        deleted.add(id);
+      } else {
+        Sample sample = Sample.of(event.getAfter());
+        samples.put(id, sample);
+        aggregate.apply(sample, 1);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get the statistics, with recent figures over the default window.
+   *
+   * @return the statistics
+   */
+  public CompletionStats getStats() {
+    return getStats(windowDays);
+  }
+
+  /**
+   * Get the statistics, with recent figures over the given number of days up to today.
+   *
+   * @param days the days of the window
+   * @return the statistics
+   * @throws BadRequestException if the window is not between 1 and the maximum window
+   */
+  public CompletionStats getStats(int days) {
+    if (days < 1 || days > maxWindowDays) {
+      throw new BadRequestException("Days must be between 1 and " + maxWindowDays + ".");
+    }
+    LocalDate today = LocalDate.now();
+    LocalDate since = today.minusDays(days - 1L);
+    lock.readLock().lock();
+    try {
+      LogLinearHistogram recent = new LogLinearHistogram();
+      List<DailyStats> daily = new ArrayList<>(days);
+      for (LocalDate day = since; !day.isAfter(today); day = day.plusDays(1)) {
+        DayBucket bucket = aggregate.days.get(day);
+        LogLinearHistogram completions = bucket == null ? null : bucket.completions;
+        if (completions != null) {
+          recent.add(completions);
+        }
+        daily.add(new DailyStats(day,
+            completions == null ? 0 : completions.getTotalCount(),
+            completions == null ? 0 : completions.getValueAtPercentile(50),
+            bucket == null ? 0 : bucket.overdue));
+      }
+      return new CompletionStats(days, since, aggregate.statusCounts(),
+          summarize(aggregate.completion), summarize(recent), summarize(aggregate.lateness),
+          overdueSummary(today), daily);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private OverdueSummary overdueSummary(LocalDate today) {
+    long count = aggregate.overdueCount;
+    if (count == 0) {
+      return new OverdueSummary(0, 0, 0, 0);
+    }
+    long medianRank = (count + 1) / 2;
+    long p90Rank = Math.max(1, (long) Math.ceil(count * 0.9));
+    long p50Days = 0;
+    long p90Days = 0;
+    long maxDays = 0;
+    long seen = 0;
+    // Newest due day first, so ranks count from the least overdue item.
+    for (Map.Entry<LocalDate, DayBucket> entry : aggregate.days.descendingMap().entrySet()) {
+      long overdue = entry.getValue().overdue;
+      if (overdue == 0) {
+        continue;
+      }
+      long days = Math.max(0, ChronoUnit.DAYS.between(entry.getKey(), today));
+      if (seen < medianRank && seen + overdue >= medianRank) {
+        p50Days = days;
+      }
+      if (seen < p90Rank && seen + overdue >= p90Rank) {
+        p90Days = days;
+      }
+      maxDays = days;
+      seen += overdue;
+    }
+    return new OverdueSummary(count, p50Days, p90Days, maxDays);
+  }
+
+  private static DurationSummary summarize(LogLinearHistogram histogram) {
+    return new DurationSummary(histogram.getTotalCount(), Math.round(histogram.getMean()),
+        histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+        histogram.getValueAtPercentile(99), histogram.getMax());
+  }
+
+  private LocalDate firstKeptDay() {
+    return LocalDate.now().minusDays(maxWindowDays - 1L);
+  }
+
+  /**
+   * What one item contributes to the statistics, and the item version it was taken from.
+   */
+  private record Sample(Status status, long completionSeconds, long lateSeconds,
+                        LocalDate doneDay, LocalDate dueDay, long version) {
+
+    static Sample of(ToDoItem item) {
+      LocalDateTime done = item.getDoneDatetime();
+      LocalDateTime due = item.getDueDatetime();
+      boolean completed = item.getStatus() == Status.DONE && done != null;
+      long completion = completed && item.getCreationDatetime() != null
+          ? seconds(item.getCreationDatetime(), done) : -1;
+      long late = completed && due != null && done.isAfter(due) ? seconds(due, done) : -1;
+      return new Sample(item.getStatus(), completion, late,
+          completed ? done.toLocalDate() : null, due == null ? null : due.toLocalDate(),
+          item.getVersion());
+    }
+
+    private static long seconds(LocalDateTime from, LocalDateTime to) {
+      return Math.max(0, Duration.between(from, to).getSeconds());
+    }
+  }
+
+  /**
+   * The figures of one day: completions on that day and OVERDUE items due that day.
+   */
+  private static final class DayBucket {
+    private LogLinearHistogram completions;
+    private long overdue;
+
+    boolean isEmpty() {
+      return (completions == null || completions.isEmpty()) && overdue == 0;
+    }
+  }
+
+  /**
+   * The statistics of a set of items. Completions per day are only kept from
+   * {@code firstKeptDay} on.
+   */
+  private static final class Aggregate {
+    private final long[] statusCounts = new long[Status.values().length];
+    private final LogLinearHistogram completion = new LogLinearHistogram();
+    private final LogLinearHistogram lateness = new LogLinearHistogram();
+    private final NavigableMap<LocalDate, DayBucket> days = new TreeMap<>();
+    private LocalDate firstKeptDay;
+    private long overdueCount;
+
+    Aggregate(LocalDate firstKeptDay) {
+      this.firstKeptDay = firstKeptDay;
+    }
+
+    void apply(Sample sample, int sign) {
+      if (sample.status() != null) {
+        statusCounts[sample.status().ordinal()] += sign;
+      }
+      if (sample.completionSeconds() >= 0) {
+        update(completion, sample.completionSeconds(), sign);
+        if (!sample.doneDay().isBefore(firstKeptDay)) {
+          DayBucket bucket = days.computeIfAbsent(sample.doneDay(), day -> new DayBucket());
+          if (bucket.completions == null) {
+            bucket.completions = new LogLinearHistogram();
+          }
+          update(bucket.completions, sample.completionSeconds(), sign);
+          removeIfEmpty(sample.doneDay(), bucket);
+        }
+      }
+      if (sample.lateSeconds() >= 0) {
+        update(lateness, sample.lateSeconds(), sign);
+      }
+      if (sample.status() == Status.OVERDUE && sample.dueDay() != null) {
+        DayBucket bucket = days.computeIfAbsent(sample.dueDay(), day -> new DayBucket());
+        bucket.overdue += sign;
+        overdueCount += sign;
+        removeIfEmpty(sample.dueDay(), bucket);
+      }
+    }
+
+    /**
+     * Drop the completions of days before a new first kept day. OVERDUE counts are kept, as
+     * those items stay overdue.
+     */
+    void forget(LocalDate newFirstKeptDay) {
+      if (!newFirstKeptDay.isAfter(firstKeptDay)) {
+        return;
+      }
+      firstKeptDay = newFirstKeptDay;
+      Iterator<Map.Entry<LocalDate, DayBucket>> expired =
+          days.headMap(newFirstKeptDay, false).entrySet().iterator();
+      while (expired.hasNext()) {
+        DayBucket bucket = expired.next().getValue();
+        bucket.completions = null;
+        if (bucket.isEmpty()) {
+          expired.remove();
+        }
+      }
+    }
+
+    void merge(Aggregate other) {
+      for (int i = 0; i < statusCounts.length; i++) {
+        statusCounts[i] += other.statusCounts[i];
+      }
+      completion.add(other.completion);
+      lateness.add(other.lateness);
+      overdueCount += other.overdueCount;
+      other.days.forEach((day, theirs) -> {
+        DayBucket ours = days.computeIfAbsent(day, d -> new DayBucket());
+        if (theirs.completions != null) {
+          if (ours.completions == null) {
+            ours.completions = new LogLinearHistogram();
+          }
+          ours.completions.add(theirs.completions);
+        }
+        ours.overdue += theirs.overdue;
+      });
+    }
+
+    Map<Status, Long> statusCounts() {
+      Map<Status, Long> counts = new EnumMap<>(Status.class);
+      for (Status status : Status.values()) {
+        counts.put(status, statusCounts[status.ordinal()]);
+      }
+      return counts;
+    }
+
+    private void removeIfEmpty(LocalDate day, DayBucket bucket) {
+      if (bucket.isEmpty()) {
+        days.remove(day);
+      }
+    }
+
+    private static void update(LogLinearHistogram histogram, long value, int sign) {
+      if (sign > 0) {
+        histogram.record(value);
+      } else {
+        histogram.remove(value);
+      }
+    }
+  }
+
+  /**
+   * Aggregates a slice of the items, splitting it in halves down to {@link #REBUILD_SLICE}.
+   */
+  private static final class RebuildTask extends RecursiveTask<Aggregate> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Sample[] samples;
+    private final int from;
+    private final int to;
+    private final transient LocalDate firstKeptDay;
+
+    RebuildTask(Sample[] samples, int from, int to, LocalDate firstKeptDay) {
+      this.samples = samples;
+      this.from = from;
+      this.to = to;
+      this.firstKeptDay = firstKeptDay;
+    }
+
+    @Override
+    protected Aggregate compute() {
+      if (to - from <= REBUILD_SLICE) {
+        Aggregate aggregate = new Aggregate(firstKeptDay);
+        for (int i = from; i < to; i++) {
+          aggregate.apply(samples[i], 1);
+        }
+        return aggregate;
+      }
+      int middle = (from + to) >>> 1;
+      RebuildTask left = new RebuildTask(samples, from, middle, firstKeptDay);
+      left.fork();
+      Aggregate right = new RebuildTask(samples, middle, to, firstKeptDay).compute();
+      Aggregate aggregate = left.join();
+      aggregate.merge(right);
+      return aggregate;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.todo.todolist.stats;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative long values with two significant decimal digits of precision, laid
+ * out like HdrHistogram.
+ *
+ * <p>Values below 256 have a bucket each. Above that, every power of two is split into 128
+ * equal sub-buckets, so a value is counted in a bucket no wider than 1/128 of it and any
+ * percentile is within 1% of the exact one. Recording is a few shifts and an array increment,
+ * and the bucket array only grows to the highest value recorded; a histogram of durations in
+ * seconds up to ten years needs under 3,000 buckets.
+ *
+ * <p>Unlike HdrHistogram, values can be removed again, so a histogram can follow items that
+ * leave a state. Instances are not thread-safe.
+ */
+public final class LogLinearHistogram {
+
+  private static final int SUB_BUCKET_BITS = 8;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+  private long[] counts = new long[SUB_BUCKET_COUNT];
+  private long totalCount;
+  private long sum;
+
+  /**
+   * Count a value.
+   *
+   * @param value the value, negative values being counted as 0
+   */
+  public void record(long value) {
+    update(value, 1);
+  }
+
+  /**
+   * Remove a value counted before.
+   *
+   * @param value the value, as it was recorded
+   */
+  public void remove(long value) {
+    update(value, -1);
+  }
+
+  /**
+   * Add all counts of another histogram to this one.
+   *
+   * @param other the histogram to add
+   */
+  public void add(LogLinearHistogram other) {
+    if (other.counts.length > counts.length) {
+      counts = Arrays.copyOf(counts, other.counts.length);
+    }
+    for (int i = 0; i < other.counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    totalCount += other.totalCount;
+    sum += other.sum;
+  }
+
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  public boolean isEmpty() {
+    return totalCount == 0;
+  }
+
+  /**
+   * The mean of the values, exact rather than bucketed.
+   *
+   * @return the mean, or 0 if the histogram is empty
+   */
+  public double getMean() {
+    return totalCount == 0 ? 0 : (double) sum / totalCount;
+  }
+
+  /**
+   * The value below or at which the given percentage of values fall.
+   *
+   * @param percentile the percentage, from 0 to 100
+   * @return the highest value of the bucket holding the percentile, or 0 if the histogram is
+   *         empty
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+    double bounded = Math.min(Math.max(percentile, 0), 100);
+    long rank = Math.max(1, (long) Math.ceil(bounded / 100 * totalCount));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return highestEquivalentValue(i);
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * The highest value counted, to the precision of its bucket.
+   *
+   * @return the highest value of the highest non-empty bucket, or 0 if the histogram is empty
+   */
+  public long getMax() {
+    for (int i = counts.length - 1; i >= 0; i--) {
+      if (counts[i] > 0) {
+        return highestEquivalentValue(i);
+      }
+    }
+    return 0;
+  }
+
+  private void update(long value, int count) {
+    long bounded = Math.max(0, value);
+    int index = indexOf(bounded);
+    if (count < 0 && (index >= counts.length || counts[index] == 0)) {
+      return;
+    }
+    if (index >= counts.length) {
+      counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKET_HALF));
+    }
+    counts[index] += count;
+    totalCount += count;
+    sum += count * bounded;
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    int subBucket = (int) (value >>> shift);
+    return (shift + 1) * SUB_BUCKET_HALF + subBucket - SUB_BUCKET_HALF;
+  }
+
+  static long lowestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_HALF - 1;
+    long subBucket = index % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+    return subBucket << shift;
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_HALF - 1;
+    return lowestEquivalentValue(index) + (1L << shift) - 1;
+  }
+}
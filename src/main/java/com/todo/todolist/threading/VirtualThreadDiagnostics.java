@@ -0,0 +1,118 @@
+package com.todo.todolist.threading;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports on virtual threads once {@code spring.threads.virtual.enabled=true}.
+ *
+ * <p>On startup it checks that the runtime actually supports virtual threads; on older Java
+ * versions Spring Boot silently keeps platform threads, which is logged as a warning. When
+ * virtual threads are in use, a JFR stream watches for {@code jdk.VirtualThreadPinned} events:
+ * every virtual thread that blocks while pinned to its carrier for longer than
+ * {@code todo.threads.pinned-threshold-ms} is counted in {@code todo.threads.pinned} and logged
+ * with the innermost application frame it was pinned in.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadDiagnostics implements DisposableBean {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final String APPLICATION_PACKAGE = "com.todo.todolist.";
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+  private final Environment environment;
+  private final Duration threshold;
+  private final Counter pinned;
+  private RecordingStream stream;
+
+  /**
+   * Constructor for VirtualThreadDiagnostics.
+   *
+   * @param environment       the environment telling whether virtual threads are enabled
+   * @param meterRegistry     registry for the pinning counter
+   * @param thresholdMillis   the shortest pinned block that is reported
+   */
+  public VirtualThreadDiagnostics(Environment environment,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${todo.threads.pinned-threshold-ms:20}")
+                                  long thresholdMillis) {
+    this.environment = environment;
+    this.threshold = Duration.ofMillis(thresholdMillis);
+    this.pinned = Counter.builder("todo.threads.pinned")
+        .description("Virtual threads that blocked while pinned to their carrier thread")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Check the runtime and start watching for pinned virtual threads.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (!Threading.VIRTUAL.isActive(environment)) {
+      logger.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+          + "requests and scheduled tasks keep running on platform threads. "
+          + "Use Java 21 or later.", Runtime.version().feature());
+      return;
+    }
+    if (stream != null) {
+      return;
+    }
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::onPinned);
+    stream.startAsync();
+    logger.info("Running on virtual threads, reporting pins longer than {} ms",
+        threshold.toMillis());
+  }
+
+  /**
+   * Whether pinned virtual threads are being watched.
+   *
+   * @return true once the JFR stream has started
+   */
+  public synchronized boolean isWatching() {
+    return stream != null;
+  }
+
+  @Override
+  public synchronized void destroy() {
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinned.increment();
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    String location = "unknown frame";
+    if (stackTrace != null && !stackTrace.getFrames().isEmpty()) {
+      RecordedFrame pinnedIn = stackTrace.getFrames().stream()
+          .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+          .findFirst()
+          .orElse(stackTrace.getFrames().get(0));
+      location = pinnedIn.getMethod().getType().getName() + "." + pinnedIn.getMethod().getName()
+          + ":" + pinnedIn.getLineNumber();
+    }
+    logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+        location);
+  }
+}
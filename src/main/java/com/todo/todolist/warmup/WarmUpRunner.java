@@ -0,0 +1,413 @@
+package com.todo.todolist.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.datasource.Shards;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.service.ToDoService;
+import com.todo.todolist.service.ToDoStatusScheduler;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Warms the application up before it reports itself ready for traffic.
+ *
+ * <p>Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} once every
+ * {@link ApplicationReadyEvent} listener has returned, so this listener holds readiness back
+ * while it:
+ *
+ * <ol>
+ *   <li>opens {@code todo.warmup.connections} connections at once on every shard, so the pools
+ *       are filled before the first request needs one;</li>
+ *   <li>creates {@code todo.warmup.items} throwaway items through the service and runs
+ *       {@code todo.warmup.iterations} rounds of status toggles, patches, creates and deletes
+ *       on them, inside one transaction per shard that is rolled back: nothing is committed
+ *       and no change events reach the indexes and caches;</li>
+ *   <li>sends {@code todo.warmup.iterations} rounds of the API's read mix, and writes the API
+ *       rejects before touching the database, over {@code todo.warmup.concurrency}
+ *       connections, so the controller, service and repository paths are compiled by the JIT
+ *       with realistic profiles;</li>
+ *   <li>runs a dry overdue sweep, which changes nothing;</li>
+ *   <li>reads the real lists once in every encoding, which leaves them in the list cache.</li>
+ * </ol>
+ *
+ * <p>Everything runs within {@code todo.warmup.budget}. When the budget runs out, the remaining
+ * steps are skipped and the application reports ready anyway: a slow warm-up must not keep a
+ * healthy instance out of rotation. Requests are sent to the local server, so nothing is sent
+ * in a test without one.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner {
+
+  static final String DESCRIPTION_PREFIX = "Warm-up item ";
+
+  private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+  private final DataSource dataSource;
+  private final Shards shards;
+  private final ToDoService toDoService;
+  private final ToDoStatusScheduler toDoStatusScheduler;
+  private final TransactionTemplate rolledBackTransaction;
+  private final ObjectMapper objectMapper;
+  private final Duration budget;
+  private final int items;
+  private final int iterations;
+  private final int concurrency;
+  private final int connections;
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(REQUEST_TIMEOUT)
+      .build();
+  private volatile WarmUpResult lastResult;
+
+  /**
+   * Constructor for WarmUpRunner.
+   *
+   * @param dataSource          the data source whose pools are filled
+   * @param shards              the shards to fill pools on and run the write rounds on
+   * @param toDoService         the service the write rounds go through
+   * @param toDoStatusScheduler the scheduler whose sweep is dry-run
+   * @param transactionManager  the transaction manager for the rolled-back write rounds
+   * @param objectMapper        mapper for reading lists and building patches
+   * @param budget              the longest readiness is held back
+   * @param items               the size of the throwaway dataset
+   * @param iterations          the rounds of writes and of the request mix
+   * @param concurrency         the connections the request rounds are spread over
+   * @param connections         the connections opened at once per shard
+   */
+  public WarmUpRunner(DataSource dataSource,
+                      Shards shards,
+                      ToDoService toDoService,
+                      ToDoStatusScheduler toDoStatusScheduler,
+                      PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper,
+                      @Value("${todo.warmup.budget:PT30S}") Duration budget,
+                      @Value("${todo.warmup.items:20}") int items,
+                      @Value("${todo.warmup.iterations:200}") int iterations,
+                      @Value("${todo.warmup.concurrency:4}") int concurrency,
+                      @Value("${todo.warmup.connections:10}") int connections) {
+    this.dataSource = dataSource;
+    this.shards = shards;
+    this.toDoService = toDoService;
+    this.toDoStatusScheduler = toDoStatusScheduler;
+    this.rolledBackTransaction = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.budget = budget;
+    this.items = Math.max(1, items);
+    this.iterations = Math.max(0, iterations);
+    this.concurrency = Math.max(1, concurrency);
+    this.connections = Math.max(1, connections);
+  }
+
+  /**
+   * Warm up once the application has started, before readiness is reported.
+   *
+   * @param event the ready event
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp(ApplicationReadyEvent event) {
+    int port = event.getApplicationContext() instanceof WebServerApplicationContext context
+        && context.getWebServer() != null ? context.getWebServer().getPort() : -1;
+    WarmUpResult result = run(port);
+    lastResult = result;
+    if (result.completed()) {
+      logger.info("Warm-up completed in {} ms with {} write rounds, {} requests ({} failed), "
+          + "{} items overdue", result.elapsed().toMillis(), result.writes(), result.requests(),
+          result.failures(), result.overdue());
+    } else {
+      logger.warn("Warm-up stopped after its budget of {} ms with {} write rounds, {} requests "
+          + "({} failed); reporting ready anyway", budget.toMillis(), result.writes(),
+          result.requests(), result.failures());
+    }
+  }
+
+  /**
+   * The outcome of the last warm-up.
+   *
+   * @return the result, or null before the first warm-up has finished
+   */
+  public WarmUpResult lastResult() {
+    return lastResult;
+  }
+
+  WarmUpResult run(int port) {
+    long start = System.nanoTime();
+    long deadline = start + budget.toNanos();
+    Requests requests = new Requests(port < 0 ? null : "http://localhost:" + port + "/api/todos");
+    int writes = 0;
+    int overdue = -1;
+    boolean completed = false;
+    try {
+      fillConnectionPools(deadline);
+      if (before(deadline)) {
+        writes = exerciseWrites(deadline);
+      }
+      if (requests.base != null && before(deadline)) {
+        exerciseReads(requests, deadline);
+      }
+      if (before(deadline)) {
+        overdue = toDoStatusScheduler.dryRun();
+      }
+      if (requests.base != null && before(deadline)) {
+        fillListCache(requests);
+      }
+      completed = before(deadline);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException ex) {
+      logger.warn("Warm-up failed", ex);
+    }
+    return new WarmUpResult(completed, Duration.ofNanos(System.nanoTime() - start), writes,
+        requests.sent.get(), requests.failed.get(), overdue);
+  }
+
+  private void fillConnectionPools(long deadline) {
+    shards.onEachShard(shard -> {
+      List<Connection> open = new ArrayList<>(connections);
+      try {
+        while (open.size() < connections && before(deadline)) {
+          open.add(dataSource.getConnection());
+        }
+      } catch (SQLException ex) {
+        logger.warn("Could not open connection {} on shard {} during warm-up", open.size() + 1,
+            shard, ex);
+      } finally {
+        for (Connection connection : open) {
+          try {
+            connection.close();
+          } catch (SQLException ex) {
+            logger.debug("Could not return a warm-up connection", ex);
+          }
+        }
+      }
+      return open.size();
+    });
+  }
+
+  private int exerciseWrites(long deadline) {
+    return shards.onEachShard(shard -> rolledBackTransaction.execute(status -> {
+      status.setRollbackOnly();
+      return writeRounds(deadline);
+    })).stream()
+        .mapToInt(Integer::intValue)
+        .sum();
+  }
+
+  /**
+   * Create the throwaway dataset and run the write rounds on it. Must run inside the
+   * rolled-back transaction; the service joins it instead of committing each write.
+   */
+  private int writeRounds(long deadline) {
+    LocalDateTime due = LocalDateTime.now().plusYears(1).withNano(0);
+    List<Long> ids = new ArrayList<>(items);
+    for (int i = 0; i < items && before(deadline); i++) {
+      ids.add(toDoService.createItem(throwaway(due.plusMinutes(i), "dataset-" + i)).getId());
+    }
+    int round = 0;
+    for (; round < iterations && !ids.isEmpty() && before(deadline); round++) {
+      Long id = ids.get(round % ids.size());
+      toDoService.markAsDone(id);
+      toDoService.markAsNotDone(id);
+      ObjectNode patch = objectMapper.createObjectNode();
+      patch.putArray("tags").add("warm-up").add("round-" + round % 4);
+      toDoService.patchItem(id, ToDoItemPatch.fromJson(patch));
+
+      ToDoItem extra = toDoService.createItem(
+          throwaway(due.plusYears(1).plusSeconds(round), "round-" + round));
+      toDoService.deleteItem(extra.getId());
+    }
+    return round;
+  }
+
+  private static ToDoItem throwaway(LocalDateTime due, String name) {
+    ToDoItem item = new ToDoItem();
+    item.setDescription(DESCRIPTION_PREFIX + name);
+    item.setDueDatetime(due);
+    item.setTags(List.of("warm-up"));
+    return item;
+  }
+
+  private void exerciseReads(Requests requests, long deadline) throws InterruptedException {
+    if (iterations == 0) {
+      return;
+    }
+    Long id = requests.firstId();
+    AtomicInteger round = new AtomicInteger();
+    List<Callable<Void>> workers = new ArrayList<>(concurrency);
+    for (int w = 0; w < concurrency; w++) {
+      workers.add(() -> {
+        for (int r = round.getAndIncrement(); r < iterations && before(deadline);
+             r = round.getAndIncrement()) {
+          requests.round(id);
+        }
+        return null;
+      });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+      Thread thread = new Thread(runnable, "todo-warmup");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      executor.invokeAll(workers, Math.max(0, deadline - System.nanoTime()),
+          TimeUnit.NANOSECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void fillListCache(Requests requests) throws InterruptedException {
+    requests.get("", "application/json", "identity");
+    requests.get("", "application/json", "gzip");
+    requests.get("", "application/json", "deflate");
+    requests.get("", ToDoBinaryCodec.MEDIA_TYPE_VALUE, "identity");
+  }
+
+  private static boolean before(long deadline) {
+    return System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted();
+  }
+
+  /**
+   * The outcome of a warm-up.
+   *
+   * @param completed whether every step ran within the budget
+   * @param elapsed   how long readiness was held back
+   * @param writes    the rounds of rolled-back writes, summed over the shards
+   * @param requests  the requests sent to the API
+   * @param failures  the requests that failed or were not answered with the expected status
+   * @param overdue   the items the dry sweep found overdue, or -1 if it did not run
+   */
+  public record WarmUpResult(boolean completed, Duration elapsed, int writes, int requests,
+                             int failures, int overdue) {
+  }
+
+  /**
+   * The request mix, sent to the local server.
+   */
+  private final class Requests {
+
+    private final String base;
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private Requests(String base) {
+      this.base = base;
+    }
+
+    /**
+     * One round: the list reads in each encoding, a status, tag and fields filter, the
+     * upcoming items, one item read and one missing, and a create and a patch the API rejects
+     * as invalid before they reach the database.
+     */
+    private void round(Long id) throws InterruptedException {
+      get("", "application/json", "gzip");
+      get("", ToDoBinaryCodec.MEDIA_TYPE_VALUE, "identity");
+      get("?status=not_done", "application/json", "identity");
+      get("?tags=warm-up", "application/json", "identity");
+      get("?fields=id,status,dueDatetime", "application/json", "identity");
+      get("/upcoming?limit=10", "application/json", "identity");
+      if (id != null) {
+        get("/" + id, "application/json", "identity");
+      }
+      exchange(HttpRequest.newBuilder(uri("/0")).GET(), HttpStatus.NOT_FOUND);
+      exchange(HttpRequest.newBuilder(uri(""))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"\"}")),
+          HttpStatus.BAD_REQUEST);
+      exchange(HttpRequest.newBuilder(uri("/" + (id == null ? 0 : id)))
+          .header("Content-Type", "application/merge-patch+json")
+          .method("PATCH", HttpRequest.BodyPublishers.ofString(
+              "{\"dueDatetime\":\"2000-01-01T00:00:00\"}")), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * The id of the first real item, so its read path can be warmed up too.
+     */
+    private Long firstId() throws InterruptedException {
+      HttpResponse<byte[]> response = exchange(HttpRequest.newBuilder(uri(""))
+          .header("Accept", "application/json")
+          .GET(), null);
+      if (response == null) {
+        return null;
+      }
+      try {
+        JsonNode first = objectMapper.readTree(response.body()).path(0);
+        return first.hasNonNull("id") ? first.get("id").asLong() : null;
+      } catch (IOException ex) {
+        failed.incrementAndGet();
+        return null;
+      }
+    }
+
+    private void get(String path, String accept, String acceptEncoding)
+        throws InterruptedException {
+      exchange(HttpRequest.newBuilder(uri(path))
+          .header("Accept", accept)
+          .header("Accept-Encoding", acceptEncoding)
+          .GET(), null);
+    }
+
+    /**
+     * Send a request and check its status.
+     *
+     * @param expected the expected status, or null for any 2xx status
+     * @return the response, or null if it failed or had another status
+     */
+    private HttpResponse<byte[]> exchange(HttpRequest.Builder request, HttpStatus expected)
+        throws InterruptedException {
+      sent.incrementAndGet();
+      try {
+        HttpResponse<byte[]> response = client.send(request.timeout(REQUEST_TIMEOUT).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        if (expected == null ? response.statusCode() / 100 == 2
+            : response.statusCode() == expected.value()) {
+          return response;
+        }
+        logger.debug("Warm-up request {} answered {}", response.request().uri(),
+            response.statusCode());
+      } catch (IOException ex) {
+        logger.debug("Warm-up request failed", ex);
+      }
+      failed.incrementAndGet();
+      return null;
+    }
+
+    private URI uri(String path) {
+      return URI.create(base + path);
+    }
+  }
+}
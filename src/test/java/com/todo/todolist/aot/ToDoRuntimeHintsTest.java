@@ -0,0 +1,59 @@
+package com.todo.todolist.aot;
+
+import com.todo.todolist.controller.ToDoController;
+import com.todo.todolist.datasource.ShardedSequence;
+import com.todo.todolist.datasource.ShardedSequenceGenerator;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToDoRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new ToDoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testApiTypesAreBindable() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ToDoItem.class.getMethod("getDescription")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class.getMethod("getMessage")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(BatchResponse.class.getMethod("getResults")))
+                .accepts(hints);
+    }
+
+    @Test
+    void testEntitiesAndIdGeneratorAreReflective() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onField(ToDoItem.class.getDeclaredField("tags")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ArchivedToDoItem.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(
+                ShardedSequenceGenerator.class.getConstructor(ShardedSequence.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ShardedSequence.class)).accepts(hints);
+    }
+
+    @Test
+    void testSpringdocCanReadControllersAndServeSwaggerUi() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(
+                ToDoController.class.getMethod("getItemById", Long.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource(
+                "META-INF/resources/webjars/swagger-ui/5.18.2/swagger-ui-bundle.js")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource(
+                "META-INF/maven/org.webjars/swagger-ui/pom.properties")).accepts(hints);
+    }
+}
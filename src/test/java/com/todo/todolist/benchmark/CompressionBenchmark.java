@@ -0,0 +1,132 @@
+package com.todo.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.compression.ContentCoding;
+import com.todo.todolist.compression.ResponseCompressor;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures what compressing {@code GET /api/todos} responses saves on the wire and what it
+ * costs in CPU, for typical list sizes and each zlib level.
+ *
+ * <p>For every list size the JSON body is encoded once, as the list cache does, and then
+ * compressed repeatedly with the pooled {@link ResponseCompressor}, gzip and deflate, and with
+ * a fresh {@link GZIPOutputStream} per body for comparison. Times are CPU microseconds of the
+ * benchmark thread per body, measured after a warm-up pass. Bodies below the configured
+ * {@code todo.compression.min-size} are sent uncompressed by the application.
+ *
+ * <p>Run with
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.todo.todolist.benchmark.CompressionBenchmark
+ * -Dexec.args="<iterations> <level>..."} (defaults 200 and levels 1, 6 and 9).
+ */
+public final class CompressionBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final int[] LIST_SIZES = {5, 50, 500, 5000};
+
+    private static volatile Object sink;
+
+    private CompressionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int[] levels = args.length > 1 ? new int[args.length - 1] : new int[] {1, 6, 9};
+        for (int i = 1; i < args.length; i++) {
+            levels[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ToDoJsonCodec codec = new ToDoJsonCodec(objectMapper);
+
+        System.out.printf("%nJava %d, %d iterations per measurement%n", Runtime.version().feature(), iterations);
+        System.out.printf("%-6s %6s %10s %10s %10s %7s %12s %12s %12s %12s%n", "level", "items",
+                "json B", "gzip B", "deflate B", "ratio", "encode us", "gzip us", "deflate us", "stream us");
+        for (int level : levels) {
+            ResponseCompressor compressor = new ResponseCompressor(
+                    true, List.of("gzip", "deflate"), level, 0, 4);
+            for (int size : LIST_SIZES) {
+                List<ToDoItem> items = items(size);
+                byte[] json = codec.encode(items);
+                byte[] gzip = compressor.compress(json, ContentCoding.GZIP);
+                byte[] deflate = compressor.compress(json, ContentCoding.DEFLATE);
+                System.out.printf("%-6d %6d %10d %10d %10d %6.1fx %12.1f %12.1f %12.1f %12.1f%n",
+                        level, size, json.length, gzip.length, deflate.length,
+                        (double) json.length / gzip.length,
+                        measure(iterations, () -> codec.encode(items)),
+                        measure(iterations, () -> compressor.compress(json, ContentCoding.GZIP)),
+                        measure(iterations, () -> compressor.compress(json, ContentCoding.DEFLATE)),
+                        measure(iterations, () -> gzipStream(json, level)));
+            }
+            compressor.close();
+        }
+    }
+
+    private static List<ToDoItem> items(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 8, 10, 18, 0);
+        String[][] tags = {{}, {"home"}, {"home", "urgent"}, {"work", "errands", "later"}};
+        String[] descriptions = {"Buy groceries", "Pay the electricity bill", "Call the dentist",
+            "Renew passport before the trip", "Pick up the laundry"};
+        List<ToDoItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ToDoItem item = new ToDoItem();
+            item.setId(1_000L + i);
+            item.setDescription(descriptions[i % descriptions.length] + " #" + i);
+            item.setStatus(Status.values()[i % 3]);
+            item.setCreationDatetime(now.minusDays(i % 30).withNano(44_210_000 + i * 1_000));
+            item.setDueDatetime(now.plusHours(i));
+            if (item.getStatus() == Status.DONE) {
+                item.setDoneDatetime(now.minusHours(i % 48));
+            }
+            item.setTags(Set.of(tags[i % tags.length]));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static double measure(int iterations, Task task) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            sink = task.run();
+        }
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = task.run();
+        }
+        return (THREADS.getCurrentThreadCpuTime() - start) / 1_000.0 / iterations;
+    }
+
+    private static byte[] gzipStream(byte[] body, int level) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Object run() throws Exception;
+    }
+}
@@ -0,0 +1,207 @@
+package com.todo.todolist.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares how fast the packaged application starts and answers its first request as a plain
+ * jar, with the class data sharing archive of the {@code cds} profile, and as the native
+ * executable of the {@code native} profile.
+ *
+ * <p>Each mode is started several times on a free port. A run records the startup time the
+ * application logs, the time from launching the process until
+ * {@code /actuator/health/readiness} answers, which includes the warm-up, the latency of the
+ * first and second {@code GET /api/todos}, and the resident memory once ready where
+ * {@code /proc} is available. Medians are printed.
+ *
+ * <p>Build the artifacts first, for example with {@code mvn -B -Pcds -DskipTests package} and
+ * {@code mvn -B -Pnative -DskipTests package}; modes whose artifacts are missing are skipped.
+ * Run with
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.todo.todolist.benchmark.StartupBenchmark -Dexec.args="<runs>"}
+ * (default 5). Further arguments of the form {@code name=command} replace the detected modes,
+ * such as {@code "aot=java -Dspring.aot.enabled=true -jar target/todo-list-0.0.1-SNAPSHOT.jar"}.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final Path TARGET = Paths.get("target");
+    private static final String JAR = "todo-list-0.0.1-SNAPSHOT.jar";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Map<String, List<String>> modes = modes(Arrays.copyOfRange(args, Math.min(1, args.length), args.length));
+        if (modes.isEmpty()) {
+            System.out.println("Nothing to compare: package the application first.");
+            return;
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<Run> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(run(mode.getValue()));
+            }
+            results.add(Result.of(mode.getKey(), samples));
+        }
+
+        System.out.printf("%n%d runs per mode, medians%n", runs);
+        System.out.printf("%-10s %12s %12s %14s %15s %10s%n",
+                "mode", "started s", "ready ms", "1st request ms", "2nd request ms", "RSS MB");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.2f %12.0f %14.1f %15.1f %10s%n",
+                    result.mode, result.startedSeconds, result.readyMillis, result.firstMillis,
+                    result.secondMillis, result.rssMegabytes < 0 ? "-" : String.format("%.0f", result.rssMegabytes));
+        }
+    }
+
+    private static Map<String, List<String>> modes(String[] definitions) {
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        if (definitions.length > 0) {
+            for (String definition : definitions) {
+                int split = definition.indexOf('=');
+                modes.put(definition.substring(0, split), List.of(definition.substring(split + 1).trim().split("\\s+")));
+            }
+            return modes;
+        }
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        if (Files.exists(TARGET.resolve(JAR))) {
+            modes.put("jar", List.of(java, "-jar", TARGET.resolve(JAR).toString()));
+        }
+        Path cds = TARGET.resolve("cds");
+        if (Files.exists(cds.resolve("todo-list.jsa"))) {
+            modes.put("cds", List.of(java, "-XX:SharedArchiveFile=" + cds.resolve("todo-list.jsa"),
+                    "-jar", cds.resolve(JAR).toString()));
+        }
+        File executable = TARGET.resolve("todo-list").toFile();
+        if (executable.canExecute()) {
+            modes.put("native", List.of(executable.getPath()));
+        }
+        return modes;
+    }
+
+    private static Run run(List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--spring.devtools.restart.enabled=false");
+        Path log = Files.createTempFile("startup-", ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String base = "http://localhost:" + port;
+            while (status(base + "/actuator/health/readiness") != 200) {
+                if (!process.isAlive() || System.nanoTime() - start > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Application did not start, see " + log);
+                }
+                Thread.sleep(5);
+            }
+            double readyMillis = (System.nanoTime() - start) / 1e6;
+            double firstMillis = timed(base + "/api/todos");
+            double secondMillis = timed(base + "/api/todos");
+            double rss = residentMegabytes(process.pid());
+
+            Matcher started = STARTED.matcher(Files.readString(log));
+            double startedSeconds = started.find() ? Double.parseDouble(started.group(1)) : Double.NaN;
+            return new Run(startedSeconds, readyMillis, firstMillis, secondMillis, rss);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static int status(String url) throws InterruptedException {
+        try {
+            return CLIENT.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    private static double timed(String url) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = CLIENT.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        double millis = (System.nanoTime() - start) / 1e6;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " answered " + response.statusCode());
+        }
+        return millis;
+    }
+
+    private static double residentMegabytes(long pid) {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Run(double startedSeconds, double readyMillis, double firstMillis, double secondMillis,
+                       double rssMegabytes) {
+    }
+
+    private record Result(String mode, double startedSeconds, double readyMillis, double firstMillis,
+                          double secondMillis, double rssMegabytes) {
+
+        static Result of(String mode, List<Run> runs) {
+            return new Result(mode,
+                    median(runs.stream().mapToDouble(Run::startedSeconds).toArray()),
+                    median(runs.stream().mapToDouble(Run::readyMillis).toArray()),
+                    median(runs.stream().mapToDouble(Run::firstMillis).toArray()),
+                    median(runs.stream().mapToDouble(Run::secondMillis).toArray()),
+                    median(runs.stream().mapToDouble(Run::rssMegabytes).toArray()));
+        }
+
+        private static double median(double[] values) {
+            Arrays.sort(values);
+            return values[values.length / 2];
+        }
+    }
+}
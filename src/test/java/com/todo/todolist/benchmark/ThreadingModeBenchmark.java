@@ -0,0 +1,203 @@
+package com.todo.todolist.benchmark;
+
+import com.todo.todolist.TodoListApplication;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the platform-thread default against the {@code virtual-threads} profile on the same
+ * machine.
+ *
+ * <p>Each mode starts the application on a random port with its own in-memory database, seeds
+ * items, and then drives it with a fixed number of concurrent clients: four in five requests
+ * read an item by id, the rest create one. Reads bypass the projection and the list cache, and
+ * every SQL statement is delayed by a simulated database round trip, so request threads spend
+ * their time blocked on JDBC as they would against a remote database.
+ *
+ * <p>Run with
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.todo.todolist.benchmark.ThreadingModeBenchmark
+ * -Dexec.args="<clients> <seconds> <db-latency-ms>"} (defaults 400, 20 and 5). Virtual
+ * threads need Java 21 or later; on older runtimes both modes run on platform threads.
+ */
+public final class ThreadingModeBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final int SEED_ITEMS = 500;
+
+    private static volatile long dbLatencyMillis;
+
+    private ThreadingModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        dbLatencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 5;
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", null, clients, seconds));
+        results.add(run("virtual", "virtual-threads", clients, seconds));
+
+        System.out.printf("%nJava %d, %d clients, %d s per mode, %d ms per statement%n",
+                Runtime.version().feature(), clients, seconds, dbLatencyMillis);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s %12s%n",
+                "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors", "peak threads");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d %12d%n",
+                    result.mode, result.throughput, result.p50, result.p99, result.max,
+                    result.errors, result.peakThreads);
+        }
+    }
+
+    private static Result run(String mode, String profile, int clients, int seconds) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TodoListApplication.class);
+        if (profile != null) {
+            builder.profiles(profile);
+        }
+
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_" + mode + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SimulatedLatency.class.getName(),
+                "--spring.h2.console.enabled=false",
+                "--logging.level.com.todo.todolist=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--todo.projection.enabled=false",
+                "--todo.cache.list.enabled=false",
+                "--todo.archive.enabled=false")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/todos";
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < SEED_ITEMS; i++) {
+                ids.add(create(client, base, mode + "-seed-" + i));
+            }
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            AtomicLong errors = new AtomicLong();
+            AtomicLong created = new AtomicLong();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            List<Future<long[]>> futures = new ArrayList<>();
+            long started = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> drive(client, base, mode, ids, deadline, created, errors)));
+            }
+
+            List<long[]> latencies = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+            long elapsed = System.nanoTime() - started;
+            pool.shutdown();
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(mode, all.length * 1e9 / elapsed, percentile(all, 0.50),
+                    percentile(all, 0.99), percentile(all, 1.0), errors.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    private static long[] drive(HttpClient client, String base, String mode, List<Long> ids,
+                                long deadline, AtomicLong created, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = random.nextInt(5) == 0
+                    ? createRequest(base, mode + "-" + created.incrementAndGet())
+                    : HttpRequest.newBuilder(URI.create(base + "/" + ids.get(random.nextInt(ids.size()))))
+                            .timeout(Duration.ofSeconds(30)).GET().build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception ex) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long create(HttpClient client, String base, String description) throws Exception {
+        HttpResponse<String> response = client.send(createRequest(base, description),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ID.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static HttpRequest createRequest(String base, String description) {
+        String body = "{\"description\":\"" + description + "\",\"dueDatetime\":\"2099-01-01T10:00:00\"}";
+        return HttpRequest.newBuilder(URI.create(base))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Delays every statement as if the database were a network round trip away.
+     */
+    public static final class SimulatedLatency implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            if (dbLatencyMillis > 0) {
+                try {
+                    Thread.sleep(dbLatencyMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+
+    private record Result(String mode, double throughput, double p50, double p99, double max,
+                          long errors, int peakThreads) {
+    }
+}
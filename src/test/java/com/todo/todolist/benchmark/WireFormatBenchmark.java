@@ -0,0 +1,122 @@
+package com.todo.todolist.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON against {@code application/vnd.todo.binary} for a list response: bytes on the
+ * wire, plain and gzip-compressed, and the CPU time spent encoding and decoding it.
+ *
+ * <p>JSON is encoded with {@link ToDoJsonCodec}, as the list endpoint does, and decoded with
+ * Jackson, as a Java client would. Times are CPU nanoseconds of the benchmark thread per item,
+ * measured after a warm-up pass.
+ *
+ * <p>Run with
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.todo.todolist.benchmark.WireFormatBenchmark
+ * -Dexec.args="<items> <iterations>"} (defaults 1000 and 2000).
+ */
+public final class WireFormatBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    private WireFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ToDoJsonCodec jsonCodec = new ToDoJsonCodec(objectMapper);
+        List<ToDoItem> items = items(itemCount);
+        byte[] json = jsonCodec.encode(items);
+        byte[] binary = ToDoBinaryCodec.encode(items);
+
+        List<Result> results = new ArrayList<>();
+        results.add(new Result("json", json.length, gzip(json).length,
+                measure(iterations, itemCount, () -> jsonCodec.encode(items)),
+                measure(iterations, itemCount, () -> objectMapper.readValue(json, ToDoItem[].class))));
+        results.add(new Result("binary", binary.length, gzip(binary).length,
+                measure(iterations, itemCount, () -> ToDoBinaryCodec.encode(items)),
+                measure(iterations, itemCount, () -> ToDoBinaryCodec.decodeItems(binary))));
+
+        System.out.printf("%nJava %d, %d items per list, %d iterations%n",
+                Runtime.version().feature(), itemCount, iterations);
+        System.out.printf("%-8s %10s %10s %12s %12s %16s %16s%n",
+                "format", "bytes", "gzip", "bytes/item", "gzip/item", "encode ns/item", "decode ns/item");
+        for (Result result : results) {
+            System.out.printf("%-8s %10d %10d %12.1f %12.1f %16.1f %16.1f%n",
+                    result.format, result.bytes, result.gzipBytes,
+                    (double) result.bytes / itemCount, (double) result.gzipBytes / itemCount,
+                    result.encodeNanos, result.decodeNanos);
+        }
+    }
+
+    private static List<ToDoItem> items(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 8, 10, 18, 0);
+        String[][] tags = {{}, {"home"}, {"home", "urgent"}, {"work", "errands", "later"}};
+        List<ToDoItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ToDoItem item = new ToDoItem();
+            item.setId(1_000L + i);
+            item.setDescription("Task " + i + " buy groceries and pick up the laundry");
+            item.setStatus(Status.values()[i % 3]);
+            item.setCreationDatetime(now.minusDays(i % 30).withNano(44_210_000 + i));
+            item.setDueDatetime(now.plusHours(i));
+            if (item.getStatus() == Status.DONE) {
+                item.setDoneDatetime(now.minusHours(i % 48));
+            }
+            item.setTags(Set.of(tags[i % tags.length]));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static double measure(int iterations, int itemCount, Task task) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            sink = task.run();
+        }
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = task.run();
+        }
+        return (double) (THREADS.getCurrentThreadCpuTime() - start) / iterations / itemCount;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Object run() throws Exception;
+    }
+
+    private record Result(String format, int bytes, int gzipBytes, double encodeNanos, double decodeNanos) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.dto.CalendarDay;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.DueDayCount;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarCacheTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2030, 6, 1);
+    private static final LocalDate JUNE_30 = LocalDate.of(2030, 6, 30);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<DueDayCount> rows = new ArrayList<>();
+
+    @Test
+    void testCachedRangeIsNotLoadedAgain() {
+        CalendarCache cache = new CalendarCache(true, 1000);
+        rows.add(new DueDayCount(JUNE_1.plusDays(9), Status.NOT_DONE, 2));
+        rows.add(new DueDayCount(JUNE_1.plusDays(9), Status.DONE, 1));
+
+        List<CalendarDay> first = cache.get(JUNE_1, JUNE_30, this::load);
+        List<CalendarDay> second = cache.get(JUNE_1.plusDays(5), JUNE_1.plusDays(15), this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(first).singleElement().satisfies(day -> {
+            assertThat(day.getDate()).isEqualTo(JUNE_1.plusDays(9));
+            assertThat(day.getTotal()).isEqualTo(3);
+            assertThat(day.getStatuses()).containsEntry(Status.NOT_DONE, 2L)
+                    .containsEntry(Status.OVERDUE, 0L);
+        });
+        assertThat(second).extracting(CalendarDay::getTotal).containsExactly(3L);
+    }
+
+    @Test
+    void testShardRowsForTheSameDayAreSummed() {
+        CalendarCache cache = new CalendarCache(true, 1000);
+        rows.add(new DueDayCount(JUNE_1, Status.NOT_DONE, 2));
+        rows.add(new DueDayCount(JUNE_1, Status.NOT_DONE, 3));
+
+        assertThat(cache.get(JUNE_1, JUNE_30, this::load))
+                .singleElement()
+                .satisfies(day -> assertThat(day.getStatuses()).containsEntry(Status.NOT_DONE, 5L));
+    }
+
+    @Test
+    void testChangesMoveItemsBetweenCachedBuckets() {
+        CalendarCache cache = new CalendarCache(true, 1000);
+        rows.add(new DueDayCount(JUNE_1, Status.NOT_DONE, 1));
+        cache.get(JUNE_1, JUNE_30, this::load);
+
+        ToDoItem open = item(JUNE_1, Status.NOT_DONE);
+        ToDoItem moved = item(JUNE_1.plusDays(1), Status.NOT_DONE);
+        cache.onItemChanged(new ToDoItemChangedEvent(open, moved));
+        cache.onItemChanged(new ToDoItemChangedEvent(moved, item(JUNE_1.plusDays(1), Status.OVERDUE)));
+        cache.onItemChanged(ToDoItemChangedEvent.created(item(JUNE_30, Status.NOT_DONE)));
+        cache.onItemChanged(ToDoItemChangedEvent.created(item(JUNE_30.plusDays(1), Status.NOT_DONE)));
+
+        List<CalendarDay> days = cache.get(JUNE_1, JUNE_30, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(days).extracting(CalendarDay::getDate).containsExactly(JUNE_1.plusDays(1), JUNE_30);
+        assertThat(days.get(0).getStatuses()).containsEntry(Status.OVERDUE, 1L)
+                .containsEntry(Status.NOT_DONE, 0L);
+    }
+
+    @Test
+    void testLoadRacingAChangeIsNotKept() {
+        CalendarCache cache = new CalendarCache(true, 1000);
+
+        cache.get(JUNE_1, JUNE_30, (from, to) -> {
+            cache.onItemChanged(ToDoItemChangedEvent.created(item(JUNE_1, Status.NOT_DONE)));
+            return load(from, to);
+        });
+        cache.get(JUNE_1, JUNE_30, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testLoadOverlappingACommitIsNotKept() throws Exception {
+        CalendarCache cache = new CalendarCache(true, 1000);
+        ToDoItemChangedEvent created = ToDoItemChangedEvent.created(item(JUNE_1, Status.NOT_DONE));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<CalendarDay>> firstRead = reader.submit(() -> cache.get(JUNE_1, JUNE_30, (from, to) -> {
+                loading.countDown();
+                awaitLatch(committed);
+                // The query already sees the committed item.
+                rows.add(new DueDayCount(JUNE_1, Status.NOT_DONE, 1));
+                return load(from, to);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.onItemChanging(created);
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+                committed.countDown();
+                assertThat(firstRead.get(5, TimeUnit.SECONDS)).extracting(CalendarDay::getTotal).containsExactly(1L);
+                TransactionSynchronizationUtils.triggerAfterCommit();
+                cache.onItemChanged(created);
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                        TransactionSynchronizationManager.getSynchronizations(),
+                        TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        } finally {
+            reader.shutdownNow();
+        }
+
+        List<CalendarDay> days = cache.get(JUNE_1, JUNE_30, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(days).extracting(CalendarDay::getTotal).containsExactly(1L);
+    }
+
+    @Test
+    void testAdjacentRangesAreMergedAndEvictedPastTheLimit() {
+        CalendarCache cache = new CalendarCache(true, 60);
+
+        cache.get(JUNE_1, JUNE_1.plusDays(14), this::load);
+        cache.get(JUNE_1.plusDays(15), JUNE_30, this::load);
+        cache.get(JUNE_1, JUNE_30, this::load);
+        assertThat(loads).hasValue(2);
+
+        cache.get(JUNE_30.plusDays(1), JUNE_30.plusDays(31), this::load);
+        cache.get(JUNE_1, JUNE_30, this::load);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void testDisabledCacheLoadsEveryTime() {
+        CalendarCache cache = new CalendarCache(false, 1000);
+
+        cache.get(JUNE_1, JUNE_30, this::load);
+        cache.get(JUNE_1, JUNE_30, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<DueDayCount> load(LocalDate from, LocalDate to) {
+        loads.incrementAndGet();
+        return rows.stream().filter(row -> !row.day().isBefore(from) && !row.day().isAfter(to)).toList();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ToDoItem item(LocalDate due, Status status) {
+        ToDoItem item = new ToDoItem();
+        item.setId(1L);
+        item.setDescription("Calendar item");
+        item.setStatus(status);
+        item.setDueDatetime(due.atTime(18, 0));
+        return item;
+    }
+}
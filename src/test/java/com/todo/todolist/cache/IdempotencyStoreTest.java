@@ -0,0 +1,228 @@
+package com.todo.todolist.cache;
+
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.ServiceUnavailableException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenReturn(0L);
+        store = new IdempotencyStore(Duration.ofMinutes(10), 2, Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    void testReplayReturnsFirstResponse() {
+        ResponseEntity<Integer> first = store.execute("key", "request", this::created);
+        ResponseEntity<Integer> replay = store.execute("key", "request", this::created);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getBody()).isEqualTo(1);
+        assertThat(replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        store.execute("key", "request", this::created);
+
+        assertThrows(BadRequestException.class,
+                () -> store.execute("key", "other request", this::created));
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testBlankKeyIsRejected() {
+        assertThrows(BadRequestException.class, () -> store.execute(" ", "request", this::created));
+    }
+
+    @Test
+    void testBusinessExceptionIsReplayed() {
+        assertThrows(ConflictException.class, () -> store.execute("key", "request", this::conflict));
+        assertThrows(ConflictException.class, () -> store.execute("key", "request", this::conflict));
+
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnexpectedFailureIsNotKept() {
+        assertThrows(ServiceUnavailableException.class, () -> store.<Integer>execute("key", "request", () -> {
+            throw new ServiceUnavailableException("busy");
+        }));
+
+        assertThat(store.execute("key", "request", this::created).getBody()).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpiredEntriesAreEvicted() {
+        store.execute("key", "request", this::created);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+
+        ResponseEntity<Integer> response = store.execute("key", "request", this::created);
+
+        assertThat(response.getBody()).isEqualTo(2);
+        assertThat(response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void testOldestEntriesAreEvictedBeyondCapacity() {
+        store.execute("a", "request", this::created);
+        store.execute("b", "request", this::created);
+        store.execute("c", "request", this::created);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.execute("a", "request", this::created).getBody()).isEqualTo(4);
+    }
+
+    @Test
+    void testSlowRequestDoesNotHoldBackExpiry() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<ResponseEntity<Integer>> slow = executor.submit(() -> store.execute("slow", "request", () -> {
+                running.countDown();
+                await(release);
+                return created();
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            store.execute("key", "request", this::created);
+            when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+
+            assertThat(store.execute("key", "request", this::created).getBody()).isEqualTo(2);
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(3);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInFlightEntriesAreNotEvictedBeyondCapacity() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<ResponseEntity<Integer>> slow = executor.submit(() -> store.execute("slow", "request", () -> {
+                running.countDown();
+                await(release);
+                return created();
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            store.execute("a", "request", this::created);
+            store.execute("b", "request", this::created);
+            Future<ResponseEntity<Integer>> duplicate = executor.submit(
+                    () -> store.execute("slow", "request", this::created));
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(3);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(3);
+            assertThat(store.execute("b", "request", this::created).getBody()).isEqualTo(2);
+            assertThat(store.execute("a", "request", this::created).getBody()).isEqualTo(4);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentDuplicatesWaitForFirstExecution() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<ResponseEntity<Integer>> first = executor.submit(() -> store.execute("key", "request", () -> {
+                running.countDown();
+                await(release);
+                return created();
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<Integer>> duplicate = executor.submit(
+                    () -> store.execute("key", "request", this::created));
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDuplicateWaitingTooLongIsToldTheRequestIsInProgress() throws Exception {
+        IdempotencyStore impatient = new IdempotencyStore(Duration.ofMinutes(10), 2, Duration.ofMillis(50), clock);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<ResponseEntity<Integer>> slow = executor.submit(() -> impatient.execute("key", "request", () -> {
+                running.countDown();
+                await(release);
+                return created();
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            ConflictException ex = assertThrows(ConflictException.class,
+                    () -> impatient.execute("key", "request", this::created));
+            assertThat(ex.getMessage()).isEqualTo("A request with this Idempotency-Key is still in progress.");
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(1);
+            assertThat(impatient.execute("key", "request", this::created).getBody()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private ResponseEntity<Integer> created() {
+        return new ResponseEntity<>(executions.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    private ResponseEntity<Integer> conflict() {
+        executions.incrementAndGet();
+        throw new ConflictException("duplicate");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
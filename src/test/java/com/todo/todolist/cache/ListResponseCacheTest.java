@@ -0,0 +1,167 @@
+package com.todo.todolist.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.compression.ContentCoding;
+import com.todo.todolist.compression.ResponseCompressor;
+import com.todo.todolist.datasource.PrimaryReads;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.ToDoField;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListResponseCacheTest {
+
+    private ToDoJsonCodec codec;
+    private WriteSequence writeSequence;
+    private ResponseCompressor compressor;
+    private ListResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = new ToDoJsonCodec(objectMapper);
+        writeSequence = new WriteSequence();
+        compressor = new ResponseCompressor(true, List.of("gzip", "deflate"), 6, 64, 2);
+        cache = new ListResponseCache(codec, writeSequence, compressor, true);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testHitsUntilWriteSequenceMoves() {
+        String first = new String(cache.get("ALL", null, this::load).body(), StandardCharsets.UTF_8);
+        cache.get("ALL", null, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(first).contains("\"description\":\"Task 1\"");
+
+        writeSequence.onItemChanged(ToDoItemChangedEvent.created(createItem(2)));
+        cache.get("ALL", null, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testFiltersAreCachedSeparately() {
+        cache.get("ALL", null, this::load);
+        cache.get("DONE", null, this::load);
+        cache.get("DONE", null, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testGzipOnlyAboveThreshold() throws IOException {
+        ListResponseCache.EncodedResponse small = cache.get("EMPTY", ContentCoding.GZIP, List::of);
+        assertThat(small.coding()).isNull();
+
+        ListResponseCache.EncodedResponse large = cache.get("ALL", ContentCoding.GZIP, this::load);
+        assertThat(large.coding()).isEqualTo(ContentCoding.GZIP);
+
+        byte[] json = cache.get("ALL", null, this::load).body();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void testCompressedFormsAreCachedPerCoding() throws IOException {
+        ListResponseCache.EncodedResponse deflated = cache.get("ALL", ContentCoding.DEFLATE, this::load);
+
+        assertThat(deflated.coding()).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(cache.get("ALL", ContentCoding.DEFLATE, this::load).body()).isSameAs(deflated.body());
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(deflated.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(cache.get("ALL", null, this::load).body());
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testFieldSetsAreCachedSeparatelyFromFullItems() {
+        Set<ToDoField> fields = EnumSet.of(ToDoField.ID, ToDoField.DUE_DATETIME);
+
+        String sparse = new String(cache.getFields("ALL", fields, null, this::loadFields).body(),
+                StandardCharsets.UTF_8);
+        cache.getFields("ALL", EnumSet.of(ToDoField.DUE_DATETIME, ToDoField.ID), null, this::loadFields);
+        cache.getFields("ALL", EnumSet.of(ToDoField.ID), null, this::loadFields);
+        cache.get("ALL", null, this::load);
+
+        assertThat(sparse).startsWith("[{\"id\":1,\"dueDatetime\":\"2030-01-01T12:00:00\"}")
+                .doesNotContain("description");
+        assertThat(loads.get()).isEqualTo(3);
+
+        writeSequence.onItemChanged(ToDoItemChangedEvent.created(createItem(4)));
+        cache.getFields("ALL", fields, null, this::loadFields);
+
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ListResponseCache disabled = new ListResponseCache(
+                new ToDoJsonCodec(objectMapper), writeSequence, compressor, false);
+
+        disabled.get("ALL", null, this::load);
+        disabled.get("ALL", null, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testOnlyCachedLoadsReadThePrimary() {
+        ListResponseCache disabled = new ListResponseCache(codec, writeSequence, compressor, false);
+        List<Boolean> primary = new ArrayList<>();
+
+        cache.get("ALL", null, () -> {
+            primary.add(PrimaryReads.isActive());
+            return load();
+        });
+        disabled.get("ALL", null, () -> {
+            primary.add(PrimaryReads.isActive());
+            return load();
+        });
+
+        assertThat(primary).containsExactly(true, false);
+        assertThat(PrimaryReads.isActive()).isFalse();
+    }
+
+    private List<ToDoItem> load() {
+        loads.incrementAndGet();
+        return List.of(createItem(1), createItem(2), createItem(3));
+    }
+
+    private List<ToDoItemFields> loadFields() {
+        return load().stream().map(ToDoItemFields::of).toList();
+    }
+
+    private ToDoItem createItem(long id) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Task " + id);
+        item.setDueDatetime(LocalDateTime.of(2030, 1, 1, 12, 0));
+        return item;
+    }
+}
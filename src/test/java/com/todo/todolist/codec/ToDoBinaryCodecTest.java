@@ -0,0 +1,168 @@
+package com.todo.todolist.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToDoBinaryCodecTest {
+
+    @Test
+    void testItemsRoundTripToTheSecond() {
+        ToDoItem first = item(1L, "Buy groceries", Status.NOT_DONE,
+                LocalDateTime.of(2026, 8, 10, 18, 0, 5, 123_456_789));
+        first.setTags(Set.of("home", "urgent"));
+        first.setCreationDatetime(LocalDateTime.of(2025, 8, 6, 20, 17, 20, 44_210_000));
+        ToDoItem second = item(300L, "Café 😀", Status.DONE, LocalDateTime.of(1969, 12, 31, 23, 59));
+        second.setDoneDatetime(LocalDateTime.of(2026, 1, 1, 0, 0));
+        ToDoItem third = item(Long.MAX_VALUE, null, null, null);
+
+        List<ToDoItem> decoded = ToDoBinaryCodec.decodeItems(
+                ToDoBinaryCodec.encode(List.of(first, second, third)));
+
+        assertThat(decoded).hasSize(3);
+        assertThat(decoded.get(0).getId()).isEqualTo(1L);
+        assertThat(decoded.get(0).getDueDatetime()).isEqualTo(LocalDateTime.of(2026, 8, 10, 18, 0, 5));
+        assertThat(decoded.get(0).getCreationDatetime()).isEqualTo(LocalDateTime.of(2025, 8, 6, 20, 17, 20));
+        assertThat(decoded.get(0).getTags()).containsExactlyInAnyOrder("home", "urgent");
+        assertThat(decoded.get(1).getDescription()).isEqualTo("Café 😀");
+        assertThat(decoded.get(1).getStatus()).isEqualTo(Status.DONE);
+        assertThat(decoded.get(1).getDueDatetime()).isEqualTo(LocalDateTime.of(1969, 12, 31, 23, 59));
+        assertThat(decoded.get(1).getDoneDatetime()).isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0));
+        assertThat(decoded.get(2).getId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.get(2).getDescription()).isNull();
+        assertThat(decoded.get(2).getStatus()).isNull();
+        assertThat(decoded.get(2).getDueDatetime()).isNull();
+        assertThat(decoded.get(2).getTags()).isEmpty();
+
+        assertThat(ToDoBinaryCodec.decodeItem(ToDoBinaryCodec.encode(first)).getDescription())
+                .isEqualTo("Buy groceries");
+    }
+
+    @Test
+    void testArchivePagesKeepTheirCursor() {
+        LocalDateTime archivedAt = LocalDateTime.of(2026, 3, 1, 4, 0);
+        ArchivePage full = new ArchivePage(List.of(
+                ArchivedToDoItem.of(item(11L, "a", Status.DONE, archivedAt), archivedAt),
+                ArchivedToDoItem.of(item(12L, "b", Status.DONE, archivedAt), archivedAt)), 2);
+        ArchivePage last = new ArchivePage(List.of(
+                ArchivedToDoItem.of(item(13L, "c", Status.DONE, archivedAt), archivedAt)), 2);
+
+        ArchivePage decodedFull = ToDoBinaryCodec.decodeArchivePage(ToDoBinaryCodec.encode(full));
+        ArchivePage decodedLast = ToDoBinaryCodec.decodeArchivePage(ToDoBinaryCodec.encode(last));
+
+        assertThat(decodedFull.getNext()).isEqualTo(12L);
+        assertThat(decodedFull.getItems()).extracting(ArchivedToDoItem::getId).containsExactly(11L, 12L);
+        assertThat(decodedFull.getItems().get(0).getArchivedDatetime()).isEqualTo(archivedAt);
+        assertThat(decodedLast.getNext()).isNull();
+        assertThat(decodedLast.getItems()).extracting(ArchivedToDoItem::getDescription).containsExactly("c");
+        assertThat(ToDoBinaryCodec.decodeArchivePage(
+                ToDoBinaryCodec.encode(new ArchivePage(List.of(), 2))).getItems()).isEmpty();
+    }
+
+    @Test
+    void testBatchResponsesAndErrorsRoundTrip() {
+        LocalDateTime now = LocalDateTime.of(2026, 8, 10, 18, 0);
+        BatchResponse response = new BatchResponse(false, List.of(
+                new BatchOperationResult(0, "create", null, "Created", now, 201,
+                        item(5L, "new", Status.NOT_DONE, now)),
+                new BatchOperationResult(1, "delete", "Not Found", "Item 9 not found", now, 404, null)));
+
+        BatchResponse decoded = ToDoBinaryCodec.decodeBatchResponse(ToDoBinaryCodec.encode(response));
+
+        assertThat(decoded.isCommitted()).isFalse();
+        assertThat(decoded.getResults()).hasSize(2);
+        assertThat(decoded.getResults().get(0).getItem().getId()).isEqualTo(5L);
+        assertThat(decoded.getResults().get(0).getError()).isNull();
+        assertThat(decoded.getResults().get(1).getOp()).isEqualTo("delete");
+        assertThat(decoded.getResults().get(1).getStatus()).isEqualTo(404);
+        assertThat(decoded.getResults().get(1).getMessage()).isEqualTo("Item 9 not found");
+        assertThat(decoded.getResults().get(1).getItem()).isNull();
+
+        ErrorResponse error = ToDoBinaryCodec.decodeError(ToDoBinaryCodec.encode(
+                new ErrorResponse("Not Found", "Item 9 not found", now, 404)));
+        assertThat(error.getStatus()).isEqualTo(404);
+        assertThat(error.getError()).isEqualTo("Not Found");
+        assertThat(error.getMessage()).isEqualTo("Item 9 not found");
+        assertThat(error.getTimestamp()).isEqualTo(now);
+    }
+
+    @Test
+    void testListsAreSmallerThanJson() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<ToDoItem> items = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            ToDoItem item = item(id, "Task number " + id, Status.NOT_DONE,
+                    LocalDateTime.of(2026, 8, 10, 18, 0).plusHours(id));
+            item.setCreationDatetime(LocalDateTime.of(2025, 8, 6, 20, 17, 20, 44_210_000));
+            item.setTags(Set.of("home"));
+            items.add(item);
+        }
+
+        assertThat(ToDoBinaryCodec.encode(items).length * 3)
+                .isLessThan(objectMapper.writeValueAsBytes(items).length);
+    }
+
+    @Test
+    void testRejectsValuesWithoutBinaryForm() {
+        assertThatThrownBy(() -> ToDoBinaryCodec.encode(List.of("a")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ToDoBinaryCodec.encode(new ToDoItem()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ToDoBinaryCodec.encode(42))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ToDoBinaryCodec.supports(BatchOperationResult.class)).isFalse();
+        assertThat(ToDoBinaryCodec.supports(ErrorResponse.class)).isTrue();
+    }
+
+    @Test
+    void testRejectsMalformedDocuments() {
+        byte[] document = ToDoBinaryCodec.encode(List.of(item(1L, "Task", Status.DONE, null)));
+
+        for (int length = 0; length < document.length; length++) {
+            byte[] truncated = Arrays.copyOf(document, length);
+            assertThatThrownBy(() -> ToDoBinaryCodec.decodeItems(truncated))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        byte[] trailing = Arrays.copyOf(document, document.length + 1);
+        assertThatThrownBy(() -> ToDoBinaryCodec.decodeItems(trailing))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ToDoBinaryCodec.decodeItem(document))
+                .isInstanceOf(IllegalArgumentException.class);
+        byte[] version = document.clone();
+        version[0] = 2;
+        assertThatThrownBy(() -> ToDoBinaryCodec.decodeItems(version))
+                .isInstanceOf(IllegalArgumentException.class);
+        byte[] count = {ToDoBinaryCodec.VERSION, ToDoBinaryCodec.ITEM_LIST, (byte) 0xFF, (byte) 0xFF, 0x7F};
+        assertThatThrownBy(() -> ToDoBinaryCodec.decodeItems(count))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ToDoItem item(Long id, String description, Status status, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription(description);
+        item.setStatus(status);
+        item.setDueDatetime(due);
+        return item;
+    }
+}
@@ -0,0 +1,77 @@
+package com.todo.todolist.codec;
+
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToDoBinaryHttpMessageConverterTest {
+
+    private static final Type ITEM_LIST = new ParameterizedTypeReference<List<ToDoItem>>() { }.getType();
+    private static final Type STRING_LIST = new ParameterizedTypeReference<List<String>>() { }.getType();
+
+    private final ToDoBinaryHttpMessageConverter converter = new ToDoBinaryHttpMessageConverter();
+
+    @Test
+    void testWritesOnlyBinaryBodies() {
+        MediaType binary = ToDoBinaryCodec.MEDIA_TYPE;
+        assertThat(converter.canWrite(ITEM_LIST, List.class, binary)).isTrue();
+        assertThat(converter.canWrite(ArchivePage.class, ArchivePage.class, binary)).isTrue();
+        assertThat(converter.canWrite(BatchResponse.class, BatchResponse.class, binary)).isTrue();
+        assertThat(converter.canWrite(ErrorResponse.class, ErrorResponse.class, binary)).isTrue();
+        assertThat(converter.canWrite(STRING_LIST, List.class, binary)).isFalse();
+        assertThat(converter.canWrite(Map.class, Map.class, binary)).isFalse();
+        assertThat(converter.canWrite(ITEM_LIST, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ToDoItem.class, null, binary)).isFalse();
+    }
+
+    @Test
+    void testWritesItemsWithContentLength() throws Exception {
+        ToDoItem item = new ToDoItem();
+        item.setId(3L);
+        item.setDescription("Buy groceries");
+        item.setStatus(Status.NOT_DONE);
+        item.setDueDatetime(LocalDateTime.of(2026, 8, 10, 18, 0));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(item), ITEM_LIST, ToDoBinaryCodec.MEDIA_TYPE, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(ToDoBinaryCodec.MEDIA_TYPE);
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+        assertThat(ToDoBinaryCodec.decodeItems(output.getBodyAsBytes()))
+                .extracting(ToDoItem::getDescription).containsExactly("Buy groceries");
+    }
+
+    @Test
+    void testReportsValuesWithoutBinaryForm() {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        assertThatThrownBy(() -> converter.write(List.of("a"), Object.class, ToDoBinaryCodec.MEDIA_TYPE, output))
+                .isInstanceOf(HttpMessageNotWritableException.class);
+    }
+
+    @Test
+    void testRejectsRequestBodies() {
+        MockHttpInputMessage input = new MockHttpInputMessage(new byte[] {1, 1});
+
+        assertThatThrownBy(() -> converter.read(ToDoItem.class, null, input))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+}
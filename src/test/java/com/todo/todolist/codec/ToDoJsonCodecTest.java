@@ -0,0 +1,188 @@
+package com.todo.todolist.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToDoJsonCodecTest {
+
+    private ObjectMapper objectMapper;
+    private ToDoJsonCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        codec = new ToDoJsonCodec(objectMapper, 4, 1 << 16);
+    }
+
+    @Test
+    void testItemsMatchJacksonByteForByte() throws Exception {
+        List<ToDoItem> items = new ArrayList<>();
+        int[] nanos = {0, 1, 1_000, 40_000_000, 123_456_789, 500_000_000, 44_210_000};
+        for (int i = 0; i < nanos.length; i++) {
+            ToDoItem item = item(i + 1L, "Task " + i, Status.values()[i % 3],
+                    LocalDateTime.of(2025, 1 + i, 9 + i, i, 59 - i, i * 7, nanos[i]));
+            item.setTags(i % 2 == 0 ? Set.of("home", "urgent") : Set.of());
+            items.add(item);
+        }
+        items.get(0).setDoneDatetime(LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_999_999));
+        items.add(item(Long.MAX_VALUE, "max", Status.DONE, LocalDateTime.of(9999, 12, 31, 0, 0)));
+        items.add(item(-7L, "negative", Status.OVERDUE, LocalDateTime.of(10000, 1, 1, 0, 0)));
+
+        assertThat(codec.encode(items)).isEqualTo(objectMapper.writeValueAsBytes(items));
+        for (ToDoItem item : items) {
+            assertThat(codec.encode(item)).isEqualTo(objectMapper.writeValueAsBytes(item));
+        }
+    }
+
+    @Test
+    void testStringsAreEscapedLikeJackson() throws Exception {
+        String text = "quote \" backslash \\ slash / tab \t newline \n cr \r form \f back \b"
+                + " control \u0001\u001f del \u007f latin é greek Ω cjk 中 emoji 😀"
+                + " lone \ud83d end \ude00";
+        ToDoItem item = item(1L, text, Status.NOT_DONE, LocalDateTime.of(2026, 8, 10, 18, 0));
+        item.setTags(List.of(text));
+
+        assertThat(codec.encode(item)).isEqualTo(objectMapper.writeValueAsBytes(item));
+    }
+
+    @Test
+    void testNullFieldsMatchJackson() throws Exception {
+        ToDoItem item = new ToDoItem();
+        item.setStatus(null);
+        item.setCreationDatetime(null);
+        ErrorResponse error = new ErrorResponse(null, null, null, 500);
+
+        assertThat(codec.encode(item)).isEqualTo(objectMapper.writeValueAsBytes(item));
+        assertThat(codec.encode(error)).isEqualTo(objectMapper.writeValueAsBytes(error));
+    }
+
+    @Test
+    void testErrorResponseMatchesJackson() throws Exception {
+        ErrorResponse error = new ErrorResponse("Not Found", "Item not found with id 1",
+                LocalDateTime.of(2025, 8, 6, 20, 12, 38, 771_444_000), 404);
+
+        assertThat(codec.encode(error)).isEqualTo(objectMapper.writeValueAsBytes(error));
+    }
+
+    @Test
+    void testOtherValuesAreWrittenByJackson() throws Exception {
+        List<Object> mixed = List.of(item(1L, "Task", Status.DONE, LocalDateTime.of(2026, 1, 1, 0, 0)),
+                "text");
+
+        assertThat(codec.encode(mixed)).isEqualTo(objectMapper.writeValueAsBytes(mixed));
+    }
+
+    @Test
+    void testDecodesWhatItEncodes() throws Exception {
+        ToDoItem item = item(42L, "Say \"hi\"\n\tand leave", Status.OVERDUE,
+                LocalDateTime.of(2026, 8, 10, 18, 0, 5, 120_000_000));
+        item.setDoneDatetime(null);
+        item.setTags(Set.of("a", "b"));
+
+        ToDoItem decoded = decode(new String(codec.encode(item), StandardCharsets.UTF_8));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(item);
+    }
+
+    @Test
+    void testDecodesTheSameItemsAsJackson() throws Exception {
+        String[] bodies = {
+            "{ \"description\": \"Buy groceries\", \"dueDatetime\": \"2026-08-10T18:00\","
+                    + " \"tags\": [\"home\"] }",
+            "{\"description\":\"x\",\"dueDatetime\":\"2026-08-10T18:00:01.5\",\"tags\":[]}",
+            "{\"id\":7,\"status\":\"DONE\",\"doneDatetime\":null,\"tags\":null}",
+            "{\"description\":\"caf\\u00e9 \\/ done\"}",
+            "{}",
+            "{\"description\":\"café\",\"unknown\":{\"a\":[1,2]}}",
+            "{\"dueDatetime\":\"2026-08-10T18:00:00Z\",\"id\":\"12\"}",
+            "{\"description\":\"first\",\"description\":\"second\"}",
+        };
+        for (String body : bodies) {
+            ToDoItem expected = objectMapper.readValue(body, ToDoItem.class);
+
+            assertThat(decode(body))
+                    .as(body)
+                    .usingRecursiveComparison()
+                    .ignoringFields("creationDatetime")
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testInvalidBodiesFailAsInJackson() {
+        assertThatThrownBy(() -> decode("{\"status\":\"SOMEDAY\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> decode("{\"dueDatetime\":\"2026-02-30T10:00:00\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> decode("{\"description\":\"open"))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void testFieldsAreWrittenInItemOrder() throws Exception {
+        ToDoItem first = item(1L, "Task \"one\"", Status.DONE, LocalDateTime.of(2026, 3, 1, 18, 0));
+        ToDoItem second = item(2L, "Task two", Status.NOT_DONE, LocalDateTime.of(2026, 3, 2, 9, 30, 15));
+        first.setTags(Set.of("home"));
+        List<ToDoItemFields> rows = List.of(ToDoItemFields.of(first), ToDoItemFields.of(second));
+
+        byte[] sparse = codec.encodeFields(rows,
+                EnumSet.of(ToDoField.DUE_DATETIME, ToDoField.ID, ToDoField.STATUS));
+
+        assertThat(new String(sparse, StandardCharsets.UTF_8)).isEqualTo(
+                "[{\"id\":1,\"status\":\"DONE\",\"dueDatetime\":\"2026-03-01T18:00:00\"},"
+                        + "{\"id\":2,\"status\":\"NOT_DONE\",\"dueDatetime\":\"2026-03-02T09:30:15\"}]");
+        assertThat(codec.encodeFields(rows, EnumSet.allOf(ToDoField.class)))
+                .isEqualTo(objectMapper.writeValueAsBytes(List.of(first, second)));
+        assertThat(codec.encodeFields(List.of(), EnumSet.of(ToDoField.ID))).isEqualTo("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBuffersAreReturnedToThePool() throws Exception {
+        codec.encode(item(1L, "Task", Status.DONE, LocalDateTime.of(2026, 1, 1, 0, 0)));
+        decode("{\"description\":\"Task\"}");
+
+        assertThat(codec.idleBuffers()).isEqualTo(1);
+
+        codec.encode(item(1L, "x".repeat(1 << 17), Status.DONE, LocalDateTime.of(2026, 1, 1, 0, 0)));
+
+        assertThat(codec.idleBuffers()).isEqualTo(0);
+    }
+
+    private ToDoItem decode(String body) throws Exception {
+        return codec.decodeItem(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ToDoItem item(Long id, String description, Status status, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription(description);
+        item.setStatus(status);
+        item.setCreationDatetime(due.minusDays(3).withNano(due.getNano() / 1000 * 1000));
+        item.setDueDatetime(due);
+        return item;
+    }
+}
@@ -0,0 +1,110 @@
+package com.todo.todolist.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToDoJsonHttpMessageConverterTest {
+
+    private static final Type ITEM_LIST = new ParameterizedTypeReference<List<ToDoItem>>() { }.getType();
+    private static final Type STRING_LIST = new ParameterizedTypeReference<List<String>>() { }.getType();
+
+    private ObjectMapper objectMapper;
+    private ToDoJsonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new ToDoJsonHttpMessageConverter(new ToDoJsonCodec(objectMapper));
+    }
+
+    @Test
+    void testClaimsOnlyItemAndErrorBodies() {
+        assertThat(converter.canWrite(ToDoItem.class, ToDoItem.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(ErrorResponse.class, ErrorResponse.class, null)).isTrue();
+        assertThat(converter.canWrite(ITEM_LIST, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(Object.class, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(STRING_LIST, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(BatchResponse.class, BatchResponse.class, null)).isFalse();
+        assertThat(converter.canWrite(Map.class, Map.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ToDoItem.class, ToDoItem.class, MediaType.APPLICATION_XML)).isFalse();
+
+        assertThat(converter.canRead(ToDoItem.class, null, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canRead(ITEM_LIST, null, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ErrorResponse.class, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void testWritesItemsWithContentLength() throws Exception {
+        ToDoItem item = new ToDoItem();
+        item.setId(3L);
+        item.setDescription("Buy groceries");
+        item.setStatus(Status.NOT_DONE);
+        item.setDueDatetime(LocalDateTime.of(2026, 8, 10, 18, 0));
+        List<ToDoItem> items = List.of(item);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(items, ITEM_LIST, MediaType.APPLICATION_JSON, output);
+
+        byte[] expected = objectMapper.writeValueAsBytes(items);
+        assertThat(output.getBodyAsBytes()).isEqualTo(expected);
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(expected.length);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testWritesUntypedListsOfOtherValuesWithJackson() throws Exception {
+        List<String> values = List.of("a", "b");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(values, Object.class, MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(values));
+    }
+
+    @Test
+    void testReadsItems() throws Exception {
+        MockHttpInputMessage input = new MockHttpInputMessage(
+                "{\"description\":\"Buy groceries\",\"dueDatetime\":\"2026-08-10T18:00:00\",\"tags\":[\"home\"]}"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        ToDoItem item = (ToDoItem) converter.read(ToDoItem.class, null, input);
+
+        assertThat(item.getDescription()).isEqualTo("Buy groceries");
+        assertThat(item.getDueDatetime()).isEqualTo(LocalDateTime.of(2026, 8, 10, 18, 0));
+        assertThat(item.getTags()).containsExactly("home");
+    }
+
+    @Test
+    void testReportsMalformedBodiesAsJacksonDoes() {
+        MockHttpInputMessage input = new MockHttpInputMessage(
+                "{\"description\":".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> converter.read(ToDoItem.class, null, input))
+                .isInstanceOf(HttpMessageNotReadableException.class)
+                .hasMessageStartingWith("JSON parse error: ");
+    }
+}
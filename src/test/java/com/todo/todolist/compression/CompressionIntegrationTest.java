@@ -0,0 +1,99 @@
+package com.todo.todolist.compression;
+
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression;DB_CLOSE_DELAY=-1"
+})
+class CompressionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository.deleteAll();
+        for (int i = 0; i < 30; i++) {
+            String body = "{\"description\":\"Compressible task " + i + "\",\"dueDatetime\":\""
+                    + LocalDateTime.now().plusDays(i + 1).withNano(0) + "\",\"tags\":[\"home\"]}";
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/api/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(created.statusCode()).isEqualTo(201);
+        }
+    }
+
+    @Test
+    void testListIsCompressedWithTheNegotiatedCodingOverH2c() throws Exception {
+        HttpResponse<byte[]> plain = get("/api/todos", null);
+        HttpResponse<byte[]> deflated = get("/api/todos", "deflate");
+        HttpResponse<byte[]> gzipped = get("/api/todos", "gzip;q=0.8, deflate;q=0.5");
+
+        assertThat(plain.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(plain.body().length).isGreaterThan(1024);
+        assertThat(deflated.headers().firstValue("Content-Encoding")).contains("deflate");
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(deflated.body()))))
+                .isEqualTo(plain.body());
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))))
+                .isEqualTo(plain.body());
+    }
+
+    @Test
+    void testOtherLargeResponsesAreCompressedByTheServer() throws Exception {
+        HttpResponse<byte[]> plain = get("/api/todos/upcoming?limit=30", null);
+        HttpResponse<byte[]> gzipped = get("/api/todos/upcoming?limit=30", "gzip");
+        HttpResponse<byte[]> small = get("/api/todos/upcoming?limit=1", "gzip");
+
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))))
+                .isEqualTo(plain.body());
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] inflate(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
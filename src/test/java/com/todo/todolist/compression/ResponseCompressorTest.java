@@ -0,0 +1,91 @@
+package com.todo.todolist.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCompressorTest {
+
+    private final ResponseCompressor compressor =
+            new ResponseCompressor(true, List.of("gzip", "deflate"), 6, 1024, 2);
+
+    @Test
+    void testNegotiatesByQualityPreferringTheFirstOfferedCoding() {
+        assertThat(compressor.negotiate(null)).isNull();
+        assertThat(compressor.negotiate("identity")).isNull();
+        assertThat(compressor.negotiate("gzip, deflate, br")).isEqualTo(ContentCoding.GZIP);
+        assertThat(compressor.negotiate("deflate")).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(compressor.negotiate("GZIP;q=0.5, deflate")).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(compressor.negotiate("gzip;q=0, *")).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(compressor.negotiate("*;q=0")).isNull();
+        assertThat(compressor.negotiate("gzip;q=abc")).isNull();
+
+        ResponseCompressor deflateFirst = new ResponseCompressor(true, List.of("deflate", "gzip"), 6, 1024, 2);
+        assertThat(deflateFirst.negotiate("gzip, deflate")).isEqualTo(ContentCoding.DEFLATE);
+        ResponseCompressor gzipOnly = new ResponseCompressor(true, List.of("gzip"), 6, 1024, 2);
+        assertThat(gzipOnly.negotiate("deflate")).isNull();
+        ResponseCompressor disabled = new ResponseCompressor(false, List.of("gzip"), 6, 1024, 2);
+        assertThat(disabled.negotiate("gzip")).isNull();
+        assertThat(disabled.worthCompressing(1 << 20)).isFalse();
+    }
+
+    @Test
+    void testCompressesOnlyAboveTheMinimumSize() {
+        assertThat(compressor.worthCompressing(1023)).isFalse();
+        assertThat(compressor.worthCompressing(1024)).isTrue();
+    }
+
+    @Test
+    void testOutputIsReadableByTheJdkStreams() throws IOException {
+        byte[] body = "[{\"id\":1,\"description\":\"Buy groceries\"}]".repeat(500)
+                .getBytes(StandardCharsets.UTF_8);
+
+        byte[] gzip = compressor.compress(body, ContentCoding.GZIP);
+        byte[] deflate = compressor.compress(body, ContentCoding.DEFLATE);
+
+        assertThat(gzip.length).isLessThan(body.length / 10);
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(gzip)))).isEqualTo(body);
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(deflate)))).isEqualTo(body);
+        assertThat(compressor.compress(new byte[0], ContentCoding.GZIP)).hasSizeGreaterThan(18);
+    }
+
+    @Test
+    void testDeflatersAreReusedUpToThePoolSize() throws IOException {
+        byte[] incompressible = new byte[100_000];
+        new Random(7).nextBytes(incompressible);
+
+        for (int i = 0; i < 5; i++) {
+            byte[] gzip = compressor.compress(incompressible, ContentCoding.GZIP);
+            assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(gzip)))).isEqualTo(incompressible);
+        }
+
+        assertThat(compressor.idleDeflaters(ContentCoding.GZIP)).isEqualTo(1);
+        assertThat(compressor.idleDeflaters(ContentCoding.DEFLATE)).isZero();
+        compressor.close();
+        assertThat(compressor.idleDeflaters(ContentCoding.GZIP)).isZero();
+    }
+
+    @Test
+    void testRejectsUnknownCodingsAndLevels() {
+        assertThatThrownBy(() -> new ResponseCompressor(true, List.of("br"), 6, 1024, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ResponseCompressor(true, List.of("gzip"), 0, 1024, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] inflate(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
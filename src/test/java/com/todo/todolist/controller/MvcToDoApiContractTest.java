@@ -0,0 +1,86 @@
+package com.todo.todolist.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.dto.ErrorResponse;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:contract_mvc;DB_CLOSE_DELAY=-1"
+})
+class MvcToDoApiContractTest extends ToDoApiContract {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+
+    @Test
+    void testBodiesMatchTheApplicationObjectMapper() throws Exception {
+        ToDoItem created = create("Say \"hi\" café 😀", due(1), List.of("home", "urgent"));
+
+        byte[] item = client().get().uri("/api/todos/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        assertThat(item).isEqualTo(objectMapper.writeValueAsBytes(
+                objectMapper.readValue(item, ToDoItem.class)));
+
+        byte[] list = client().get().uri("/api/todos/upcoming").exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        assertThat(list).isEqualTo(objectMapper.writeValueAsBytes(
+                objectMapper.readValue(list, ToDoItem[].class)));
+
+        byte[] error = client().get().uri("/api/todos/{id}", 999_999).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().returnResult().getResponseBody();
+        JsonNode fields = objectMapper.readTree(error);
+        assertThat(error).isEqualTo(objectMapper.writeValueAsBytes(new ErrorResponse(
+                fields.get("error").asText(), fields.get("message").asText(),
+                LocalDateTime.parse(fields.get("timestamp").asText()), fields.get("status").asInt())));
+    }
+
+    @Test
+    void testBinaryMediaTypeIsServedOnlyWhenAskedFor() {
+        ToDoItem created = create("Binary", due(1), List.of("home"));
+
+        byte[] list = client().get().uri("/api/todos").accept(ToDoBinaryCodec.MEDIA_TYPE).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(ToDoBinaryCodec.MEDIA_TYPE)
+                .expectBody().returnResult().getResponseBody();
+        assertThat(ToDoBinaryCodec.decodeItems(list)).extracting(ToDoItem::getId).containsExactly(created.getId());
+
+        byte[] upcoming = client().get().uri("/api/todos/upcoming").accept(ToDoBinaryCodec.MEDIA_TYPE).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        assertThat(ToDoBinaryCodec.decodeItems(upcoming)).hasSize(1);
+
+        byte[] error = client().get().uri("/api/todos/{id}", 999_999).accept(ToDoBinaryCodec.MEDIA_TYPE).exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(ToDoBinaryCodec.MEDIA_TYPE)
+                .expectBody().returnResult().getResponseBody();
+        assertThat(ToDoBinaryCodec.decodeError(error).getStatus()).isEqualTo(404);
+
+        client().get().uri("/api/todos").accept(MediaType.ALL).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+}
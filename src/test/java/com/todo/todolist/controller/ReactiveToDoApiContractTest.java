@@ -0,0 +1,71 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ReactiveToDoItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:contract_reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///contract_reactive?options=DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("reactive")
+class ReactiveToDoApiContractTest extends ToDoApiContract {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveToDoItemRepository repository;
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+
+    @Test
+    void testListsStreamAsNdjson() {
+        for (int i = 0; i < 3; i++) {
+            create("Streamed " + i, due(1), List.of());
+        }
+
+        Flux<ToDoItem> items = client().get().uri("/api/todos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ToDoItem.class)
+                .getResponseBody();
+
+        StepVerifier.create(items, 1)
+                .expectNextMatches(item -> item.getDescription().equals("Streamed 0"))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRepositoryEmitsOnDemand() {
+        for (int i = 0; i < 3; i++) {
+            create("Demand " + i, due(1), List.of("tag" + i, "shared"));
+        }
+
+        StepVerifier.create(repository.findAll(null), 1)
+                .expectNextMatches(item -> item.getTags().contains("tag0") && item.getTags().size() == 2)
+                .thenAwait()
+                .expectNoEvent(java.time.Duration.ofMillis(50))
+                .thenRequest(1)
+                .expectNextMatches(item -> item.getDescription().equals("Demand 1"))
+                .thenCancel()
+                .verify();
+    }
+}
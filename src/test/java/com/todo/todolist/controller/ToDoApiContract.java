@@ -0,0 +1,215 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behavior every implementation of the {@code /api/todos} routes must share, run against a
+ * live server by each stack's subclass.
+ */
+abstract class ToDoApiContract {
+
+    protected abstract WebTestClient client();
+
+    @BeforeEach
+    void deleteAllItems() {
+        for (ToDoItem item : list("/api/todos")) {
+            client().delete().uri("/api/todos/{id}", item.getId()).exchange()
+                    .expectStatus().isNoContent();
+        }
+    }
+
+    @Test
+    void testCreateAndGetItem() {
+        ToDoItem created = create("Buy groceries", due(1), List.of("Home", " urgent "));
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getStatus()).isEqualTo(Status.NOT_DONE);
+        assertThat(created.getTags()).containsExactlyInAnyOrder("home", "urgent");
+
+        ToDoItem read = client().get().uri("/api/todos/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+        assertThat(read.getDescription()).isEqualTo("Buy groceries");
+        assertThat(read.getDueDatetime()).isEqualTo(created.getDueDatetime());
+        assertThat(read.getTags()).containsExactlyInAnyOrder("home", "urgent");
+    }
+
+    @Test
+    void testCreateRejectsInvalidAndDuplicateItems() {
+        post(Map.of("description", "Too late", "dueDatetime", due(-1).toString()))
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Bad Request")
+                .jsonPath("$.message").isEqualTo("Due date must be provided and must be in the future.")
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.timestamp").exists();
+
+        LocalDateTime due = due(1);
+        create("Once", due, List.of());
+        post(Map.of("description", "Once", "dueDatetime", due.toString()))
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Already Exists")
+                .jsonPath("$.message").isEqualTo("Todo item with the same description and due date already exists.");
+    }
+
+    @Test
+    void testUnknownItemIsNotFound() {
+        client().get().uri("/api/todos/{id}", 999_999).exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Not Found")
+                .jsonPath("$.message").isEqualTo("Item not found with id 999999");
+        client().delete().uri("/api/todos/{id}", 999_999).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testListFiltersByStatusAndTags() {
+        ToDoItem home = create("Home", due(1), List.of("home"));
+        ToDoItem both = create("Both", due(1), List.of("home", "work"));
+        ToDoItem work = create("Work", due(1), List.of("work"));
+        client().patch().uri("/api/todos/{id}/done", both.getId()).exchange().expectStatus().isOk();
+
+        assertThat(ids(list("/api/todos"))).containsExactly(home.getId(), both.getId(), work.getId());
+        assertThat(ids(list("/api/todos?status=done"))).containsExactly(both.getId());
+        assertThat(ids(list("/api/todos?tags=home,work"))).containsExactly(both.getId());
+        assertThat(ids(list("/api/todos?tags=HOME&tags=work&match=any")))
+                .containsExactly(home.getId(), both.getId(), work.getId());
+        assertThat(ids(list("/api/todos?tags=work&status=NOT_DONE"))).containsExactly(work.getId());
+        assertThat(list("/api/todos?tags=missing")).isEmpty();
+
+        client().get().uri("/api/todos?tags=home&match=some").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Tag match must be either 'all' or 'any'.");
+    }
+
+    @Test
+    void testUpcomingItemsAreOrderedByDueDate() {
+        ToDoItem late = create("Late", due(3), List.of());
+        ToDoItem soon = create("Soon", due(1), List.of());
+        ToDoItem middle = create("Middle", due(2), List.of());
+        client().patch().uri("/api/todos/{id}/done", middle.getId()).exchange().expectStatus().isOk();
+
+        assertThat(ids(list("/api/todos/upcoming"))).containsExactly(soon.getId(), late.getId());
+        assertThat(ids(list("/api/todos/upcoming?limit=1"))).containsExactly(soon.getId());
+        assertThat(ids(list("/api/todos/upcoming?within=P1DT12H"))).containsExactly(soon.getId());
+
+        client().get().uri("/api/todos/upcoming?limit=0").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Limit must be between 1 and 1000.");
+        client().get().uri("/api/todos/upcoming?within=soon").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Within must be an ISO-8601 duration such as P7D.");
+    }
+
+    @Test
+    void testUpdateAndPatchItem() {
+        ToDoItem item = create("Draft", due(1), List.of("home"));
+        LocalDateTime newDue = due(2);
+
+        ToDoItem updated = client().put().uri("/api/todos/{id}", item.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("description", "Final", "dueDatetime", newDue.toString(),
+                        "tags", List.of("Work")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+        assertThat(updated.getDescription()).isEqualTo("Final");
+        assertThat(updated.getDueDatetime()).isEqualTo(newDue);
+        assertThat(updated.getTags()).containsExactly("work");
+
+        ToDoItem patched = patch(item.getId(), "{\"description\":\"Patched\",\"tags\":null}")
+                .expectStatus().isOk()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+        assertThat(patched.getDescription()).isEqualTo("Patched");
+        assertThat(patched.getDueDatetime()).isEqualTo(newDue);
+        assertThat(patched.getTags()).isEmpty();
+
+        patch(item.getId(), "{\"status\":\"DONE\"}")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Bad Request");
+    }
+
+    @Test
+    void testStatusTransitions() {
+        ToDoItem item = create("Task", due(1), List.of());
+
+        ToDoItem done = client().patch().uri("/api/todos/{id}/done", item.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+        assertThat(done.getStatus()).isEqualTo(Status.DONE);
+        assertThat(done.getDoneDatetime()).isNotNull();
+        client().patch().uri("/api/todos/{id}/done", item.getId()).exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.message").isEqualTo("Item marked already as done.");
+
+        ToDoItem notDone = client().patch().uri("/api/todos/{id}/not-done", item.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+        assertThat(notDone.getStatus()).isEqualTo(Status.NOT_DONE);
+        assertThat(notDone.getDoneDatetime()).isNull();
+        client().patch().uri("/api/todos/{id}/not-done", item.getId()).exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.message").isEqualTo("Item marked already as not done.");
+    }
+
+    @Test
+    void testDeleteItem() {
+        ToDoItem item = create("Remove me", due(1), List.of("home"));
+
+        client().delete().uri("/api/todos/{id}", item.getId()).exchange()
+                .expectStatus().isNoContent();
+
+        client().get().uri("/api/todos/{id}", item.getId()).exchange()
+                .expectStatus().isNotFound();
+        assertThat(list("/api/todos?tags=home")).isEmpty();
+    }
+
+    protected ToDoItem create(String description, LocalDateTime due, List<String> tags) {
+        return post(Map.of("description", description, "dueDatetime", due.toString(), "tags", tags))
+                .expectStatus().isCreated()
+                .expectBody(ToDoItem.class).returnResult().getResponseBody();
+    }
+
+    protected List<ToDoItem> list(String uri) {
+        return client().get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ToDoItem.class).returnResult().getResponseBody();
+    }
+
+    protected static LocalDateTime due(int days) {
+        return LocalDateTime.now().plusDays(days).withNano(0);
+    }
+
+    private WebTestClient.ResponseSpec post(Map<String, Object> body) {
+        return client().post().uri("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec patch(Long id, String body) {
+        return client().patch().uri("/api/todos/{id}", id)
+                .contentType(MediaType.parseMediaType(ToDoController.MERGE_PATCH_JSON_VALUE))
+                .bodyValue(body)
+                .exchange();
+    }
+
+    private static List<Long> ids(List<ToDoItem> items) {
+        return items.stream().map(ToDoItem::getId).toList();
+    }
+}
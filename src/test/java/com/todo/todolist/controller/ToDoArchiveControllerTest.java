@@ -0,0 +1,85 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.ArchivePage;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.service.ToDoArchiveService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoArchiveController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ToDoArchiveService archiveService;
+
+    @Test
+    void testGetArchivedItemsReturnsNextCursorForFullPage() throws Exception {
+        Mockito.when(archiveService.getArchivedItems(Optional.of(10L), 2))
+                .thenReturn(List.of(archived(11L), archived(12L)));
+
+        mockMvc.perform(get("/api/todos/archive").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.items[1].status").value("DONE"))
+                .andExpect(jsonPath("$.next").value(12));
+    }
+
+    @Test
+    void testGetArchivedItemsLastPage() throws Exception {
+        Mockito.when(archiveService.getArchivedItems(Optional.empty(), 50))
+                .thenReturn(List.of(archived(1L)));
+
+        mockMvc.perform(get("/api/todos/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void testGetArchivedItemsInBinary() throws Exception {
+        Mockito.when(archiveService.getArchivedItems(Optional.of(10L), 2))
+                .thenReturn(List.of(archived(11L), archived(12L)));
+
+        byte[] body = mockMvc.perform(get("/api/todos/archive").param("after", "10").param("limit", "2")
+                        .accept(ToDoBinaryCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", ToDoBinaryCodec.MEDIA_TYPE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ArchivePage page = ToDoBinaryCodec.decodeArchivePage(body);
+        assertThat(page.getItems()).extracting(ArchivedToDoItem::getId).containsExactly(11L, 12L);
+        assertThat(page.getNext()).isEqualTo(12L);
+    }
+
+    private static ArchivedToDoItem archived(Long id) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Archived " + id);
+        item.setStatus(Status.DONE);
+        item.setDueDatetime(LocalDateTime.now().minusDays(40));
+        item.setDoneDatetime(LocalDateTime.now().minusDays(41));
+        return ArchivedToDoItem.of(item, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,76 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.service.ToDoBatchService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoBatchController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ToDoBatchService batchService;
+
+    @Test
+    void testExecuteBatch() throws Exception {
+        BatchOperationResult result = new BatchOperationResult(
+                0, "delete", null, "No Content", LocalDateTime.now(), 204, null);
+        Mockito.when(batchService.execute(Mockito.any())).thenReturn(new BatchResponse(true, List.of(result)));
+
+        mockMvc.perform(post("/api/todos/$batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mode\": \"continue-on-error\", \"operations\": [{\"op\": \"delete\", \"id\": 3}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.results[0].op").value("delete"))
+                .andExpect(jsonPath("$.results[0].status").value(204));
+
+        ArgumentCaptor<BatchRequest> captor = ArgumentCaptor.forClass(BatchRequest.class);
+        Mockito.verify(batchService).execute(captor.capture());
+        assertThat(captor.getValue().getMode()).isEqualTo(BatchRequest.CONTINUE_ON_ERROR);
+        assertThat(captor.getValue().getOperations().get(0).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void testExecuteBatchInBinary() throws Exception {
+        BatchOperationResult result = new BatchOperationResult(
+                0, "delete", "Not Found", "Item 3 not found", LocalDateTime.now(), 404, null);
+        Mockito.when(batchService.execute(Mockito.any())).thenReturn(new BatchResponse(false, List.of(result)));
+
+        byte[] body = mockMvc.perform(post("/api/todos/$batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(ToDoBinaryCodec.MEDIA_TYPE)
+                        .content("{\"operations\": [{\"op\": \"delete\", \"id\": 3}]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", ToDoBinaryCodec.MEDIA_TYPE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BatchResponse decoded = ToDoBinaryCodec.decodeBatchResponse(body);
+        assertThat(decoded.isCommitted()).isFalse();
+        assertThat(decoded.getResults().get(0).getStatus()).isEqualTo(404);
+        assertThat(decoded.getResults().get(0).getMessage()).isEqualTo("Item 3 not found");
+    }
+}
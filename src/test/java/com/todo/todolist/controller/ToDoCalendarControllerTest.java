@@ -0,0 +1,73 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.CalendarDay;
+import com.todo.todolist.dto.DueCalendar;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.service.ToDoCalendarService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoCalendarController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoCalendarControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ToDoCalendarService calendarService;
+
+    @Test
+    void testGetCalendarForRange() throws Exception {
+        CalendarDay day = new CalendarDay(FROM.plusDays(9),
+                Map.of(Status.NOT_DONE, 2L, Status.DONE, 1L, Status.OVERDUE, 0L));
+        Mockito.when(calendarService.getCalendar(FROM, TO))
+                .thenReturn(new DueCalendar(FROM, TO, List.of(day)));
+
+        mockMvc.perform(get("/api/todos/calendar").param("from", "2030-06-01").param("to", "2030-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2030-06-01"))
+                .andExpect(jsonPath("$.days[0].date").value("2030-06-10"))
+                .andExpect(jsonPath("$.days[0].total").value(3))
+                .andExpect(jsonPath("$.days[0].statuses.NOT_DONE").value(2));
+    }
+
+    @Test
+    void testGetCalendarDefaultsToCurrentMonth() throws Exception {
+        YearMonth month = YearMonth.now();
+        Mockito.when(calendarService.getCalendar(month.atDay(1), month.atEndOfMonth()))
+                .thenReturn(new DueCalendar(month.atDay(1), month.atEndOfMonth(), List.of()));
+
+        mockMvc.perform(get("/api/todos/calendar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").isEmpty());
+    }
+
+    @Test
+    void testGetCalendarRejectsInvalidDates() throws Exception {
+        mockMvc.perform(get("/api/todos/calendar").param("from", "June"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("From and to must be ISO-8601 dates such as 2025-06-01."));
+
+        Mockito.verifyNoInteractions(calendarService);
+    }
+}
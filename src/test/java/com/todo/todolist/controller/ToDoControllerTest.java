@@ -1,8 +1,17 @@
 package com.todo.todolist.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.cache.IdempotencyStore;
+import com.todo.todolist.cache.ListResponseCache;
+import com.todo.todolist.cache.WriteSequence;
+import com.todo.todolist.codec.ToDoBinaryCodec;
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.compression.ResponseCompressor;
+import com.todo.todolist.dto.ToDoItemPatch;
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemFields;
 import com.todo.todolist.service.ToDoService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +21,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -26,6 +41,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ToDoController.class)
+@Import({ListResponseCache.class, WriteSequence.class, IdempotencyStore.class,
+        ToDoJsonCodec.class, ResponseCompressor.class})
 class ToDoControllerTest {
 
     @Autowired
@@ -57,6 +74,151 @@ class ToDoControllerTest {
                 .andExpect(jsonPath("$[0].description").value("Test Task"));
     }
 
+    @Test
+    void testGetAllItemsServesCachedResponseUntilWrite() throws Exception {
+        Mockito.when(toDoService.getAllItems(Optional.of("done"))).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/todos").param("status", "done"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+        mockMvc.perform(get("/api/todos").param("status", "DONE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        Mockito.verify(toDoService, Mockito.times(1)).getAllItems(any());
+    }
+
+    @Test
+    void testUnknownStatusIsRejectedBeforeTheCache() throws Exception {
+        Mockito.when(toDoService.getAllItems(Optional.empty())).thenReturn(List.of(item));
+        mockMvc.perform(get("/api/todos")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos").param("status", "all"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown status 'all'. Status must be among NOT_DONE, DONE, OVERDUE."));
+        mockMvc.perform(get("/api/todos").param("status", "all").param("tags", "home"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(toDoService, Mockito.never()).getAllItems(Optional.of("all"));
+        Mockito.verify(toDoService, Mockito.never()).getItemsByTags(any(), any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void testGetAllItemsInBinaryWhenAskedFor() throws Exception {
+        Mockito.when(toDoService.getAllItems(Optional.empty())).thenReturn(List.of(item));
+
+        byte[] body = mockMvc.perform(get("/api/todos")
+                        .header("Accept", "application/json;q=0.5, application/vnd.todo.binary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", ToDoBinaryCodec.MEDIA_TYPE_VALUE))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(ToDoBinaryCodec.decodeItems(body)).extracting(ToDoItem::getDescription)
+                .containsExactly("Test Task");
+
+        mockMvc.perform(get("/api/todos").header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(jsonPath("$[0].description").value("Test Task"));
+    }
+
+    @Test
+    void testGetAllItemsPicksTheMediaTypeByQuality() throws Exception {
+        Mockito.when(toDoService.getAllItems(Optional.empty())).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/todos")
+                        .header("Accept", "application/vnd.todo.binary;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"));
+        mockMvc.perform(get("/api/todos")
+                        .header("Accept", "application/vnd.todo.binary;q=0.8, application/*;q=0.9, */*;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"));
+        mockMvc.perform(get("/api/todos")
+                        .header("Accept", "application/vnd.todo.binary;q=0.8, */*;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", ToDoBinaryCodec.MEDIA_TYPE_VALUE));
+    }
+
+    @Test
+    void testGetAllItemsByTags() throws Exception {
+        item.setTags(List.of("home"));
+        Mockito.when(toDoService.getItemsByTags(Optional.of("NOT_DONE"), List.of("home", "urgent"), false))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/todos").param("status", "NOT_DONE")
+                        .param("tags", "home,urgent").param("match", "any"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tags[0]").value("home"));
+    }
+
+    @Test
+    void testGetAllItemsWithFields() throws Exception {
+        Set<ToDoField> fields = EnumSet.of(ToDoField.ID, ToDoField.STATUS, ToDoField.DUE_DATETIME);
+        Mockito.when(toDoService.getItemFields(Optional.of("not_done"), fields))
+                .thenReturn(List.of(new ToDoItemFields(1L, null, Status.NOT_DONE, null,
+                        LocalDateTime.of(2025, 8, 10, 12, 0), null, null)));
+
+        mockMvc.perform(get("/api/todos").param("status", "not_done")
+                        .param("fields", "dueDatetime, id,status")
+                        .header("Accept", ToDoBinaryCodec.MEDIA_TYPE_VALUE + ", application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(content().string(
+                        "[{\"id\":1,\"status\":\"NOT_DONE\",\"dueDatetime\":\"2025-08-10T12:00:00\"}]"));
+        mockMvc.perform(get("/api/todos").param("status", "NOT_DONE").param("fields", "id,status,dueDatetime"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(toDoService, Mockito.times(1)).getItemFields(any(), any());
+        Mockito.verify(toDoService, Mockito.never()).getAllItems(any());
+    }
+
+    @Test
+    void testGetAllItemsByTagsWithFields() throws Exception {
+        item.setTags(List.of("home"));
+        Mockito.when(toDoService.getItemsByTags(Optional.empty(), List.of("home"), true))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/todos").param("tags", "home").param("fields", "id,tags"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[{\"id\":1,\"tags\":[\"home\"]}]"));
+    }
+
+    @Test
+    void testGetAllItemsRejectsUnknownFields() throws Exception {
+        mockMvc.perform(get("/api/todos").param("fields", "id,title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown field 'title'. Fields must be among id, description, status, "
+                                + "creationDatetime, dueDatetime, doneDatetime, tags."));
+        mockMvc.perform(get("/api/todos").param("fields", " , "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Fields must name at least one field."));
+    }
+
+    @Test
+    void testGetAllItemsByTagsInvalidMatch() throws Exception {
+        mockMvc.perform(get("/api/todos").param("tags", "home").param("match", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetUpcomingItems() throws Exception {
+        Mockito.when(toDoService.getUpcomingItems(5, Optional.of(Duration.ofDays(7)))).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/todos/upcoming").param("limit", "5").param("within", "P7D"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void testGetUpcomingItemsInvalidWindow() throws Exception {
+        mockMvc.perform(get("/api/todos/upcoming").param("within", "tomorrow"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetItemById() throws Exception {
         Mockito.when(toDoService.getItemById(1L)).thenReturn(item);
@@ -88,6 +250,54 @@ class ToDoControllerTest {
                 .andExpect(jsonPath("$.status").value("NOT_DONE"));
     }
 
+    @Test
+    void testCreateItemReplaysIdempotentRetry() throws Exception {
+        ToDoItem itemToCreate = new ToDoItem();
+        itemToCreate.setDescription("Retried Task");
+        itemToCreate.setDueDatetime(LocalDateTime.of(2025, 8, 10, 12, 0));
+
+        ToDoItem created = new ToDoItem();
+        created.setId(3L);
+        created.setDescription("Retried Task");
+        created.setDueDatetime(itemToCreate.getDueDatetime());
+        created.setStatus(Status.NOT_DONE);
+
+        Mockito.when(toDoService.createItem(any(ToDoItem.class))).thenReturn(created);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/todos")
+                            .header("Idempotency-Key", "create-retried-task")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(itemToCreate)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(3));
+        }
+
+        Mockito.verify(toDoService, Mockito.times(1)).createItem(any(ToDoItem.class));
+    }
+
+    @Test
+    void testCreateItemRejectsReusedIdempotencyKey() throws Exception {
+        ToDoItem itemToCreate = new ToDoItem();
+        itemToCreate.setDescription("First Task");
+        itemToCreate.setDueDatetime(LocalDateTime.of(2025, 8, 10, 12, 0));
+
+        Mockito.when(toDoService.createItem(any(ToDoItem.class))).thenReturn(item);
+
+        mockMvc.perform(post("/api/todos")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemToCreate)))
+                .andExpect(status().isCreated());
+
+        itemToCreate.setDescription("Second Task");
+        mockMvc.perform(post("/api/todos")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemToCreate)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testUpdateItem() throws Exception {
         ToDoItem updated = new ToDoItem();
@@ -106,6 +316,29 @@ class ToDoControllerTest {
                 .andExpect(jsonPath("$.status").value("DONE"));
     }
 
+    @Test
+    void testPatchItem() throws Exception {
+        item.setDescription("Patched Task");
+        Mockito.when(toDoService.patchItem(eq(1L), any(ToDoItemPatch.class))).thenReturn(item);
+
+        mockMvc.perform(patch("/api/todos/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"description\": \"Patched Task\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Patched Task"));
+    }
+
+    @Test
+    void testPatchItemRejectsStatusChange() throws Exception {
+        mockMvc.perform(patch("/api/todos/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Field 'status' cannot be patched."));
+
+        Mockito.verifyNoInteractions(toDoService);
+    }
+
     @Test
     void testMarkAsDoneEndpoint() throws Exception {
         ToDoItem item = new ToDoItem();
@@ -138,6 +371,21 @@ class ToDoControllerTest {
             .andExpect(jsonPath("$.status").value("NOT_DONE"));
     }
 
+    @Test
+    void testMarkAsDoneReplaysIdempotentRetry() throws Exception {
+        item.setStatus(Status.DONE);
+        when(toDoService.markAsDone(1L)).thenReturn(item);
+
+        mockMvc.perform(patch("/api/todos/1/done").header("Idempotency-Key", "done-1"))
+            .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/todos/1/done").header("Idempotency-Key", "done-1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.status").value("DONE"));
+
+        Mockito.verify(toDoService, Mockito.times(1)).markAsDone(1L);
+    }
+
     @Test
     void testDeleteItem() throws Exception {
         mockMvc.perform(delete("/api/todos/1"))
@@ -0,0 +1,156 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.ImportJob;
+import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.exception.ServiceUnavailableException;
+import com.todo.todolist.importer.ImportFormat;
+import com.todo.todolist.service.ToDoImportService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoImportController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ToDoImportService importService;
+
+    @Test
+    void testImportReturnsTheJobWhenItStarts() throws Exception {
+        String csv = "description,dueDatetime\nBuy milk,2030-01-01T10:00:00\n";
+        long length = csv.getBytes(StandardCharsets.UTF_8).length;
+        ImportJob job = new ImportJob("job-1", "csv", length, 10);
+        boolean[] committedAtStart = new boolean[1];
+        Mockito.when(importService.importItems(ArgumentMatchers.any(),
+                ArgumentMatchers.eq(ImportFormat.CSV), ArgumentMatchers.eq(length),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Consumer<ImportJob>>getArgument(3).accept(job);
+                    committedAtStart[0] = true;
+                    job.rowRead();
+                    job.addImported(1);
+                    job.complete();
+                    return job;
+                });
+
+        MvcResult result = mockMvc.perform(post("/api/todos/import")
+                        .contentType("text/csv; charset=UTF-8")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/todos/import/job-1"))
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.totalBytes").value(length))
+                .andReturn();
+
+        assertThat(committedAtStart[0]).isTrue();
+        assertThat(result.getResponse().isCommitted()).isTrue();
+    }
+
+    @Test
+    void testImportFailingAfterItStartedReportsTheFailedJob() throws Exception {
+        ImportJob job = new ImportJob("job-3", "ndjson", null, 10);
+        Mockito.when(importService.importItems(ArgumentMatchers.any(),
+                ArgumentMatchers.eq(ImportFormat.NDJSON), ArgumentMatchers.any(),
+                ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Consumer<ImportJob>>getArgument(3).accept(job);
+                    job.addImported(500);
+                    job.fail("Connection reset");
+                    throw new IllegalStateException("Connection reset");
+                });
+
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/todos/import/job-3"))
+                .andExpect(jsonPath("$.id").value("job-3"))
+                .andExpect(jsonPath("$.state").value("FAILED"))
+                .andExpect(jsonPath("$.imported").value(500))
+                .andExpect(jsonPath("$.error").value("Connection reset"));
+    }
+
+    @Test
+    void testImportFailingBeforeItStartedReturnsTheError() throws Exception {
+        Mockito.when(importService.importItems(ArgumentMatchers.any(),
+                ArgumentMatchers.eq(ImportFormat.CSV), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenThrow(new ServiceUnavailableException("Too many imports are running, please retry later."));
+
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("text/csv")
+                        .content("description,dueDatetime\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist("Location"));
+    }
+
+    @Test
+    void testImportRejectsOtherContentTypes() throws Exception {
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("Content type must be application/x-ndjson or text/csv."));
+
+        Mockito.verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testGetJobReportsRejections() throws Exception {
+        ImportJob job = new ImportJob("job-2", "ndjson", null, 1);
+        job.reject(3, "Row is not valid JSON.", false);
+        job.reject(5, "Row is not valid JSON.", false);
+        Mockito.when(importService.getJob("job-2")).thenReturn(job);
+
+        mockMvc.perform(get("/api/todos/import/job-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejections.length()").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(3))
+                .andExpect(jsonPath("$.rejectionsTruncated").value(true));
+    }
+
+    @Test
+    void testGetUnknownJobReturnsNotFound() throws Exception {
+        Mockito.when(importService.getJob("missing"))
+                .thenThrow(new NotFoundException("Import job not found with id missing"));
+
+        mockMvc.perform(get("/api/todos/import/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetJobsListsNewestFirst() throws Exception {
+        Mockito.when(importService.getJobs()).thenReturn(List.of(
+                new ImportJob("job-4", "csv", null, 10), new ImportJob("job-3", "csv", null, 10)));
+
+        mockMvc.perform(get("/api/todos/import"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("job-4"))
+                .andExpect(jsonPath("$[1].id").value("job-3"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.OverdueSchedulerSettings;
+import com.todo.todolist.dto.OverdueSchedulerStatus;
+import com.todo.todolist.dto.OverdueSweepResult;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.service.ToDoStatusScheduler;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoSchedulerController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoSchedulerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ToDoStatusScheduler scheduler;
+
+    @Test
+    void testGetStatusReturnsRecentSweeps() throws Exception {
+        Mockito.when(scheduler.getStatus(5)).thenReturn(schedulerStatus(false));
+
+        mockMvc.perform(get("/api/admin/scheduler/overdue").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paused").value(false))
+                .andExpect(jsonPath("$.intervalMs").value(60000))
+                .andExpect(jsonPath("$.nextDelayMs").value(120000))
+                .andExpect(jsonPath("$.results[0].trigger").value("scheduled"))
+                .andExpect(jsonPath("$.results[0].rows").value(2))
+                .andExpect(jsonPath("$.results[0].lagMs").value(1500));
+    }
+
+    @Test
+    void testRunNowReturnsTheSweepOrConflict() throws Exception {
+        Mockito.when(scheduler.markOverdueItems())
+                .thenReturn(new OverdueSweepResult("manual", LocalDateTime.now(), 7, 3, 900, null))
+                .thenThrow(new ConflictException("An overdue sweep is already running."));
+
+        mockMvc.perform(post("/api/admin/scheduler/overdue/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trigger").value("manual"))
+                .andExpect(jsonPath("$.rows").value(3));
+        mockMvc.perform(post("/api/admin/scheduler/overdue/run"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("An overdue sweep is already running."));
+    }
+
+    @Test
+    void testPauseAndResume() throws Exception {
+        Mockito.when(scheduler.pause()).thenReturn(schedulerStatus(true));
+        Mockito.when(scheduler.resume()).thenReturn(schedulerStatus(false));
+
+        mockMvc.perform(post("/api/admin/scheduler/overdue/pause"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paused").value(true))
+                .andExpect(jsonPath("$.nextRunAt").doesNotExist());
+        mockMvc.perform(post("/api/admin/scheduler/overdue/resume"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paused").value(false));
+    }
+
+    @Test
+    void testUpdateSettingsPassesOnlyTheGivenMembers() throws Exception {
+        Mockito.when(scheduler.updateSettings(any())).thenReturn(schedulerStatus(false));
+
+        mockMvc.perform(patch("/api/admin/scheduler/overdue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"intervalMs\":30000,\"jitter\":0.2}"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<OverdueSchedulerSettings> settings =
+                ArgumentCaptor.forClass(OverdueSchedulerSettings.class);
+        Mockito.verify(scheduler).updateSettings(settings.capture());
+        assertThat(settings.getValue().getIntervalMs()).isEqualTo(30000L);
+        assertThat(settings.getValue().getJitter()).isEqualTo(0.2);
+        assertThat(settings.getValue().getMaxIntervalMs()).isNull();
+        assertThat(settings.getValue().getBackoffMultiplier()).isNull();
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() throws Exception {
+        Mockito.when(scheduler.updateSettings(any()))
+                .thenThrow(new BadRequestException("Interval must be at least 1 ms."));
+
+        mockMvc.perform(patch("/api/admin/scheduler/overdue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"intervalMs\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Interval must be at least 1 ms."));
+    }
+
+    private static OverdueSchedulerStatus schedulerStatus(boolean paused) {
+        OverdueSweepResult result = new OverdueSweepResult("scheduled", LocalDateTime.now(), 12, 2,
+                1500, null);
+        return new OverdueSchedulerStatus(paused, false, 60000, 600000, 2, 0.1, 120000,
+                paused ? null : LocalDateTime.now().plusMinutes(2), List.of(result));
+    }
+}
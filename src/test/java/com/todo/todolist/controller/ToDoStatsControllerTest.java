@@ -0,0 +1,80 @@
+package com.todo.todolist.controller;
+
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.CompletionStats;
+import com.todo.todolist.dto.DailyStats;
+import com.todo.todolist.dto.DurationSummary;
+import com.todo.todolist.dto.OverdueSummary;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.stats.CompletionStatistics;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ToDoStatsController.class)
+@Import(ToDoJsonCodec.class)
+class ToDoStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CompletionStatistics completionStatistics;
+
+    @Test
+    void testGetStatsUsesConfiguredWindow() throws Exception {
+        Mockito.when(completionStatistics.getStats()).thenReturn(stats(30));
+
+        mockMvc.perform(get("/api/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowDays").value(30))
+                .andExpect(jsonPath("$.items.DONE").value(3))
+                .andExpect(jsonPath("$.completion.p90Seconds").value(7_231))
+                .andExpect(jsonPath("$.overdue.maxDays").value(4))
+                .andExpect(jsonPath("$.days[0].date").value("2030-01-01"));
+    }
+
+    @Test
+    void testGetStatsForGivenDays() throws Exception {
+        Mockito.when(completionStatistics.getStats(7)).thenReturn(stats(7));
+
+        mockMvc.perform(get("/api/todos/stats").param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowDays").value(7));
+    }
+
+    @Test
+    void testGetStatsRejectsWindowOutOfRange() throws Exception {
+        Mockito.when(completionStatistics.getStats(500))
+                .thenThrow(new BadRequestException("Days must be between 1 and 90."));
+
+        mockMvc.perform(get("/api/todos/stats").param("days", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Days must be between 1 and 90."));
+    }
+
+    private CompletionStats stats(int days) {
+        Map<Status, Long> items = new EnumMap<>(Status.class);
+        items.put(Status.NOT_DONE, 2L);
+        items.put(Status.DONE, 3L);
+        items.put(Status.OVERDUE, 1L);
+        DurationSummary completion = new DurationSummary(3, 5_000, 3_600, 7_231, 7_231, 7_231);
+        return new CompletionStats(days, LocalDate.of(2030, 1, 1), items, completion, completion,
+                new DurationSummary(0, 0, 0, 0, 0, 0), new OverdueSummary(1, 4, 4, 4),
+                List.of(new DailyStats(LocalDate.of(2030, 1, 1), 3, 3_600, 1)));
+    }
+}
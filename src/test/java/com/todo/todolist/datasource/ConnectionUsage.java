@@ -0,0 +1,157 @@
+package com.todo.todolist.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Test harness measuring the connections a request takes from the {@code dataSource} bean.
+ *
+ * <p>While {@link #record} runs an action, every connection the calling thread checks out is
+ * counted with the statements prepared on it, the time until it is closed and whether it was
+ * put in read-only mode. {@link #bodyWritten()} notes how many of those connections are still
+ * open when the response body is written. Connections taken by other threads, such as the
+ * schedulers, are ignored.
+ */
+class ConnectionUsage implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENTS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return track(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return track(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Run an action and report the connections it used on this thread.
+     *
+     * @param action the action, typically one MockMvc request
+     * @return the connection usage
+     * @throws Exception if the action fails
+     */
+    Recording record(Action action) throws Exception {
+        Recording recording = new Recording();
+        current.set(recording);
+        try {
+            action.run();
+        } finally {
+            current.remove();
+        }
+        return recording;
+    }
+
+    /**
+     * Note that the response body is about to be written.
+     */
+    void bodyWritten() {
+        Recording recording = current.get();
+        if (recording != null) {
+            recording.openAtBodyWrite = Math.max(recording.openAtBodyWrite, recording.open);
+            recording.bodyWritten = true;
+        }
+    }
+
+    private Connection track(Connection connection) {
+        Recording recording = current.get();
+        if (recording == null) {
+            return connection;
+        }
+        recording.connections++;
+        recording.open++;
+        long checkedOut = System.nanoTime();
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (STATEMENTS.contains(name)) {
+                        recording.statements++;
+                    } else if ("setReadOnly".equals(name) && Boolean.TRUE.equals(args[0])) {
+                        recording.readOnlyConnections++;
+                    } else if ("close".equals(name) && !closed[0]) {
+                        closed[0] = true;
+                        recording.open--;
+                        recording.heldNanos += System.nanoTime() - checkedOut;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    /**
+     * An action whose connection usage is recorded.
+     */
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * The connections used by one action.
+     */
+    static final class Recording {
+
+        private int connections;
+        private int statements;
+        private int readOnlyConnections;
+        private int open;
+        private int openAtBodyWrite;
+        private boolean bodyWritten;
+        private long heldNanos;
+
+        int connections() {
+            return connections;
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        int readOnlyConnections() {
+            return readOnlyConnections;
+        }
+
+        int openAtBodyWrite() {
+            return openAtBodyWrite;
+        }
+
+        boolean bodyWritten() {
+            return bodyWritten;
+        }
+
+        Duration held() {
+            return Duration.ofNanos(heldNanos);
+        }
+
+        @Override
+        public String toString() {
+            return connections + " connections, " + statements + " statements, "
+                    + readOnlyConnections + " read-only, held " + held().toMillis() + " ms, "
+                    + openAtBodyWrite + " open at body write";
+        }
+    }
+}
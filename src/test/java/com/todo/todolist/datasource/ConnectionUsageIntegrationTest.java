@@ -0,0 +1,203 @@
+package com.todo.todolist.datasource;
+
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks, per endpoint, how many connections a request takes, how many statements it runs on
+ * them, whether reads get read-only connections and that the connections are back in the pool
+ * before the response body is written, as they are with open-in-view disabled. The projection
+ * is disabled so reads go to the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection_usage_db;DB_CLOSE_DELAY=-1",
+        "todo.projection.enabled=false"
+})
+@AutoConfigureMockMvc
+class ConnectionUsageIntegrationTest {
+
+    private static final Duration MAX_HOLD = Duration.ofSeconds(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConnectionUsage connectionUsage;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    private ToDoItem item;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        item = new ToDoItem();
+        item.setDescription("Measured task");
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        item.setTags(List.of("home"));
+        item = repository.save(item);
+    }
+
+    @Test
+    void testReadsUseOneReadOnlyConnection() throws Exception {
+        ConnectionUsage.Recording byId = connectionUsage.record(() ->
+                mockMvc.perform(get("/api/todos/{id}", item.getId())).andExpect(status().isOk()));
+        ConnectionUsage.Recording list = connectionUsage.record(() ->
+                mockMvc.perform(get("/api/todos").param("status", "NOT_DONE")).andExpect(status().isOk()));
+        ConnectionUsage.Recording fields = connectionUsage.record(() ->
+                mockMvc.perform(get("/api/todos").param("fields", "id,status,dueDatetime"))
+                        .andExpect(status().isOk()));
+        ConnectionUsage.Recording archive = connectionUsage.record(() ->
+                mockMvc.perform(get("/api/todos/archive")).andExpect(status().isOk()));
+
+        ConnectionUsage.Recording cachedList = connectionUsage.record(() ->
+                mockMvc.perform(get("/api/todos").param("status", "NOT_DONE")).andExpect(status().isOk()));
+
+        assertThat(byId.bodyWritten()).isTrue();
+        assertUsage(byId, 1, 2, true);
+        assertUsage(list, 1, 2, true);
+        assertUsage(fields, 1, 1, true);
+        assertUsage(archive, 1, 1, true);
+        assertThat(cachedList.connections()).isZero();
+    }
+
+    @Test
+    void testWritesUseOneReadWriteConnection() throws Exception {
+        String body = "{\"description\":\"Created task\",\"dueDatetime\":\""
+                + LocalDateTime.now().plusDays(2).withNano(0) + "\",\"tags\":[\"work\"]}";
+        ConnectionUsage.Recording create = connectionUsage.record(() ->
+                mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andExpect(status().isCreated()));
+        ConnectionUsage.Recording done = connectionUsage.record(() ->
+                mockMvc.perform(patch("/api/todos/{id}/done", item.getId())).andExpect(status().isOk()));
+        ConnectionUsage.Recording delete = connectionUsage.record(() ->
+                mockMvc.perform(delete("/api/todos/{id}", item.getId())).andExpect(status().isNoContent()));
+        ConnectionUsage.Recording invalid = connectionUsage.record(() ->
+                mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"\"}")).andExpect(status().isBadRequest()));
+
+        assertThat(create.bodyWritten()).isTrue();
+        assertUsage(create, 1, 3, false);
+        assertUsage(done, 1, 3, false);
+        assertUsage(delete, 1, 4, false);
+        assertThat(invalid.connections()).isZero();
+        assertThat(repository.findByStatus(Status.NOT_DONE)).hasSize(1);
+    }
+
+    @Test
+    void testBatchSendsTheInsertsAndDeletesOfAGroupAsOneStatement() throws Exception {
+        ConnectionUsage.Recording oneCreate = connectionUsage.record(() -> batch(creates("Single", 1)));
+        ConnectionUsage.Recording fourCreates = connectionUsage.record(() -> batch(creates("Grouped", 4)));
+        List<Long> ids = repository.findByStatus(Status.NOT_DONE).stream()
+                .map(ToDoItem::getId)
+                .filter(id -> !id.equals(item.getId()))
+                .toList();
+        ConnectionUsage.Recording oneDelete = connectionUsage.record(() -> batch(deletes(ids.subList(0, 1))));
+        ConnectionUsage.Recording fourDeletes = connectionUsage.record(() -> batch(deletes(ids.subList(1, 5))));
+
+        // A create runs its duplicate check and, at most once, fetches ids; the rows of the
+        // group are inserted by one statement per table.
+        assertThat(oneCreate.statements()).as("create: %s", oneCreate).isBetween(3, 4);
+        assertThat(fourCreates.statements()).as("creates: %s", fourCreates).isBetween(4 + 2, 4 + 2 + 1);
+        // Each further delete only loads its item and tags.
+        assertThat(fourDeletes.statements() - oneDelete.statements()).as("deletes: %s", fourDeletes)
+                .isEqualTo(3 * 2);
+        assertThat(repository.findByStatus(Status.NOT_DONE)).extracting(ToDoItem::getId)
+                .containsExactly(item.getId());
+    }
+
+    private void batch(String operations) throws Exception {
+        mockMvc.perform(post("/api/todos/$batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[" + operations + "]}"))
+                .andExpect(status().isOk());
+    }
+
+    private static String creates(String prefix, int count) {
+        String due = LocalDateTime.now().plusDays(2).withNano(0).toString();
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"op\":\"create\",\"body\":{\"description\":\"" + prefix + " " + i
+                        + "\",\"dueDatetime\":\"" + due + "\",\"tags\":[\"work\"]}}")
+                .collect(Collectors.joining(","));
+    }
+
+    private static String deletes(List<Long> ids) {
+        return ids.stream()
+                .map(id -> "{\"op\":\"delete\",\"id\":" + id + "}")
+                .collect(Collectors.joining(","));
+    }
+
+    private static void assertUsage(ConnectionUsage.Recording usage, int connections, int statements,
+                                    boolean readOnly) {
+        assertThat(usage.connections()).as("connections: %s", usage).isEqualTo(connections);
+        assertThat(usage.statements()).as("statements: %s", usage).isEqualTo(statements);
+        assertThat(usage.readOnlyConnections()).as("read-only: %s", usage).isEqualTo(readOnly ? connections : 0);
+        assertThat(usage.openAtBodyWrite()).as("open at body write: %s", usage).isZero();
+        assertThat(usage.held()).as("held: %s", usage).isLessThan(MAX_HOLD);
+    }
+
+    @TestConfiguration
+    static class Harness {
+
+        @Bean
+        static ConnectionUsage connectionUsage() {
+            return new ConnectionUsage();
+        }
+
+        @Bean
+        BodyWriteProbe bodyWriteProbe(ConnectionUsage connectionUsage) {
+            return new BodyWriteProbe(connectionUsage);
+        }
+    }
+
+    @ControllerAdvice
+    static class BodyWriteProbe implements ResponseBodyAdvice<Object> {
+
+        private final ConnectionUsage connectionUsage;
+
+        BodyWriteProbe(ConnectionUsage connectionUsage) {
+            this.connectionUsage = connectionUsage;
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            connectionUsage.bodyWritten();
+            return body;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.todo.todolist.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Integer, Long> lags = new HashMap<>();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWrites.clear();
+        lags.put(0, 0L);
+        lags.put(1, 0L);
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class),
+                List.of(mock(DataSource.class), mock(DataSource.class)),
+                replica -> lags.get(replica), 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testWritesGoToPrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void testReadsAreSpreadOverReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Set<Object> targets = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            targets.add(routing.determineCurrentLookupKey());
+        }
+
+        assertThat(targets).containsExactlyInAnyOrder(0, 1);
+        assertThat(meterRegistry.get("todo.datasource.reads").tag("target", "replica").counter().count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lags.put(0, 500L);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(1);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(1);
+    }
+
+    @Test
+    void testReadsFallBackToPrimaryWhenAllReplicasLag() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lags.put(0, 500L);
+        lags.put(1, Long.MAX_VALUE);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("todo.datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReadsAfterWriteStickToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWrites.markWritten();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        ReadYourWrites.clear();
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void testCacheLoadsGoToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(PrimaryReads.call(routing::determineCurrentLookupKey))
+                .isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+}
@@ -0,0 +1,81 @@
+package com.todo.todolist.datasource;
+
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.service.ToDoService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+        "todo.datasource.replicas.enabled=true",
+        "todo.datasource.replicas.urls=jdbc:h2:mem:routing_replica_0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:routing_replica_1;DB_CLOSE_DELAY=-1",
+        "todo.datasource.replicas.max-lag-ms=2000",
+        "todo.datasource.replication.delay-ms=0",
+        "todo.projection.enabled=false"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testWritesAreReplicatedAndReadFromReplicas() throws Exception {
+        ToDoItem created = toDoService.createItem(item("Replicated item"));
+
+        assertThat(toDoService.getItemById(created.getId()).getDescription()).isEqualTo("Replicated item");
+
+        JdbcTemplate replica = new JdbcTemplate(routing.getReplicas().get(1));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replica.queryForObject("SELECT COUNT(*) FROM todo_items WHERE id = ?",
+                Integer.class, created.getId()) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        double replicaReads = replicaReads();
+        ToDoItem fromReplica = CompletableFuture
+                .supplyAsync(() -> toDoService.getAllItems(Optional.empty()))
+                .get(5, TimeUnit.SECONDS)
+                .stream()
+                .filter(item -> item.getId().equals(created.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(fromReplica.getDescription()).isEqualTo("Replicated item");
+        assertThat(replicaReads()).isGreaterThan(replicaReads);
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("todo.datasource.reads").tag("target", "replica").counter().count();
+    }
+
+    private static ToDoItem item(String description) {
+        ToDoItem item = new ToDoItem();
+        item.setDescription(description);
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        return item;
+    }
+}
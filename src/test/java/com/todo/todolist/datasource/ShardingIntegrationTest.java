@@ -0,0 +1,145 @@
+package com.todo.todolist.datasource;
+
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.projection.ToDoProjection;
+import com.todo.todolist.repository.ToDoItemRepository;
+import com.todo.todolist.service.ToDoService;
+import com.todo.todolist.service.ToDoStatusScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "todo.shards.enabled=true",
+        "todo.shards.urls=jdbc:h2:mem:shard_0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shard_1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shard_2;DB_CLOSE_DELAY=-1"
+})
+class ShardingIntegrationTest {
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @Autowired
+    private ToDoStatusScheduler scheduler;
+
+    @Autowired
+    private ShardRoutingDataSource routing;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ToDoProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        projection.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testItemsAreSpreadOverShardsByEncodedId() {
+        List<ToDoItem> created = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            created.add(toDoService.createItem(item("Sharded " + i, LocalDateTime.now().plusDays(1))));
+        }
+
+        assertThat(created).extracting(item -> ShardIds.shardOf(item.getId()))
+                .containsExactlyInAnyOrder(0, 0, 1, 1, 2, 2);
+        for (ToDoItem item : created) {
+            JdbcTemplate shard = new JdbcTemplate(routing.getShards().get(ShardIds.shardOf(item.getId())));
+            assertThat(shard.queryForObject("SELECT COUNT(*) FROM todo_items WHERE id = ?",
+                    Integer.class, item.getId())).isEqualTo(1);
+            assertThat(toDoService.getItemById(item.getId()).getDescription())
+                    .isEqualTo(item.getDescription());
+        }
+        assertThat(toDoService.getAllItems(Optional.of("NOT_DONE")))
+                .extracting(ToDoItem::getId)
+                .containsExactlyElementsOf(created.stream().map(ToDoItem::getId).sorted().toList());
+        assertThat(repository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void testDuplicateCheckSpansShards() {
+        LocalDateTime due = LocalDateTime.now().plusDays(1).withNano(0);
+        toDoService.createItem(item("Once", due));
+
+        assertThrows(ConflictException.class, () -> toDoService.createItem(item("Once", due)));
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdatesStayOnTheShardOfTheItem() {
+        toDoService.createItem(item("First", LocalDateTime.now().plusDays(1)));
+        ToDoItem second = toDoService.createItem(item("Second", LocalDateTime.now().plusDays(1)));
+
+        toDoService.markAsDone(second.getId());
+        toDoService.deleteItem(second.getId());
+
+        assertThat(repository.findById(second.getId())).isEmpty();
+        assertThat(repository.findByStatus(Status.DONE)).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testOverdueSweepRunsOnEveryShard() {
+        List<ToDoItem> saved = new ArrayList<>();
+        for (int shard = 0; shard < routing.getShards().size(); shard++) {
+            saved.add(ShardContext.callOn(shard,
+                    () -> repository.save(item("Late", LocalDateTime.now().minusDays(1)))));
+        }
+
+        scheduler.markOverdueItems();
+
+        assertThat(saved).extracting(item -> ShardIds.shardOf(item.getId())).containsExactly(0, 1, 2);
+        assertThat(repository.findByStatus(Status.OVERDUE)).extracting(ToDoItem::getId)
+                .containsExactlyInAnyOrderElementsOf(saved.stream().map(ToDoItem::getId).toList());
+    }
+
+    @Test
+    void testTransactionCannotSpanShards() {
+        ToDoItem first = ShardContext.callOn(0, () -> repository.save(item("A", LocalDateTime.now().plusDays(1))));
+        ToDoItem second = ShardContext.callOn(1, () -> repository.save(item("B", LocalDateTime.now().plusDays(1))));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> transaction.executeWithoutResult(status -> {
+            repository.findById(first.getId());
+            repository.findById(second.getId());
+        }));
+    }
+
+    private static ToDoItem item(String description, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setDescription(description);
+        item.setDueDatetime(due);
+        item.setTags(Set.of());
+        return item;
+    }
+}
@@ -0,0 +1,64 @@
+package com.todo.todolist.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.exception.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToDoItemPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSuppliedFieldsAreParsed() throws Exception {
+        ToDoItemPatch patch = parse(
+                "{\"description\": \"Buy milk\", \"dueDatetime\": \"2026-08-10T18:00:00\", \"tags\": [\"home\"]}");
+
+        assertEquals(Optional.of("Buy milk"), patch.getDescription());
+        assertEquals(Optional.of(LocalDateTime.of(2026, 8, 10, 18, 0)), patch.getDueDatetime());
+        assertEquals(Optional.of(Set.of("home")), patch.getTags());
+        assertFalse(patch.isEmpty());
+    }
+
+    @Test
+    void testAbsentFieldsAreLeftUnchanged() throws Exception {
+        ToDoItemPatch patch = parse("{}");
+
+        assertTrue(patch.getDescription().isEmpty());
+        assertTrue(patch.getDueDatetime().isEmpty());
+        assertTrue(patch.getTags().isEmpty());
+        assertTrue(patch.isEmpty());
+    }
+
+    @Test
+    void testNullTagsClearTags() throws Exception {
+        ToDoItemPatch patch = parse("{\"tags\": null}");
+
+        assertEquals(Optional.of(Set.of()), patch.getTags());
+    }
+
+    @Test
+    void testRequiredFieldsCannotBeRemoved() {
+        assertThrows(BadRequestException.class, () -> parse("{\"description\": null}"));
+        assertThrows(BadRequestException.class, () -> parse("{\"dueDatetime\": null}"));
+    }
+
+    @Test
+    void testInvalidDocumentsAreRejected() {
+        assertThrows(BadRequestException.class, () -> parse("[]"));
+        assertThrows(BadRequestException.class, () -> parse("{\"status\": \"DONE\"}"));
+        assertThrows(BadRequestException.class, () -> parse("{\"dueDatetime\": \"tomorrow\"}"));
+        assertThrows(BadRequestException.class, () -> parse("{\"tags\": \"home\"}"));
+        assertThrows(BadRequestException.class, () -> parse("{\"tags\": [1]}"));
+    }
+
+    private ToDoItemPatch parse(String json) throws Exception {
+        return ToDoItemPatch.fromJson(objectMapper.readTree(json));
+    }
+}
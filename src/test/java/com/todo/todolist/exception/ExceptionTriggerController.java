@@ -1,5 +1,6 @@
 package com.todo.todolist.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,6 +19,11 @@ class ExceptionTriggerController {
         throw new ConflictException("Conflict occurred");
     }
 
+    @GetMapping("/stale-update")
+    public void throwStaleUpdate() {
+        throw new OptimisticLockingFailureException("Row was updated or deleted by another transaction");
+    }
+
     @GetMapping("/forbidden")
     public void throwForbidden() {
         throw new ForbiddenException("Access denied");
@@ -28,6 +34,11 @@ class ExceptionTriggerController {
         throw new NotFoundException("Not Found");
     }
 
+    @GetMapping("/service-unavailable")
+    public void throwServiceUnavailable() {
+        throw new ServiceUnavailableException("Try again later");
+    }
+
     @GetMapping("/general-error")
     public void throwGeneral() {
         throw new RuntimeException("Something went wrong");
@@ -1,16 +1,20 @@
 package com.todo.todolist.exception;
 
+import com.todo.todolist.codec.ToDoJsonCodec;
+import com.todo.todolist.dto.ErrorResponse;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ExceptionTriggerController.class)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, ToDoJsonCodec.class})
 class GlobalExceptionHandlerTest {
 
     @Autowired
@@ -34,6 +38,15 @@ class GlobalExceptionHandlerTest {
             .andExpect(jsonPath("$.status").value(409));
     }
 
+    @Test
+    void testOptimisticLockingFailure() throws Exception {
+        mockMvc.perform(get("/test/stale-update"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("Conflict"))
+            .andExpect(jsonPath("$.message").value("The item was changed by another request, please retry."))
+            .andExpect(jsonPath("$.status").value(409));
+    }
+
     @Test
     void testForbiddenException() throws Exception {
         mockMvc.perform(get("/test/forbidden"))
@@ -52,6 +65,15 @@ class GlobalExceptionHandlerTest {
             .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    void testServiceUnavailableException() throws Exception {
+        mockMvc.perform(get("/test/service-unavailable"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.error").value("Service Unavailable"))
+            .andExpect(jsonPath("$.message").value("Try again later"))
+            .andExpect(jsonPath("$.status").value(503));
+    }
+
     @Test
     void testGeneralException() throws Exception {
         mockMvc.perform(get("/test/general-error"))
@@ -60,4 +82,17 @@ class GlobalExceptionHandlerTest {
             .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("An unexpected error occurred")))
             .andExpect(jsonPath("$.status").value(500));
     }
+
+    @Test
+    void testToErrorResponseMatchesHandlers() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+        ErrorResponse notFound = handler.toErrorResponse(new NotFoundException("missing")).getBody();
+        ErrorResponse general = handler.toErrorResponse(new IllegalStateException("boom")).getBody();
+
+        assertThat(notFound.getError()).isEqualTo("Not Found");
+        assertThat(notFound.getStatus()).isEqualTo(404);
+        assertThat(general.getError()).isEqualTo("Internal Server Error");
+        assertThat(general.getStatus()).isEqualTo(500);
+    }
 }
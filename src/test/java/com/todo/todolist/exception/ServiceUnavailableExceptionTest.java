@@ -0,0 +1,16 @@
+package com.todo.todolist.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceUnavailableExceptionTest {
+
+    @Test
+    void testExceptionMessage() {
+        String message = "retry later";
+        ServiceUnavailableException exception = new ServiceUnavailableException(message);
+
+        assertEquals(message, exception.getMessage());
+    }
+}
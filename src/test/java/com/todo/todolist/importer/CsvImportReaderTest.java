@@ -0,0 +1,83 @@
+package com.todo.todolist.importer;
+
+import com.todo.todolist.exception.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvImportReaderTest {
+
+    @Test
+    void testReadsColumnsByHeaderName() throws IOException {
+        List<ImportRow> rows = readAll("""
+                priority,Tags,due_datetime,DESCRIPTION
+                high,home;errands,2030-01-01T10:00:00,Buy milk
+                low,,2030-01-02T09:30:00,Call bank
+                """, 1000);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).item().getDescription()).isEqualTo("Buy milk");
+        assertThat(rows.get(0).item().getTags()).containsExactlyInAnyOrder("home", "errands");
+        assertThat(rows.get(0).item().getDueDatetime())
+                .isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 0));
+        assertThat(rows.get(1).item().getTags()).isEmpty();
+    }
+
+    @Test
+    void testReadsQuotedFieldsSpanningLines() throws IOException {
+        List<ImportRow> rows = readAll("description,dueDatetime\r\n"
+                + "\"Call the bank, \"\"urgent\"\"\",2030-01-01T10:00:00\r\n"
+                + "\"Two\nlines\",2030-01-02T10:00:00\r\n"
+                + "Last,2030-01-03T10:00:00", 1000);
+
+        assertThat(rows).extracting(row -> row.item().getDescription())
+                .containsExactly("Call the bank, \"urgent\"", "Two\nlines", "Last");
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 3L, 5L);
+    }
+
+    @Test
+    void testRejectsBadRowsAndKeepsReading() throws IOException {
+        List<ImportRow> rows = readAll("""
+                description,dueDatetime
+                Only one column
+                Bad date,tomorrow
+                %s,2030-01-01T10:00:00
+                Fine,2030-01-01T10:00:00
+                """.formatted("x".repeat(100)), 60);
+
+        assertThat(rows).extracting(ImportRow::error).containsExactly(
+                "Row has 1 columns, the header has 2.",
+                "Invalid value for 'dueDatetime'.",
+                "Row is longer than 60 characters.",
+                null);
+        assertThat(rows.get(3).line()).isEqualTo(5);
+        assertThat(rows.get(3).item().getDescription()).isEqualTo("Fine");
+    }
+
+    @Test
+    void testRequiresDescriptionAndDueDatetimeColumns() {
+        assertThatThrownBy(() -> readAll("description,tags\nBuy milk,home\n", 1000))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("CSV header must name the description and dueDatetime columns.");
+        assertThatThrownBy(() -> new CsvImportReader(new StringReader("title\n"), 1000).start())
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<ImportRow> readAll(String input, int maxRowLength) throws IOException {
+        ImportReader reader = new CsvImportReader(new StringReader(input), maxRowLength);
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,80 @@
+package com.todo.todolist.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void testReadsOneItemPerLineAndSkipsBlankLines() throws IOException {
+        List<ImportRow> rows = readAll("""
+                {"description":"Buy milk","dueDatetime":"2030-01-01T10:00:00","tags":["home"]}
+
+                {"description":"Call bank","dueDatetime":"2030-01-02T09:30:00"}
+                """, 1000);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(1);
+        assertThat(rows.get(0).item().getDescription()).isEqualTo("Buy milk");
+        assertThat(rows.get(0).item().getTags()).containsExactly("home");
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).item().getDueDatetime())
+                .isEqualTo(LocalDateTime.of(2030, 1, 2, 9, 30));
+    }
+
+    @Test
+    void testRejectsInvalidRowsAndKeepsReading() throws IOException {
+        List<ImportRow> rows = readAll("""
+                {"description":"Broken",
+                {"description":"Bad date","dueDatetime":"tomorrow"}
+                [1, 2]
+                {"description":"Fine","dueDatetime":"2030-01-01T10:00:00"}
+                """, 1000);
+
+        assertThat(rows).extracting(ImportRow::error).containsExactly(
+                "Row is not valid JSON.",
+                "Invalid value for 'dueDatetime'.",
+                "Row must be a todo item object.",
+                null);
+        assertThat(rows.get(3).item().getDescription()).isEqualTo("Fine");
+    }
+
+    @Test
+    void testRejectsLinesLongerThanTheLimit() throws IOException {
+        String longLine = "{\"description\":\"" + "x".repeat(200) + "\"}";
+        List<ImportRow> rows = readAll(longLine + "\n{\"description\":\"Short\"}", 50);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).isEqualTo("Row is longer than 50 characters.");
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).item().getDescription()).isEqualTo("Short");
+    }
+
+    @Test
+    void testSkipsByteOrderMark() throws IOException {
+        List<ImportRow> rows = readAll("\uFEFF{\"description\":\"First\"}", 1000);
+
+        assertThat(rows).singleElement()
+                .satisfies(row -> assertThat(row.item().getDescription()).isEqualTo("First"));
+    }
+
+    private List<ImportRow> readAll(String input, int maxRowLength) throws IOException {
+        ImportReader reader =
+                new NdjsonImportReader(new StringReader(input), objectMapper, maxRowLength);
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,116 @@
+package com.todo.todolist.index;
+
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DueDateIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private ToDoItemRepository repository;
+    private DueDateIndex dueDateIndex;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ToDoItemRepository.class);
+        dueDateIndex = new DueDateIndex(repository);
+    }
+
+    @Test
+    void testRebuildOrdersByDueDate() {
+        when(repository.findByStatus(Status.NOT_DONE)).thenReturn(List.of(
+                createItem(1L, Status.NOT_DONE, NOW.plusDays(3)),
+                createItem(2L, Status.NOT_DONE, NOW.plusDays(1)),
+                createItem(3L, Status.NOT_DONE, NOW.plusDays(2))));
+
+        dueDateIndex.rebuild();
+
+        assertThat(dueDateIndex.findNextDue(NOW, null, 10)).containsExactly(2L, 3L, 1L);
+        assertThat(dueDateIndex.findNextDue(NOW, null, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void testWindowBoundsResults() {
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(createItem(1L, Status.NOT_DONE, NOW.minusHours(1))));
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(createItem(2L, Status.NOT_DONE, NOW.plusHours(1))));
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(createItem(3L, Status.NOT_DONE, NOW.plusDays(2))));
+
+        assertThat(dueDateIndex.findNextDue(NOW, NOW.plusDays(1), 10)).containsExactly(2L);
+    }
+
+    @Test
+    void testItemsLeaveIndexWhenNoLongerNotDone() {
+        ToDoItem item = createItem(1L, Status.NOT_DONE, NOW.plusDays(1));
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(item));
+
+        ToDoItem overdue = createItem(1L, Status.OVERDUE, NOW.plusDays(1));
+        dueDateIndex.onItemChanged(new ToDoItemChangedEvent(item, overdue));
+
+        assertThat(dueDateIndex.findNextDue(NOW, null, 10)).isEmpty();
+        assertThat(dueDateIndex.size()).isZero();
+    }
+
+    @Test
+    void testDueDateChangeReordersItem() {
+        ToDoItem first = createItem(1L, Status.NOT_DONE, NOW.plusDays(1));
+        ToDoItem second = createItem(2L, Status.NOT_DONE, NOW.plusDays(2));
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(first));
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(second));
+
+        ToDoItem moved = createItem(1L, Status.NOT_DONE, NOW.plusDays(3));
+        dueDateIndex.onItemChanged(new ToDoItemChangedEvent(first, moved));
+
+        assertThat(dueDateIndex.findNextDue(NOW, null, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testChangesOlderThanTheIndexedVersionAreDropped() {
+        ToDoItem rebuilt = createItem(1L, Status.NOT_DONE, NOW.plusDays(1));
+        rebuilt.setVersion(2);
+        when(repository.findByStatus(Status.NOT_DONE)).thenReturn(List.of(rebuilt));
+        dueDateIndex.rebuild();
+
+        ToDoItem done = createItem(1L, Status.DONE, NOW.plusDays(1));
+        done.setVersion(3);
+        ToDoItem moved = createItem(1L, Status.NOT_DONE, NOW.plusDays(2));
+        moved.setVersion(1);
+        dueDateIndex.onItemChanged(new ToDoItemChangedEvent(rebuilt, done));
+        dueDateIndex.onItemChanged(new ToDoItemChangedEvent(createItem(1L, Status.NOT_DONE, NOW), moved));
+
+        assertThat(dueDateIndex.findNextDue(NOW, null, 10)).isEmpty();
+        assertThat(dueDateIndex.findEarliestDue()).isEmpty();
+    }
+
+    @Test
+    void testLateChangesDoNotBringDeletedItemsBack() {
+        ToDoItem item = createItem(1L, Status.NOT_DONE, NOW.plusDays(1));
+        ToDoItem lateUpdate = createItem(1L, Status.NOT_DONE, NOW.plusDays(2));
+        lateUpdate.setVersion(1);
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.deleted(item));
+        dueDateIndex.onItemChanged(new ToDoItemChangedEvent(item, lateUpdate));
+
+        assertThat(dueDateIndex.findNextDue(NOW, null, 10)).isEmpty();
+        assertThat(dueDateIndex.size()).isZero();
+    }
+
+    private ToDoItem createItem(Long id, Status status, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Task " + id);
+        item.setStatus(status);
+        item.setDueDatetime(due);
+        return item;
+    }
+}
@@ -0,0 +1,108 @@
+package com.todo.todolist.index;
+
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagIndexTest {
+
+    private ToDoItemRepository repository;
+    private TagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ToDoItemRepository.class);
+        tagIndex = new TagIndex(repository);
+    }
+
+    @Test
+    void testRebuildIndexesTagsAndStatuses() {
+        when(repository.findAll()).thenReturn(List.of(
+                createItem(1L, Status.NOT_DONE, "home", "urgent"),
+                createItem(2L, Status.DONE, "home"),
+                createItem(3L, Status.NOT_DONE, "work")));
+
+        tagIndex.rebuild();
+
+        assertThat(tagIndex.findIds(List.of("home"), true, null)).containsExactly(1L, 2L);
+        assertThat(tagIndex.findIds(List.of("home", "urgent"), true, null)).containsExactly(1L);
+        assertThat(tagIndex.findIds(List.of("urgent", "work"), false, null)).containsExactly(1L, 3L);
+        assertThat(tagIndex.findIds(List.of("HOME "), true, Status.DONE)).containsExactly(2L);
+    }
+
+    @Test
+    void testMatchAllWithUnknownTagIsEmpty() {
+        tagIndex.onItemChanged(ToDoItemChangedEvent.created(createItem(1L, Status.NOT_DONE, "home")));
+
+        assertThat(tagIndex.findIds(List.of("home", "missing"), true, null)).isEmpty();
+        assertThat(tagIndex.findIds(List.of("home", "missing"), false, null)).containsExactly(1L);
+    }
+
+    @Test
+    void testChangeEventsMoveItemsBetweenTagsAndStatuses() {
+        ToDoItem item = createItem(1L, Status.NOT_DONE, "home");
+        tagIndex.onItemChanged(ToDoItemChangedEvent.created(item));
+
+        ToDoItem changed = createItem(1L, Status.DONE, "work");
+        tagIndex.onItemChanged(new ToDoItemChangedEvent(item, changed));
+
+        assertThat(tagIndex.findIds(List.of("home"), true, null)).isEmpty();
+        assertThat(tagIndex.findIds(List.of("work"), true, Status.NOT_DONE)).isEmpty();
+        assertThat(tagIndex.findIds(List.of("work"), true, Status.DONE)).containsExactly(1L);
+
+        tagIndex.onItemChanged(ToDoItemChangedEvent.deleted(changed));
+
+        assertThat(tagIndex.findIds(List.of("work"), true, null)).isEmpty();
+    }
+
+    @Test
+    void testChangesOlderThanTheIndexedVersionAreDropped() {
+        ToDoItem rebuilt = createItem(1L, Status.NOT_DONE, "work");
+        rebuilt.setVersion(2);
+        when(repository.findAll()).thenReturn(List.of(rebuilt));
+        tagIndex.rebuild();
+
+        ToDoItem untagged = createItem(1L, Status.NOT_DONE);
+        untagged.setVersion(3);
+        ToDoItem tagged = createItem(1L, Status.NOT_DONE, "home");
+        tagged.setVersion(1);
+        tagIndex.onItemChanged(new ToDoItemChangedEvent(rebuilt, untagged));
+        tagIndex.onItemChanged(new ToDoItemChangedEvent(createItem(1L, Status.NOT_DONE), tagged));
+
+        assertThat(tagIndex.findIds(List.of("home", "work"), false, null)).isEmpty();
+        assertThat(tagIndex.findIds(List.of("home"), true, null)).isEmpty();
+    }
+
+    @Test
+    void testLateChangesDoNotBringDeletedItemsBack() {
+        ToDoItem item = createItem(1L, Status.NOT_DONE, "home");
+        ToDoItem lateUpdate = createItem(1L, Status.DONE, "home");
+        lateUpdate.setVersion(1);
+        tagIndex.onItemChanged(ToDoItemChangedEvent.deleted(item));
+        tagIndex.onItemChanged(new ToDoItemChangedEvent(item, lateUpdate));
+        tagIndex.onItemChanged(ToDoItemChangedEvent.created(item));
+
+        assertThat(tagIndex.findIds(List.of("home"), true, null)).isEmpty();
+    }
+
+    private ToDoItem createItem(Long id, Status status, String... tags) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Task " + id);
+        item.setStatus(status);
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        item.setTags(List.of(tags));
+        return item;
+    }
+}
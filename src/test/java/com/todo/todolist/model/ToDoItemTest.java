@@ -3,6 +3,7 @@ package com.todo.todolist.model;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -49,4 +50,18 @@ class ToDoItemTest {
 
         assertThat(item.getDoneDatetime()).isNull();
     }
+
+    @Test
+    void testTagsAreReplacedAndCopied() {
+        ToDoItem item = new ToDoItem();
+        item.setId(1L);
+        item.setTags(List.of("home", "urgent"));
+
+        ToDoItem copy = item.copy();
+        item.setTags(null);
+
+        assertThat(item.getTags()).isEmpty();
+        assertThat(copy.getId()).isEqualTo(1L);
+        assertThat(copy.getTags()).containsExactlyInAnyOrder("home", "urgent");
+    }
 }
@@ -0,0 +1,214 @@
+package com.todo.todolist.projection;
+
+import com.todo.todolist.cache.WriteSequence;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ToDoProjectionTest {
+
+    private final ToDoItemRepository repository = mock(ToDoItemRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ToDoProjection projection;
+
+    @AfterEach
+    void tearDown() {
+        if (projection != null) {
+            projection.stop();
+        }
+    }
+
+    @Test
+    void testRebuildLoadsItemsByIdAndStatus() {
+        when(repository.findAll()).thenReturn(List.of(item(2L, Status.DONE), item(1L, Status.NOT_DONE)));
+        projection = start(true);
+
+        ToDoProjection.Snapshot snapshot = projection.current().orElseThrow();
+
+        assertThat(snapshot.all()).extracting(ToDoItem::getId).containsExactly(1L, 2L);
+        assertThat(snapshot.withStatus(Status.DONE)).extracting(ToDoItem::getId).containsExactly(2L);
+        assertThat(snapshot.withStatus(Status.OVERDUE)).isEmpty();
+        assertThat(snapshot.get(1L)).isPresent();
+    }
+
+    @Test
+    void testCommittedChangesAreVisibleToTheNextRead() {
+        when(repository.findAll()).thenReturn(List.of(item(1L, Status.NOT_DONE)));
+        projection = start(true);
+        ToDoProjection.Snapshot before = projection.current().orElseThrow();
+
+        projection.onItemChanged(new ToDoItemChangedEvent(item(1L, Status.NOT_DONE), item(1L, Status.DONE)));
+        projection.onItemChanged(ToDoItemChangedEvent.created(item(3L, Status.NOT_DONE)));
+        ToDoProjection.Snapshot after = projection.current().orElseThrow();
+
+        assertThat(after.withStatus(Status.DONE)).extracting(ToDoItem::getId).containsExactly(1L);
+        assertThat(after.withStatus(Status.NOT_DONE)).extracting(ToDoItem::getId).containsExactly(3L);
+        assertThat(before.withStatus(Status.NOT_DONE)).extracting(ToDoItem::getId).containsExactly(1L);
+
+        projection.onItemChanged(ToDoItemChangedEvent.deleted(item(3L, Status.NOT_DONE)));
+        assertThat(projection.current().orElseThrow().get(3L)).isEmpty();
+    }
+
+    @Test
+    void testChangesOlderThanTheHeldVersionAreDropped() {
+        when(repository.findAll()).thenReturn(List.of(item(1L, Status.NOT_DONE), item(2L, Status.NOT_DONE)));
+        projection = start(true);
+
+        ToDoItem done = item(1L, Status.DONE);
+        done.setVersion(2);
+        ToDoItem reopened = item(1L, Status.NOT_DONE);
+        reopened.setVersion(1);
+        projection.onItemChanged(new ToDoItemChangedEvent(reopened, done));
+        projection.onItemChanged(new ToDoItemChangedEvent(item(1L, Status.NOT_DONE), reopened));
+
+        ToDoItem deleted = item(2L, Status.NOT_DONE);
+        ToDoItem lateUpdate = item(2L, Status.DONE);
+        lateUpdate.setVersion(1);
+        projection.onItemChanged(ToDoItemChangedEvent.deleted(deleted));
+        projection.onItemChanged(new ToDoItemChangedEvent(deleted, lateUpdate));
+
+        ToDoProjection.Snapshot snapshot = projection.current().orElseThrow();
+        assertThat(snapshot.get(1L)).get().extracting(ToDoItem::getStatus).isEqualTo(Status.DONE);
+        assertThat(snapshot.get(2L)).isEmpty();
+    }
+
+    @Test
+    void testSnapshotItemsAreReadOnly() {
+        when(repository.findAll()).thenReturn(List.of(item(1L, Status.NOT_DONE)));
+        projection = start(true);
+        projection.onItemChanged(ToDoItemChangedEvent.created(item(2L, Status.NOT_DONE)));
+
+        for (ToDoItem item : projection.current().orElseThrow().all()) {
+            assertThatThrownBy(() -> item.setStatus(Status.DONE))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> item.setTags(List.of("work")))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> item.getTags().add("work"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThat(item.copy().getStatus()).isEqualTo(Status.NOT_DONE);
+        }
+    }
+
+    @Test
+    void testNothingIsServedBeforeRebuildOrWhenDisabled() {
+        projection = new ToDoProjection(repository, meterRegistry, true, 50);
+        assertThat(projection.current()).isEmpty();
+
+        ToDoProjection disabled = start(false);
+        try {
+            assertThat(disabled.current()).isEmpty();
+        } finally {
+            disabled.stop();
+        }
+    }
+
+    @Test
+    void testChangesAreCountedBeforeTheWriteSequenceMoves() {
+        when(repository.findAll()).thenReturn(List.of());
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(ToDoItemRepository.class, () -> repository);
+            context.registerBean(SimpleMeterRegistry.class, () -> meterRegistry);
+            context.register(ListenerOrder.class);
+            context.refresh();
+            ToDoProjection ordered = context.getBean(ToDoProjection.class);
+            ordered.rebuild();
+            WriteSequence writeSequence = context.getBean(WriteSequence.class);
+            ListenerOrder.Probe probe = context.getBean(ListenerOrder.Probe.class);
+
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(
+                    status -> context.publishEvent(ToDoItemChangedEvent.created(item(1L, Status.NOT_DONE))));
+
+            assertThat(probe.sequence).isZero();
+            assertThat(probe.ids).containsExactly(1L);
+            assertThat(writeSequence.current()).isEqualTo(1);
+        }
+    }
+
+    private ToDoProjection start(boolean enabled) {
+        ToDoProjection started = new ToDoProjection(repository, meterRegistry, enabled, 1000);
+        started.rebuild();
+        return started;
+    }
+
+    /**
+     * The projection and the write sequence as wired in the application, with a probe listening
+     * between them that records what a cache-filling read would see at that point.
+     */
+    @Configuration
+    @EnableTransactionManagement
+    static class ListenerOrder {
+
+        @Bean
+        ToDoProjection toDoProjection(ToDoItemRepository repository, SimpleMeterRegistry meterRegistry) {
+            return new ToDoProjection(repository, meterRegistry, true, 1000);
+        }
+
+        @Bean
+        WriteSequence writeSequence() {
+            return new WriteSequence();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new DataSourceTransactionManager(
+                    new DriverManagerDataSource("jdbc:h2:mem:listener_order;DB_CLOSE_DELAY=-1"));
+        }
+
+        @Bean
+        Probe probe(ToDoProjection projection, WriteSequence writeSequence) {
+            return new Probe(projection, writeSequence);
+        }
+
+        static class Probe {
+
+            private final ToDoProjection projection;
+            private final WriteSequence writeSequence;
+            private long sequence = -1;
+            private List<Long> ids = List.of();
+
+            Probe(ToDoProjection projection, WriteSequence writeSequence) {
+                this.projection = projection;
+                this.writeSequence = writeSequence;
+            }
+
+            @TransactionalEventListener
+            @Order(0)
+            public void onItemChanged(ToDoItemChangedEvent event) {
+                sequence = writeSequence.current();
+                ids = projection.current().orElseThrow().all().stream().map(ToDoItem::getId).toList();
+            }
+        }
+    }
+
+    private static ToDoItem item(Long id, Status status) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Item " + id);
+        item.setStatus(status);
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        return item;
+    }
+}
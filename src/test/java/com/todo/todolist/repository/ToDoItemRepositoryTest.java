@@ -1,21 +1,26 @@
 package com.todo.todolist.repository;
 
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @Transactional
@@ -49,6 +54,41 @@ class ToDoItemRepositoryTest {
         assertThat(found.get().getStatus()).isEqualTo(Status.NOT_DONE);
     }
 
+    @Test
+    @DisplayName("Should persist and reload item tags")
+    void testSaveAndFindTags() {
+        ToDoItem item = new ToDoItem();
+        item.setDescription("Tagged task");
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        item.setTags(List.of("home", "urgent"));
+        Long id = entityManager.persistAndFlush(item).getId();
+        entityManager.clear();
+
+        Optional<ToDoItem> found = repository.findById(id);
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getTags()).containsExactlyInAnyOrder("home", "urgent");
+    }
+
+    @Test
+    @DisplayName("Should bump the version on each update and reject stale updates")
+    void testVersionRejectsStaleUpdate() {
+        ToDoItem item = createSampleItem("Versioned task", Status.NOT_DONE, LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+        ToDoItem stale = repository.findById(item.getId()).orElseThrow().copy();
+        entityManager.clear();
+
+        ToDoItem current = repository.findById(item.getId()).orElseThrow();
+        current.setStatus(Status.DONE);
+        assertThat(repository.saveAndFlush(current).getVersion()).isEqualTo(stale.getVersion() + 1);
+        entityManager.clear();
+
+        stale.setDescription("Stale change");
+        assertThatThrownBy(() -> repository.saveAndFlush(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
     @Test
     @DisplayName("Should retrieve all ToDoItems by status")
     void testFindByStatus() {
@@ -144,4 +184,34 @@ class ToDoItemRepositoryTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getDescription()).isEqualTo("Past Task");
     }
+
+    @Test
+    @DisplayName("Should select only the requested fields without loading entities")
+    void testFindFields() {
+        LocalDateTime due = LocalDateTime.of(2030, 5, 1, 9, 0);
+        ToDoItem tagged = createSampleItem("Tagged task", Status.NOT_DONE, due);
+        tagged.setTags(List.of("home", "urgent"));
+        ToDoItem done = createSampleItem("Done task", Status.DONE, due.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ToDoItemFields> rows = repository.findFields(null,
+                EnumSet.of(ToDoField.ID, ToDoField.STATUS, ToDoField.DUE_DATETIME));
+
+        assertThat(rows).containsExactly(
+                new ToDoItemFields(tagged.getId(), null, Status.NOT_DONE, null, due, null, null),
+                new ToDoItemFields(done.getId(), null, Status.DONE, null, due.plusDays(1), null, null));
+        assertThat(entityManager.getEntityManager().unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+
+        List<ToDoItemFields> notDone = repository.findFields(Status.NOT_DONE,
+                EnumSet.of(ToDoField.DESCRIPTION, ToDoField.TAGS));
+
+        assertThat(notDone).hasSize(1);
+        assertThat(notDone.get(0).id()).isEqualTo(tagged.getId());
+        assertThat(notDone.get(0).description()).isEqualTo("Tagged task");
+        assertThat(notDone.get(0).tags()).containsExactlyInAnyOrder("home", "urgent");
+        assertThat(notDone.get(0).status()).isNull();
+        assertThat(repository.findFields(Status.DONE, EnumSet.of(ToDoField.TAGS)).get(0).tags()).isEmpty();
+    }
 }
@@ -0,0 +1,116 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.cache.WriteSequence;
+import com.todo.todolist.datasource.PrimaryReads;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.model.ToDoItem;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CoalescingToDoServiceTest {
+
+    private ToDoServiceImpl delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingToDoService service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ToDoServiceImpl.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CoalescingToDoService(delegate, new WriteSequence(), meterRegistry);
+    }
+
+    @Test
+    void testReadsAreDelegated() {
+        ToDoItem item = new ToDoItem();
+        item.setId(1L);
+        when(delegate.getItemById(1L)).thenReturn(item);
+        when(delegate.getAllItems(Optional.of("done"))).thenReturn(List.of(item));
+
+        assertThat(service.getItemById(1L)).isSameAs(item);
+        assertThat(service.getAllItems(Optional.of("done"))).containsExactly(item);
+    }
+
+    @Test
+    void testWritesPassThrough() {
+        ToDoItem item = new ToDoItem();
+        when(delegate.createItem(item)).thenReturn(item);
+
+        service.createItem(item);
+        service.deleteItem(2L);
+
+        verify(delegate).createItem(item);
+        verify(delegate).deleteItem(2L);
+    }
+
+    @Test
+    void testMetricsAreRegistered() {
+        when(delegate.getItemById(1L)).thenReturn(new ToDoItem());
+
+        service.getItemById(1L);
+        service.getItemById(1L);
+
+        assertThat(meterRegistry.get("todo.reads.requests").tag("operation", "getItemById")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("todo.reads.loads").tag("operation", "getItemById")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("todo.reads.coalescing.ratio").tag("operation", "getItemById")
+                .gauge().value()).isZero();
+    }
+
+    @Test
+    void testWriteSequenceSeparatesLoads() {
+        WriteSequence writeSequence = new WriteSequence();
+        CoalescingToDoService sequenced = new CoalescingToDoService(delegate, writeSequence, new SimpleMeterRegistry());
+        when(delegate.getAllItems(Optional.empty())).thenReturn(List.of());
+
+        sequenced.getAllItems(Optional.empty());
+        writeSequence.onItemChanged(ToDoItemChangedEvent.deleted(new ToDoItem()));
+        sequenced.getAllItems(Optional.empty());
+
+        verify(delegate, times(2)).getAllItems(Optional.empty());
+    }
+
+    @Test
+    void testPrimaryLoadsDoNotJoinReplicaLoads() throws Exception {
+        ToDoItem stale = new ToDoItem();
+        ToDoItem fresh = new ToDoItem();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getItemById(1L)).thenAnswer(invocation -> {
+            if (PrimaryReads.isActive()) {
+                return fresh;
+            }
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stale;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<ToDoItem> fromReplica = executor.submit(() -> service.getItemById(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(PrimaryReads.call(() -> service.getItemById(1L))).isSameAs(fresh);
+            release.countDown();
+            assertThat(fromReplica.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(delegate, times(2)).getItemById(1L);
+    }
+}
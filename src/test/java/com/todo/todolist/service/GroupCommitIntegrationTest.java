@@ -0,0 +1,67 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "todo.write.group-commit.enabled=true",
+        "todo.write.group-commit.window-ms=20",
+        "spring.datasource.url=jdbc:h2:mem:group_commit_db;DB_CLOSE_DELAY=-1"
+})
+class GroupCommitIntegrationTest {
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testConcurrentCreatesAreCommittedInBatches() throws Exception {
+        LocalDateTime due = LocalDateTime.now().plusDays(1).withNano(0);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        List<Future<ToDoItem>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 32; i++) {
+                ToDoItem item = new ToDoItem();
+                item.setDescription("Batched " + i);
+                item.setDueDatetime(due);
+                results.add(callers.submit(() -> toDoService.createItem(item)));
+            }
+            for (Future<ToDoItem> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(repository.count()).isGreaterThanOrEqualTo(32);
+        assertThat(meterRegistry.get("todo.write.commits").counter().count()).isLessThan(32);
+
+        ToDoItem duplicate = new ToDoItem();
+        duplicate.setDescription("Batched 0");
+        duplicate.setDueDatetime(due);
+        assertThrows(ConflictException.class, () -> toDoService.createItem(duplicate));
+    }
+}
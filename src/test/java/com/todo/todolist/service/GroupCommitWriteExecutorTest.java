@@ -0,0 +1,210 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GroupCommitWriteExecutorTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GroupCommitWriteExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    @Test
+    void testConcurrentWritesShareTransactions() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        executor = start(1024, 64, 50);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int value = i;
+                results.add(callers.submit(() -> executor.execute(() -> value)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        double commits = meterRegistry.get("todo.write.commits").counter().count();
+        assertThat(commits).isLessThan(64);
+        verify(transactionManager, atMost(63)).commit(any());
+    }
+
+    @Test
+    void testBusinessExceptionOnlyFailsItsCaller() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        executor = start(1024, 64, 50);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> ok = callers.submit(() -> executor.execute(() -> "ok"));
+            Future<String> failed = callers.submit(() -> executor.<String>execute(() -> {
+                throw new ConflictException("duplicate");
+            }));
+
+            assertThat(ok.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+            Exception ex = assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertThat(ex.getCause()).isInstanceOf(ConflictException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneByOne() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        executor = start(1024, 2, 1000);
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> good = callers.submit(() -> executor.execute(() -> "good"));
+            Future<String> bad = callers.submit(() -> executor.<String>execute(() -> {
+                attempts.incrementAndGet();
+                throw new DataIntegrityViolationException("constraint");
+            }));
+
+            assertThat(good.get(5, TimeUnit.SECONDS)).isEqualTo("good");
+            Exception ex = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertThat(ex.getCause()).isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testFullRingRejectsWrites() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return mock(TransactionStatus.class);
+        });
+        executor = start(1, 1, 0);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> inFlight = callers.submit(() -> executor.execute(() -> "first"));
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> queued = callers.submit(() -> executor.execute(() -> "second"));
+            while (meterRegistry.get("todo.write.queue.size").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> "third"));
+
+            release.countDown();
+            assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallersStopWaitingAfterTheAwaitTimeout() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return mock(TransactionStatus.class);
+        });
+        executor = start(16, 1, 0, 200);
+        AtomicInteger queuedRuns = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> inFlight = callers.submit(() -> executor.execute(() -> "first"));
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> queued = callers.submit(() -> executor.execute(() -> {
+                queuedRuns.incrementAndGet();
+                return "second";
+            }));
+
+            assertThat(failure(inFlight)).isInstanceOf(ServiceUnavailableException.class)
+                    .hasMessageContaining("may still be applied");
+            assertThat(failure(queued)).isInstanceOf(ServiceUnavailableException.class)
+                    .hasMessageContaining("withdrawn");
+
+            release.countDown();
+            assertThat(executor.execute(() -> "third")).isEqualTo("third");
+            assertThat(queuedRuns).hasValue(0);
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWritesAreRejectedAfterStop() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        executor = start(16, 1, 0);
+        assertThat(executor.execute(() -> "before")).isEqualTo("before");
+
+        executor.stop();
+
+        assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> "after"));
+    }
+
+    private static Throwable failure(Future<?> future) throws InterruptedException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (TimeoutException ex) {
+            throw new AssertionError("Caller was still waiting", ex);
+        }
+    }
+
+    private GroupCommitWriteExecutor start(int capacity, int maxBatchSize, long windowMillis) {
+        return start(capacity, maxBatchSize, windowMillis, 5000);
+    }
+
+    private GroupCommitWriteExecutor start(int capacity, int maxBatchSize, long windowMillis,
+                                           long awaitTimeoutMillis) {
+        GroupCommitWriteExecutor started = new GroupCommitWriteExecutor(
+                transactionManager, meterRegistry, capacity, maxBatchSize, windowMillis, 20,
+                awaitTimeoutMillis);
+        started.start();
+        return started;
+    }
+}
@@ -0,0 +1,178 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.datasource.Shards;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.ArchivedToDoItem;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ArchivedToDoItemRepository;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive_db;DB_CLOSE_DELAY=-1",
+        "todo.archive.age=P30D",
+        "todo.archive.batch-size=2",
+        "todo.archive.max-batches-per-run=10",
+        "todo.archive.rows-per-second=100000"
+})
+class ToDoArchiveServiceTest {
+
+    @Autowired
+    private ToDoArchiveService archiveService;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @SpyBean
+    private ArchivedToDoItemRepository archiveRepository;
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Shards shards;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        archiveRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void testOldDoneAndOverdueItemsAreMovedInBatches() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        ToDoItem done = save("Old done", Status.DONE, old, old);
+        ToDoItem overdue = save("Old overdue", Status.OVERDUE, old, null);
+        ToDoItem doneLater = save("Old done later", Status.DONE, old, old.plusDays(1));
+        ToDoItem recent = save("Recent done", Status.DONE, old, LocalDateTime.now().minusDays(1));
+        ToDoItem active = save("Active", Status.NOT_DONE, LocalDateTime.now().plusDays(1), null);
+
+        archiveService.archiveOldItems();
+
+        assertThat(repository.findAll()).extracting(ToDoItem::getId)
+                .containsExactlyInAnyOrder(recent.getId(), active.getId());
+        assertThat(archiveRepository.findAll()).extracting(ArchivedToDoItem::getId)
+                .containsExactlyInAnyOrder(done.getId(), overdue.getId(), doneLater.getId());
+        ArchivedToDoItem archived = archiveRepository.findById(done.getId()).orElseThrow();
+        assertThat(archived.getTags()).containsExactly("home");
+        assertThat(archived.getStatus()).isEqualTo(Status.DONE);
+        assertThat(archived.getArchivedDatetime()).isNotNull();
+    }
+
+    @Test
+    void testItemChangedAfterTheBatchReadItIsNotArchived() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        ToDoItem reopened = save("Reopened", Status.DONE, old, old);
+        ToDoItem done = save("Still done", Status.DONE, old, old);
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> toDoService.markAsNotDone(reopened.getId())).join();
+            }
+            // Spies on repository proxies cannot call the real method; persist directly instead.
+            List<ArchivedToDoItem> archived = invocation.getArgument(0);
+            archived.forEach(entityManager::persist);
+            return archived;
+        }).when(archiveRepository).saveAll(any());
+
+        archiveService.archiveOldItems();
+
+        assertThat(raced).isTrue();
+        assertThat(repository.findById(reopened.getId())).get()
+                .extracting(ToDoItem::getStatus).isEqualTo(Status.NOT_DONE);
+        assertThat(archiveRepository.findAll()).extracting(ArchivedToDoItem::getId)
+                .containsExactly(done.getId());
+    }
+
+    @Test
+    void testBatchRolledBackByAConflictIsStillThrottled() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        ToDoItem reopened = save("Reopened", Status.DONE, old, old);
+        ToDoItem done = save("Still done", Status.DONE, old, old);
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> toDoService.markAsNotDone(reopened.getId())).join();
+            }
+            List<ArchivedToDoItem> archived = invocation.getArgument(0);
+            archived.forEach(entityManager::persist);
+            return archived;
+        }).when(archiveRepository).saveAll(any());
+        // Two rows per second: the rolled back batch of two must hold the run for a second.
+        ToDoArchiveService slow = new ToDoArchiveService(repository, archiveRepository, eventPublisher,
+                shards, transactionManager, true, Duration.ofDays(30), 2, 10, 2);
+
+        long started = System.nanoTime();
+        slow.archiveOldItems();
+
+        assertThat(raced).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(archiveRepository.findAll()).extracting(ArchivedToDoItem::getId)
+                .containsExactly(done.getId());
+    }
+
+    @Test
+    void testArchivedItemsArePagedByKeyset() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        for (int i = 0; i < 5; i++) {
+            save("Paged " + i, Status.DONE, old, old);
+        }
+        archiveService.archiveOldItems();
+
+        List<ArchivedToDoItem> first = archiveService.getArchivedItems(Optional.empty(), 3);
+        List<ArchivedToDoItem> second = archiveService.getArchivedItems(
+                Optional.of(first.get(2).getId()), 3);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(2);
+        assertThat(second.get(0).getId()).isGreaterThan(first.get(2).getId());
+    }
+
+    @Test
+    void testInvalidPageSize() {
+        assertThrows(BadRequestException.class, () -> archiveService.getArchivedItems(Optional.empty(), 0));
+        assertThrows(BadRequestException.class,
+                () -> archiveService.getArchivedItems(Optional.empty(), ToDoArchiveService.MAX_PAGE_SIZE + 1));
+    }
+
+    private ToDoItem save(String description, Status status, LocalDateTime due, LocalDateTime doneAt) {
+        ToDoItem item = new ToDoItem();
+        item.setDescription(description);
+        item.setStatus(status);
+        item.setDueDatetime(due);
+        item.setDoneDatetime(doneAt);
+        item.setTags(Set.of("home"));
+        return repository.save(item);
+    }
+}
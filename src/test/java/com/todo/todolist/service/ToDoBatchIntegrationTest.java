@@ -0,0 +1,69 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.dto.BatchOperation;
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:batch_db;DB_CLOSE_DELAY=-1")
+class ToDoBatchIntegrationTest {
+
+    @Autowired
+    private ToDoBatchService batchService;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testAtomicBatchLeavesNoTraceWhenAnOperationFails() {
+        long before = repository.count();
+
+        BatchResponse response = batchService.execute(request(BatchRequest.ATOMIC,
+                create("Atomic first"), create("Atomic second"), create("Atomic first")));
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getResults().get(2).getStatus()).isEqualTo(409);
+        assertThat(repository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void testContinueOnErrorCommitsTheRest() {
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                create("Continued first"), create("Continued first"), create("Continued second")));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(409);
+        assertThat(repository.findAll()).extracting(ToDoItem::getDescription)
+                .contains("Continued first", "Continued second");
+    }
+
+    private BatchRequest request(String mode, BatchOperation... operations) {
+        BatchRequest request = new BatchRequest();
+        request.setMode(mode);
+        request.setOperations(List.of(operations));
+        return request;
+    }
+
+    private BatchOperation create(String description) {
+        BatchOperation operation = new BatchOperation();
+        operation.setOp("create");
+        operation.setBody(objectMapper.createObjectNode()
+                .put("description", description)
+                .put("dueDatetime", LocalDateTime.now().plusDays(1).withNano(0).toString()));
+        return operation;
+    }
+}
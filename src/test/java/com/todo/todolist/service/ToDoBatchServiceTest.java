@@ -0,0 +1,220 @@
+package com.todo.todolist.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todo.todolist.dto.BatchOperation;
+import com.todo.todolist.dto.BatchOperationResult;
+import com.todo.todolist.dto.BatchRequest;
+import com.todo.todolist.dto.BatchResponse;
+import com.todo.todolist.dto.ToDoItemPatch;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.exception.GlobalExceptionHandler;
+import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ToDoBatchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus transactionStatus = mock(TransactionStatus.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private ToDoService toDoService;
+    private ToDoBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        toDoService = mock(ToDoService.class);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        batchService = new ToDoBatchService(toDoService, objectMapper, new GlobalExceptionHandler(),
+                transactionManager, entityManager);
+    }
+
+    @Test
+    void testOperationsRunInOrderInOneTransaction() {
+        ToDoItem created = item(10L, Status.NOT_DONE);
+        ToDoItem done = item(2L, Status.DONE);
+        when(toDoService.createItem(any(ToDoItem.class))).thenReturn(created);
+        when(toDoService.markAsDone(2L)).thenReturn(done);
+
+        BatchResponse response = batchService.execute(request(BatchRequest.ATOMIC,
+                create("Buy groceries"), operation("done", 2L), operation("delete", 3L)));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+                .containsExactly(201, 200, 204);
+        assertThat(response.getResults().get(0).getItem().getId()).isEqualTo(10L);
+        assertThat(response.getResults().get(0).getError()).isNull();
+        verify(toDoService).deleteItem(3L);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionStatus, never()).setRollbackOnly();
+    }
+
+    @Test
+    void testAtomicBatchRollsBackOnFirstFailure() {
+        when(toDoService.createItem(any(ToDoItem.class))).thenReturn(item(10L, Status.NOT_DONE));
+        when(toDoService.markAsDone(2L)).thenThrow(new ConflictException("Item marked already as done."));
+
+        BatchResponse response = batchService.execute(request(BatchRequest.ATOMIC,
+                create("Buy groceries"), operation("done", 2L), operation("delete", 3L)));
+
+        assertThat(response.isCommitted()).isFalse();
+        List<BatchOperationResult> results = response.getResults();
+        assertThat(results).extracting(BatchOperationResult::getStatus).containsExactly(424, 409, 424);
+        assertThat(results.get(0).getError()).isEqualTo("Rolled Back");
+        assertThat(results.get(1).getError()).isEqualTo("Already Exists");
+        assertThat(results.get(1).getMessage()).isEqualTo("Item marked already as done.");
+        assertThat(results.get(2).getError()).isEqualTo("Not Executed");
+        verify(toDoService, never()).deleteItem(any());
+        verify(transactionStatus).setRollbackOnly();
+    }
+
+    @Test
+    void testContinueOnErrorCommitsSuccessfulOperations() {
+        when(toDoService.markAsDone(1L)).thenThrow(new NotFoundException("Item not found with id 1"));
+        when(toDoService.patchItem(eq(2L), any(ToDoItemPatch.class))).thenReturn(item(2L, Status.NOT_DONE));
+
+        BatchOperation patch = operation("patch", 2L);
+        patch.setBody(objectMapper.createObjectNode().put("description", "Patched"));
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                operation("done", 1L), patch, operation("archive", 3L)));
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+                .containsExactly(404, 200, 400);
+        verify(transactionStatus, never()).setRollbackOnly();
+    }
+
+    @Test
+    void testDatabaseFailureAbortsContinueOnErrorBatch() {
+        when(toDoService.markAsDone(1L)).thenReturn(item(1L, Status.DONE));
+        when(toDoService.markAsNotDone(2L)).thenThrow(new DataIntegrityViolationException("constraint"));
+
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                operation("done", 1L), operation("not-done", 2L), operation("delete", 3L)));
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+                .containsExactly(424, 500, 424);
+        verify(transactionStatus).setRollbackOnly();
+    }
+
+    @Test
+    void testChangesAreFlushedOncePerGroupOfOperations() {
+        when(toDoService.createItem(any(ToDoItem.class))).thenReturn(item(10L, Status.NOT_DONE));
+        when(toDoService.patchItem(any(), any(ToDoItemPatch.class))).thenReturn(item(2L, Status.NOT_DONE));
+        BatchOperation patch = operation("patch", 2L);
+        patch.setBody(objectMapper.createObjectNode().put("description", "Patched"));
+
+        BatchResponse response = batchService.execute(request(BatchRequest.ATOMIC,
+                create("First"), create("Second"), create("Third"),
+                operation("done", 1L), operation("done", 2L), patch, patch, operation("delete", 3L)));
+
+        assertThat(response.isCommitted()).isTrue();
+        verify(entityManager).setFlushMode(FlushModeType.COMMIT);
+        verify(entityManager, times(5)).flush();
+    }
+
+    @Test
+    void testDuplicateCreatesInOneGroupConflict() {
+        when(toDoService.createItem(any(ToDoItem.class))).thenReturn(item(10L, Status.NOT_DONE));
+
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                create("Same"), create("Other"), create("Same")));
+
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+                .containsExactly(201, 201, 409);
+        verify(toDoService, times(2)).createItem(any(ToDoItem.class));
+    }
+
+    @Test
+    void testFlushFailureIsReportedOnTheLastOperationOfItsGroup() {
+        when(toDoService.markAsDone(any())).thenReturn(item(1L, Status.DONE));
+        doNothing().doThrow(new PersistenceException("constraint")).when(entityManager).flush();
+
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                operation("delete", 3L), operation("done", 1L), operation("done", 2L),
+                operation("not-done", 4L)));
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus)
+                .containsExactly(424, 424, 500, 424);
+        verify(toDoService, never()).markAsNotDone(any());
+        verify(transactionStatus).setRollbackOnly();
+    }
+
+    @Test
+    void testMissingIdIsReportedForItsOperation() {
+        BatchResponse response = batchService.execute(request(BatchRequest.CONTINUE_ON_ERROR,
+                operation("delete", null)));
+
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(400);
+        assertThat(response.getResults().get(0).getMessage()).isEqualTo("Operation 'delete' requires an id.");
+    }
+
+    @Test
+    void testInvalidBatchesAreRejected() {
+        assertThrows(BadRequestException.class, () -> batchService.execute(request(BatchRequest.ATOMIC)));
+        assertThrows(BadRequestException.class,
+                () -> batchService.execute(request("sometimes", operation("delete", 1L))));
+
+        BatchOperation[] tooMany = new BatchOperation[ToDoBatchService.MAX_OPERATIONS + 1];
+        for (int i = 0; i < tooMany.length; i++) {
+            tooMany[i] = operation("delete", (long) i);
+        }
+        assertThrows(BadRequestException.class,
+                () -> batchService.execute(request(BatchRequest.ATOMIC, tooMany)));
+        verifyNoInteractions(toDoService);
+    }
+
+    private BatchRequest request(String mode, BatchOperation... operations) {
+        BatchRequest request = new BatchRequest();
+        request.setMode(mode);
+        request.setOperations(new ArrayList<>(List.of(operations)));
+        return request;
+    }
+
+    private BatchOperation create(String description) {
+        BatchOperation operation = operation("create", null);
+        operation.setBody(objectMapper.createObjectNode()
+                .put("description", description)
+                .put("dueDatetime", LocalDateTime.now().plusDays(1).withNano(0).toString()));
+        return operation;
+    }
+
+    private static BatchOperation operation(String op, Long id) {
+        BatchOperation operation = new BatchOperation();
+        operation.setOp(op);
+        operation.setId(id);
+        return operation;
+    }
+
+    private static ToDoItem item(Long id, Status status) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Item " + id);
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        item.setStatus(status);
+        return item;
+    }
+}
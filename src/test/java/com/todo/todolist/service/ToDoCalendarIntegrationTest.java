@@ -0,0 +1,69 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.dto.CalendarDay;
+import com.todo.todolist.dto.DueCalendar;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:calendar_db;DB_CLOSE_DELAY=-1")
+class ToDoCalendarIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusYears(3).withDayOfMonth(10);
+
+    @Autowired
+    private ToDoCalendarService calendarService;
+
+    @Autowired
+    private ToDoService toDoService;
+
+    @Test
+    void testCountsPerDayAndStatusFollowChanges() {
+        ToDoItem first = toDoService.createItem(item("Calendar first", DAY.atTime(9, 0)));
+        toDoService.createItem(item("Calendar second", DAY.atTime(23, 59, 59)));
+        toDoService.createItem(item("Calendar third", DAY.plusDays(1).atStartOfDay()));
+
+        DueCalendar calendar = calendarService.getCalendar(DAY.withDayOfMonth(1), DAY.plusDays(5));
+
+        assertThat(calendar.getDays()).extracting(CalendarDay::getDate).containsExactly(DAY, DAY.plusDays(1));
+        assertThat(calendar.getDays().get(0).getStatuses()).containsEntry(Status.NOT_DONE, 2L);
+
+        toDoService.markAsDone(first.getId());
+        toDoService.createItem(item("Calendar fourth", DAY.plusDays(2).atTime(12, 0)));
+        toDoService.deleteItem(first.getId());
+
+        calendar = calendarService.getCalendar(DAY, DAY.plusDays(2));
+
+        assertThat(calendar.getDays()).extracting(CalendarDay::getTotal).containsExactly(1L, 1L, 1L);
+        assertThat(calendar.getDays().get(0).getStatuses())
+                .containsEntry(Status.NOT_DONE, 1L)
+                .containsEntry(Status.DONE, 0L);
+    }
+
+    @Test
+    void testRangeIsValidated() {
+        assertThatThrownBy(() -> calendarService.getCalendar(DAY, DAY.minusDays(1)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("From must not be after to.");
+        assertThatThrownBy(() -> calendarService.getCalendar(DAY, DAY.plusDays(366)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Range must not be longer than 366 days.");
+    }
+
+    private static ToDoItem item(String description, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setDescription(description);
+        item.setDueDatetime(due);
+        return item;
+    }
+}
@@ -0,0 +1,101 @@
+package com.todo.todolist.service;
+
+import com.todo.todolist.dto.ImportJob;
+import com.todo.todolist.dto.ImportRejection;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.importer.ImportFormat;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import_db;DB_CLOSE_DELAY=-1",
+        "todo.import.chunk-size=2"
+})
+class ToDoImportIntegrationTest {
+
+    private static final String DUE = LocalDateTime.now().plusDays(1).withNano(0).toString();
+
+    @Autowired
+    private ToDoImportService importService;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @Test
+    void testImportsValidRowsAndReportsTheRest() {
+        String csv = "description,dueDatetime,tags\n"
+                + "Import first," + DUE + ",home; Work\n"
+                + "Import second," + DUE + ",\n"
+                + "Import first," + DUE + ",\n"
+                + "," + DUE + ",\n"
+                + "Import third," + DUE + ",\n"
+                + "Import second," + DUE + ",\n";
+
+        List<String> started = new ArrayList<>();
+
+        ImportJob job = importService.importItems(body(csv), ImportFormat.CSV, null,
+                running -> started.add(running.getId() + " " + running.getState() + " " + running.getRows()));
+
+        assertThat(started).containsExactly(job.getId() + " RUNNING 0");
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRows()).isEqualTo(6);
+        assertThat(job.getImported()).isEqualTo(3);
+        assertThat(job.getRejected()).isEqualTo(3);
+        assertThat(job.getDuplicates()).isEqualTo(2);
+        assertThat(job.getBytesRead()).isEqualTo(csv.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(job.getRejections()).extracting(ImportRejection::getLine)
+                .containsExactlyInAnyOrder(4L, 5L, 7L);
+        assertThat(repository.findAll())
+                .filteredOn(item -> item.getDescription().equals("Import first"))
+                .singleElement()
+                .extracting(ToDoItem::getTags)
+                .satisfies(tags -> assertThat(tags).containsExactlyInAnyOrder("home", "work"));
+        assertThat(importService.getJob(job.getId())).isSameAs(job);
+    }
+
+    @Test
+    void testImportingTheSameFileTwiceImportsItOnce() {
+        String ndjson = "{\"description\":\"Repeated import\",\"dueDatetime\":\"" + DUE + "\"}\n"
+                + "{\"description\":\"Repeated import 2\",\"dueDatetime\":\"" + DUE + "\"}\n";
+
+        ImportJob first = importService.importItems(body(ndjson), ImportFormat.NDJSON, null, running -> { });
+        ImportJob second = importService.importItems(body(ndjson), ImportFormat.NDJSON, null, running -> { });
+
+        assertThat(first.getImported()).isEqualTo(2);
+        assertThat(second.getImported()).isZero();
+        assertThat(second.getDuplicates()).isEqualTo(2);
+        assertThat(repository.findAll())
+                .filteredOn(item -> item.getDescription().startsWith("Repeated import"))
+                .hasSize(2);
+        assertThat(importService.getJobs()).startsWith(second, first);
+    }
+
+    @Test
+    void testMissingCsvHeaderFailsTheJob() {
+        List<ImportJob> started = new ArrayList<>();
+
+        assertThatThrownBy(() -> importService.importItems(
+                body("title,when\nBuy milk," + DUE + "\n"), ImportFormat.CSV, null, started::add))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(started).isEmpty();
+        assertThat(importService.getJobs().get(0).getState()).isEqualTo(ImportJob.State.FAILED);
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
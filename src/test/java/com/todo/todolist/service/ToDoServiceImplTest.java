@@ -1,34 +1,60 @@
 package com.todo.todolist.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.dto.ToDoItemPatch;
 import com.todo.todolist.exception.BadRequestException;
 import com.todo.todolist.exception.ConflictException;
 import com.todo.todolist.exception.ForbiddenException;
+import com.todo.todolist.event.ToDoItemChangedEvent;
 import com.todo.todolist.exception.NotFoundException;
+import com.todo.todolist.index.DueDateIndex;
+import com.todo.todolist.index.TagIndex;
 import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoField;
 import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.projection.ToDoProjection;
+import com.todo.todolist.repository.ToDoItemFields;
 import com.todo.todolist.repository.ToDoItemRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ToDoServiceImplTest {
 
     private ToDoItemRepository repository;
+    private ApplicationEventPublisher eventPublisher;
+    private TagIndex tagIndex;
+    private DueDateIndex dueDateIndex;
     private ToDoServiceImpl service;
 
     @BeforeEach
     void setup() {
         repository = mock(ToDoItemRepository.class);
-        service = new ToDoServiceImpl(repository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        tagIndex = mock(TagIndex.class);
+        dueDateIndex = mock(DueDateIndex.class);
+        service = new ToDoServiceImpl(repository, eventPublisher, tagIndex, dueDateIndex,
+                new DirectWriteExecutor(mock(PlatformTransactionManager.class)),
+                new ToDoProjection(repository, new SimpleMeterRegistry(), false, 0),
+                mock(PlatformTransactionManager.class));
     }
 
     @Test
@@ -53,6 +79,56 @@ class ToDoServiceImplTest {
         verify(repository).findByStatus(Status.DONE);
     }
 
+    @Test
+    void testGetItemsByTagsLoadsIndexedIdsInOrder() {
+        ToDoItem first = createMockItem();
+        ToDoItem second = createMockItem();
+        second.setId(2L);
+        when(tagIndex.findIds(List.of("home"), true, Status.DONE)).thenReturn(new long[] {1L, 2L});
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(second, first));
+
+        List<ToDoItem> items = service.getItemsByTags(Optional.of("done"), List.of("home"), true);
+
+        assertEquals(List.of(first, second), items);
+    }
+
+    @Test
+    void testGetItemsByTagsWithoutMatchesSkipsRepository() {
+        when(tagIndex.findIds(List.of("missing"), false, null)).thenReturn(new long[0]);
+
+        List<ToDoItem> items = service.getItemsByTags(Optional.empty(), List.of("missing"), false);
+
+        assertTrue(items.isEmpty());
+        verify(repository, never()).findAllById(any());
+        verify(repository, never()).findFields(any(), any());
+    }
+
+    @Test
+    void testGetUpcomingItemsKeepsIndexOrder() {
+        ToDoItem first = createMockItem();
+        ToDoItem second = createMockItem();
+        second.setId(2L);
+        when(dueDateIndex.findNextDue(any(), any(), eq(2))).thenReturn(List.of(2L, 1L));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        List<ToDoItem> items = service.getUpcomingItems(2, Optional.of(Duration.ofDays(7)));
+
+        assertEquals(List.of(second, first), items);
+    }
+
+    @Test
+    void testGetUpcomingItemsInvalidLimit() {
+        assertThrows(BadRequestException.class, () -> service.getUpcomingItems(0, Optional.empty()));
+        assertThrows(BadRequestException.class,
+                () -> service.getUpcomingItems(ToDoServiceImpl.MAX_UPCOMING_LIMIT + 1, Optional.empty()));
+    }
+
+    @Test
+    void testGetUpcomingItemsNegativeWindow() {
+        assertThrows(BadRequestException.class,
+                () -> service.getUpcomingItems(5, Optional.of(Duration.ofHours(-1))));
+    }
+
     @Test
     void testGetItemByIdSuccess() {
         ToDoItem item = createMockItem();
@@ -71,6 +147,46 @@ class ToDoServiceImplTest {
         assertThrows(NotFoundException.class, () -> service.getItemById(1L));
     }
 
+    @Test
+    void testGetItemFieldsSelectsOnlyThoseColumns() {
+        Set<ToDoField> fields = EnumSet.of(ToDoField.ID, ToDoField.STATUS);
+        ToDoItemFields first = new ToDoItemFields(1L, null, Status.DONE, null, null, null, null);
+        ToDoItemFields second = new ToDoItemFields(2L, null, Status.DONE, null, null, null, null);
+        when(repository.findFields(Status.DONE, fields)).thenReturn(List.of(second, first));
+
+        List<ToDoItemFields> rows = service.getItemFields(Optional.of("done"), fields);
+
+        assertEquals(List.of(first, second), rows);
+        verify(repository, never()).findByStatus(any());
+    }
+
+    @Test
+    void testReadsAreServedFromProjection() {
+        ToDoItem item = createMockItem();
+        when(repository.findAll()).thenReturn(List.of(item));
+        ToDoProjection projection = new ToDoProjection(repository, new SimpleMeterRegistry(), true, 50);
+        projection.rebuild();
+        ToDoServiceImpl projected = new ToDoServiceImpl(repository, eventPublisher, tagIndex, dueDateIndex,
+                new DirectWriteExecutor(mock(PlatformTransactionManager.class)), projection,
+                mock(PlatformTransactionManager.class));
+        when(tagIndex.findIds(List.of("home"), false, null)).thenReturn(new long[] {1L});
+
+        try {
+            assertEquals("Test item", projected.getItemById(1L).getDescription());
+            assertEquals(1, projected.getAllItems(Optional.of("done")).size());
+            assertTrue(projected.getAllItems(Optional.of("not_done")).isEmpty());
+            assertEquals(1, projected.getItemsByTags(Optional.empty(), List.of("home"), false).size());
+            assertEquals("Test item", projected.getItemFields(Optional.empty(), EnumSet.of(ToDoField.ID))
+                    .get(0).description());
+            assertThrows(NotFoundException.class, () -> projected.getItemById(2L));
+        } finally {
+            projection.stop();
+        }
+        verify(repository, never()).findById(any());
+        verify(repository, never()).findByStatus(any());
+        verify(repository, never()).findAllById(any());
+    }
+
     @Test
     void testCreateItemSuccess() {
         ToDoItem item = createMockItem();
@@ -81,6 +197,27 @@ class ToDoServiceImplTest {
 
         assertEquals("Test item", result.getDescription());
         verify(repository).save(item);
+        verify(eventPublisher).publishEvent(any(ToDoItemChangedEvent.class));
+    }
+
+    @Test
+    void testCreateItemNormalizesTags() {
+        ToDoItem item = createMockItem();
+        item.setTags(List.of(" Home ", "URGENT"));
+        when(repository.existsByDescriptionAndDueDatetimeAndStatus(anyString(), any(), any())).thenReturn(false);
+        when(repository.save(item)).thenReturn(item);
+
+        ToDoItem result = service.createItem(item);
+
+        assertEquals(Set.of("home", "urgent"), result.getTags());
+    }
+
+    @Test
+    void testCreateItemBlankTag() {
+        ToDoItem item = createMockItem();
+        item.setTags(List.of(" "));
+
+        assertThrows(BadRequestException.class, () -> service.createItem(item));
     }
 
     @Test
@@ -197,6 +334,119 @@ class ToDoServiceImplTest {
         assertThrows(ConflictException.class, () -> service.updateItem(itemId, updated));
     }
 
+    @Test
+    void testPatchItemChangesOnlySuppliedFields() throws Exception {
+        ToDoItem existing = createMockItem();
+        existing.setStatus(Status.NOT_DONE);
+        existing.setTags(Set.of("home"));
+        LocalDateTime due = existing.getDueDatetime();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ToDoItem result = service.patchItem(1L, patch("{\"description\": \"Patched item\"}"));
+
+        assertEquals("Patched item", result.getDescription());
+        assertEquals(due, result.getDueDatetime());
+        assertEquals(Set.of("home"), result.getTags());
+        verify(repository).existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+                "Patched item", due, Status.NOT_DONE, 1L);
+        verify(eventPublisher).publishEvent(any(ToDoItemChangedEvent.class));
+    }
+
+    @Test
+    void testPatchItemTagsSkipsDuplicateCheck() throws Exception {
+        ToDoItem existing = createMockItem();
+        existing.setStatus(Status.NOT_DONE);
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ToDoItem result = service.patchItem(1L, patch("{\"tags\": [\" Work \"]}"));
+
+        assertEquals(Set.of("work"), result.getTags());
+        verify(repository, never()).existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+                anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testPatchItemWithoutChangesDoesNotWrite() throws Exception {
+        ToDoItem existing = createMockItem();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+
+        ToDoItem result = service.patchItem(1L, patch("{\"description\": \"Test item\"}"));
+
+        assertSame(existing, result);
+        verify(repository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testExistsChecksRunInReadOnlyTransactions() {
+        PlatformTransactionManager readTransactions = mock(PlatformTransactionManager.class);
+        ToDoServiceImpl checkingService = new ToDoServiceImpl(repository, eventPublisher, tagIndex, dueDateIndex,
+                new DirectWriteExecutor(mock(PlatformTransactionManager.class)),
+                new ToDoProjection(repository, new SimpleMeterRegistry(), false, 0), readTransactions);
+        LocalDateTime due = LocalDateTime.now().plusDays(1);
+        when(repository.existsByDescriptionAndDueDatetimeAndStatus("Test item", due, Status.NOT_DONE))
+                .thenReturn(true);
+
+        assertTrue(checkingService.existsByDescriptionAndDueDatetimeAndStatus("Test item", due, Status.NOT_DONE));
+        assertFalse(checkingService.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+                "Test item", due, Status.NOT_DONE, 1L));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(readTransactions, times(2)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void testEmptyPatchOnlyReadsTheItem() throws Exception {
+        WriteExecutor writeExecutor = mock(WriteExecutor.class);
+        ToDoServiceImpl readingService = new ToDoServiceImpl(repository, eventPublisher, tagIndex, dueDateIndex,
+                writeExecutor, new ToDoProjection(repository, new SimpleMeterRegistry(), false, 0),
+                mock(PlatformTransactionManager.class));
+        ToDoItem existing = createMockItem();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, readingService.patchItem(1L, patch("{}")));
+
+        existing.setStatus(Status.OVERDUE);
+        ToDoItemPatch empty = patch("{}");
+        assertThrows(ForbiddenException.class, () -> readingService.patchItem(1L, empty));
+        verifyNoInteractions(writeExecutor, eventPublisher);
+    }
+
+    @Test
+    void testPatchItemDuplicate() throws Exception {
+        ToDoItem existing = createMockItem();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        when(repository.existsByDescriptionAndDueDatetimeAndStatusAndIdNot(
+                "Other item", existing.getDueDatetime(), Status.NOT_DONE, 1L)).thenReturn(true);
+
+        ToDoItemPatch patch = patch("{\"description\": \"Other item\"}");
+
+        assertThrows(ConflictException.class, () -> service.patchItem(1L, patch));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testPatchItemPastDueDate() throws Exception {
+        ToDoItemPatch patch = patch("{\"dueDatetime\": \"2000-01-01T00:00:00\"}");
+
+        assertThrows(BadRequestException.class, () -> service.patchItem(1L, patch));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testPatchItemOverdue() throws Exception {
+        ToDoItem overdue = createMockItem();
+        overdue.setStatus(Status.OVERDUE);
+        when(repository.findById(1L)).thenReturn(Optional.of(overdue));
+
+        ToDoItemPatch patch = patch("{\"description\": \"Patched item\"}");
+
+        assertThrows(ForbiddenException.class, () -> service.patchItem(1L, patch));
+    }
+
     @Test
     void testMarkAsDone_Success() {
         ToDoItem item = new ToDoItem();
@@ -213,6 +463,36 @@ class ToDoServiceImplTest {
         assertEquals(Status.DONE, result.getStatus());
         assertNotNull(result.getDoneDatetime());
         verify(repository).save(item);
+
+        ArgumentCaptor<ToDoItemChangedEvent> captor = ArgumentCaptor.forClass(ToDoItemChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Status.NOT_DONE, captor.getValue().getBefore().getStatus());
+        assertEquals(Status.DONE, captor.getValue().getAfter().getStatus());
+    }
+
+    @Test
+    void testMarkAsDoneEventCarriesTheVersionAssignedOnFlush() {
+        ToDoItem item = new ToDoItem();
+        item.setId(1L);
+        item.setStatus(Status.NOT_DONE);
+        item.setDescription("Test");
+        item.setDueDatetime(LocalDateTime.now().plusDays(1));
+        item.setVersion(3);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(item));
+        when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        service.markAsDone(1L);
+        item.setVersion(4);
+        item.setDescription("Changed after the event");
+
+        ArgumentCaptor<ToDoItemChangedEvent> captor = ArgumentCaptor.forClass(ToDoItemChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(4, captor.getValue().getVersion());
+        assertEquals(4, captor.getValue().getAfter().getVersion());
+        assertEquals("Test", captor.getValue().getAfter().getDescription());
+        assertEquals(3, captor.getValue().getBefore().getVersion());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -286,6 +566,11 @@ class ToDoServiceImplTest {
 
         service.deleteItem(1L);
         verify(repository).delete(item);
+
+        ArgumentCaptor<ToDoItemChangedEvent> captor = ArgumentCaptor.forClass(ToDoItemChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().isDeleted());
+        assertEquals(1L, captor.getValue().getItemId());
     }
 
     @Test
@@ -298,6 +583,10 @@ class ToDoServiceImplTest {
         assertThrows(ForbiddenException.class, () -> service.deleteItem(1L));
     }
 
+    private static ToDoItemPatch patch(String json) throws Exception {
+        return ToDoItemPatch.fromJson(new ObjectMapper().readTree(json));
+    }
+
     private ToDoItem createMockItem() {
         ToDoItem item = new ToDoItem();
         item.setId(1L);
@@ -1,5 +1,13 @@
 package com.todo.todolist.service;
 
+import com.todo.todolist.datasource.SingleShard;
+import com.todo.todolist.dto.OverdueSchedulerSettings;
+import com.todo.todolist.dto.OverdueSchedulerStatus;
+import com.todo.todolist.dto.OverdueSweepResult;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.exception.ConflictException;
+import com.todo.todolist.index.DueDateIndex;
 import com.todo.todolist.model.Status;
 import com.todo.todolist.model.ToDoItem;
 import com.todo.todolist.repository.ToDoItemRepository;
@@ -7,23 +15,42 @@ import com.todo.todolist.repository.ToDoItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ToDoStatusSchedulerTest {
 
     private ToDoItemRepository toDoItemRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private TaskScheduler taskScheduler;
+    private ScheduledFuture<?> future;
+    private DueDateIndex dueDateIndex;
     private ToDoStatusScheduler toDoStatusScheduler;
 
     @BeforeEach
     void setUp() {
         toDoItemRepository = mock(ToDoItemRepository.class);
-        toDoStatusScheduler = new ToDoStatusScheduler(toDoItemRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        taskScheduler = mock(TaskScheduler.class);
+        future = mock(ScheduledFuture.class);
+        dueDateIndex = new DueDateIndex(toDoItemRepository);
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        toDoStatusScheduler = new ToDoStatusScheduler(toDoItemRepository, eventPublisher,
+                new SingleShard(), dueDateIndex, mock(PlatformTransactionManager.class), taskScheduler,
+                1000, 4000, 2, 0, 3, false);
     }
 
     @Test
@@ -45,6 +72,11 @@ public class ToDoStatusSchedulerTest {
         List<ToDoItem> savedItems = captor.getValue();
         assertThat(savedItems).hasSize(1);
         assertThat(savedItems.get(0).getStatus()).isEqualTo(Status.OVERDUE);
+
+        ArgumentCaptor<ToDoItemChangedEvent> events = ArgumentCaptor.forClass(ToDoItemChangedEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertThat(events.getValue().getBefore().getStatus()).isEqualTo(Status.NOT_DONE);
+        assertThat(events.getValue().getAfter().getStatus()).isEqualTo(Status.OVERDUE);
     }
 
     @Test
@@ -55,5 +87,158 @@ public class ToDoStatusSchedulerTest {
         toDoStatusScheduler.markOverdueItems();
 
         verify(toDoItemRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDryRun_countsOverdueItemsWithoutChangingThem() {
+        ToDoItem item = new ToDoItem();
+        item.setDescription("Old Task");
+        item.setDueDatetime(LocalDateTime.now().minusDays(2));
+        item.setStatus(Status.NOT_DONE);
+        item.setId(1L);
+
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenReturn(List.of(item));
+
+        assertThat(toDoStatusScheduler.dryRun()).isEqualTo(1);
+
+        assertThat(item.getStatus()).isEqualTo(Status.NOT_DONE);
+        verify(toDoItemRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testScheduledSweepsBackOffWhileIdleAndResetOnWork() {
+        ToDoItem item = new ToDoItem();
+        item.setDueDatetime(LocalDateTime.now().minusSeconds(30));
+        item.setStatus(Status.NOT_DONE);
+        item.setId(1L);
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenReturn(Collections.emptyList());
+
+        toDoStatusScheduler.start();
+        runNextScheduled();
+        assertThat(toDoStatusScheduler.getStatus(10).getNextDelayMs()).isEqualTo(2000);
+        runNextScheduled();
+        runNextScheduled();
+        assertThat(toDoStatusScheduler.getStatus(10).getNextDelayMs()).isEqualTo(4000);
+
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenReturn(List.of(item));
+        runNextScheduled();
+
+        OverdueSchedulerStatus status = toDoStatusScheduler.getStatus(10);
+        assertThat(status.getNextDelayMs()).isEqualTo(1000);
+        assertThat(status.getNextRunAt()).isNotNull();
+        assertThat(status.getResults()).hasSize(3);
+        OverdueSweepResult latest = status.getResults().get(0);
+        assertThat(latest.getTrigger()).isEqualTo("scheduled");
+        assertThat(latest.getRows()).isEqualTo(1);
+        assertThat(latest.getLagMs()).isGreaterThanOrEqualTo(30_000);
+    }
+
+    @Test
+    void testManualSweepIsRefusedWhileAnotherIsRunning() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenAnswer(invocation -> {
+                    entered.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Collections.emptyList();
+                });
+        Thread running = new Thread(toDoStatusScheduler::markOverdueItems);
+        running.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(toDoStatusScheduler.getStatus(1).isRunning()).isTrue();
+        assertThatThrownBy(toDoStatusScheduler::markOverdueItems)
+                .isInstanceOf(ConflictException.class);
+
+        release.countDown();
+        running.join(5000);
+        assertThat(toDoStatusScheduler.getStatus(1).isRunning()).isFalse();
+    }
+
+    @Test
+    void testPauseCancelsAndResumeReschedules() {
+        toDoStatusScheduler.start();
+
+        OverdueSchedulerStatus paused = toDoStatusScheduler.pause();
+        assertThat(paused.isPaused()).isTrue();
+        assertThat(paused.getNextRunAt()).isNull();
+        verify(future).cancel(false);
+
+        OverdueSchedulerStatus resumed = toDoStatusScheduler.resume();
+        assertThat(resumed.isPaused()).isFalse();
+        assertThat(resumed.getNextRunAt()).isNotNull();
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testUpdateSettingsChangesTheIntervalAndValidates() {
+        OverdueSchedulerSettings settings = new OverdueSchedulerSettings();
+        settings.setIntervalMs(500L);
+        settings.setJitter(0.25);
+
+        OverdueSchedulerStatus status = toDoStatusScheduler.updateSettings(settings);
+
+        assertThat(status.getIntervalMs()).isEqualTo(500);
+        assertThat(status.getMaxIntervalMs()).isEqualTo(4000);
+        assertThat(status.getNextDelayMs()).isEqualTo(500);
+        assertThat(status.getJitter()).isEqualTo(0.25);
+
+        OverdueSchedulerSettings invalid = new OverdueSchedulerSettings();
+        invalid.setMaxIntervalMs(100L);
+        assertThatThrownBy(() -> toDoStatusScheduler.updateSettings(invalid))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(toDoStatusScheduler.getStatus(1).getMaxIntervalMs()).isEqualTo(4000);
+    }
+
+    @Test
+    void testBackOffStopsAtTheNextDueDate() {
+        dueDateIndex.onItemChanged(ToDoItemChangedEvent.created(notDone(1L, LocalDateTime.now().plusSeconds(3))));
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenReturn(Collections.emptyList());
+
+        toDoStatusScheduler.start();
+        runNextScheduled();
+        assertThat(toDoStatusScheduler.getStatus(10).getNextDelayMs()).isEqualTo(2000);
+        runNextScheduled();
+
+        assertThat(toDoStatusScheduler.getStatus(10).getNextDelayMs()).isBetween(1000L, 3000L);
+    }
+
+    @Test
+    void testItemDueBeforeTheNextSweepBringsItForward() {
+        when(toDoItemRepository.findByStatusAndDueDatetimeBefore(eq(Status.NOT_DONE), any()))
+                .thenReturn(Collections.emptyList());
+        toDoStatusScheduler.start();
+        runNextScheduled();
+        runNextScheduled();
+        assertThat(toDoStatusScheduler.getStatus(10).getNextDelayMs()).isEqualTo(4000);
+
+        toDoStatusScheduler.onItemChanged(ToDoItemChangedEvent.created(notDone(1L, LocalDateTime.now().plusHours(1))));
+        verify(taskScheduler, times(3)).schedule(any(Runnable.class), any(Instant.class));
+
+        toDoStatusScheduler.onItemChanged(ToDoItemChangedEvent.created(notDone(2L, LocalDateTime.now().minusSeconds(1))));
+        ArgumentCaptor<Instant> runAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(4)).schedule(any(Runnable.class), runAt.capture());
+        assertThat(runAt.getValue()).isBefore(Instant.now().plusMillis(1500));
+    }
+
+    private static ToDoItem notDone(Long id, LocalDateTime dueDatetime) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDueDatetime(dueDatetime);
+        item.setStatus(Status.NOT_DONE);
+        return item;
+    }
+
+    private void runNextScheduled() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, atLeastOnce()).schedule(task.capture(), any(Instant.class));
+        task.getValue().run();
     }
 }
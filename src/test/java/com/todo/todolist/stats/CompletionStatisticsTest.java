@@ -0,0 +1,173 @@
+package com.todo.todolist.stats;
+
+import com.todo.todolist.dto.CompletionStats;
+import com.todo.todolist.event.ToDoItemChangedEvent;
+import com.todo.todolist.exception.BadRequestException;
+import com.todo.todolist.model.Status;
+import com.todo.todolist.model.ToDoItem;
+import com.todo.todolist.repository.ToDoItemRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompletionStatisticsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private ToDoItemRepository repository;
+    private CompletionStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ToDoItemRepository.class);
+        statistics = new CompletionStatistics(repository, 7, 30);
+    }
+
+    @Test
+    void testRebuildAggregatesAllItemsInParallel() {
+        List<ToDoItem> items = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            items.add(done(id, NOW.minusHours(1).minusSeconds(id), NOW.minusHours(1), NOW.plusDays(1)));
+        }
+        items.add(item(10_001L, Status.NOT_DONE, NOW.plusDays(1)));
+        items.add(item(10_002L, Status.OVERDUE, NOW.minusDays(3)));
+        when(repository.findAll()).thenReturn(items);
+
+        statistics.rebuild();
+        CompletionStats stats = statistics.getStats();
+
+        assertThat(stats.getItems()).containsEntry(Status.DONE, 10_000L)
+                .containsEntry(Status.NOT_DONE, 1L)
+                .containsEntry(Status.OVERDUE, 1L);
+        assertThat(stats.getCompletion().getCount()).isEqualTo(10_000);
+        assertThat((double) stats.getCompletion().getP50Seconds()).isBetween(4_950.0, 5_050.0);
+        assertThat(stats.getCompletion().getMeanSeconds()).isEqualTo(5_001);
+        assertThat(stats.getRecentCompletion().getCount()).isEqualTo(10_000);
+        assertThat(stats.getOverdue().getCount()).isEqualTo(1);
+        assertThat(stats.getOverdue().getMaxDays()).isEqualTo(3);
+    }
+
+    @Test
+    void testMarkingDoneAndNotDoneUpdatesCompletion() {
+        ToDoItem open = item(1L, Status.NOT_DONE, NOW.plusDays(1));
+        ToDoItem done = done(1L, open.getCreationDatetime(), NOW, NOW.plusDays(1));
+        statistics.onItemChanged(ToDoItemChangedEvent.created(open));
+
+        statistics.onItemChanged(new ToDoItemChangedEvent(open, done));
+
+        CompletionStats stats = statistics.getStats();
+        assertThat(stats.getCompletion().getCount()).isEqualTo(1);
+        assertThat(stats.getCompletion().getP50Seconds()).isBetween(7_200L, 7_272L);
+        assertThat(stats.getDays().get(stats.getDays().size() - 1).getCompleted()).isEqualTo(1);
+        assertThat(stats.getItems()).containsEntry(Status.DONE, 1L).containsEntry(Status.NOT_DONE, 0L);
+
+        statistics.onItemChanged(new ToDoItemChangedEvent(done, open));
+
+        stats = statistics.getStats();
+        assertThat(stats.getCompletion().getCount()).isZero();
+        assertThat(stats.getRecentCompletion().getCount()).isZero();
+        assertThat(stats.getItems()).containsEntry(Status.NOT_DONE, 1L);
+    }
+
+    @Test
+    void testOverdueSweepAndLateCompletion() {
+        ToDoItem open = item(1L, Status.NOT_DONE, NOW.minusDays(2));
+        statistics.onItemChanged(ToDoItemChangedEvent.created(open));
+        statistics.onItemChanged(new ToDoItemChangedEvent(open, item(1L, Status.OVERDUE, NOW.minusDays(2))));
+        statistics.onItemChanged(ToDoItemChangedEvent.created(
+                done(2L, NOW.minusDays(1), NOW, NOW.minusMinutes(10))));
+
+        CompletionStats stats = statistics.getStats(3);
+
+        assertThat(stats.getOverdue().getCount()).isEqualTo(1);
+        assertThat(stats.getOverdue().getP50Days()).isEqualTo(2);
+        assertThat(stats.getDays()).hasSize(3);
+        assertThat(stats.getDays().get(0).getDate()).isEqualTo(LocalDate.now().minusDays(2));
+        assertThat(stats.getDays().get(0).getOverdue()).isEqualTo(1);
+        assertThat(stats.getLateCompletion().getCount()).isEqualTo(1);
+        assertThat(stats.getLateCompletion().getMaxSeconds()).isBetween(600L, 606L);
+    }
+
+    @Test
+    void testRepeatedEventsAreNotCountedTwice() {
+        ToDoItem done = done(1L, NOW.minusHours(1), NOW, NOW.plusDays(1));
+        when(repository.findAll()).thenReturn(List.of(done));
+        statistics.rebuild();
+
+        statistics.onItemChanged(ToDoItemChangedEvent.created(done));
+        statistics.onItemChanged(ToDoItemChangedEvent.deleted(item(2L, Status.DONE, NOW)));
+
+        assertThat(statistics.getStats().getCompletion().getCount()).isEqualTo(1);
+
+        statistics.onItemChanged(ToDoItemChangedEvent.deleted(done));
+
+        assertThat(statistics.getStats().getCompletion().getCount()).isZero();
+        assertThat(statistics.getStats().getItems()).containsEntry(Status.DONE, 0L);
+    }
+
+    @Test
+    void testEventsOlderThanTheRebuiltRowAreIgnored() {
+        ToDoItem done = done(1L, NOW.minusHours(1), NOW, NOW.plusDays(1));
+        done.setVersion(2);
+        when(repository.findAll()).thenReturn(List.of(done));
+        statistics.rebuild();
+
+        ToDoItem open = item(1L, Status.NOT_DONE, NOW.plusDays(1));
+        open.setVersion(1);
+        statistics.onItemChanged(new ToDoItemChangedEvent(item(1L, Status.NOT_DONE, NOW.plusDays(1)), open));
+
+        CompletionStats stats = statistics.getStats();
+        assertThat(stats.getCompletion().getCount()).isEqualTo(1);
+        assertThat(stats.getItems()).containsEntry(Status.DONE, 1L).containsEntry(Status.NOT_DONE, 0L);
+    }
+
+    @Test
+    void testLateEventsDoNotCountDeletedItemsAgain() {
+        ToDoItem open = item(1L, Status.NOT_DONE, NOW.minusDays(2));
+        ToDoItem overdue = item(1L, Status.OVERDUE, NOW.minusDays(2));
+        overdue.setVersion(1);
+        statistics.onItemChanged(ToDoItemChangedEvent.created(open));
+        statistics.onItemChanged(ToDoItemChangedEvent.deleted(open));
+        statistics.onItemChanged(new ToDoItemChangedEvent(open, overdue));
+
+        CompletionStats stats = statistics.getStats();
+        assertThat(stats.getOverdue().getCount()).isZero();
+        assertThat(stats.getItems()).containsEntry(Status.OVERDUE, 0L).containsEntry(Status.NOT_DONE, 0L);
+    }
+
+    @Test
+    void testWindowMustBeWithinLimits() {
+        assertThatThrownBy(() -> statistics.getStats(0))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Days must be between 1 and 30.");
+        assertThatThrownBy(() -> statistics.getStats(31))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private ToDoItem item(Long id, Status status, LocalDateTime due) {
+        ToDoItem item = new ToDoItem();
+        item.setId(id);
+        item.setDescription("Item " + id);
+        item.setStatus(status);
+        item.setCreationDatetime(NOW.minusHours(2));
+        item.setDueDatetime(due);
+        return item;
+    }
+
+    private ToDoItem done(Long id, LocalDateTime created, LocalDateTime doneAt, LocalDateTime due) {
+        ToDoItem item = item(id, Status.DONE, due);
+        item.setCreationDatetime(created);
+        item.setDoneDatetime(doneAt);
+        return item;
+    }
+}
@@ -0,0 +1,90 @@
+package com.todo.todolist.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getMax()).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+    }
+
+    @Test
+    void testLargeValuesAreWithinOnePercent() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 3_600);
+        }
+
+        assertThat((double) histogram.getValueAtPercentile(50))
+                .isCloseTo(5_000 * 3_600.0, within(5_000 * 3_600 * 0.01));
+        assertThat((double) histogram.getValueAtPercentile(90))
+                .isCloseTo(9_000 * 3_600.0, within(9_000 * 3_600 * 0.01));
+        assertThat((double) histogram.getMax())
+                .isCloseTo(10_000 * 3_600.0, within(10_000 * 3_600 * 0.01));
+    }
+
+    @Test
+    void testBucketsAreContiguous() {
+        for (long value : new long[] {255, 256, 511, 512, 1_000_000, Long.MAX_VALUE}) {
+            int index = LogLinearHistogram.indexOf(value);
+
+            assertThat(LogLinearHistogram.lowestEquivalentValue(index)).isLessThanOrEqualTo(value);
+            assertThat(LogLinearHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+        }
+        for (int index = 0; index < 2_000; index++) {
+            assertThat(LogLinearHistogram.lowestEquivalentValue(index + 1))
+                    .isEqualTo(LogLinearHistogram.highestEquivalentValue(index) + 1);
+        }
+    }
+
+    @Test
+    void testRemoveUndoesRecord() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(10);
+        histogram.record(90_000);
+
+        histogram.remove(90_000);
+        histogram.remove(123_456_789);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(10);
+        assertThat(histogram.getMean()).isEqualTo(10);
+    }
+
+    @Test
+    void testAddMergesCounts() {
+        LogLinearHistogram first = new LogLinearHistogram();
+        LogLinearHistogram second = new LogLinearHistogram();
+        first.record(5);
+        second.record(1_000_000);
+
+        first.add(second);
+
+        assertThat(first.getTotalCount()).isEqualTo(2);
+        assertThat(first.getValueAtPercentile(50)).isEqualTo(5);
+        assertThat((double) first.getMax()).isCloseTo(1_000_000, within(10_000.0));
+    }
+
+    @Test
+    void testEmptyHistogramReportsZero() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        assertThat(histogram.isEmpty()).isTrue();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getMean()).isZero();
+    }
+}
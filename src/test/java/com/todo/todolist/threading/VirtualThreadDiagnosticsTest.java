@@ -0,0 +1,40 @@
+package com.todo.todolist.threading;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadDiagnosticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testWatchesForPinningOnlyWhenVirtualThreadsAreActive() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+        VirtualThreadDiagnostics diagnostics = new VirtualThreadDiagnostics(environment, meterRegistry, 20);
+
+        try {
+            diagnostics.start();
+
+            assertThat(diagnostics.isWatching()).isEqualTo(Threading.VIRTUAL.isActive(environment));
+            assertThat(meterRegistry.counter("todo.threads.pinned").count()).isZero();
+        } finally {
+            diagnostics.destroy();
+        }
+        assertThat(diagnostics.isWatching()).isFalse();
+    }
+
+    @Test
+    void testDoesNotWatchWhenVirtualThreadsAreDisabled() throws Exception {
+        VirtualThreadDiagnostics diagnostics = new VirtualThreadDiagnostics(new MockEnvironment(), meterRegistry, 20);
+
+        diagnostics.start();
+
+        assertThat(diagnostics.isWatching()).isFalse();
+        diagnostics.destroy();
+    }
+}
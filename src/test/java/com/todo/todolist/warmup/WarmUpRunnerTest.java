@@ -0,0 +1,96 @@
+package com.todo.todolist.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todolist.datasource.SingleShard;
+import com.todo.todolist.repository.ToDoItemRepository;
+import com.todo.todolist.service.ToDoService;
+import com.todo.todolist.service.ToDoStatusScheduler;
+import com.todo.todolist.stats.CompletionStatistics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1",
+        "todo.warmup.enabled=true",
+        "todo.warmup.iterations=20"
+})
+class WarmUpRunnerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private ToDoItemRepository repository;
+
+    @Autowired
+    private CompletionStatistics completionStatistics;
+
+    @Test
+    void testReadinessIsReportedAfterACompleteWarmUp() throws Exception {
+        WarmUpRunner.WarmUpResult result = warmUpRunner.lastResult();
+
+        assertThat(result).isNotNull();
+        assertThat(result.completed()).isTrue();
+        assertThat(result.writes()).isEqualTo(20);
+        // The first list read, 20 rounds of 9 requests on an empty table, 4 list cache reads.
+        assertThat(result.requests()).isEqualTo(1 + 20 * 9 + 4);
+        assertThat(result.failures()).isZero();
+        assertThat(result.overdue()).isZero();
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+
+        HttpResponse<String> readiness = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(readiness.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void testThrowawayItemsAreNeverCommitted() {
+        assertThat(repository.findAll())
+                .noneMatch(item -> item.getDescription().startsWith(WarmUpRunner.DESCRIPTION_PREFIX));
+        assertThat(repository.count()).isZero();
+        // No change event of the rolled-back writes reached the in-memory statistics.
+        assertThat(completionStatistics.getStats().getItems().values()).allMatch(count -> count == 0);
+    }
+
+    @Test
+    void testExhaustedBudgetSkipsTheRemainingSteps() {
+        DataSource dataSource = mock(DataSource.class);
+        ToDoService toDoService = mock(ToDoService.class);
+        ToDoStatusScheduler scheduler = mock(ToDoStatusScheduler.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        WarmUpRunner runner = new WarmUpRunner(dataSource, new SingleShard(), toDoService, scheduler,
+                transactionManager, new ObjectMapper(), Duration.ZERO, 20, 200, 4, 10);
+
+        WarmUpRunner.WarmUpResult result = runner.run(port);
+
+        assertThat(result.completed()).isFalse();
+        assertThat(result.requests()).isZero();
+        assertThat(result.writes()).isZero();
+        assertThat(result.overdue()).isEqualTo(-1);
+        verifyNoInteractions(dataSource, toDoService, scheduler, transactionManager);
+    }
+}